@@ -72,6 +72,7 @@ public final class Condor {
    *
    * @return whether the condor process should execute the code block of the
    *         if-statement.
+   * @see Sweep
    */
   public static boolean condorDo() {
     if (IS_CONDOR_EXIST) {
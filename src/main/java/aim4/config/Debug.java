@@ -91,6 +91,13 @@ public class Debug {
    */
   public static final boolean IS_EXPECTED_IM_REPLY_TIME_CONSIDERED = true;
 
+  /**
+   * Whether or not the gauges apply their noise functions.  Turning this
+   * off removes the noise from the gauges at compile time, such as for
+   * noise-free sweeps.
+   */
+  public static final boolean IS_SENSOR_NOISE_ENABLED = true;
+
 
   /////////////////////////////////
   // PUBLIC STATIC METHODS
@@ -85,4 +85,61 @@ public class SimConfig {
    * MUST_STOP_BEFORE_INTERSECTION is true.
    */
   public static final double ADDITIONAL_STOP_DIST_BEFORE_INTERSECTION = 0.01;
+
+  /**
+   * Whether or not the V2I and I2V messages are delivered in their binary
+   * wire format.  If it is true, every message is encoded and decoded on
+   * delivery and the sizes of the messages are measured from their
+   * encodings instead of being estimated from their fields.
+   */
+  public static boolean IS_WIRE_FORMAT_ENABLED = false;
+
+  /**
+   * Whether or not the simulators record the times of the phases of their
+   * steps and other metrics in the metrics registry.
+   */
+  public static boolean IS_METRICS_ENABLED = false;
+
+  /**
+   * Whether or not the data collection lines and the reservation grid
+   * managers keep their full histories in memory-mapped files.  Otherwise
+   * they keep bounded summaries and the most recent records only.
+   */
+  public static boolean IS_FULL_HISTORY_CAPTURED = false;
+
+  /**
+   * Whether or not the spawn points, destination selectors and noise
+   * functions draw from {@link aim4.util.RandomStreams} of their own,
+   * derived from the experiment seed, instead of sharing the global
+   * generator.
+   */
+  public static boolean IS_RANDOM_STREAMS_ENABLED = false;
+
+  /**
+   * The ways in which the expected travel times of unobstructed vehicles,
+   * against which the delay of vehicles is measured, can be obtained.  The
+   * merge setups obtain one per vehicle specification and lane, the
+   * roundabout and AIM cross setups one per vehicle from its spawn lane and
+   * destination, in place of a run of an optimal protocol.
+   */
+  public enum ExpectedTravelTimeMode {
+    /** Compute the travel times with the travel time oracle. */
+    ORACLE,
+    /**
+     * Simulate a lone vehicle of each vehicle specification, or run an
+     * optimal protocol.
+     */
+    SIMULATION,
+    /**
+     * Do both, print the discrepancies between them to the standard error,
+     * and use the simulated travel times.
+     */
+    VALIDATION,
+  }
+
+  /**
+   * How the expected travel times of unobstructed vehicles are obtained.
+   */
+  public static ExpectedTravelTimeMode EXPECTED_TRAVEL_TIME_MODE =
+    ExpectedTravelTimeMode.SIMULATION;
 }
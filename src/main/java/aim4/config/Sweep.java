@@ -0,0 +1,530 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import aim4.util.RandomStreams;
+
+/**
+ * A sweep of experiment tasks shared by worker processes through a lease
+ * directory, which may be on a file system shared by the hosts of a
+ * cluster.  Unlike the static partition of {@link Condor#condorDo()}, the
+ * workers claim the tasks one by one as they become free, so a sweep
+ * finishes when its total work is done rather than when its unluckiest
+ * shard is done.
+ * <p>
+ * A worker claims a task by atomically creating its lease file, and keeps
+ * the lease alive by touching the file while the task runs.  A lease that
+ * has not been touched for the lease timeout belongs to a dead worker and
+ * may be claimed by another one.  A worker with nothing left to claim runs
+ * a backup copy of any task that has been running for longer than the
+ * straggler timeout.  A task writes its result to a temporary file, which
+ * is moved into the results directory atomically, so a result is either
+ * missing or complete, and the first copy of a task to finish wins.
+ * <p>
+ * The directory is laid out as follows:
+ * <ul>
+ * <li> {@code leases/} the leases of the running tasks,
+ * <li> {@code results/} the results of the finished tasks,
+ * <li> {@code failed/} the stack traces of the tasks which threw an
+ *      exception or an error, which are not retried, and
+ * <li> {@code tmp/} the results being written.
+ * </ul>
+ */
+public class Sweep {
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * An experiment task.
+   */
+  public static interface Task {
+    /**
+     * Run the task.  The experiment seed has been set to the replicate seed
+     * of the task, which depends only on the seed of the sweep and the ID
+     * of the task, so that a backup copy of the task gives the same result.
+     *
+     * @param taskId      the ID of the task
+     * @param resultFile  the file to which the result should be written
+     * @throws Exception  if the task fails
+     */
+    void run(String taskId, File resultFile) throws Exception;
+  }
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The lease directory of a worker launched by launchLocalWorkers(). */
+  public static final String SWEEP_DIR = System.getenv().get("sweep_dir");
+
+  /** The ID of a worker launched by launchLocalWorkers(). */
+  public static final String SWEEP_WORKER_ID =
+    System.getenv().get("sweep_worker_id");
+
+  /** The default time after which an untouched lease expires. */
+  public static final long DEFAULT_LEASE_TIMEOUT = 60 * 1000;
+
+  /** The default time after which a running task is a straggler. */
+  public static final long DEFAULT_STRAGGLER_TIMEOUT = 60 * 60 * 1000;
+
+  /** The pattern of valid task IDs, which are used as file names. */
+  private static final Pattern TASK_ID_PATTERN =
+    Pattern.compile("[A-Za-z0-9._=+-]+");
+
+  /** The default experiment seed of a sweep. */
+  public static final long DEFAULT_EXPERIMENT_SEED = 0L;
+
+  /** The suffix of the lease of the backup copy of a task. */
+  private static final String BACKUP_SUFFIX = ".backup";
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The ID of this worker. */
+  private final String workerId;
+  /** The directory of the leases. */
+  private final Path leaseDir;
+  /** The directory of the results. */
+  private final Path resultDir;
+  /** The directory of the failures. */
+  private final Path failedDir;
+  /** The directory of the results being written. */
+  private final Path tmpDir;
+  /** The time after which an untouched lease expires. */
+  private final long leaseTimeout;
+  /** The time after which a running task is a straggler. */
+  private final long stragglerTimeout;
+  /** The experiment seed from which the seeds of the tasks are derived. */
+  private final long experimentSeed;
+  /** The leases held by this worker. */
+  private final Set<Path> heldLeases =
+    ConcurrentHashMap.<Path>newKeySet();
+  /** The number of leases claimed so far, used to make lease tokens. */
+  private long numOfClaims = 0;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a worker of a sweep with the default timeouts and experiment
+   * seed.
+   *
+   * @param dir       the lease directory of the sweep
+   * @param workerId  the ID of the worker, unique among the workers
+   * @throws IOException  if the lease directory cannot be created
+   */
+  public Sweep(File dir, String workerId) throws IOException {
+    this(dir, workerId, DEFAULT_LEASE_TIMEOUT, DEFAULT_STRAGGLER_TIMEOUT);
+  }
+
+  /**
+   * Create a worker of a sweep with the default experiment seed.
+   *
+   * @param dir               the lease directory of the sweep
+   * @param workerId          the ID of the worker, unique among the workers
+   * @param leaseTimeout      the time in milliseconds after which an
+   *                          untouched lease expires; the lease of a running
+   *                          task is touched four times as often
+   * @param stragglerTimeout  the time in milliseconds after which a running
+   *                          task is a straggler
+   * @throws IOException  if the lease directory cannot be created
+   */
+  public Sweep(File dir, String workerId, long leaseTimeout,
+               long stragglerTimeout) throws IOException {
+    this(dir, workerId, leaseTimeout, stragglerTimeout,
+         DEFAULT_EXPERIMENT_SEED);
+  }
+
+  /**
+   * Create a worker of a sweep.
+   *
+   * @param dir               the lease directory of the sweep
+   * @param workerId          the ID of the worker, unique among the workers
+   * @param leaseTimeout      the time in milliseconds after which an
+   *                          untouched lease expires; the lease of a running
+   *                          task is touched four times as often
+   * @param stragglerTimeout  the time in milliseconds after which a running
+   *                          task is a straggler
+   * @param experimentSeed    the experiment seed, which must be the same for
+   *                          every worker
+   * @throws IOException  if the lease directory cannot be created
+   */
+  public Sweep(File dir, String workerId, long leaseTimeout,
+               long stragglerTimeout, long experimentSeed)
+      throws IOException {
+    this.workerId = workerId;
+    this.leaseDir = Files.createDirectories(dir.toPath().resolve("leases"));
+    this.resultDir = Files.createDirectories(dir.toPath().resolve("results"));
+    this.failedDir = Files.createDirectories(dir.toPath().resolve("failed"));
+    this.tmpDir = Files.createDirectories(dir.toPath().resolve("tmp"));
+    this.leaseTimeout = leaseTimeout;
+    this.stragglerTimeout = stragglerTimeout;
+    this.experimentSeed = experimentSeed;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Run the tasks of the sweep, together with the other workers, until
+   * every task has either finished or failed.  Every worker should be given
+   * the same tasks.  The experiment seed is shared by a process, so a
+   * process should run one worker at a time.
+   *
+   * @param taskIds  the IDs of the tasks
+   * @param task     the task
+   * @return the IDs of the failed tasks
+   * @throws IOException           if the lease directory cannot be used
+   * @throws InterruptedException  if the worker is interrupted
+   */
+  public List<String> run(List<String> taskIds, Task task)
+      throws IOException, InterruptedException {
+    for (String taskId : taskIds) {
+      if (!TASK_ID_PATTERN.matcher(taskId).matches()) {
+        throw new IllegalArgumentException("Invalid task ID: " + taskId);
+      }
+    }
+    Thread heartbeat = startHeartbeat();
+    try {
+      while (true) {
+        boolean isAllFinished = true;
+        boolean isClaimed = false;
+        for (String taskId : taskIds) {
+          if (isFinished(taskId)) {
+            continue;
+          }
+          isAllFinished = false;
+          Path lease = claim(taskId, false);
+          if (lease != null) {
+            runClaimed(taskId, lease, task);
+            isClaimed = true;
+          }
+        }
+        if (isAllFinished) {
+          break;
+        }
+        if (!isClaimed) {
+          // nothing left to claim, so back up the stragglers
+          for (String taskId : taskIds) {
+            if (!isFinished(taskId)) {
+              Path lease = claim(taskId, true);
+              if (lease != null) {
+                runClaimed(taskId, lease, task);
+                isClaimed = true;
+              }
+            }
+          }
+        }
+        if (!isClaimed) {
+          Thread.sleep(Math.max(1, leaseTimeout / 4));
+        }
+      }
+    } finally {
+      heartbeat.interrupt();
+    }
+    List<String> failedTaskIds = new ArrayList<String>();
+    for (String taskId : taskIds) {
+      if (Files.exists(failedDir.resolve(taskId))
+          && !Files.exists(resultDir.resolve(taskId))) {
+        failedTaskIds.add(taskId);
+      }
+    }
+    return failedTaskIds;
+  }
+
+  /**
+   * Get the result file of a task.
+   *
+   * @param taskId  the ID of the task
+   * @return the result file of the task, which exists once the task has
+   *         finished
+   */
+  public File getResultFile(String taskId) {
+    return resultDir.resolve(taskId).toFile();
+  }
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Launch one worker process per available processor on this host, and
+   * wait for them to exit.  Each worker runs the main method of the given
+   * class with the class path of this process, and finds its lease
+   * directory and ID in {@link #SWEEP_DIR} and {@link #SWEEP_WORKER_ID}.
+   *
+   * @param dir        the lease directory of the sweep
+   * @param mainClass  the main class of the workers
+   * @param args       the command-line arguments of the workers
+   * @return the number of workers which exited abnormally
+   * @throws IOException           if a worker cannot be launched
+   * @throws InterruptedException  if this process is interrupted
+   */
+  public static int launchLocalWorkers(File dir, Class<?> mainClass,
+                                       String... args)
+      throws IOException, InterruptedException {
+    String java = System.getProperty("java.home") + File.separator + "bin"
+      + File.separator + "java";
+    int numOfWorkers = Runtime.getRuntime().availableProcessors();
+    List<Process> workers = new ArrayList<Process>(numOfWorkers);
+    for (int i = 0; i < numOfWorkers; i++) {
+      List<String> command = new ArrayList<String>();
+      command.add(java);
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add(mainClass.getName());
+      for (String arg : args) {
+        command.add(arg);
+      }
+      ProcessBuilder builder = new ProcessBuilder(command).inheritIO();
+      builder.environment().put("sweep_dir", dir.getAbsolutePath());
+      builder.environment().put("sweep_worker_id", "local" + i);
+      workers.add(builder.start());
+    }
+    int numOfFailures = 0;
+    for (Process worker : workers) {
+      if (worker.waitFor() != 0) {
+        numOfFailures++;
+      }
+    }
+    return numOfFailures;
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Whether a task has either finished or failed.
+   */
+  private boolean isFinished(String taskId) {
+    return Files.exists(resultDir.resolve(taskId))
+      || Files.exists(failedDir.resolve(taskId));
+  }
+
+  /**
+   * Try to claim a task.
+   *
+   * @param taskId    the ID of the task
+   * @param isBackup  whether to claim a backup copy of a straggling task
+   *                  rather than the task itself
+   * @return the lease of the task, or null if it cannot be claimed
+   */
+  private Path claim(String taskId, boolean isBackup) throws IOException {
+    Path lease = leaseDir.resolve(taskId);
+    if (isBackup) {
+      Long startTime = readStartTime(lease);
+      if (startTime == null
+          || System.currentTimeMillis() - startTime < stragglerTimeout) {
+        return null;
+      }
+      lease = leaseDir.resolve(taskId + BACKUP_SUFFIX);
+    }
+    Path claimed = tryCreateLease(lease);
+    if (claimed == null && isExpired(lease)) {
+      // Move the expired lease out of the way first, so that only one of
+      // the workers which find it expired removes it.
+      Path expired = tmpDir.resolve(taskId + "." + workerId + ".expired");
+      try {
+        Files.move(lease, expired, StandardCopyOption.ATOMIC_MOVE);
+      } catch (NoSuchFileException e) {
+        return null;
+      }
+      // Another worker may have replaced the expired lease with a fresh one
+      // between the check and the move, in which case the fresh lease is
+      // put back.  If yet another worker has claimed the task in the
+      // meantime, the task merely runs twice.
+      if (!isExpired(expired)) {
+        try {
+          Files.move(expired, lease);
+        } catch (FileAlreadyExistsException e) {
+          Files.delete(expired);
+        }
+        return null;
+      }
+      Files.delete(expired);
+      claimed = tryCreateLease(lease);
+    }
+    // the task may have finished since it was last checked
+    if (claimed != null && isFinished(taskId)) {
+      release(claimed);
+      return null;
+    }
+    return claimed;
+  }
+
+  /**
+   * Try to create a lease.
+   *
+   * @return the lease, or null if it already exists
+   */
+  private Path tryCreateLease(Path lease) throws IOException {
+    String content = workerId + " " + (numOfClaims++) + " "
+      + System.currentTimeMillis();
+    try {
+      Files.write(Files.createFile(lease),
+                  content.getBytes(StandardCharsets.UTF_8));
+    } catch (FileAlreadyExistsException e) {
+      return null;
+    }
+    heldLeases.add(lease);
+    return lease;
+  }
+
+  /**
+   * Whether a lease has not been touched for the lease timeout.
+   */
+  private boolean isExpired(Path lease) throws IOException {
+    try {
+      long lastTouched = Files.getLastModifiedTime(lease).toMillis();
+      return System.currentTimeMillis() - lastTouched > leaseTimeout;
+    } catch (NoSuchFileException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Read the start time of the task holding a lease.
+   *
+   * @return the start time, or null if the lease does not exist or is
+   *         still being written
+   */
+  private Long readStartTime(Path lease) throws IOException {
+    try {
+      String[] fields = new String(Files.readAllBytes(lease),
+                                   StandardCharsets.UTF_8).split(" ");
+      return (fields.length == 3) ? Long.valueOf(fields[2]) : null;
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Run a claimed task with its replicate seed, commit its result and
+   * release its lease.
+   */
+  private void runClaimed(String taskId, Path lease, Task task)
+      throws IOException {
+    Path tmpResult = tmpDir.resolve(taskId + "." + workerId);
+    try {
+      RandomStreams.setExperimentSeed(
+        RandomStreams.replicateSeed(experimentSeed, taskId.hashCode()));
+      task.run(taskId, tmpResult.toFile());
+      Path result = resultDir.resolve(taskId);
+      if (Files.exists(result)) {
+        // a backup copy finished first
+        Files.deleteIfExists(tmpResult);
+      } else {
+        Files.move(tmpResult, result, StandardCopyOption.ATOMIC_MOVE);
+      }
+    } catch (Throwable e) {
+      // errors such as an AssertionError are recorded as well, rather than
+      // killing the worker and leaving the task to the next one
+      Files.deleteIfExists(tmpResult);
+      StringWriter trace = new StringWriter();
+      e.printStackTrace(new PrintWriter(trace));
+      Path tmpFailure = tmpDir.resolve(taskId + "." + workerId + ".failed");
+      Files.write(tmpFailure, trace.toString().getBytes(StandardCharsets.UTF_8));
+      Files.move(tmpFailure, failedDir.resolve(taskId),
+                 StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      release(lease);
+    }
+  }
+
+  /**
+   * Release a lease if it is still held by this worker.
+   */
+  private void release(Path lease) throws IOException {
+    heldLeases.remove(lease);
+    try {
+      String content = new String(Files.readAllBytes(lease),
+                                  StandardCharsets.UTF_8);
+      // another worker may have taken the lease over if it expired
+      if (content.startsWith(workerId + " ")) {
+        Files.deleteIfExists(lease);
+      }
+    } catch (NoSuchFileException e) {
+      // already taken over and released
+    }
+  }
+
+  /**
+   * Start the thread which touches the leases held by this worker.
+   */
+  private Thread startHeartbeat() {
+    Thread heartbeat = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        while (true) {
+          try {
+            Thread.sleep(Math.max(1, leaseTimeout / 4));
+          } catch (InterruptedException e) {
+            return;
+          }
+          FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+          for (Path lease : heldLeases) {
+            try {
+              Files.setLastModifiedTime(lease, now);
+            } catch (IOException e) {
+              // released in the meantime
+            }
+          }
+        }
+      }
+    }, "SweepHeartbeat-" + workerId);
+    heartbeat.setDaemon(true);
+    heartbeat.start();
+    return heartbeat;
+  }
+}
@@ -31,6 +31,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package aim4.driver;
 
 import java.awt.Color;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -45,7 +46,9 @@ import aim4.vehicle.VehicleDriverModel;
 /**
  * An agent that drives a {@link AutoVehicleDriverModel}.
  */
-public abstract class BasicDriver implements Driver {
+public abstract class BasicDriver implements Driver, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // CONSTANTS
@@ -37,6 +37,7 @@ import aim4.driver.aim.coordinator.NoIntersectionCoordinator;
 import aim4.driver.aim.coordinator.V2ICoordinator;
 import aim4.im.aim.IntersectionManager;
 import aim4.map.BasicAIMIntersectionMap;
+import aim4.util.AreaMask;
 import aim4.vehicle.AutoVehicleDriverModel;
 import aim4.vehicle.aim.AIMAutoVehicleDriverModel;
 
@@ -52,6 +53,8 @@ public class AIMAutoDriver extends AIMDriver
                         implements AutoDriverCoordinatorView, AutoDriver,
         AutoDriverPilotView {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
@@ -62,6 +65,12 @@ public class AIMAutoDriver extends AIMDriver
   /** The sub-agent that controls coordination */
   private Coordinator coordinator;
 
+  /**
+   * The coordinator for intersections, kept to be reused at the next
+   * intersection once it has terminated
+   */
+  private V2ICoordinator v2iCoordinator;
+
   /** The map */
   private BasicAIMIntersectionMap basicAIMIntersectionMap;
 
@@ -112,7 +121,13 @@ public class AIMAutoDriver extends AIMDriver
       // TODO: need to check type of intersection
       if (im != null) {
         currentIM = im;
-        coordinator = new V2ICoordinator(vehicle, this, basicAIMIntersectionMap);
+        if (v2iCoordinator == null) {
+          v2iCoordinator =
+            new V2ICoordinator(vehicle, this, basicAIMIntersectionMap);
+        } else {
+          v2iCoordinator.reset();
+        }
+        coordinator = v2iCoordinator;
       } else {
         currentIM = null;
         coordinator = new NoIntersectionCoordinator(vehicle, this);
@@ -243,7 +258,7 @@ public class AIMAutoDriver extends AIMDriver
   public boolean inCurrentIntersection() {
     if(memoInCurrentIntersection == null) {
       memoInCurrentIntersection =
-        intersects(getVehicle(), currentIM.getIntersection().getAreaPlus());
+        intersects(getVehicle(), currentIM.getIntersection().getAreaPlusMask());
         //intersects(getVehicle(), currentIM.getIntersection().getArea());
     }
     return memoInCurrentIntersection;
@@ -258,12 +273,18 @@ public class AIMAutoDriver extends AIMDriver
    * Determine whether the given Vehicle is currently inside an area
    *
    * @param v     the vehicle
-   * @param area  the area
+   * @param mask  the mask of the area
    * @return      whether the Vehicle is currently in the area
    */
-  private static boolean intersects(AutoVehicleDriverModel v, Area area) {
+  private static boolean intersects(AutoVehicleDriverModel v, AreaMask mask) {
     // TODO: move this function to somewhere else.
 
+    // The mask settles every vehicle that is not on the boundary of the area
+    AreaMask.Overlap overlap = mask.overlap(v.gaugeCornerPoints());
+    if (overlap != AreaMask.Overlap.UNCERTAIN) {
+      return overlap == AreaMask.Overlap.INTERSECTING;
+    }
+    Area area = mask.getArea();
     // As a quick check, see if the front or rear point is in the intersection
     // Most of the time this should work
     if(area.contains(v.gaugePosition()) || area.contains(v.gaugePointAtRear())){
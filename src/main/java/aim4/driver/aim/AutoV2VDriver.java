@@ -39,6 +39,8 @@ import aim4.vehicle.aim.AIMAutoVehicleDriverModel;
  */
 public class AutoV2VDriver extends AIMAutoDriver {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
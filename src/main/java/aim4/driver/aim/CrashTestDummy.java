@@ -44,6 +44,8 @@ import java.awt.geom.Point2D;
  */
 public class CrashTestDummy extends BasicDriver {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
@@ -34,12 +34,15 @@ import aim4.map.BasicAIMIntersectionMap;
 import aim4.map.Road;
 import aim4.map.aim.AIMSpawnPoint;
 import aim4.vehicle.aim.AIMAutoVehicleDriverModel;
+import aim4.vehicle.aim.ProxyVehicleSimModel;
 
 /**
  * A proxy driver.
  */
 public class ProxyDriver extends AIMAutoDriver {
 
+  private static final long serialVersionUID = 1L;
+
   /**
    * Construct a proxy driver.
    *
@@ -52,11 +55,13 @@ public class ProxyDriver extends AIMAutoDriver {
   }
 
   /**
-   * Take control actions for driving the agent's Vehicle.  This allows
-   * both the Coordinator and the Pilot to act (in that order).
+   * Take control actions for driving the agent's Vehicle.  The real vehicle
+   * drives itself, so the proxy driver only processes the messages the real
+   * vehicle has sent since the last time step.
    */
   @Override
   public void act() {
+    ((ProxyVehicleSimModel) getVehicle()).processPostedReal2ProxyMsgs();
   }
 
   /**
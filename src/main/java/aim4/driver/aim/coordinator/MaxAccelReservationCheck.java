@@ -35,8 +35,6 @@ import aim4.util.Util;
 import aim4.vehicle.AccelSchedule;
 import aim4.vehicle.AccelSchedule.TimeAccel;
 
-import java.awt.geom.Line2D;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -54,169 +52,47 @@ public class MaxAccelReservationCheck {
   private static final boolean isDebugging = true;
 
 
-  /////////////////////////////////
-  // NESTED CLASSES
-  /////////////////////////////////
-
   /**
-   * A specification of a trapezoid.
+   * The maximum number of trapezoids the feasible region of the
+   * velocity-time graph is divided into.
    */
-  private static class TrapezoidSpec {
-
-    /////////////////////////////////
-    // PRIVATE FIELDS
-    /////////////////////////////////
-
-    /**
-     * The x-coordinate of the lower left point.
-     */
-    private double refX;
-
-    /**
-     * The y-coordinate of the lower left point.
-     */
-    private double refY;
-
-    /**
-     * The height.
-     */
-    private double h;
-
-    /**
-     * The length of the lower parallel side.
-     */
-    private double w1;
-
-    /**
-     * The length of the upper parallel side.
-     */
-    private double w2;
-
-    /**
-     * The difference of the x-coordinate of the left most point
-     * of the lower parallel side and the  x-coordinator of the
-     * left most point of the upper parallel side.
-     */
-    private double x;
-
-    /**
-     * The area of this trapezoid.
-     */
-    private double area;
-
-    /////////////////////////////////
-    // CONSTRUCTORS
-    /////////////////////////////////
-
-    /**
-     *
-     * @param refX  The x-coordinate of the lower left point
-     * @param refY  The y-coordinate of the lower left point
-     * @param h     The height
-     * @param w1    The length of the lower parallel side
-     * @param w2    The length of the upper parallel side
-     * @param x     The difference of the x-coordinate of the left most point
-     *              of the lower parallel side and the  x-coordinator of the
-     *              left most point of the upper parallel side.
-     */
-    public TrapezoidSpec(double refX, double refY, double h, double w1,
-                         double w2, double x) {
-      this.refX = refX;
-      this.refY = refY;
-      this.h = h;
-      this.w1 = w1;
-      this.w2 = w2;
-      this.x = x;
-      this.area = h * (w1 + w2) / 2.0;
-    }
-
-    /////////////////////////////////
-    // PUBLIC METHODS
-    /////////////////////////////////
-
-    /**
-     * Get the x-coordinate of the lower left point.
-     *
-     * @return the x-coordinate of the lower left point.
-     */
-    public double getRefX() {
-      return refX;
-    }
-
-    /**
-     * Get the y-coordinate of the lower left point.
-     *
-     * @return the y-coordinate of the lower left point.
-     */
-    public double getRefY() {
-      return refY;
-    }
-
-    /**
-     * Get the height.
-     *
-     * @return the height
-     */
-    public double getH() {
-      return h;
-    }
-
-    /**
-     * Get the length of the lower parallel side.
-     *
-     * @return the length of the lower parallel side.
-     */
-    public double getW1() {
-      return w1;
-    }
-
-    /**
-     * Get the length of the upper parallel side.
-     *
-     * @return the length of the upper parallel side.
-     */
-    public double getW2() {
-      return w2;
-    }
+  private static final int MAX_TRAPEZOID_NUM = 3;
 
-    /**
-     * Get the difference of the x-coordinate of the left most point
-     * of the lower parallel side and the  x-coordinator of the
-     * left most point of the upper parallel side.
-     *
-     * @return the difference
-     */
-    public double getX() {
-      return x;
-    }
-
-    /**
-     * Get the area of this trapezoid.
-     *
-     * @return get the area of this trapezoid.
-     */
-    public double getArea() {
-      return area;
-    }
+  /**
+   * The number of doubles used to store a trapezoid in a trapezoid array.
+   * A trapezoid is stored as (refX, refY, h, w1, w2, x, area); see
+   * {@link #addTrapezoid(double[], int, double, double, double, double,
+   * double, double)} for the meaning of each field.
+   */
+  private static final int TRAPEZOID_SIZE = 7;
+
+  /** The offset of the x-coordinate of the lower left point. */
+  private static final int TZ_REF_X = 0;
+  /** The offset of the y-coordinate of the lower left point. */
+  private static final int TZ_REF_Y = 1;
+  /** The offset of the height. */
+  private static final int TZ_H = 2;
+  /** The offset of the length of the lower parallel side. */
+  private static final int TZ_W1 = 3;
+  /** The offset of the length of the upper parallel side. */
+  private static final int TZ_W2 = 4;
+  /** The offset of the horizontal shift of the upper parallel side. */
+  private static final int TZ_X = 5;
+  /** The offset of the area. */
+  private static final int TZ_AREA = 6;
 
-    /////////////////////////////////
-    // DEBUG
-    /////////////////////////////////
-
-    /**
-     * Print the specification of this trapezoid.
-     */
-    public void print() {
-      System.err.printf("TrapezoidSpec:\n");
-      System.err.printf("  w1 = %.10f\n", w1);
-      System.err.printf("  w2 = %.10f\n", w2);
-      System.err.printf("  h  = %.10f\n", h);
-      System.err.printf("  x  = %.10f\n", x);
-      System.err.printf("  area = %.10f\n", area);
-      System.err.printf("  refX = %.10f\n", refX);
-      System.err.printf("  refY = %.10f\n", refY);
-    }
-  }
+  /**
+   * The trapezoid array reused by the checks on the current thread.  Only
+   * the trapezoids added during a check are read, so it need not be
+   * cleared between checks.
+   */
+  private static final ThreadLocal<double[]> pooledTrapezoids =
+    new ThreadLocal<double[]>() {
+      @Override
+      protected double[] initialValue() {
+        return new double[MAX_TRAPEZOID_NUM * TRAPEZOID_SIZE];
+      }
+    };
 
 
   /**
@@ -241,6 +117,12 @@ public class MaxAccelReservationCheck {
                                     double vTop,
                                     double accel, double decel)
                                     throws ReservationCheckException {
+    if (time1 > timeEnd) {
+      // a confirmation delayed by the channel may arrive after its arrival
+      // time
+      throw new ReservationCheckException(
+        "Reservation check failed: the arrival time has already passed");
+    }
     try {
       AccelSchedule as = check0(time1, v1, timeEnd, vEnd,
                                 dTotal, vTop, accel, decel);
@@ -447,7 +329,8 @@ public class MaxAccelReservationCheck {
           }
         } else if (t24 > 0.0) {
           //  Case 3, 4, 5
-          List<TrapezoidSpec> tzs = new ArrayList<TrapezoidSpec>(3);
+          double[] tzs = pooledTrapezoids.get();
+          int tzNum = 0;
           double area0 = dTotal;
 
           // 0 = v1 + decel * t11
@@ -482,10 +365,10 @@ public class MaxAccelReservationCheck {
                 throw new ReservationCheckException(
                   "Reservation check failed: distance too small (Case 5a)");
               } // infeasible dTotal too small
-              tzs.add(new TrapezoidSpec(time1+t14, vDown,  // refX, refY
-                                        vEnd - vDown,      // h
-                                        0.0, t3,           // w1, w2
-                                        t14 - t3x));       // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t14, vDown,  // refX, refY
+                                               vEnd - vDown,      // h
+                                               0.0, t3,           // w1, w2
+                                               t14 - t3x);        // x
             } else if (0.0 < v1) {
               // Case 5b
               double areaL = t11 * v1 / 2.0;
@@ -497,10 +380,10 @@ public class MaxAccelReservationCheck {
                   "Reservation check failed: distance too small (Case 5b)");
               } // infeasible dTotal too small
               assert t12 > 0.0;
-              tzs.add(new TrapezoidSpec(time1+t11, 0.0,  // refX, refY
-                                        vEnd,            // h
-                                        t12, t3,         // w1, w2
-                                        t11 - t3x));     // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t11, 0.0,  // refX, refY
+                                               vEnd,            // h
+                                               t12, t3,         // w1, w2
+                                               t11 - t3x);      // x
             } else { // 0 == v1
               // Case 5c
               double areaL = t11 * v1 / 2.0;
@@ -513,24 +396,24 @@ public class MaxAccelReservationCheck {
             }
 
             // Middle trapezoid
-            tzs.add(new TrapezoidSpec(time1+t3x, vEnd,  // refX, refY
-                                      v1 - vEnd,        // h
-                                      t3, t3,           // w1, w2
-                                      t3x));            // x
+            tzNum = addTrapezoid(tzs, tzNum, time1+t3x, vEnd,  // refX, refY
+                                             v1 - vEnd,        // h
+                                             t3, t3,           // w1, w2
+                                             t3x);             // x
             // Upper trapezoid
             if (vUp <= vTop) {
               // Case 5x
-              tzs.add(new TrapezoidSpec(time1, v1,   // refX, refY
-                                        vUp - v1,    // h
-                                        t3, 0.0,     // w1, w2
-                                        -t24));      // x
+              tzNum = addTrapezoid(tzs, tzNum, time1, v1,   // refX, refY
+                                               vUp - v1,    // h
+                                               t3, 0.0,     // w1, w2
+                                               -t24);       // x
             } else if (vEnd < vTop) {
               // Case 5y
               assert t22 > 0.0;
-              tzs.add(new TrapezoidSpec(time1, v1,   // refX, refY
-                                        vTop - v1,   // h
-                                        t3, t22,     // w1, w2
-                                        -t21));      // x
+              tzNum = addTrapezoid(tzs, tzNum, time1, v1,   // refX, refY
+                                               vTop - v1,   // h
+                                               t3, t22,     // w1, w2
+                                               -t21);       // x
             }  // vTop == vEnd; Case 5z, do nothing
 
 
@@ -553,10 +436,10 @@ public class MaxAccelReservationCheck {
                 throw new ReservationCheckException(
                   "Reservation check failed: distance too small (Case 4a)");
               } // infeasible dTotal too small
-              tzs.add(new TrapezoidSpec(time1+t14, vDown,  // refX, refY
-                                        v1 - vDown,        // h
-                                        0.0, t3,           // w1, w2
-                                        t14));             // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t14, vDown,  // refX, refY
+                                               v1 - vDown,        // h
+                                               0.0, t3,           // w1, w2
+                                               t14);              // x
             } else if (0.0 < v1) {
               // Case 4b
               double areaL = t11 * v1 / 2.0;
@@ -568,10 +451,10 @@ public class MaxAccelReservationCheck {
                   "Reservation check failed: distance too small (Case 4b)");
               } // infeasible dTotal too small
               assert t12 > 0.0;
-              tzs.add(new TrapezoidSpec(time1+t11, 0.0,  // refX, refY
-                                        v1,              // h
-                                        t12, t3,         // w1, w2
-                                        t11));           // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t11, 0.0,  // refX, refY
+                                               v1,              // h
+                                               t12, t3,         // w1, w2
+                                               t11);            // x
             } else { // 0 == v1;
               // Case 4c
               double areaR = t13 * vEnd / 2.0;
@@ -584,24 +467,24 @@ public class MaxAccelReservationCheck {
             }
 
             // Middle trapezoid
-            tzs.add(new TrapezoidSpec(time1, v1,  // refX, refY
-                                      vEnd - v1,  // h
-                                      t3, t3,     // w1, w2
-                                      -t3x));     // x
+            tzNum = addTrapezoid(tzs, tzNum, time1, v1,  // refX, refY
+                                             vEnd - v1,  // h
+                                             t3, t3,     // w1, w2
+                                             -t3x);      // x
             // Upper trapezoid
             if (vUp <= vTop) {
               // Case 4x
-              tzs.add(new TrapezoidSpec(time1+t3x, vEnd,  // refX, refY
-                                        vUp - vEnd,       // h
-                                        t3, 0.0,          // w1, w2
-                                        t3x-t24));        // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t3x, vEnd,  // refX, refY
+                                               vUp - vEnd,       // h
+                                               t3, 0.0,          // w1, w2
+                                               t3x-t24);         // x
             } else if (vEnd < vTop) {
               // Case 4y
               assert t22 > 0.0;
-              tzs.add(new TrapezoidSpec(time1+t3x, vEnd,  // refX, refY
-                                        vTop - vEnd,      // h
-                                        t3, t22,          // w1, w2
-                                        t3x-t21));        // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t3x, vEnd,  // refX, refY
+                                               vTop - vEnd,      // h
+                                               t3, t22,          // w1, w2
+                                               t3x-t21);         // x
             }  // vTop == vEnd; Case 4z, do nothing
 
 
@@ -619,10 +502,10 @@ public class MaxAccelReservationCheck {
                 throw new ReservationCheckException(
                   "Reservation check failed: distance too small (Case 3a)");
               } // infeasible dTotal too small
-              tzs.add(new TrapezoidSpec(time1+t14, vDown,  // refX, refY
-                                        v1 - vDown,        // h
-                                        0.0, tTotal,       // w1, w2
-                                        t14));             // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t14, vDown,  // refX, refY
+                                               v1 - vDown,        // h
+                                               0.0, tTotal,       // w1, w2
+                                               t14);              // x
             } else if (0.0 < v1) {
               // Case 3b
               double areaL = t11 * v1 / 2.0;
@@ -634,41 +517,35 @@ public class MaxAccelReservationCheck {
                   "Reservation check failed: distance too small (Case 3b)");
               } // infeasible dTotal too small
               assert t12 > 0.0;
-              tzs.add(new TrapezoidSpec(time1+t11, 0.0,  // refX, refY
-                                        v1,              // h
-                                        t12, tTotal,     // w1, w2
-                                        t11));           // x
+              tzNum = addTrapezoid(tzs, tzNum, time1+t11, 0.0,  // refX, refY
+                                               v1,              // h
+                                               t12, tTotal,     // w1, w2
+                                               t11);            // x
             }  // 0 == v1; Case 3c, do nothing
 
             // Upper trapezoid
             if (vUp <= vTop) {
               // Case 3x
-              tzs.add(new TrapezoidSpec(time1, v1,     // refX, refY
-                                        vUp - v1,      // h
-                                        tTotal, 0.0,   // w1, w2
-                                        -t24));        // x
+              tzNum = addTrapezoid(tzs, tzNum, time1, v1,     // refX, refY
+                                               vUp - v1,      // h
+                                               tTotal, 0.0,   // w1, w2
+                                               -t24);         // x
             } else if (vEnd < vTop) {
               // Case 3y
               assert t22 > 0.0;
-              tzs.add(new TrapezoidSpec(time1, v1,     // refX, refY
-                                        vTop - v1,      // h
-                                        tTotal, t22,   // w1, w2
-                                        -t21));        // x
+              tzNum = addTrapezoid(tzs, tzNum, time1, v1,     // refX, refY
+                                               vTop - v1,      // h
+                                               tTotal, t22,   // w1, w2
+                                               -t21);         // x
             }  // vTop == vEnd; Case 3z, do nothing
           }
 
 
-          Line2D.Double line = findPartialTrapezoid(tzs, area0);
-          if (line != null) {
-//            assert isPartialTrapezoidValid(time1, v1,
-//                                           timeEnd, vEnd,
-//                                           dTotal, vTop,
-//                                           accel, decel,
-//                                           line);
-            AccelSchedule as = makeAccelSchedule(time1, v1,
+          AccelSchedule as = findPartialTrapezoid(tzs, tzNum, area0,
+                                                 time1, v1,
                                                  timeEnd, vEnd,
-                                                 accel, decel,
-                                                 line);
+                                                 accel, decel);
+          if (as != null) {
             return as;
           } else {
             // infeasible due to dTotal too large
@@ -710,32 +587,76 @@ public class MaxAccelReservationCheck {
   }
 
 
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Append the specification of a trapezoid to a trapezoid array.
+   *
+   * @param tzs   the trapezoid array
+   * @param n     the number of trapezoids already in the array
+   * @param refX  The x-coordinate of the lower left point
+   * @param refY  The y-coordinate of the lower left point
+   * @param h     The height
+   * @param w1    The length of the lower parallel side
+   * @param w2    The length of the upper parallel side
+   * @param x     The difference of the x-coordinate of the left most point
+   *              of the lower parallel side and the  x-coordinator of the
+   *              left most point of the upper parallel side.
+   * @return the number of trapezoids in the array after the addition
+   */
+  private static int addTrapezoid(double[] tzs, int n,
+                                  double refX, double refY, double h,
+                                  double w1, double w2, double x) {
+    int i = n * TRAPEZOID_SIZE;
+    tzs[i + TZ_REF_X] = refX;
+    tzs[i + TZ_REF_Y] = refY;
+    tzs[i + TZ_H] = h;
+    tzs[i + TZ_W1] = w1;
+    tzs[i + TZ_W2] = w2;
+    tzs[i + TZ_X] = x;
+    tzs[i + TZ_AREA] = h * (w1 + w2) / 2.0;
+    return n + 1;
+  }
+
+
   /**
-   * Calculate a partial trapezoid given the area.
+   * Calculate a partial trapezoid given the area and turn the line
+   * separating the top and the bottom of the trapezoid into an acceleration
+   * schedule.
    *
-   * @param spec   The specification of the trapezoid
-   * @param area0  The area of the partial trapezoid filling the upper part
-   *               of the trapezoid
-   * @return the line separating the top and the bottom of the trapezoid; null
-   *         if no solution.
+   * @param tzs     the trapezoid array
+   * @param i       the index of the first element of the trapezoid
+   * @param area0   The area of the partial trapezoid filling the upper part
+   *                of the trapezoid
+   * @param time1   the initial time
+   * @param v1      the initial velocity
+   * @param timeEnd the arrival time
+   * @param vEnd    the arrival velocity
+   * @param accel   the maximum acceleration
+   * @param decel   the maximum deceleration
+   * @return the acceleration schedule
    */
-  private static Line2D.Double calcPartialTrapezoid(TrapezoidSpec spec,
-                                                    double area0) {
-    double refX = spec.getRefX();
-    double refY = spec.getRefY();
-    double h = spec.getH();
-    double w1 = spec.getW1();
-    double w2 = spec.getW2();
-    double x = spec.getX();
-    double area = spec.getArea();
+  private static AccelSchedule calcPartialTrapezoid(double[] tzs, int i,
+                                                    double area0,
+                                                    double time1, double v1,
+                                                    double timeEnd,
+                                                    double vEnd,
+                                                    double accel,
+                                                    double decel) {
+    double refX = tzs[i + TZ_REF_X];
+    double refY = tzs[i + TZ_REF_Y];
+    double h = tzs[i + TZ_H];
+    double w1 = tzs[i + TZ_W1];
+    double w2 = tzs[i + TZ_W2];
+    double x = tzs[i + TZ_X];
+    double area = tzs[i + TZ_AREA];
 
     // The trapezoid can be a triangle but not a line or a point.
     assert 0.0 < h;
     assert (0.0 <= w1 && 0.0 < w2) || (0.0 < w1 && 0.0 <= w2);
     assert Util.isDoubleEqual(area, h*(w1+w2)/2.0);
-    // The area of the partial trapezoid must be smaller
-//    assert Util.isDoubleZero(area0) || Util.isDoubleEqual(area0, area)
-//           || (0.0 <= area0 && area0 <= area);
 
     // Let w0 be the length of the upper parallel side of the partial trapezoid
     // Let h0 be the height of the partial trapezoid
@@ -803,69 +724,67 @@ public class MaxAccelReservationCheck {
     //   x0 = h0 * x / h
     // Thus, in both case, the solution are the same.
 
+    double h0;
+    double w0;
+    double x0;
     if (Util.isDoubleZero(area0)) {
-      double w0 = w1;
-      double h0 = 0.0;
-      double x0 = 0.0;
-      double p1x = refX - x0;
-      double p1y = refY + h0;
-      return new Line2D.Double(p1x, p1y, p1x+w0, p1y);
+      w0 = w1;
+      h0 = 0.0;
+      x0 = 0.0;
     } else if (Util.isDoubleEqual(area0, area)) {
-      double w0 = w2;
-      double h0 = h;
-      double x0 = x;
-      double p1x = refX - x0;
-      double p1y = refY + h0;
-      return new Line2D.Double(p1x, p1y, p1x+w0, p1y);
+      w0 = w2;
+      h0 = h;
+      x0 = x;
     } else if (0.0 <= area0 && area0 <= area) {
       if (Util.isDoubleEqual(w1, w2)) {
-        double h0 = area0 / w1;
-        double w0 = w1;
-        double x0 = h0 * x / h;
-        double p1x = refX - x0;
-        double p1y = refY + h0;
-        return new Line2D.Double(p1x, p1y, p1x+w0, p1y);
+        h0 = area0 / w1;
+        w0 = w1;
       } else {
-        double h0 = (Math.sqrt((w1*w1*h*h) + (w2-w1)*(2*area0*h)) - (w1*h))
-                    / (w2 - w1);
-        double w0 = (w2-w1) * h0 / h + w1;
-        double x0 = h0 * x / h;
-        double p1x = refX - x0;
-        double p1y = refY + h0;
-        return new Line2D.Double(p1x, p1y, p1x+w0, p1y);
+        h0 = (Math.sqrt((w1*w1*h*h) + (w2-w1)*(2*area0*h)) - (w1*h))
+             / (w2 - w1);
+        w0 = (w2-w1) * h0 / h + w1;
       }
+      x0 = h0 * x / h;
     } else {
-      throw new RuntimeException("Error in LevelOffReservationCheck::" +
+      throw new RuntimeException("Error in MaxAccelReservationCheck::" +
                                  "calcPartialTrapezoid");
     }
+    double p1x = refX - x0;
+    double p1y = refY + h0;
+    return makeAccelSchedule(time1, v1, timeEnd, vEnd, accel, decel,
+                             p1x, p1y, p1x+w0);
   }
 
 
-  /////////////////////////////////
-  // PRIVATE METHODS
-  /////////////////////////////////
-
   /**
    * Calculate a partial trapezoid given the area in a sequence of trapezoids.
    *
-   * @param trapezoids   The list of the specification of the trapezoid
-   * @param area0  The area of the partial trapezoid filling the upper part
-   *               of the trapezoid
-   * @return the line separating the top and the bottom of the trapezoid; null
-   *         if no solution.
+   * @param tzs     the trapezoid array
+   * @param tzNum   the number of trapezoids in the array
+   * @param area0   The area of the partial trapezoid filling the upper part
+   *                of the trapezoid
+   * @param time1   the initial time
+   * @param v1      the initial velocity
+   * @param timeEnd the arrival time
+   * @param vEnd    the arrival velocity
+   * @param accel   the maximum acceleration
+   * @param decel   the maximum deceleration
+   * @return the acceleration schedule; null if no solution.
    */
-  private static Line2D.Double findPartialTrapezoid(
-                                               List<TrapezoidSpec> trapezoids,
-                                               double area0) {
-//    System.err.printf("area0 = %.10f\n", area0);
-//    for(TrapezoidSpec spec : trapezoids) {
-//      spec.print();
-//    }
-    for(TrapezoidSpec spec : trapezoids) {
-      if (Util.isDoubleEqual(area0, spec.getArea()) || area0 < spec.getArea()) {
-         return calcPartialTrapezoid(spec, area0);
+  private static AccelSchedule findPartialTrapezoid(double[] tzs, int tzNum,
+                                                    double area0,
+                                                    double time1, double v1,
+                                                    double timeEnd,
+                                                    double vEnd,
+                                                    double accel,
+                                                    double decel) {
+    for(int i = 0; i < tzNum * TRAPEZOID_SIZE; i += TRAPEZOID_SIZE) {
+      double area = tzs[i + TZ_AREA];
+      if (Util.isDoubleEqual(area0, area) || area0 < area) {
+        return calcPartialTrapezoid(tzs, i, area0, time1, v1, timeEnd, vEnd,
+                                    accel, decel);
       } else {
-        area0 -= spec.getArea();
+        area0 -= area;
       }
     }
     return null; // no solution
@@ -874,6 +793,7 @@ public class MaxAccelReservationCheck {
 
   /**
    * Calculate a acceleration schedule given the line separating the trapezoid.
+   * The line is horizontal in the velocity-time graph.
    *
    * @param time1   the initial time
    * @param v1      the initial velocity
@@ -881,7 +801,9 @@ public class MaxAccelReservationCheck {
    * @param vEnd    the arrival velocity
    * @param accel   the maximum acceleration
    * @param decel   the maximum deceleration
-   * @param line    the line separating the trapezoid
+   * @param x1      the time at the left end of the line
+   * @param y       the velocity along the line
+   * @param x2      the time at the right end of the line
    *
    * @return the acceleration schedule; null if there is no acceleration
    *         schedule that satisfies the constraints.
@@ -889,36 +811,37 @@ public class MaxAccelReservationCheck {
   private static AccelSchedule makeAccelSchedule(double time1, double v1,
                                                  double timeEnd, double vEnd,
                                                  double accel, double decel,
-                                                 Line2D.Double line) {
+                                                 double x1, double y,
+                                                 double x2) {
     AccelSchedule as = new AccelSchedule();
 
-    if (Util.isDoubleEqual(line.getX1(), time1)) {
-      assert Util.isDoubleEqual(line.getY1(), v1,
+    if (Util.isDoubleEqual(x1, time1)) {
+      assert Util.isDoubleEqual(y, v1,
                                 Constants.DOUBLE_EQUAL_WEAK_PRECISION);
       // The starting point is equal to point 1
     } else {
-      if (line.getY1() < v1) {
+      if (y < v1) {
         as.add(time1, decel);
       } else {
-        assert v1 < line.getY1();
+        assert v1 < y;
         as.add(time1, accel);
       }
     }
 
-    if (Util.isDoubleNotEqual(line.getX1(), line.getX2())) {
-      as.add(line.getX1(), 0.0);
+    if (Util.isDoubleNotEqual(x1, x2)) {
+      as.add(x1, 0.0);
     }  // else the line is a point
 
-    if (Util.isDoubleEqual(line.getX2(), timeEnd)) {
-      assert Util.isDoubleEqual(line.getY2(), vEnd,
+    if (Util.isDoubleEqual(x2, timeEnd)) {
+      assert Util.isDoubleEqual(y, vEnd,
                                 Constants.DOUBLE_EQUAL_WEAK_PRECISION);
       // The ending point is equal to point 2
     } else {
-      if (line.getY2() < vEnd) {
-        as.add(line.getX2(), accel);
+      if (y < vEnd) {
+        as.add(x2, accel);
       } else {
-        assert vEnd < line.getY2();
-        as.add(line.getX2(), decel);
+        assert vEnd < y;
+        as.add(x2, decel);
       }
     }
 
@@ -940,48 +863,36 @@ public class MaxAccelReservationCheck {
    * @param v1      the initial velocity
    * @param timeEnd the arrival time
    * @param vEnd    the arrival velocity
-   * @param dTotal  the distance from the vehicle to the intersection
-   * @param vTop    the speed limit of the road
    * @param accel   the maximum acceleration
    * @param decel   the maximum deceleration
-   * @param line    the line separating the trapezoid
+   * @param x1      the time at the left end of the line
+   * @param y       the velocity along the line
+   * @param x2      the time at the right end of the line
    *
    * @return true if the trapezoid is valid.
    */
   private static boolean isPartialTrapezoidValid(double time1, double v1,
                                                  double timeEnd, double vEnd,
-                                                 double dTotal,
-                                                 double vTop,
                                                  double accel, double decel,
-                                                 Line2D.Double line) {
-    double v2 = v1 + ((v1 <= line.getY1())?accel:decel) * (line.getX1()-time1);
-    if (Util.isDoubleNotEqual(v2, line.getY1())) {
+                                                 double x1, double y,
+                                                 double x2) {
+    double v2 = v1 + ((v1 <= y)?accel:decel) * (x1-time1);
+    if (Util.isDoubleNotEqual(v2, y)) {
       if (isDebugging) {
         System.err.printf("Error in isPartialTrapezoidValid(): " +
-                          "line.getY1() is incorrect.\n");
+                          "the left end of the line is incorrect.\n");
       }
       return false;
     }
-    // vEnd = v3 + ((line.getY2()<=vEnd)?accel:decel) * (timeEnd-line.getX2());
-    double v3 = vEnd - ((line.getY2()<=vEnd)?accel:decel)
-                       * (timeEnd-line.getX2());
-
-    if (Util.isDoubleNotEqual(v3, line.getY2())) {
+    // vEnd = v3 + ((y<=vEnd)?accel:decel) * (timeEnd-x2);
+    double v3 = vEnd - ((y<=vEnd)?accel:decel) * (timeEnd-x2);
+    if (Util.isDoubleNotEqual(v3, y)) {
       if (isDebugging) {
         System.err.printf("Error in isPartialTrapezoidValid(): " +
-                          "line.getY2() is incorrect.\n");
+                          "the right end of the line is incorrect.\n");
       }
       return false;
     }
-
-//    System.err.printf("time1 = %.5f\n", time1);
-//    System.err.printf("v1 = %.5f\n", v1);
-//    System.err.printf("timeEnd = %.5f\n", timeEnd);
-//    System.err.printf("vEnd = %.5f\n", vEnd);
-//    System.err.printf("accel = %.2f\n", accel);
-//    System.err.printf("decel = %.2f\n", decel);
-//    printLine(line);
-
     return true;
   }
 
@@ -35,10 +35,14 @@ import aim4.driver.aim.AIMAutoDriver;
 import aim4.driver.aim.pilot.V2IPilot;
 import aim4.vehicle.aim.AIMAutoVehicleDriverModel;
 
+import java.io.Serializable;
+
 /**
  * The coordinator when there is no intersection.
  */
-public class NoIntersectionCoordinator implements Coordinator {
+public class NoIntersectionCoordinator implements Coordinator, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // PRIVATE FIELDS
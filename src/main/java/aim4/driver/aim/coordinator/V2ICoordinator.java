@@ -58,6 +58,7 @@ import aim4.vehicle.AutoVehicleDriverModel;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.aim.AIMAutoVehicleDriverModel;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
@@ -73,7 +74,9 @@ import java.util.Queue;
  * alters the state of the CoordinatingDriverAgent of which it is a part to
  * reflect the current reservation status.
  */
-public class V2ICoordinator implements Coordinator {
+public class V2ICoordinator implements Coordinator, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // CONSTANTS
@@ -151,7 +154,7 @@ public class V2ICoordinator implements Coordinator {
   /**
    * An interface of the state handler.
    */
-  private static interface StateHandler {
+  private static interface StateHandler extends Serializable {
     /**
      * Perform the action defined by the state handler at the driver state.
      *
@@ -231,7 +234,9 @@ public class V2ICoordinator implements Coordinator {
 
   // lane change controller
 
-  private static class LaneChangeController {
+  private static class LaneChangeController implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // CONSTANTS
@@ -514,7 +519,9 @@ public class V2ICoordinator implements Coordinator {
     /**
      * The state handler for waiting to lane change.
      */
-    private class LcWaitingLaneChangeStateHandler implements StateHandler {
+    private class LcWaitingLaneChangeStateHandler implements StateHandler, Serializable {
+
+      private static final long serialVersionUID = 1L;
 
       /**
        * Determine the vehicle can change lane immediately.
@@ -588,7 +595,9 @@ public class V2ICoordinator implements Coordinator {
     /**
      * The state handler for changing lane.
      */
-    private class LcChangingLaneStateHandler implements StateHandler {
+    private class LcChangingLaneStateHandler implements StateHandler, Serializable {
+
+      private static final long serialVersionUID = 1L;
 
       @Override
       public boolean perform() {
@@ -652,7 +661,9 @@ public class V2ICoordinator implements Coordinator {
   /**
    * Postprocessing the reservation parameters
    */
-  public static class ReservationParameter {
+  public static class ReservationParameter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * The Lane in which the Vehicle should arrive at the intersection.
@@ -921,12 +932,27 @@ public class V2ICoordinator implements Coordinator {
     this.pilot = new V2IPilot(vehicle, driver);
     this.navigator = new BasicNavigator(vehicle.getSpec(), basicAIMIntersectionMap);
 
-    isDebugging = Debug.isTargetVIN(vehicle.getVIN());
-
     lcController = new LaneChangeController(vehicle, driver, pilot, navigator);
 
     initStateHandlers();
 
+    reset();
+  }
+
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Start coordinating with the next intersection manager.  This returns
+   * the coordinator to the state it is in when it is created, so that a
+   * driver can reuse its coordinator across intersections.  The lane change
+   * controller is reset by the planning state.
+   */
+  public void reset() {
+    isDebugging = Debug.isTargetVIN(vehicle.getVIN());
+
     assert (driver.nextIntersectionManager() != null);
 
     // We don't have a reservation yet
@@ -945,11 +971,6 @@ public class V2ICoordinator implements Coordinator {
     setState(State.V2I_PLANNING);
   }
 
-
-  /////////////////////////////////
-  // PUBLIC METHODS
-  /////////////////////////////////
-
   /**
    * Receive, process, and send messages between Vehicles and
    * IntersectionManagers, and maintain the reservation status in
@@ -1292,6 +1313,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the planning state.
    */
   private class V2IPlanningStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@inheritDoc}
      */
@@ -1330,6 +1353,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the lane changing state.
    */
   private class V2ILaneChangeStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@inheritDoc}
      */
@@ -1359,6 +1384,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the default driving behavior state.
    */
   private class V2IDefaultDrivingBehaviorStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@inheritDoc}
      */
@@ -1379,22 +1406,31 @@ public class V2ICoordinator implements Coordinator {
    */
   private class V2IPreparingReservationStateHandler implements StateHandler {
 
+    private static final long serialVersionUID = 1L;
+
     /**
-     * Estimates the arrival parameters at the intersection given a maximum
-     * velocity.
+     * Estimates the arrival parameters at the intersection given a list of
+     * maximum velocities.  The initial state of the estimation is computed
+     * once and shared by all maximum velocities.
      *
-     * @param maxArrivalVelocity   the maximum desired arrival velocity
+     * @param maxArrivalVelocities   the maximum desired arrival velocities
      *
-     * @return the estimated arrival parameters at the intersection
+     * @return the estimated arrival parameters at the intersection, in the
+     *         same order as maxArrivalVelocities; an element is null if the
+     *         estimation failed for that maximum velocity
      */
-    private ArrivalEstimationResult estimateArrival(double maxArrivalVelocity) {
+    private ArrivalEstimationResult[] estimateArrivals(
+                                           List<Double> maxArrivalVelocities) {
       // The basic parameters
       double time1 = vehicle.gaugeTime();
       double v1 = vehicle.gaugeVelocity();
       double dTotal = driver.distanceToNextIntersection();
       // vTop is equal to max(road's speed limit, vehicle' max speed)
       double vTop = DriverUtil.calculateMaxFeasibleVelocity(vehicle);
-      double vEndMax = Math.min(vTop, maxArrivalVelocity);
+      double[] vEndMaxs = new double[maxArrivalVelocities.size()];
+      for(int i = 0; i < vEndMaxs.length; i++) {
+        vEndMaxs[i] = Math.min(vTop, maxArrivalVelocities.get(i));
+      }
       double accel = vehicle.getSpec().getMaxAcceleration();
       double decel = vehicle.getSpec().getMaxDeceleration();
 
@@ -1469,26 +1505,27 @@ public class V2ICoordinator implements Coordinator {
         System.err.printf("v1      = %.5f\n", v1);
         System.err.printf("dTotal  = %.5f\n", dTotal);
         System.err.printf("vTop    = %.5f\n", vTop);
-        System.err.printf("vEndMax = %.5f\n", vEndMax);
+        for(double vEndMax : vEndMaxs) {
+          System.err.printf("vEndMax = %.5f\n", vEndMax);
+        }
         System.err.printf("accel   = %.5f\n", accel);
         System.err.printf("decel   = %.5f\n", decel);
       }
 
-      ArrivalEstimationResult result = null;
-      try {
-        result = VelocityFirstArrivalEstimation
-          .estimate(time1, v1, dTotal, vTop, vEndMax, accel, decel);
-      } catch(ArrivalEstimationException e) {
-        if (isDebugging) {
-          System.err.printf("vin %d: arrival estimation failed: %s",
-                            vehicle.getVIN(), e.getMessage());
-        }
-        return null;
-      }
+      ArrivalEstimationResult[] results = VelocityFirstArrivalEstimation
+        .estimate(time1, v1, dTotal, vTop, vEndMaxs, accel, decel);
       if (isDebugging) {
-        System.err.printf("accelSchedule = %s\n", result.getAccelSchedule());
+        for(ArrivalEstimationResult result : results) {
+          if (result != null) {
+            System.err.printf("accelSchedule = %s\n",
+                              result.getAccelSchedule());
+          } else {
+            System.err.printf("vin %d: arrival estimation failed\n",
+                              vehicle.getVIN());
+          }
+        }
       }
-      return result;
+      return results;
     }
 
     /**
@@ -1533,9 +1570,9 @@ public class V2ICoordinator implements Coordinator {
       double minArrivalTime =
         vehicle.gaugeTime() + MINIMUM_FUTURE_RESERVATION_TIME;
 
+      ArrivalEstimationResult[] results = estimateArrivals(maximumVelocities);
       for (int i = 0; i < n; i++) {
-        ArrivalEstimationResult result =
-          estimateArrival(maximumVelocities.get(i));
+        ArrivalEstimationResult result = results[i];
         arrivalVelocities.add(result.getArrivalVelocity());
         // Make sure our arrival time is at least a certain amount
         arrivalTimes.add(Math.max(result.getArrivalTime(), minArrivalTime));
@@ -1683,6 +1720,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the awaiting response state.
    */
   private class V2IAwaitingResponseStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@inheritDoc}
      */
@@ -1736,6 +1775,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the maintaining reservation state.
    */
   private class V2IMaintainingReservationStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * Check whether it is possible for the vehicle to arrive at the
      * intersection at the arrival time in accordance with its reservation
@@ -1845,6 +1886,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the traversing state.
    */
   private class V2ITraversingStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@inheritDoc}
      */
@@ -1874,6 +1917,8 @@ public class V2ICoordinator implements Coordinator {
    * The state handler for the clearing state.
    */
   private class V2IClearingStateHandler implements StateHandler {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@inheritDoc}
      */
@@ -167,6 +167,52 @@ public class VelocityFirstArrivalEstimation {
     return result;
   }
 
+  /**
+   * Compute the acceleration schedules and the arrival parameters at the
+   * intersection for a batch of maximum arrival velocities that share the
+   * same initial state.  Each distinct maximum arrival velocity is estimated
+   * only once; the candidates of the same velocity share the same result.
+   *
+   * @param time1     the initial time
+   * @param v1        the initial velocity
+   * @param dTotal    the distance between the vehicle and the intersection
+   * @param vTop      the speed limit of the road
+   * @param vEndMaxs  the speed limits at the intersection of the candidates
+   * @param accel     the maximum acceleration
+   * @param decel     the maximum deceleration
+   *
+   * @return the acceleration schedules and estimated arrival parameters
+   *         of the candidates, in the same order as vEndMaxs; an element is
+   *         null if there is no solution for that candidate.
+   */
+  public static ArrivalEstimationResult[] estimate(double time1,
+                                                   double v1,
+                                                   double dTotal,
+                                                   double vTop,
+                                                   double[] vEndMaxs,
+                                                   double accel,
+                                                   double decel) {
+    ArrivalEstimationResult[] results =
+      new ArrivalEstimationResult[vEndMaxs.length];
+    for(int i = 0; i < vEndMaxs.length; i++) {
+      int j = 0;
+      while(j < i && vEndMaxs[j] != vEndMaxs[i]) {
+        j++;
+      }
+      if (j < i) {
+        results[i] = results[j];  // already estimated
+      } else {
+        try {
+          results[i] = estimate(time1, v1, dTotal, vTop, vEndMaxs[i],
+                                accel, decel);
+        } catch(ArrivalEstimationException e) {
+          results[i] = null;
+        }
+      }
+    }
+    return results;
+  }
+
 
   /////////////////////////////////
   // PRIVATE METHODS
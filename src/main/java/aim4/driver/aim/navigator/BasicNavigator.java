@@ -39,12 +39,15 @@ import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleUtil;
 
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * A base class for an agent that chooses which way a vehicle should go.
  */
-public class BasicNavigator implements Navigator {
+public class BasicNavigator implements Navigator, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // NESTED CLASSES
@@ -50,6 +50,8 @@ import java.util.Queue;
  */
 public class V2IPilot extends BasicPilot {
 
+  private static final long serialVersionUID = 1L;
+
   // ///////////////////////////////
   // CONSTANTS
   // ///////////////////////////////
@@ -6,8 +6,10 @@ import aim4.map.connections.Corner;
 import aim4.map.connections.Junction;
 import aim4.map.connections.SimpleIntersection;
 import aim4.map.cpm.parking.ParkingLane;
+import aim4.util.EventLog;
 import aim4.vehicle.cpm.CPMBasicAutoVehicle;
 
+import java.io.Serializable;
 import java.util.EnumMap;
 
 /**
@@ -17,7 +19,9 @@ import java.util.EnumMap;
  * The two agents (Coordinator and Pilot) communicate by setting
  * the DrivingState and ParkingStatus in this class.
  */
-public class CPMCoordinator implements Coordinator {
+public class CPMCoordinator implements Coordinator, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * The different parking statuses that an agent can have.
@@ -58,7 +62,7 @@ public class CPMCoordinator implements Coordinator {
     /**
      * An interface of the state handler.
      */
-    private static interface StateHandler {
+    private static interface StateHandler extends Serializable {
         /**
          * Perform the action defined by the state handler at the driver state.
          *
@@ -195,8 +199,9 @@ public class CPMCoordinator implements Coordinator {
     private void checkTimeToExit() {
         if (vehicle.getTimeToExit() <= 0
                 && parkingStatus != ParkingStatus.EXIT) {
-            System.out.println("Parking time has elapsed, " +
-                               "setting parking status to EXIT.");
+            if (EventLog.IS_ENABLED) {
+                EventLog.log(EventLog.Event.PARKING_TIME_ELAPSED, vehicle.gaugeTime(), vehicle.getVIN());
+            }
             parkingStatus = ParkingStatus.EXIT;
             drivingState = DrivingState.DEFAULT_DRIVING_BEHAVIOUR;
             // Tell the vehicle in front to relocate, if there is one
@@ -213,12 +218,14 @@ public class CPMCoordinator implements Coordinator {
         // We only want to send the message if the vehicle is actually parked
         // I.e. is stationary, no velocity, and if we haven't already sent it
         // a message
-        System.out.println("Finding vehicle in front");
         CPMBasicAutoVehicle vehicleInFront = vehicle.getVehicleInFront();
         if(vehicleInFront != null
             && vehicleInFront.getVelocity() == 0.0
                 && vehicleInFront.getMessagesFromV2VInbox() == null) {
-            System.out.println("Sending message " +  status.toString() + " to vehicle in front");
+            if (EventLog.IS_ENABLED) {
+                EventLog.log(EventLog.Event.PARKING_STATUS_SENT, vehicle.gaugeTime(),
+                        vehicle.getVIN(), status.ordinal());
+            }
             vehicleInFront.sendMessageToV2VInbox(status);
         }
     }
@@ -231,11 +238,13 @@ public class CPMCoordinator implements Coordinator {
         if ((I2Vinbox != null && parkingStatus == ParkingStatus.WAITING) ||
                 (I2Vinbox != null && parkingStatus == ParkingStatus.RELOCATING) ) {
             // We have been granted access to the car park and know where to park
-            System.out.println("Changing status to PARKING.");
             setParkingStatus(ParkingStatus.PARKING);
             vehicle.setTargetParkingLane(I2Vinbox);
             vehicle.clearI2Vinbox();
-            System.out.println("Finding space on " + I2Vinbox.getRoadName());
+            if (EventLog.IS_ENABLED) {
+                EventLog.log(EventLog.Event.PARKING_LANE_ALLOCATED, vehicle.gaugeTime(),
+                        vehicle.getVIN(), I2Vinbox.getId());
+            }
             if (!vehicle.hasEnteredCarPark()) {
                 vehicle.setHasEntered();
             } else {
@@ -251,7 +260,6 @@ public class CPMCoordinator implements Coordinator {
         ParkingStatus V2Vinbox = vehicle.getMessagesFromV2VInbox();
         if ((V2Vinbox == ParkingStatus.RELOCATING && parkingStatus == ParkingStatus.PARKING)) {
             // The vehicle behind us needs to exit, so change our parking status
-            System.out.println("Changing status to " + V2Vinbox.toString());
             setParkingStatus(V2Vinbox);
             setDrivingState(DrivingState.DEFAULT_DRIVING_BEHAVIOUR);
             // If there is a vehicle in front, we need to send them the same message
@@ -329,6 +337,8 @@ public class CPMCoordinator implements Coordinator {
      * The state handler for the default driving behavior state.
      */
     private class DefaultDrivingBehaviourStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -338,19 +348,25 @@ public class CPMCoordinator implements Coordinator {
             // If so, then switch to the relevant traversing mode.
             assert driver != null;
             if (driver.inCorner() != null){
-                System.out.println("Entering corner.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.CORNER_ENTERED, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 currentCorner = driver.inCorner();
                 vehicle.updateEstimatedDistanceTravelled(currentCorner);
                 setDrivingState(DrivingState.TRAVERSING_CORNER);
             }
             if (driver.inJunction() != null){
-                System.out.println("Entering junction.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.JUNCTION_ENTERED, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 currentJunction = driver.inJunction();
                 vehicle.updateEstimatedDistanceTravelled(currentJunction);
                 setDrivingState(DrivingState.TRAVERSING_JUNCTION);
             }
             if (driver.inIntersection() != null){
-                System.out.println("Entering intersection.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.INTERSECTION_ENTERED, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 SimpleIntersection currentIntersection = driver.inIntersection();
                 vehicle.updateEstimatedDistanceTravelled(currentIntersection);
                 setDrivingState(DrivingState.TRAVERSING_INTERSECTION);
@@ -359,7 +375,10 @@ public class CPMCoordinator implements Coordinator {
             // so vehicle will drive past the parking end point
             if (driver.getCurrentLane() instanceof ParkingLane
                     && parkingStatus == ParkingStatus.PARKING) {
-                System.out.println("Traversing Parking Lane" + driver.getCurrentLane());
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.PARKING_LANE_TRAVERSED, vehicle.gaugeTime(),
+                            vehicle.getVIN(), driver.getCurrentLane().getId());
+                }
                 setDrivingState(DrivingState.TRAVERSING_PARKING_LANE);
             }
             pilot.followCurrentLane();
@@ -372,6 +391,8 @@ public class CPMCoordinator implements Coordinator {
      * The state handler for the traversing corner state.
      */
     private class TraversingCornerStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -381,7 +402,9 @@ public class CPMCoordinator implements Coordinator {
             assert driver != null;
             Corner corner = driver.inCorner();
             if (corner == null) {
-                System.out.println("Driver is now out of the corner.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.CORNER_LEFT, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 // The vehicle is out of the corner.
                 // Go back to default driving behaviour
                 currentCorner = null;
@@ -408,6 +431,8 @@ public class CPMCoordinator implements Coordinator {
      * The state handler for the traversing junction state.
      */
     private class TraversingJunctionStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -417,7 +442,9 @@ public class CPMCoordinator implements Coordinator {
             assert driver != null;
             Junction junction = driver.inJunction();
             if (junction == null) {
-                System.out.println("Driver is now out of the junction.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.JUNCTION_LEFT, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 // The vehicle is out of the junction.
                 // Go back to default driving behaviour
                 currentJunction = null;
@@ -444,6 +471,8 @@ public class CPMCoordinator implements Coordinator {
      * The state handler for the traversing intersection state.
      */
     private class TraversingIntersectionStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -453,7 +482,9 @@ public class CPMCoordinator implements Coordinator {
             assert driver != null;
             SimpleIntersection intersection = driver.inIntersection();
             if (intersection == null) {
-                System.out.println("Driver is now out of the intersection.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.INTERSECTION_LEFT, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 // The vehicle is out of the intersection.
                 // Go back to default driving behaviour
                 pilot.clearDepartureLane();
@@ -472,6 +503,8 @@ public class CPMCoordinator implements Coordinator {
      * The state handler for the traversing parking lane state.
      */
     private class TraversingParkingLaneStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -480,7 +513,9 @@ public class CPMCoordinator implements Coordinator {
             // First check that we are still on a parking lane
             assert(driver != null);
             if (!driver.inParkingLane() || parkingStatus == ParkingStatus.EXIT){
-                System.out.println("Driver is now leaving the parking lane.");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.PARKING_LANE_LEFT, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 // Find out which state to be in next
                 // Find out if we need to change state
                 if (driver.inCorner() != null){
@@ -495,7 +530,9 @@ public class CPMCoordinator implements Coordinator {
             }
             if (vehicle.getTargetParkingLane() ==
                     driver.getParkingLaneCurrentlyIn()){
-                System.out.println("Reached target parking lane");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.TARGET_PARKING_LANE_REACHED, vehicle.gaugeTime(), vehicle.getVIN());
+                }
                 vehicle.clearTargetParkingLane();
             }
             // keep driving on the parking lane
@@ -511,9 +548,9 @@ public class CPMCoordinator implements Coordinator {
      * @param drivingState the new driving state for this agent.
      */
     private void setDrivingState(DrivingState drivingState) {
-        if (Debug.isPrintDriverStateOfVIN(vehicle.getVIN())) {
-            System.err.printf("At time %.2f, vin %d changes state to %s\n",
-                    vehicle.gaugeTime(), vehicle.getVIN(), drivingState);
+        if (EventLog.IS_ENABLED && Debug.isPrintDriverStateOfVIN(vehicle.getVIN())) {
+            EventLog.log(EventLog.Event.DRIVING_STATE_CHANGED, vehicle.gaugeTime(),
+                    vehicle.getVIN(), drivingState.ordinal());
         }
         this.drivingState = drivingState;
         lastDrivingStateChangeTime = vehicle.gaugeTime();
@@ -528,6 +565,10 @@ public class CPMCoordinator implements Coordinator {
     }
 
     private void setParkingStatus(ParkingStatus parkingStatus) {
+        if (EventLog.IS_ENABLED) {
+            EventLog.log(EventLog.Event.PARKING_STATUS_CHANGED, vehicle.gaugeTime(),
+                    vehicle.getVIN(), parkingStatus.ordinal());
+        }
         this.parkingStatus = parkingStatus;
     }
 
@@ -8,12 +8,15 @@ import aim4.map.lane.Lane;
 import aim4.vehicle.cpm.CPMBasicAutoVehicle;
 import aim4.driver.cpm.CPMCoordinator.*;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * A navigator to decide where to go.
  */
-public class CPMNavigator {
+public class CPMNavigator implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private CPMBasicAutoVehicle vehicle;
 
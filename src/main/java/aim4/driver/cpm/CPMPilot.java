@@ -18,6 +18,8 @@ import aim4.driver.cpm.CPMCoordinator.*;
  */
 public class CPMPilot extends BasicPilot{
 
+    private static final long serialVersionUID = 1L;
+
     // ///////////////////////////////
     // CONSTANTS
     // ///////////////////////////////
@@ -13,6 +13,8 @@ import java.awt.geom.Area;
  * Created by Callum on 14/03/2017.
  */
 public class MergeAutoDriver extends MergeDriver implements AutoDriver {
+    private static final long serialVersionUID = 1L;
+
     /** Memoization cache for {@link #distanceToNextMerge()}. */
     private transient Double memoDistanceToNextMerge;
     /** Memoization cache for {@link #distanceFromPrevMerge()}. */
@@ -8,6 +8,8 @@ import aim4.map.merge.MergeSpawnPoint;
  * Created by Callum on 14/03/2017.
  */
 public abstract class MergeDriver extends BasicDriver implements MergeDriverSimModel {
+    private static final long serialVersionUID = 1L;
+
     private MergeSpawnPoint spawnPoint;
 
     /**
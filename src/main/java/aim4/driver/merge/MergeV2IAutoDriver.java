@@ -6,6 +6,7 @@ import aim4.driver.merge.coordinator.MergeV2IAutoCoordinator;
 import aim4.im.merge.MergeManager;
 import aim4.map.merge.MergeMap;
 import aim4.sim.setup.merge.enums.ProtocolType;
+import aim4.util.AreaMask;
 import aim4.vehicle.AutoVehicleDriverModel;
 import aim4.vehicle.merge.MergeV2IAutoVehicleDriverModel;
 
@@ -15,6 +16,8 @@ import java.awt.geom.Area;
  * Created by Callum on 13/04/2017.
  */
 public class MergeV2IAutoDriver extends MergeAutoDriver {
+    private static final long serialVersionUID = 1L;
+
     // PRIVATE FIELDS //
     /**
      * The MergeManager with which the driver is currently interfacing
@@ -96,7 +99,7 @@ public class MergeV2IAutoDriver extends MergeAutoDriver {
      */
     public boolean inCurrentMerge() {
         if(memoInCurrentMerge == null) {
-            memoInCurrentMerge = intersects(getVehicle(), currentMM.getMergeConnection().getArea());
+            memoInCurrentMerge = intersects(getVehicle(), currentMM.getMergeConnection().getAreaMask());
         }
         return memoInCurrentMerge;
     }
@@ -106,12 +109,18 @@ public class MergeV2IAutoDriver extends MergeAutoDriver {
      * Determine whether the given Vehicle is currently inside an area
      *
      * @param v     the vehicle
-     * @param area  the area
+     * @param mask  the mask of the area
      * @return      whether the Vehicle is currently in the area
      */
-    private static boolean intersects(AutoVehicleDriverModel v, Area area) {
+    private static boolean intersects(AutoVehicleDriverModel v, AreaMask mask) {
         // TODO: move this function to somewhere else.
 
+        // The mask settles every vehicle that is not on the boundary of the area
+        AreaMask.Overlap overlap = mask.overlap(v.gaugeCornerPoints());
+        if (overlap != AreaMask.Overlap.UNCERTAIN) {
+            return overlap == AreaMask.Overlap.INTERSECTING;
+        }
+        Area area = mask.getArea();
         // As a quick check, see if the front or rear point is in the intersection
         // Most of the time this should work
         if(area.contains(v.gaugePosition()) || area.contains(v.gaugePointAtRear())){
@@ -6,6 +6,8 @@ import aim4.driver.merge.pilot.MergeAutoPilot;
 import aim4.map.merge.MergeMap;
 import aim4.vehicle.merge.MergeAutoVehicleDriverModel;
 
+import java.io.Serializable;
+
 /**
  * Created by Callum on 13/04/2017.
  */
@@ -13,14 +15,16 @@ import aim4.vehicle.merge.MergeAutoVehicleDriverModel;
 /**
  * For all Coordinators that need to deal with merges.
  */
-public abstract class MergeCoordinator implements Coordinator {
+public abstract class MergeCoordinator implements Coordinator, Serializable {
+    private static final long serialVersionUID = 1L;
+
     // PUBLIC ABSTRACT
     public abstract String getStateString();
     // NESTED CLASSES //
     /**
      * An interface of the state handler.
      */
-    protected static interface StateHandler {
+    protected static interface StateHandler extends Serializable {
         /**
          * Perform the action defined by the state handler at the driver state.
          *
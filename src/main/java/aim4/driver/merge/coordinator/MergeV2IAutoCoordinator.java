@@ -31,6 +31,8 @@ import java.util.List;
  * Created by Callum on 13/04/2017.
  */
 public class MergeV2IAutoCoordinator extends MergeCoordinator {
+    private static final long serialVersionUID = 1L;
+
     // CONSTANTS //
     /**
      * The maximum amount of error in the clock of the vehicle. {@value} seconds.
@@ -454,6 +456,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class PlanningStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -475,6 +479,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class DefaultDrivingBehaviourStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -488,6 +494,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class PreparingReservationStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * Estimates the arrival parameters at the intersection given a maximum
          * velocity.
@@ -673,6 +681,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class AwaitingResponseStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -723,6 +733,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class MaintainingReservationStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * Check whether it is possible for the vehicle to arrive at the
          * merge at the arrival time in accordance with its reservation
@@ -821,6 +833,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class TraversingStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -851,6 +865,8 @@ public class MergeV2IAutoCoordinator extends MergeCoordinator {
     }
 
     private class ClearingStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -8,12 +8,15 @@ import aim4.map.lane.Lane;
 import aim4.map.merge.MergeMap;
 import aim4.msg.merge.i2v.Confirm;
 
+import java.io.Serializable;
 import java.util.Queue;
 
 /**
  * Postprocessing the reservation parameters
  */
-public class ReservationParameter {
+public class ReservationParameter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * The Lane in which the Vehicle should arrive at the merge.
@@ -17,6 +17,14 @@ import static aim4.config.Debug.currentRimMap;
  */
 public class CrashTestDummy extends BasicDriver {
 
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The distance ahead on an Arc Lane that is not decomposed toward which
+     * the vehicle steers, in meters.
+     */
+    private static final double ARC_LANE_LEAD_DISTANCE = 0.25;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -63,6 +71,10 @@ public class CrashTestDummy extends BasicDriver {
     public void act() {
         // todo: handle u turns
         super.act();
+        if (departureLane instanceof ArcSegmentLane && !((ArcSegmentLane) departureLane).isDecomposed()) {
+            followArcLanes();
+            return;
+        }
         LineSegmentLane departureLineLane;
 
         isFinalLane = getCurrentLane() == departureLane;
@@ -135,6 +147,30 @@ public class CrashTestDummy extends BasicDriver {
         return vehicle;
     }
 
+    /**
+     * Follow Arc Lanes that are not decomposed in Line Lanes.  At the end of
+     * each Lane, the vehicle takes the exit toward the departure Lane if the
+     * exit starts there, or else the next Lane.
+     */
+    private void followArcLanes() {
+        Lane currentLane = getCurrentLane();
+        if (currentLane != departureLane
+                && currentLane.remainingDistanceAlongLane(vehicle.gaugePosition()) < 0.001) {
+            Road departureRoad = ((RimIntersectionMap) currentRimMap).getRoadByDecompositionLane(departureLane);
+            Lane firstExitDepartureLane = departureRoad.getExitMergingLane();
+            Lane secondExitDepartureLane = departureRoad.getContinuousLanes().get(4);
+            Point2D endPoint = currentLane.getEndPoint();
+            if (endPoint.distance(firstExitDepartureLane.getStartPoint()) < 0.001) {
+                setCurrentLane(firstExitDepartureLane);
+            } else if (endPoint.distance(secondExitDepartureLane.getStartPoint()) < 0.001) {
+                setCurrentLane(secondExitDepartureLane);
+            } else {
+                setCurrentLane(currentLane.getNextLane());
+            }
+        }
+        turnTowardPoint(getCurrentLane().getLeadPoint(vehicle.gaugePosition(), ARC_LANE_LEAD_DISTANCE));
+    }
+
     // TODO: think about merging the following code with those in AutoV2IPilot
     // actually we don't need this because we will eventually remove this
     // class
@@ -4,11 +4,14 @@ import aim4.map.BasicRIMIntersectionMap;
 import aim4.map.Road;
 import aim4.map.rim.RIMSpawnPoint;
 import aim4.vehicle.rim.RIMAutoVehicleDriverModel;
+import aim4.vehicle.rim.ProxyVehicleSimModel;
 
 /**
  * A proxy driver.
  */
 public class ProxyDriver extends RIMAutoDriver{
+    private static final long serialVersionUID = 1L;
+
     /**
      * Construct a proxy driver.
      *
@@ -21,11 +24,13 @@ public class ProxyDriver extends RIMAutoDriver{
     }
 
     /**
-     * Take control actions for driving the agent's Vehicle.  This allows
-     * both the Coordinator and the Pilot to act (in that order).
+     * Take control actions for driving the agent's Vehicle.  The real vehicle
+     * drives itself, so the proxy driver only processes the messages the real
+     * vehicle has sent since the last time step.
      */
     @Override
     public void act() {
+        ((ProxyVehicleSimModel) getVehicle()).processPostedReal2ProxyMsgs();
     }
 
     /**
@@ -7,6 +7,7 @@ import aim4.driver.rim.coordinator.NoIntersectionCoordinator;
 import aim4.driver.rim.coordinator.V2ICoordinator;
 import aim4.im.rim.IntersectionManager;
 import aim4.map.BasicRIMIntersectionMap;
+import aim4.util.AreaMask;
 import aim4.vehicle.AutoVehicleDriverModel;
 import aim4.vehicle.rim.RIMAutoVehicleDriverModel;
 
@@ -19,6 +20,8 @@ import java.awt.geom.Area;
  * agents communicate by setting state in this class.
  */
 public class RIMAutoDriver extends RIMDriver implements AutoDriverCoordinatorView, AutoDriver, AutoDriverPilotView {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -29,6 +32,12 @@ public class RIMAutoDriver extends RIMDriver implements AutoDriverCoordinatorVie
     /** The sub-agent that controls coordination */
     private Coordinator coordinator;
 
+    /**
+     * The coordinator for intersections, kept to be reused at the next
+     * intersection once it has terminated
+     */
+    private V2ICoordinator v2iCoordinator;
+
     /** The map */
     private BasicRIMIntersectionMap basicRIMIntersectionMap;
 
@@ -77,7 +86,12 @@ public class RIMAutoDriver extends RIMDriver implements AutoDriverCoordinatorVie
             // TODO: need to check type of intersection
             if (im != null) {
                 currentRIM = im;
-                coordinator = new V2ICoordinator(vehicle, this, basicRIMIntersectionMap);
+                if (v2iCoordinator == null) {
+                    v2iCoordinator = new V2ICoordinator(vehicle, this, basicRIMIntersectionMap);
+                } else {
+                    v2iCoordinator.reset();
+                }
+                coordinator = v2iCoordinator;
             } else {
                 currentRIM = null;
                 coordinator = new NoIntersectionCoordinator(vehicle, this);
@@ -208,7 +222,7 @@ public class RIMAutoDriver extends RIMDriver implements AutoDriverCoordinatorVie
     public boolean inCurrentIntersection() {
         if(memoInCurrentIntersection == null) {
             memoInCurrentIntersection =
-                    intersects(getVehicle(), currentRIM.getIntersection().getAreaPlus());
+                    intersects(getVehicle(), currentRIM.getIntersection().getAreaPlusMask());
             //intersects(getVehicle(), currentIM.getIntersection().getArea());
         }
         return memoInCurrentIntersection;
@@ -223,12 +237,18 @@ public class RIMAutoDriver extends RIMDriver implements AutoDriverCoordinatorVie
      * Determine whether the given Vehicle is currently inside an area
      *
      * @param v     the vehicle
-     * @param area  the area
+     * @param mask  the mask of the area
      * @return      whether the Vehicle is currently in the area
      */
-    private static boolean intersects(AutoVehicleDriverModel v, Area area) {
+    private static boolean intersects(AutoVehicleDriverModel v, AreaMask mask) {
         // TODO: move this function to somewhere else.
 
+        // The mask settles every vehicle that is not on the boundary of the area
+        AreaMask.Overlap overlap = mask.overlap(v.gaugeCornerPoints());
+        if (overlap != AreaMask.Overlap.UNCERTAIN) {
+            return overlap == AreaMask.Overlap.INTERSECTING;
+        }
+        Area area = mask.getArea();
         // As a quick check, see if the front or rear point is in the intersection
         // Most of the time this should work
         if(area.contains(v.gaugePosition()) || area.contains(v.gaugePointAtRear())){
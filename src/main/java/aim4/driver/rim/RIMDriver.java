@@ -6,6 +6,8 @@ import aim4.map.Road;
 import aim4.map.rim.RIMSpawnPoint;
 
 public abstract class RIMDriver extends BasicDriver implements RIMDriverSimModel {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -28,6 +28,7 @@ import aim4.vehicle.AutoVehicleDriverModel;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.rim.RIMAutoVehicleDriverModel;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
@@ -43,7 +44,9 @@ import java.util.Queue;
  * alters the state of the CoordinatingDriverAgent of which it is a part to
  * reflect the current reservation status.
  */
-public class V2ICoordinator implements Coordinator{
+public class V2ICoordinator implements Coordinator, Serializable{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -120,7 +123,7 @@ public class V2ICoordinator implements Coordinator{
     /**
      * An interface of the state handler.
      */
-    private static interface StateHandler {
+    private static interface StateHandler extends Serializable {
         /**
          * Perform the action defined by the state handler at the driver state.
          *
@@ -205,7 +208,9 @@ public class V2ICoordinator implements Coordinator{
     /**
      * Postprocessing the reservation parameters
      */
-    public static class ReservationParameter {
+    public static class ReservationParameter implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         /**
          * The Lane in which the Vehicle should arrive at the intersection.
@@ -469,10 +474,26 @@ public class V2ICoordinator implements Coordinator{
         this.pilot = new V2IPilot(vehicle, driver);
         this.navigator = new BasicNavigator(vehicle.getSpec(), basicRIMIntersectionMap);
 
-        isDebugging = Debug.isTargetVIN(vehicle.getVIN());
-
         initStateHandlers();
 
+        reset();
+    }
+
+
+    /////////////////////////////////
+    // PUBLIC METHODS
+    /////////////////////////////////
+
+    /**
+     * Start coordinating with the next intersection manager.  This returns
+     * the coordinator to the state it is in when it is created, so that a
+     * driver can reuse its coordinator across intersections instead of
+     * creating a new one, together with its pilot, navigator and state
+     * handlers, at every intersection.
+     */
+    public void reset() {
+        isDebugging = Debug.isTargetVIN(vehicle.getVIN());
+
         assert (driver.nextIntersectionManager() != null);
 
         // We don't have a reservation yet
@@ -491,11 +512,6 @@ public class V2ICoordinator implements Coordinator{
         setState(State.V2I_PLANNING);
     }
 
-
-    /////////////////////////////////
-    // PUBLIC METHODS
-    /////////////////////////////////
-
     /**
      * Receive, process, and send messages between Vehicles and
      * IntersectionManagers, and maintain the reservation status in
@@ -835,6 +851,8 @@ public class V2ICoordinator implements Coordinator{
      * The state handler for the planning state.
      */
     private class V2IPlanningStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -864,6 +882,8 @@ public class V2ICoordinator implements Coordinator{
      * The state handler for the default driving behavior state.
      */
     private class V2IDefaultDrivingBehaviorStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -884,6 +904,8 @@ public class V2ICoordinator implements Coordinator{
      */
     private class V2IPreparingReservationStateHandler implements StateHandler {
 
+        private static final long serialVersionUID = 1L;
+
         /**
          * Estimates the arrival parameters at the intersection given a maximum
          * velocity.
@@ -1156,6 +1178,8 @@ public class V2ICoordinator implements Coordinator{
      * The state handler for the awaiting response state.
      */
     private class V2IAwaitingResponseStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -1209,6 +1233,8 @@ public class V2ICoordinator implements Coordinator{
      * The state handler for the maintaining reservation state.
      */
     private class V2IMaintainingReservationStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * Check whether it is possible for the vehicle to arrive at the
          * intersection at the arrival time in accordance with its reservation
@@ -1318,6 +1344,8 @@ public class V2ICoordinator implements Coordinator{
      * The state handler for the traversing state.
      */
     private class V2ITraversingStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
@@ -1347,6 +1375,8 @@ public class V2ICoordinator implements Coordinator{
      * The state handler for the clearing state.
      */
     private class V2IClearingStateHandler implements StateHandler {
+        private static final long serialVersionUID = 1L;
+
         /**
          * {@inheritDoc}
          */
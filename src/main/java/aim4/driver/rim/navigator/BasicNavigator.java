@@ -5,6 +5,7 @@ import aim4.map.BasicRIMIntersectionMap;
 import aim4.map.Road;
 import aim4.vehicle.VehicleSpec;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,7 +13,9 @@ import java.util.Map;
 /**
  * A base class for an agent that chooses which way a vehicle should go.
  */
-public class BasicNavigator implements Navigator{
+public class BasicNavigator implements Navigator, Serializable{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -14,6 +14,7 @@ import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.rim.RIMAutoVehicleDriverModel;
 
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Queue;
 
@@ -24,7 +25,9 @@ import static aim4.config.Debug.currentRimMap;
  * attempts to emulate the behavior of a real-world autonomous driver agent in
  * terms of physically controlling the Vehicle.
  */
-public class V2IPilot {
+public class V2IPilot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     // ///////////////////////////////
     // CONSTANTS
     // ///////////////////////////////
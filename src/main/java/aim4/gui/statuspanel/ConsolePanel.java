@@ -35,15 +35,18 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
 
 import aim4.gui.StatusPanelInterface;
 import aim4.gui.component.FormattedLabel;
+import aim4.util.EventLog;
 
 /**
- * The Console Panel
+ * The Console Panel, which shows the events in the default event log while
+ * it is part of a displayed component hierarchy.
  */
 public class ConsolePanel extends JPanel
-                          implements StatusPanelInterface {
+                          implements StatusPanelInterface, EventLog.Listener {
 
   private static final long serialVersionUID = 1L;
 
@@ -53,6 +56,11 @@ public class ConsolePanel extends JPanel
 
   JTextArea textArea;
   JScrollPane outputPane;
+  /**
+   * The text of the events logged since the last time the text area was
+   * updated; guarded by itself
+   */
+  private final StringBuilder pendingEvents = new StringBuilder();
 
   // ///////////////////////////////
   // CONSTRUCTORS
@@ -87,6 +95,29 @@ public class ConsolePanel extends JPanel
   // PUBLIC METHODS
   // ///////////////////////////////
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The panel starts listening to the default event log.
+   */
+  @Override
+  public void addNotify() {
+    super.addNotify();
+    EventLog.getDefault().addListener(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The panel stops listening to the default event log, so that a disposed
+   * panel is not kept alive by the log.
+   */
+  @Override
+  public void removeNotify() {
+    EventLog.getDefault().removeListener(this);
+    super.removeNotify();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -112,4 +143,34 @@ public class ConsolePanel extends JPanel
     textArea.append(str);
     textArea.setCaretPosition(textArea.getDocument().getLength());
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The events are collected and appended to the console in one go on the
+   * event dispatch thread, so that a burst of events does not flood it.
+   */
+  @Override
+  public void eventLogged(double time, int vin, EventLog.Event event,
+                          double value) {
+    boolean isFirst;
+    synchronized (pendingEvents) {
+      isFirst = pendingEvents.length() == 0;
+      pendingEvents.append(EventLog.format(time, vin, event, value))
+                   .append('\n');
+    }
+    if (isFirst) {
+      SwingUtilities.invokeLater(new Runnable() {
+        @Override
+        public void run() {
+          String str;
+          synchronized (pendingEvents) {
+            str = pendingEvents.toString();
+            pendingEvents.setLength(0);
+          }
+          append(str);
+        }
+      });
+    }
+  }
 }
\ No newline at end of file
@@ -36,10 +36,14 @@ import java.awt.GridBagLayout;
 import javax.swing.JPanel;
 
 import aim4.config.Constants;
+import aim4.config.SimConfig;
 import aim4.gui.StatusPanelInterface;
 import aim4.gui.Viewer;
 import aim4.gui.component.FormattedLabel;
 import aim4.sim.Simulator;
+import aim4.util.Histogram;
+import aim4.util.MetricsRegistry;
+import aim4.util.StepProfiler;
 
 /**
  * The statistics Panel
@@ -49,6 +53,9 @@ public class StatPanel extends JPanel
 
   private static final long serialVersionUID = 1L;
 
+  /** The number of nanoseconds in a millisecond. */
+  private static final double NANOS_PER_MS = 1e6;
+
   // ///////////////////////////////
   // PRIVATE FIELDS
   // ///////////////////////////////
@@ -65,6 +72,12 @@ public class StatPanel extends JPanel
   /** The average amount of data received. */
   private FormattedLabel overallAverageReceivedLabel =
     new FormattedLabel("Average Data Received: ", "%5.2f kB", 8);
+  /** The mean time of a simulation step, if the metrics are enabled. */
+  private FormattedLabel meanStepTimeLabel =
+    new FormattedLabel("Mean Step Time: ", "%6.2f ms", 9);
+  /** The 99th percentile of the time of a simulation step. */
+  private FormattedLabel p99StepTimeLabel =
+    new FormattedLabel("99th Percentile Step Time: ", "%6.2f ms", 9);
 
   /** The viewer object */
   private Viewer viewer;
@@ -105,6 +118,14 @@ public class StatPanel extends JPanel
     c.gridwidth = GridBagConstraints.REMAINDER;
     gridbag.setConstraints(overallAverageReceivedLabel, c);
     add(overallAverageReceivedLabel);
+    // Mean Step Time
+    c.gridwidth = 1; // restore default
+    gridbag.setConstraints(meanStepTimeLabel, c);
+    add(meanStepTimeLabel);
+    // 99th Percentile Step Time
+    c.gridwidth = GridBagConstraints.REMAINDER;
+    gridbag.setConstraints(p99StepTimeLabel, c);
+    add(p99StepTimeLabel);
   }
 
   // ///////////////////////////////
@@ -130,6 +151,17 @@ public class StatPanel extends JPanel
       overallAverageReceivedLabel.update(sim
         .getAvgBitsReceivedByCompletedVehicles()
         / Constants.BITS_PER_KB);
+      // Step Times
+      Histogram stepTimes =
+        MetricsRegistry.getDefault().findHistogram(StepProfiler.STEP);
+      if (SimConfig.IS_METRICS_ENABLED && stepTimes != null) {
+        meanStepTimeLabel.update(stepTimes.getMean() / NANOS_PER_MS);
+        p99StepTimeLabel.update(
+          stepTimes.getValueAtQuantile(0.99) / NANOS_PER_MS);
+      } else {
+        meanStepTimeLabel.clear();
+        p99StepTimeLabel.clear();
+      }
     } else {
       clear();
     }
@@ -144,5 +176,7 @@ public class StatPanel extends JPanel
     overallCompletedVehiclesLabel.clear();
     overallAverageTransmittedLabel.clear();
     overallAverageReceivedLabel.clear();
+    meanStepTimeLabel.clear();
+    p99StepTimeLabel.clear();
   }
 }
\ No newline at end of file
@@ -37,8 +37,12 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 
 import aim4.config.Constants;
+import aim4.config.SimConfig;
 import aim4.gui.StatusPanelInterface;
 import aim4.gui.component.FormattedLabel;
+import aim4.util.Histogram;
+import aim4.util.MetricsRegistry;
+import aim4.util.StepProfiler;
 
 /**
  * The System Panel
@@ -48,6 +52,9 @@ public class SystemPanel extends JPanel
 
   private static final long serialVersionUID = 1L;
 
+  /** The number of nanoseconds in a millisecond. */
+  private static final double NANOS_PER_MS = 1e6;
+
   // ///////////////////////////////
   // PRIVATE FIELDS
   // ///////////////////////////////
@@ -93,6 +100,18 @@ public class SystemPanel extends JPanel
   private FormattedLabel systemAvailableMemoryLabel =
     new FormattedLabel("Allocated JVM Memory: ", "%" + MAX_MEMORY_DIGITS
       + "d MB", MAX_MEMORY_DIGITS + 3);
+  /**
+   * The longest time of a simulation step, if the metrics are enabled.  The
+   * mean and the 99th percentile are shown in the statistics panel.
+   */
+  private FormattedLabel maxStepTimeLabel =
+    new FormattedLabel("Max Step Time: ", "%6.2f ms", 9);
+  /**
+   * The number of vehicles in the simulator at the end of the last step, if
+   * the metrics are enabled.
+   */
+  private FormattedLabel activeVehiclesLabel =
+    new FormattedLabel("Active Vehicles: ", "%5d", 5);
 
   // ///////////////////////////////
   // CONSTRUCTORS
@@ -133,6 +152,14 @@ public class SystemPanel extends JPanel
     c.gridwidth = GridBagConstraints.REMAINDER; // end row
     gridbag.setConstraints(systemMaximumMemoryLabel, c);
     add(systemMaximumMemoryLabel);
+    // Max Step Time
+    c.gridwidth = 1; // reset to default
+    gridbag.setConstraints(maxStepTimeLabel, c);
+    add(maxStepTimeLabel);
+    // Active Vehicles
+    c.gridwidth = GridBagConstraints.REMAINDER; // end row
+    gridbag.setConstraints(activeVehiclesLabel, c);
+    add(activeVehiclesLabel);
   }
 
   // ///////////////////////////////
@@ -152,6 +179,17 @@ public class SystemPanel extends JPanel
     // Available Memory
     systemAvailableMemoryLabel.update(Runtime.getRuntime().totalMemory()
       / Constants.BYTES_PER_MB);
+    // Step Times
+    MetricsRegistry registry = MetricsRegistry.getDefault();
+    Histogram stepTimes = registry.findHistogram(StepProfiler.STEP);
+    if (SimConfig.IS_METRICS_ENABLED && stepTimes != null) {
+      maxStepTimeLabel.update(stepTimes.getMax() / NANOS_PER_MS);
+      activeVehiclesLabel.update(
+        registry.getGauge(StepProfiler.ACTIVE_VEHICLES).get());
+    } else {
+      maxStepTimeLabel.clear();
+      activeVehiclesLabel.clear();
+    }
   }
 
   /**
@@ -161,6 +199,8 @@ public class SystemPanel extends JPanel
   public void clear() {
     systemMemUsageLabel.clear();
     systemAvailableMemoryLabel.clear();
+    maxStepTimeLabel.clear();
+    activeVehiclesLabel.clear();
   }
 
 }
\ No newline at end of file
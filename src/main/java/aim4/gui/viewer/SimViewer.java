@@ -12,6 +12,7 @@ import aim4.gui.screen.Canvas;
 import aim4.gui.screen.SimScreen;
 import aim4.gui.screen.StatScreen;
 import aim4.gui.setuppanel.SimSetupPanel;
+import aim4.map.DataCollectionLine;
 import aim4.sim.Simulator;
 import aim4.sim.setup.SimFactory;
 import aim4.sim.setup.SimSetup;
@@ -750,6 +751,11 @@ public abstract class SimViewer extends JPanel implements
             simThread.resume();
         }
         simThread = null;
+        // the simulator is discarded, so release the history files of its
+        // data collection lines
+        for (DataCollectionLine line : sim.getMap().getDataCollectionLines()) {
+            line.close();
+        }
         sim = null;
     }
 
@@ -30,11 +30,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.im;
 
+import java.io.Serializable;
+
 /**
  * The ACZ manager.
  */
 public class AczManager implements
-        ReservationManager<AczManager.Query,AczManager.Plan,Integer> {
+        ReservationManager<AczManager.Query,AczManager.Plan,Integer>, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // NESTED CLASSES
@@ -54,6 +58,8 @@ public class AczManager implements
     private double vehicleLength;
     /** The stop distance */
     private double stopDist;
+    /** The current time */
+    private double currentTime;
 
     /**
      *  Create a query for the ACZ manager.
@@ -63,14 +69,16 @@ public class AczManager implements
      * @param arrivalVelocity  the arrival velocity
      * @param vehicleLength    the vehicle length
      * @param stopDist         the stopping distance
+     * @param currentTime      the current time
      */
     public Query(int vin, double arrivalTime, double arrivalVelocity,
-                 double vehicleLength, double stopDist) {
+                 double vehicleLength, double stopDist, double currentTime) {
       this.vin = vin;
       this.arrivalTime = arrivalTime;
       this.arrivalVelocity = arrivalVelocity;
       this.vehicleLength = vehicleLength;
       this.stopDist = stopDist;
+      this.currentTime = currentTime;
     }
 
     /**
@@ -117,6 +125,15 @@ public class AczManager implements
     public double getStopDist() {
       return stopDist;
     }
+
+    /**
+     * Get the current time.
+     *
+     * @return the current time
+     */
+    public double getCurrentTime() {
+      return currentTime;
+    }
   }
 
   /**
@@ -129,18 +146,27 @@ public class AczManager implements
     private double length;
     /** The stopping distance */
     private double stopDist;
+    /** The arrival time */
+    private double arrivalTime;
+    /** The arrival velocity */
+    private double arrivalVelocity;
 
     /**
      * Create a plan of the reservation.
      *
-     * @param vin       the VIN of the vehicle
-     * @param length    the length of the vehicle
-     * @param stopDist  the stopping distance
+     * @param vin              the VIN of the vehicle
+     * @param length           the length of the vehicle
+     * @param stopDist         the stopping distance
+     * @param arrivalTime      the arrival time
+     * @param arrivalVelocity  the arrival velocity
      */
-    public Plan(int vin, double length, double stopDist) {
+    public Plan(int vin, double length, double stopDist,
+                double arrivalTime, double arrivalVelocity) {
       this.vin = vin;
       this.length = length;
       this.stopDist = stopDist;
+      this.arrivalTime = arrivalTime;
+      this.arrivalVelocity = arrivalVelocity;
     }
 
     /**
@@ -169,6 +195,24 @@ public class AczManager implements
     public double getStopDist() {
       return stopDist;
     }
+
+    /**
+     * Get the arrival time.
+     *
+     * @return the arrival time
+     */
+    public double getArrivalTime() {
+      return arrivalTime;
+    }
+
+    /**
+     * Get the arrival velocity.
+     *
+     * @return the arrival velocity
+     */
+    public double getArrivalVelocity() {
+      return arrivalVelocity;
+    }
   }
 
   /////////////////////////////////
@@ -201,12 +245,17 @@ public class AczManager implements
    */
   @Override
   public Plan query(Query q) {
+    acz.advanceTo(q.getCurrentTime());
     if (acz.isAdmissible(q.getVin(),
                          q.getVehicleLength(),
-                         q.getStopDist())) {
+                         q.getStopDist(),
+                         q.getArrivalTime(),
+                         q.getArrivalVelocity())) {
       return new Plan(q.getVin(),
                       q.getVehicleLength(),
-                      q.getStopDist());
+                      q.getStopDist(),
+                      q.getArrivalTime(),
+                      q.getArrivalVelocity());
     } else {
       return null;
     }
@@ -219,7 +268,9 @@ public class AczManager implements
   public Integer accept(Plan plan) {
     acz.admit(plan.getVin(),
               plan.getLength(),
-              plan.getStopDist());
+              plan.getStopDist(),
+              plan.getArrivalTime(),
+              plan.getArrivalVelocity());
     return plan.getVin();
   }
 
@@ -30,6 +30,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.im;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,8 +39,46 @@ import java.util.Map;
  * the area after an intersection in one lane.  It essentially holds
  * a limited length's worth of vehicles and will only admit vehicles
  * if there is enough room.
+ * <p>
+ * The zone keeps a timeline of the length of the admitted vehicles that
+ * are expected to be in the zone, in buckets of BUCKET_DURATION over the
+ * next NUM_OF_BUCKETS buckets.  A vehicle is expected to be in the zone
+ * from the time it leaves the intersection until it has driven through
+ * the zone at the velocity with which it leaves the intersection, so a
+ * vehicle can be admitted if there will be room for it while it drives
+ * through the zone, even if the zone is full now.  A vehicle which has
+ * not left the zone by the time it is expected to is overdue, and takes
+ * up room in the zone at all times until it leaves.
  */
-public class AdmissionControlZone {
+public class AdmissionControlZone implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The reservation of a vehicle in the zone.
+   */
+  private static class Reservation implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** The length reserved */
+    final double length;
+    /** The first bucket in which the vehicle is expected to be in the zone */
+    final long firstBucket;
+    /** The last bucket in which the vehicle is expected to be in the zone */
+    final long lastBucket;
+    /** Whether the vehicle has not left the zone when it is expected to */
+    boolean isOverdue;
+
+    Reservation(double length, long firstBucket, long lastBucket) {
+      this.length = length;
+      this.firstBucket = firstBucket;
+      this.lastBucket = lastBucket;
+    }
+  }
 
   /////////////////////////////////
   // CONSTANTS
@@ -47,6 +86,24 @@ public class AdmissionControlZone {
 
   private static final double MIN_DIST_BETWEEN_VEHICLES = 0.5;
 
+  /** The duration of a bucket of the timeline. */
+  public static final double BUCKET_DURATION = 0.25; // seconds
+
+  /** The number of buckets of the timeline. */
+  public static final int NUM_OF_BUCKETS = 256;
+
+  /**
+   * The velocity below which a vehicle is not expected to leave the zone
+   * until it says so.
+   */
+  private static final double MIN_EXPECTED_VELOCITY = 1.0; // m/s
+
+  /**
+   * The time added to the time a vehicle is expected to take to drive
+   * through the zone.
+   */
+  private static final double EXPECTED_TIME_BUFFER = 1.0; // seconds
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
@@ -59,11 +116,30 @@ public class AdmissionControlZone {
   private double currentSize = 0.0;
 
   /**
-   * A <code>Map</code> from the VIN number of the vehicle to the
-   * length of the vehicle thus the stopping distance.
+   * A <code>Map</code> from the VIN number of the vehicle to its
+   * reservation in the zone.
    */
-  private Map<Integer, Double> vinToReservationLength =
-    new HashMap<Integer, Double>();
+  private Map<Integer, Reservation> vinToReservation =
+    new HashMap<Integer, Reservation>();
+
+  /**
+   * The length of the vehicles expected to be in the zone in each bucket
+   * from baseBucket to baseBucket + NUM_OF_BUCKETS - 1, used as a ring.
+   * Overdue vehicles are not included.
+   */
+  private double[] occupancy = new double[NUM_OF_BUCKETS];
+
+  /** The bucket of the current time. */
+  private long baseBucket = 0;
+
+  /** The length reserved by the overdue vehicles. */
+  private double overdueSize = 0.0;
+
+  /**
+   * The latest first bucket of the reservations, which may be that of a
+   * reservation which has been released.
+   */
+  private long latestFirstBucket = 0;
 
   /////////////////////////////////
   // CLASS CONSTRUCTORS
@@ -95,7 +171,8 @@ public class AdmissionControlZone {
   }
 
   /**
-   * Get the current size of the admission control zone.
+   * Get the current size of the admission control zone, which is the
+   * length reserved by all the admitted vehicles.
    *
    * @return the current size of the admission control zone.
    */
@@ -103,6 +180,42 @@ public class AdmissionControlZone {
     return currentSize;
   }
 
+  /**
+   * Get the length of the vehicles expected to be in the zone at a given
+   * time, including the overdue vehicles.
+   *
+   * @param time  the time, no earlier than the current time
+   * @return the length of the vehicles expected to be in the zone
+   */
+  public double getExpectedSize(double time) {
+    return occupancyAt(bucketOf(time)) + overdueSize;
+  }
+
+  /**
+   * Advance the timeline of the zone to the current time.  The vehicles
+   * that have not left the zone by the time they were expected to become
+   * overdue.
+   *
+   * @param currentTime  the current time
+   */
+  public void advanceTo(double currentTime) {
+    long bucket = bucketOf(currentTime);
+    if (bucket <= baseBucket) {
+      return;
+    }
+    for (Reservation r : vinToReservation.values()) {
+      if (!r.isOverdue && r.lastBucket < bucket) {
+        r.isOverdue = true;
+        overdueSize += r.length;
+      }
+    }
+    long firstNewBucket = Math.max(baseBucket + NUM_OF_BUCKETS, bucket);
+    baseBucket = bucket;
+    for (long b = firstNewBucket; b < baseBucket + NUM_OF_BUCKETS; b++) {
+      occupancy[indexOf(b)] = computeOccupancy(b);
+    }
+  }
+
   /**
    * Check to see if the vehicle can reserve space to enter this
    * admission control zone.
@@ -112,12 +225,29 @@ public class AdmissionControlZone {
    * @param stoppingDistance the distance it will take the vehicle to
    *                         stop if it begins decelerating as soon as
    *                         it enters the admission control zone
+   * @param arrivalTime      the time at which the vehicle enters the zone
+   * @param arrivalVelocity  the velocity at which the vehicle enters the
+   *                         zone
    * @return whether or not the vehicle can be successfully added
    */
   public boolean isAdmissible(int vin, double vehicleLength,
-                              double stoppingDistance) {
-    if (!vinToReservationLength.containsKey(vin)) {
-      return (currentSize + vehicleLength + stoppingDistance <= maxSize);
+                              double stoppingDistance,
+                              double arrivalTime, double arrivalVelocity) {
+    if (!vinToReservation.containsKey(vin)) {
+      double room = maxSize - overdueSize - vehicleLength - stoppingDistance;
+      long firstBucket = Math.max(bucketOf(arrivalTime), baseBucket);
+      long lastBucket =
+        lastBucketOf(arrivalTime, arrivalVelocity, vehicleLength);
+      // no vehicle enters the zone after the latest first bucket, so the
+      // occupancy can only fall after it
+      lastBucket = Math.min(lastBucket,
+                            Math.max(firstBucket, latestFirstBucket));
+      for (long b = firstBucket; b <= lastBucket; b++) {
+        if (occupancyAt(b) > room) {
+          return false;
+        }
+      }
+      return room >= 0;
     } else {
       return false;
     }
@@ -131,15 +261,32 @@ public class AdmissionControlZone {
    * @param stoppingDistance the distance it will take the vehicle to
    *                         stop if it begins decelerating as soon as
    *                         it enters the admission control zone
+   * @param arrivalTime      the time at which the vehicle enters the zone
+   * @param arrivalVelocity  the velocity at which the vehicle enters the
+   *                         zone
    */
-  public void admit(int vin, double vehicleLength, double stoppingDistance) {
+  public void admit(int vin, double vehicleLength, double stoppingDistance,
+                    double arrivalTime, double arrivalVelocity) {
     // If this vehicle is already scheduled to be admitted, we must be
     // extra careful
-    if (!vinToReservationLength.containsKey(vin)) {
-      assert (currentSize + vehicleLength + stoppingDistance <= maxSize);
+    if (!vinToReservation.containsKey(vin)) {
+      assert isAdmissible(vin, vehicleLength, stoppingDistance,
+                          arrivalTime, arrivalVelocity);
       double reservationLength = vehicleLength + MIN_DIST_BETWEEN_VEHICLES;
+      Reservation r =
+        new Reservation(reservationLength,
+                        Math.max(bucketOf(arrivalTime), baseBucket),
+                        lastBucketOf(arrivalTime, arrivalVelocity,
+                                     vehicleLength));
       currentSize += reservationLength;
-      vinToReservationLength.put(vin, reservationLength);
+      vinToReservation.put(vin, r);
+      latestFirstBucket = Math.max(latestFirstBucket, r.firstBucket);
+      if (r.lastBucket < baseBucket) {
+        r.isOverdue = true;
+        overdueSize += r.length;
+      } else {
+        addToTimeline(r, r.length);
+      }
     } else {
       throw new RuntimeException("Error in ACZ: admitting vehicle " + vin +
                                  " already not exists in ACZ.");
@@ -153,8 +300,8 @@ public class AdmissionControlZone {
    * @param vin the ID number of the vehicle canceling
    */
   public void cancel(int vin) {
-    if (vinToReservationLength.containsKey(vin)) {
-      currentSize -= vinToReservationLength.remove(vin);
+    if (vinToReservation.containsKey(vin)) {
+      release(vinToReservation.remove(vin));
     } else {
       throw new RuntimeException("Error in ACZ: canceling vehicle " + vin +
                                  " does not exist in ACZ.");
@@ -168,12 +315,101 @@ public class AdmissionControlZone {
    * @param vin the ID number of the vehicle to remove
    */
   public void away(int vin) {
-    if (vinToReservationLength.containsKey(vin)) {
-      currentSize -= vinToReservationLength.remove(vin);
+    if (vinToReservation.containsKey(vin)) {
+      release(vinToReservation.remove(vin));
     } else {
       throw new RuntimeException("Error in ACZ: departing vehicle " + vin +
                                  " does not exist in ACZ.");
     }
   }
 
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Release the space reserved by a reservation.
+   *
+   * @param r  the reservation
+   */
+  private void release(Reservation r) {
+    currentSize -= r.length;
+    if (r.isOverdue) {
+      overdueSize -= r.length;
+    } else {
+      addToTimeline(r, -r.length);
+    }
+  }
+
+  /**
+   * Add a length to the buckets of the timeline in which the vehicle of a
+   * reservation is expected to be in the zone.
+   *
+   * @param r       the reservation
+   * @param length  the length to add
+   */
+  private void addToTimeline(Reservation r, double length) {
+    long first = Math.max(r.firstBucket, baseBucket);
+    long last = Math.min(r.lastBucket, baseBucket + NUM_OF_BUCKETS - 1);
+    for (long b = first; b <= last; b++) {
+      occupancy[indexOf(b)] += length;
+    }
+  }
+
+  /**
+   * Get the length of the vehicles expected to be in the zone in a bucket,
+   * not including the overdue vehicles.
+   *
+   * @param bucket  the bucket, no earlier than the current bucket
+   * @return the length of the vehicles expected to be in the zone
+   */
+  private double occupancyAt(long bucket) {
+    if (bucket < baseBucket + NUM_OF_BUCKETS) {
+      return occupancy[indexOf(Math.max(bucket, baseBucket))];
+    } else {
+      return computeOccupancy(bucket);
+    }
+  }
+
+  /**
+   * Compute the length of the vehicles expected to be in the zone in a
+   * bucket from the reservations.
+   */
+  private double computeOccupancy(long bucket) {
+    double size = 0.0;
+    for (Reservation r : vinToReservation.values()) {
+      if (!r.isOverdue && r.firstBucket <= bucket && bucket <= r.lastBucket) {
+        size += r.length;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Get the last bucket in which a vehicle is expected to be in the zone.
+   */
+  private long lastBucketOf(double arrivalTime, double arrivalVelocity,
+                            double vehicleLength) {
+    if (arrivalVelocity < MIN_EXPECTED_VELOCITY) {
+      return Long.MAX_VALUE;
+    }
+    return bucketOf(arrivalTime
+                    + (maxSize + vehicleLength) / arrivalVelocity
+                    + EXPECTED_TIME_BUFFER);
+  }
+
+  /**
+   * Get the bucket of a time.
+   */
+  private static long bucketOf(double time) {
+    return (long) Math.floor(time / BUCKET_DURATION);
+  }
+
+  /**
+   * Get the position in the ring of a bucket.
+   */
+  private static int indexOf(long bucket) {
+    return (int) Math.floorMod(bucket, (long) NUM_OF_BUCKETS);
+  }
+
 }
@@ -38,6 +38,8 @@ import aim4.util.Registry;
  */
 public class DummyManager extends IntersectionManager {
 
+  private static final long serialVersionUID = 1L;
+
   /**
    * Create a dummy manager.
    *
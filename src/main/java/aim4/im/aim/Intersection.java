@@ -39,6 +39,7 @@ import aim4.config.Constants.TurnDirection;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.track.WayPoint;
+import aim4.util.AreaMask;
 
 
 /**
@@ -61,6 +62,23 @@ public interface Intersection {
    */
   Area getAreaPlus();
 
+  /**
+   * Get a mask of the Area controlled by this IntersectionManager, for
+   * fast tests of whether vehicles are in it.
+   *
+   * @return the mask of the Area controlled by this IntersectionManager
+   */
+  AreaMask getAreaMask();
+
+  /**
+   * Get a mask of the area slightly larger than the area controlled by
+   * this IntersectionManager.
+   *
+   * @return the mask of the area slightly larger than the area controlled
+   *         by this IntersectionManager
+   */
+  AreaMask getAreaPlusMask();
+
   /**
    * Get the centroid of the IntersectionManager.
    *
@@ -33,8 +33,10 @@ package aim4.im.aim;
 import java.awt.Shape;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import aim4.im.Manager;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.util.Registry;
@@ -45,7 +47,9 @@ import aim4.vehicle.aim.AIMVehicleSimModel;
  * An agent to manage an intersection. This is an abstract class
  * that sets up the properties of the intersection when it is created.
  */
-public class IntersectionManager {
+public class IntersectionManager implements Manager, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // PRIVATE FIELDS
@@ -35,17 +35,24 @@ import aim4.config.Debug;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.track.WayPoint;
+import aim4.util.AreaMask;
 import aim4.util.GeomMath;
 import aim4.util.Util;
 
 import java.awt.geom.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.*;
 
 
 /**
  * An intersection that is defined by the intersection of a set of roads.
  */
-public class RoadBasedIntersection implements Intersection {
+public class RoadBasedIntersection implements Intersection, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // CONSTANTS
@@ -72,12 +79,22 @@ public class RoadBasedIntersection implements Intersection {
   /**
    * The space governed by this intersection manager.
    */
-  private Area area;
+  private transient Area area;
 
   /**
    * An area slightly larger than the area of the intersection.
    */
-  private Area areaPlus;
+  private transient Area areaPlus;
+
+  /**
+   * Memoization cache for {@link #getAreaMask()}.
+   */
+  private transient AreaMask memoAreaMask;
+
+  /**
+   * Memoization cache for {@link #getAreaPlusMask()}.
+   */
+  private transient AreaMask memoAreaPlusMask;
 
   /**
    * The smallest rectangle that contains this intersection.
@@ -471,6 +488,34 @@ public class RoadBasedIntersection implements Intersection {
     return areaPlus;
   }
 
+  /**
+   * Get a mask of the Area controlled by this intersection manager.
+   *
+   * @return the mask of the Area controlled by this intersection manager
+   */
+  @Override
+  public AreaMask getAreaMask() {
+    if (memoAreaMask == null) {
+      memoAreaMask = new AreaMask(area);
+    }
+    return memoAreaMask;
+  }
+
+  /**
+   * Get a mask of the area slightly larger than the area controlled
+   * by this intersection manager.
+   *
+   * @return the mask of the area slightly larger than the area controlled
+   *         by this intersection manager
+   */
+  @Override
+  public AreaMask getAreaPlusMask() {
+    if (memoAreaPlusMask == null) {
+      memoAreaPlusMask = new AreaMask(areaPlus);
+    }
+    return memoAreaPlusMask;
+  }
+
   /**
    * Get the centroid of the intersection manager.
    *
@@ -663,4 +708,23 @@ public class RoadBasedIntersection implements Intersection {
     }
   }
 
+  /**
+   * Write the Areas, which are not serializable, as paths.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    GeomMath.writeArea(out, area);
+    GeomMath.writeArea(out, areaPlus);
+  }
+
+  /**
+   * Read the Areas written by writeObject.
+   */
+  private void readObject(ObjectInputStream in)
+      throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    area = GeomMath.readArea(in);
+    areaPlus = GeomMath.readArea(in);
+  }
+
 }
@@ -37,13 +37,16 @@ import aim4.util.GeomMath;
 
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.*;
 
 
 /**
  * A track model for road based intersections
  */
-public class RoadBasedTrackModel implements TrackModel {
+public class RoadBasedTrackModel implements TrackModel, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // NESTED CLASSES
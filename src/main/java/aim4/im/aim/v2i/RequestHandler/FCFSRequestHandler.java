@@ -38,10 +38,14 @@ import aim4.msg.aim.i2v.Reject;
 import aim4.msg.aim.v2i.Request;
 import aim4.sim.StatCollector;
 
+import java.io.Serializable;
+
 /**
  * The "First Come, First Served" request handler.
  */
-public class FCFSRequestHandler implements RequestHandler {
+public class FCFSRequestHandler implements RequestHandler, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // PRIVATE FIELDS
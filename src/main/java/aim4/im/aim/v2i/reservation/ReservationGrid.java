@@ -40,6 +40,8 @@ import aim4.config.Constants;
  */
 public class ReservationGrid extends ReservationArray {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // CONSTANTS
   /////////////////////////////////
@@ -8,6 +8,7 @@ import aim4.vehicle.VehicleSimModel;
 
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 
 /**
  * Created by Callum on 13/04/2017.
@@ -17,7 +18,9 @@ import java.awt.geom.Rectangle2D;
  * An agent managing a merge connection. This is an abstract class that sets up the properties of the intersection when
  * it is created.
  */
-public abstract class BasicMergeManager implements MergeManager {
+public abstract class BasicMergeManager implements MergeManager, Serializable {
+    private static final long serialVersionUID = 1L;
+
     //PRIVATE FIELDS//
     /** The ID number of this merge manager. */
     protected int id;
@@ -1,5 +1,6 @@
 package aim4.im.merge;
 
+import aim4.im.Manager;
 import aim4.map.Road;
 import aim4.map.connections.MergeConnection;
 import aim4.map.lane.Lane;
@@ -10,7 +11,7 @@ import java.awt.geom.Rectangle2D;
 /**
  * Created by Callum on 17/04/2017.
  */
-public interface MergeManager {
+public interface MergeManager extends Manager {
     /**
      * Takes any actions required for a certain period of time.
      * @param timeStep the size of the timestep to simulate in seconds
@@ -20,6 +20,8 @@ import java.util.*;
  * Created by Callum on 17/04/2017.
  */
 public class V2IMergeGridManager extends BasicMergeManager implements V2IMergeGridManagerCallback, V2IEnabledMergeManager {
+    private static final long serialVersionUID = 1L;
+
     //CONSTANTS//
     /**
      * The maximum amount of time, in seconds, in the future, for which the
@@ -11,12 +11,15 @@ import aim4.util.HashMapRegistry;
 import aim4.util.Registry;
 import aim4.vehicle.VehicleUtil;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * Created by Callum on 13/04/2017.
  */
-public class BaseMergeGridPolicy implements MergeGridPolicy, BaseMergeGridPolicyCallback {
+public class BaseMergeGridPolicy implements MergeGridPolicy, BaseMergeGridPolicyCallback, Serializable {
+    private static final long serialVersionUID = 1L;
+
     // CONSTANTS //
     /**
      * The maximum amount of time, in seconds, to let a vehicle arrive early.
@@ -33,7 +36,9 @@ public class BaseMergeGridPolicy implements MergeGridPolicy, BaseMergeGridPolicy
     /**
      * The record of a reservation.
      */
-    public static class ReservationRecord {
+    public static class ReservationRecord implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The VIN of a vehicle */
         private int vin;
         /** The ACZ lane ID */
@@ -533,7 +538,8 @@ public class BaseMergeGridPolicy implements MergeGridPolicy, BaseMergeGridPolicy
                                     mergePlan.getExitTime(),
                                     mergePlan.getExitVelocity(),
                                     msg.getSpec().getLength(),
-                                    stopDist);
+                                    stopDist,
+                                    getCurrentTime());
                     aczPlan = aczManager.query(aczQuery);
                     if (aczPlan != null) {
                         successfulProposal = proposal;  // reservation succeeds!
@@ -3,13 +3,16 @@ package aim4.im.merge.policy.grid;
 import aim4.msg.merge.i2v.Reject;
 import aim4.msg.merge.v2i.Request;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.Queue;
 
 /**
  * Created by Callum on 17/04/2017.
  */
-public class FCFSMergeGridRequestHandler implements MergeGridRequestHandler {
+public class FCFSMergeGridRequestHandler implements MergeGridRequestHandler, Serializable {
+    private static final long serialVersionUID = 1L;
+
     // PRIVATE FIELDS //
     Queue<Integer> vinQueue = new LinkedList<Integer>();
 
@@ -533,7 +533,8 @@ public class BaseMergePolicy implements MergePolicy, BaseMergePolicyCallback {
                                     mergePlan.getExitTime(),
                                     mergePlan.getExitVelocity(),
                                     msg.getSpec().getLength(),
-                                    stopDist);
+                                    stopDist,
+                                    getCurrentTime());
                     aczPlan = aczManager.query(aczQuery);
                     if (aczPlan != null) {
                         successfulProposal = proposal;  // reservation succeeds!
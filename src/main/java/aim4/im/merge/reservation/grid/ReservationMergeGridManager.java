@@ -1,6 +1,5 @@
 package aim4.im.merge.reservation.grid;
 
-import aim4.config.Constants;
 import aim4.driver.Driver;
 import aim4.driver.merge.MergeAutoDriver;
 import aim4.im.ReservationManager;
@@ -8,12 +7,13 @@ import aim4.map.connections.MergeConnection;
 import aim4.map.lane.Lane;
 import aim4.map.merge.MergeMap;
 import aim4.msg.merge.v2i.Request;
+import aim4.util.AreaMask;
 import aim4.util.TiledArea;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.merge.MergeBasicAutoVehicle;
 
-import java.awt.geom.Area;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -29,7 +29,9 @@ import java.util.Queue;
 public class ReservationMergeGridManager implements
         ReservationManager<ReservationMergeGridManager.Query,
                 ReservationMergeGridManager.Plan,
-                Integer> {
+                Integer>, Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -37,7 +39,9 @@ public class ReservationMergeGridManager implements
     /**
      * The configuration of the reservation grid manager.
      */
-    public static class Config {
+    public static class Config implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         /**
          * The simulation time step.
          */
@@ -687,10 +691,12 @@ public class ReservationMergeGridManager implements
                               double arrivalTime,
                               boolean accelerating) {
         // The area of the merge
-        Area areaPlus = merge.getArea();
+        AreaMask areaPlusMask = merge.getAreaMask();
         // The following must be true because the test vehicle
-        // starts at the entry point of the merge.
-        assert areaPlus.contains(testVehicle.getPointAtMiddleFront(Constants.DOUBLE_EQUAL_PRECISION));
+        // starts at the entry point of the merge.  Its front may lie exactly
+        // on a corner of the area, such as where the merging lane enters, so
+        // it is the shape of the vehicle that is tested.
+        assert VehicleUtil.intersectsHighPrecision(testVehicle, areaPlusMask);
 
         // The list of tile-times that will make up this reservation
         List<ReservationMergeGrid.TimeTile> workingList = new ArrayList<ReservationMergeGrid.TimeTile>();
@@ -702,7 +708,7 @@ public class ReservationMergeGridManager implements
         double currentDuration = reservationGrid.calcRemainingTime(arrivalTime);
 
         // drive the test vehicle until it leaves the merge
-        while(VehicleUtil.intersectsHighPrecision(testVehicle, areaPlus)) {
+        while(VehicleUtil.intersectsHighPrecision(testVehicle, areaPlusMask)) {
             moveTestVehicle(testVehicle, dummy, currentDuration, accelerating);
             // Find out which tiles are occupied by the vehicle
             currentIntTime++;  // Record that we've moved forward one time step
@@ -8,6 +8,7 @@ import aim4.map.connections.MergeConnection;
 import aim4.map.lane.Lane;
 import aim4.map.merge.MergeMap;
 import aim4.msg.merge.v2i.Request;
+import aim4.util.AreaMask;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.merge.MergeBasicAutoVehicle;
@@ -478,6 +479,7 @@ public class ReservationMergeManager implements
                                 boolean accelerating) {
         // The area of the merge
         Area area = merge.getArea();
+        AreaMask areaMask = merge.getAreaMask();
         // The following must be true because the test vehicle
         // starts at the entry point of the merge.
         assert area.contains(testVehicle.getPointAtMiddleFront(Constants.DOUBLE_EQUAL_PRECISION));
@@ -492,7 +494,7 @@ public class ReservationMergeManager implements
         double currentDuration = reservationMerge.calcRemainingTime(arrivalTime);
 
         // drive the test vehicle until it leaves the merge
-        while(VehicleUtil.intersectsHighPrecision(testVehicle, area)) {
+        while(VehicleUtil.intersectsHighPrecision(testVehicle, areaMask)) {
             moveTestVehicle(testVehicle, dummy, currentDuration, accelerating);
             currentIntTime++;  // Record that we've moved forward one time step
             if(reservationMerge.isReserved(currentIntTime))
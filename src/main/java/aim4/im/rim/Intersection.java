@@ -3,6 +3,7 @@ package aim4.im.rim;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.track.WayPoint;
+import aim4.util.AreaMask;
 
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
@@ -30,6 +31,23 @@ public interface Intersection {
      */
     Area getAreaPlus();
 
+    /**
+     * Get a mask of the Area controlled by this IntersectionManager, for
+     * fast tests of whether vehicles are in it.
+     *
+     * @return the mask of the Area controlled by this IntersectionManager
+     */
+    AreaMask getAreaMask();
+
+    /**
+     * Get a mask of the area slightly larger than the area controlled by
+     * this IntersectionManager.
+     *
+     * @return the mask of the area slightly larger than the area controlled
+     *         by this IntersectionManager
+     */
+    AreaMask getAreaPlusMask();
+
     /**
      * Get the centroid of the IntersectionManager.
      *
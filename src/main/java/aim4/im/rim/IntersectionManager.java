@@ -1,5 +1,6 @@
 package aim4.im.rim;
 
+import aim4.im.Manager;
 import aim4.map.Road;
 import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
@@ -10,6 +11,7 @@ import aim4.vehicle.rim.RIMVehicleSimModel;
 import java.awt.*;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,7 +19,9 @@ import java.util.List;
  * An agent to manage an intersection. This is an abstract class
  * that sets up the properties of the intersection when it is created.
  */
-public class IntersectionManager {
+public class IntersectionManager implements Manager, Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -7,19 +7,26 @@ import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
 import aim4.map.lane.LineSegmentLane;
 import aim4.map.track.WayPoint;
+import aim4.util.AreaMask;
 import aim4.util.GeomMath;
 import aim4.util.Util;
 
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * An intersection that is defined by the intersection of a set of roads.
  */
-public class RoadBasedIntersection implements Intersection{
+public class RoadBasedIntersection implements Intersection, Serializable{
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // PRIVATE FIELDS
@@ -28,12 +35,22 @@ public class RoadBasedIntersection implements Intersection{
     /**
      * The space governed by this intersection manager.
      */
-    private Area area;
+    private transient Area area;
 
     /**
      * An area slightly larger than the area of the intersection.
      */
-    private Area areaPlus;
+    private transient Area areaPlus;
+
+    /**
+     * Memoization cache for {@link #getAreaMask()}.
+     */
+    private transient AreaMask memoAreaMask;
+
+    /**
+     * Memoization cache for {@link #getAreaPlusMask()}.
+     */
+    private transient AreaMask memoAreaPlusMask;
 
     /**
      * The smallest circle that contains this intersection.
@@ -222,17 +239,19 @@ public class RoadBasedIntersection implements Intersection{
             this.approachEntryPoints.put(entryApproachLane,
                     new WayPoint(entryApproachLane.getStartPoint()));
 
-            // Approach heading corresponds to heading of first Line Lane of the respective arc Lane
+            // Approach heading corresponds to heading of first Line Lane of the respective arc Lane, or of the arc
+            // itself if it is not decomposed
             this.approachEntryHeadings.put(entryApproachLane,
-                    entryApproachLane.getArcLaneDecomposition().get(0).getInitialHeading());
+                    entryApproachLane.getFollowedInitialHeading());
 
             // Entry point
             this.entryPoints.put(entryApproachLane,
                     new WayPoint(entryApproachLane.getStartPoint()));
 
-            // Entry heading corresponds to heading of last first Lane of the respective arc Lane
+            // Entry heading corresponds to heading of first Line Lane of the respective arc Lane, or of the arc
+            // itself if it is not decomposed
             this.entryHeadings.put(entryApproachLane,
-                    entryApproachLane.getArcLaneDecomposition().get(0).getInitialHeading());
+                    entryApproachLane.getFollowedInitialHeading());
         }
 
         //Establish exit and approach exit points. This will correspond to last arc lane of every road
@@ -243,17 +262,19 @@ public class RoadBasedIntersection implements Intersection{
             this.approachExitPoints.put(exitApproachLane,
                     new WayPoint(exitApproachLane.getEndPoint()));
 
-            // Approach heading corresponds to heading of last Line Lane of the respective arc Lane
+            // Approach heading corresponds to heading of last Line Lane of the respective arc Lane, or of the arc
+            // itself if it is not decomposed
             this.approachExitHeadings.put(exitApproachLane,
-                    exitApproachLane.getArcLaneDecomposition().get(exitApproachLane.getArcLaneDecomposition().size()-1).getInitialHeading());
+                    exitApproachLane.getFollowedTerminalHeading());
 
             // Exit point
             this.exitPoints.put(exitApproachLane,
                     new WayPoint(exitApproachLane.getEndPoint()));
 
-            // Exit heading corresponds to heading of last Line Lane of the respective arc Lane
+            // Exit heading corresponds to heading of last Line Lane of the respective arc Lane, or of the arc
+            // itself if it is not decomposed
             this.exitHeadings.put(exitApproachLane,
-                    exitApproachLane.getArcLaneDecomposition().get(exitApproachLane.getArcLaneDecomposition().size()-1).getInitialHeading());
+                    exitApproachLane.getFollowedTerminalHeading());
         }
     }
 
@@ -426,6 +447,34 @@ public class RoadBasedIntersection implements Intersection{
         return areaPlus;
     }
 
+    /**
+     * Get a mask of the Area controlled by this intersection manager.
+     *
+     * @return the mask of the Area controlled by this intersection manager
+     */
+    @Override
+    public AreaMask getAreaMask() {
+        if (memoAreaMask == null) {
+            memoAreaMask = new AreaMask(area);
+        }
+        return memoAreaMask;
+    }
+
+    /**
+     * Get a mask of the area slightly larger than the area controlled
+     * by this intersection manager.
+     *
+     * @return the mask of the area slightly larger than the area controlled
+     *         by this intersection manager
+     */
+    @Override
+    public AreaMask getAreaPlusMask() {
+        if (memoAreaPlusMask == null) {
+            memoAreaPlusMask = new AreaMask(areaPlus);
+        }
+        return memoAreaPlusMask;
+    }
+
     /**
      * Get the centroid of the intersection manager.
      *
@@ -689,4 +738,23 @@ public class RoadBasedIntersection implements Intersection{
             }
         }
     }
+
+    /**
+     * Write the Areas, which are not serializable, as paths.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        GeomMath.writeArea(out, area);
+        GeomMath.writeArea(out, areaPlus);
+    }
+
+    /**
+     * Read the Areas written by writeObject.
+     */
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        area = GeomMath.readArea(in);
+        areaPlus = GeomMath.readArea(in);
+    }
 }
@@ -4,12 +4,15 @@ import aim4.map.Road;
 import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * A track model for road based intersections
  */
-public class RoadBasedTrackModel implements TrackModel{
+public class RoadBasedTrackModel implements TrackModel, Serializable{
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // PRIVATE FIELDS
@@ -8,10 +8,14 @@ import aim4.msg.rim.i2v.Reject;
 import aim4.msg.rim.v2i.Request;
 import aim4.sim.StatCollector;
 
+import java.io.Serializable;
+
 /**
  * The "First Come, First Served" request handler.
  */
-public class FCFSRequestHandler implements RequestHandler{
+public class FCFSRequestHandler implements RequestHandler, Serializable{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -13,6 +13,7 @@ import aim4.map.lane.Lane;
 import aim4.msg.rim.i2v.I2VMessage;
 import aim4.msg.rim.v2i.V2IMessage;
 import aim4.sim.StatCollector;
+import aim4.util.MpscArrayQueue;
 import aim4.util.Registry;
 import aim4.util.TiledRimArea;
 
@@ -21,6 +22,7 @@ import java.io.FileNotFoundException;
 import java.io.PrintStream;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An intersection manager that takes requests from vehicles and coordinates
@@ -30,6 +32,8 @@ import java.util.List;
  */
 public class V2IManager extends IntersectionManager implements V2IManagerCallback{
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -45,6 +49,15 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
      * {@value} meters.
      */
     private static final double DEFAULT_TRANSMISSION_POWER = 350.0; // meters
+
+    /**
+     * The maximum number of messages that can wait in the inbox or the outbox.
+     * A message that finds its mailbox full is an error:
+     * the mailboxes are drained every time step, so they could only fill
+     * up with messages sent in a loop.  {@value} messages.
+     */
+    private static final int MAILBOX_CAPACITY = 4096;
+
     /**
      * The default size (capacity) of an {@link AdmissionControlZone} for Lanes
      * exiting the intersection managed by this V2IManager, in meters. {@value}
@@ -71,12 +84,19 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
      * meters.
      */
     private double transmissionPower = DEFAULT_TRANSMISSION_POWER;
-    /** A List of messages received from Vehicles waiting to be processed. */
-    private List<V2IMessage> inbox = new ArrayList<V2IMessage>();
-    /** A List of messages waiting to be sent to Vehicles. */
-    private List<I2VMessage> outbox = new ArrayList<I2VMessage>();
+    /**
+     * The messages received from Vehicles waiting to be processed.  Vehicles
+     * may deliver messages from any thread.
+     */
+    private MpscArrayQueue<V2IMessage> inbox =
+        new MpscArrayQueue<V2IMessage>(MAILBOX_CAPACITY);
+    /** The messages taken from the inbox to be processed in this time step. */
+    private List<V2IMessage> inboxBatch = new ArrayList<V2IMessage>();
+    /** The messages waiting to be sent to Vehicles. */
+    private MpscArrayQueue<I2VMessage> outbox =
+        new MpscArrayQueue<I2VMessage>(MAILBOX_CAPACITY);
     /** The number of bits this IntersectionManager has received. */
-    private int bitsReceived;
+    private AtomicInteger bitsReceived = new AtomicInteger();
     /** The number of bits this IntersectionManager has transmitted. */
     private int bitsTransmitted;
 
@@ -140,6 +160,7 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
                 intersection,
                 tiledRimArea,
                 reservationGrid);
+        reservationGridManager.setMetricName("rim.im" + getId());
 
         // Set up the AdmissionControlZones for the exit lanes
         for(Lane l : getIntersection().getExitLanes()) {
@@ -185,16 +206,16 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
     @Override
     public void act(double timeStep) {
         // First, process all the incoming messages waiting for us
-        for(Iterator<V2IMessage> iter = inboxIterator(); iter.hasNext();) {
-            V2IMessage msg = iter.next();
+        inbox.drainTo(inboxBatch);
+        for(V2IMessage msg : inboxBatch) {
             if (Debug.isPrintIMInboxMessageOfVIN(msg.getVin())) {
                 System.err.printf("im %d process message of vin %d: %s\n",
                         getId(), msg.getVin(), msg);
             }
             processV2IMessage(msg);
         }
-        // Done processing, clear the inbox.
-        clearInbox();
+        // Done processing, clear the batch.
+        inboxBatch.clear();
         // Second, allow the policy to act, and send outgoing messages.
         policy.act(timeStep);
         // Third, allow the reservation grid manager to act
@@ -256,15 +277,17 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
 
     /**
      * Adds a message to the incoming queue of messages delivered to this
-     * IntersectionManager.
+     * IntersectionManager.  This method can be called from any thread.
      *
      * @param msg the message to be received
      */
     public void receive(V2IMessage msg) {
         // Just tack the message on to the end of the inbox list
-        inbox.add(msg);
+        if (!inbox.offer(msg)) {
+            throw mailboxFull("inbox", msg.getVin());
+        }
         // And count the bits.
-        bitsReceived += msg.getSize();
+        bitsReceived.addAndGet(msg.getSize());
     }
 
     /**
@@ -273,7 +296,7 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
      * @return the number of bits this IntersectionManager has received
      */
     public int getBitsReceived() {
-        return bitsReceived;
+        return bitsReceived.get();
     }
 
     /**
@@ -344,7 +367,9 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
             System.err.printf("im %d sends a message to vin %d: %s\n",
                     getId(), msg.getVin(), msg);
         }
-        outbox.add(msg);
+        if (!outbox.offer(msg)) {
+            throw mailboxFull("outbox", msg.getVin());
+        }
         bitsTransmitted += msg.getSize();
     }
 
@@ -353,6 +378,19 @@ public class V2IManager extends IntersectionManager implements V2IManagerCallbac
     // PRIVATE METHODS
     /////////////////////////////////
 
+    /**
+     * Make the exception thrown when a message finds its mailbox full.
+     *
+     * @param mailbox  the name of the mailbox
+     * @param vin      the VIN the message is from or to
+     * @return the exception
+     */
+    private IllegalStateException mailboxFull(String mailbox, int vin) {
+        return new IllegalStateException(String.format(
+            "im %d: the %s is full (%d messages), so a message of vin %d " +
+            "cannot be delivered", getId(), mailbox, MAILBOX_CAPACITY, vin));
+    }
+
     // process V2I messages
 
     /**
@@ -19,12 +19,15 @@ import aim4.util.HashMapRegistry;
 import aim4.util.Registry;
 import aim4.vehicle.VehicleUtil;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * The base policy.
  */
-public final class BasePolicy implements Policy, ExtendedBasePolicyCallback{
+public final class BasePolicy implements Policy, ExtendedBasePolicyCallback, Serializable{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -55,7 +58,9 @@ public final class BasePolicy implements Policy, ExtendedBasePolicyCallback{
     /**
      * The record of a reservation.
      */
-    public static class ReservationRecord {
+    public static class ReservationRecord implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The VIN of a vehicle */
         private int vin;
         /** The ACZ lane ID */
@@ -532,7 +537,8 @@ public final class BasePolicy implements Policy, ExtendedBasePolicyCallback{
                                     gridPlan.getExitTime(),
                                     gridPlan.getExitVelocity(),
                                     msg.getSpec().getLength(),
-                                    stopDist);
+                                    stopDist,
+                                    getCurrentTime());
                     aczPlan = aczManager.query(aczQuery);
                     if (aczPlan != null) {
                         successfulProposal = proposal;  // reservation succeeds!
@@ -1,11 +1,14 @@
 package aim4.im.rim.v2i.reservation;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * The Reservation Array.
  */
-public class ReservationArray {
+public class ReservationArray implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -10,6 +10,8 @@ import java.util.Set;
  * The reservation grid.
  */
 public class ReservationGrid extends ReservationArray{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
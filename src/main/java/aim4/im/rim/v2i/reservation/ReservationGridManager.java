@@ -3,6 +3,7 @@ package aim4.im.rim.v2i.reservation;
 
 import aim4.config.Constants;
 import aim4.config.Debug;
+import aim4.config.SimConfig;
 import aim4.driver.Driver;
 import aim4.driver.rim.CrashTestDummy;
 import aim4.im.ReservationManager;
@@ -11,6 +12,11 @@ import aim4.map.lane.ArcSegmentLane;
 import aim4.msg.rim.v2i.Request;
 import aim4.msg.rim.v2i.Request.VehicleSpecForRequestMsg;
 import aim4.sim.StatCollector;
+import aim4.util.AreaMask;
+import aim4.util.Histogram;
+import aim4.util.MappedHistoryFile;
+import aim4.util.MetricsRegistry;
+import aim4.util.Reservoir;
 import aim4.util.TiledRimArea;
 import aim4.util.TiledRimArea.Tile;
 import aim4.vehicle.VehicleSpec;
@@ -19,7 +25,10 @@ import aim4.vehicle.rim.RIMBasicAutoVehicle;
 
 import java.awt.*;
 import java.awt.geom.Area;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.List;
 import java.util.Queue;
@@ -32,7 +41,9 @@ import static org.junit.Assert.assertEquals;
 public class ReservationGridManager implements
         ReservationManager<ReservationGridManager.Query,
                         ReservationGridManager.Plan,
-                        Integer> {
+                        Integer>, Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -40,7 +51,9 @@ public class ReservationGridManager implements
     /**
      * The configuration of the reservation grid manager.
      */
-    public static class Config {
+    public static class Config implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         /**
          * The simulation time step.
          */
@@ -332,26 +345,82 @@ public class ReservationGridManager implements
     }
 
     /**
-     * The statistic collector for VIN history.
+     * The statistic collector for VIN history.  The collector keeps the
+     * distribution of the number of vehicles holding reservations at every
+     * time step, and a uniform sample of the changes of the set of VINs of
+     * the reserved tiles, in constant memory.  If
+     * {@link SimConfig#IS_FULL_HISTORY_CAPTURED} is true when the collector
+     * is created, every change is also appended to a memory-mapped history
+     * file, and all of them are printed.
      */
     public static class VinHistoryStatCollector
-            implements StatCollector<ReservationGridManager> {
+            implements StatCollector<ReservationGridManager>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The maximum number of changes of the VINs kept in memory.
+         */
+        public static final int NUM_OF_SAMPLED_CHANGES = 10000;
+
+        /**
+         * The seed of the sampling of the changes, which is fixed so that the
+         * printed history is reproducible.
+         */
+        private static final long SAMPLING_SEED = 0L;
+
+        /**
+         * A change of the VINs of all reserved tiles.
+         */
+        private static class Change implements Serializable {
+            private static final long serialVersionUID = 1L;
+
+            /** The time of the change */
+            final double time;
+            /** The VINs after the change */
+            final int[] vins;
+
+            Change(double time, int[] vins) {
+                this.time = time;
+                this.vins = vins;
+            }
+        }
+
+        /**
+         * The VINs of all reserved tiles at the last time step.
+         */
+        private Set<Integer> lastVins;
+
+        /**
+         * The number of VINs of all reserved tiles at every time step.
+         */
+        private Histogram occupancy;
+
         /**
-         * A list of the VINs of all reserved tiles at every time step.
+         * A sample of the changes of the VINs of all reserved tiles.
          */
-        private List<Double> vinHistoryTime;
+        private Reservoir<Change> changes;
 
         /**
-         * A mapping from VINs to histories.
+         * The full history of the changes, or null if it is not captured.  It
+         * is not kept in simulator snapshots.
          */
-        private Map<Double, Set<Integer>> vinHistory;
+        private transient MappedHistoryFile history;
 
         /**
          * Create a statistic collector for VIN history.
          */
         public VinHistoryStatCollector() {
-            this.vinHistoryTime = new LinkedList<Double>();
-            this.vinHistory = new HashMap<Double, Set<Integer>>();
+            this.occupancy = new Histogram();
+            this.changes = new Reservoir<Change>(NUM_OF_SAMPLED_CHANGES,
+                    new Random(SAMPLING_SEED));
+            if (SimConfig.IS_FULL_HISTORY_CAPTURED) {
+                try {
+                    this.history = MappedHistoryFile.createTemporary("vinhistory-");
+                } catch (IOException e) {
+                    System.err.printf("Cannot capture the VIN history: %s\n",
+                            e.getMessage());
+                }
+            }
         }
 
         /**
@@ -362,28 +431,78 @@ public class ReservationGridManager implements
             Set<Integer> s =
                     manager.reservationGrid
                             .getVinOfReservedTilesAtTime(manager.currentTime);
-            Set<Integer> lasts = null;
-            if (vinHistoryTime.size() > 0) {
-                lasts = vinHistory.get(vinHistoryTime.get(vinHistoryTime.size() - 1));
-            }
-            if (!s.equals(lasts)) {
-                vinHistoryTime.add(manager.currentTime);
-                vinHistory.put(manager.currentTime, s);
+            occupancy.record(s.size());
+            if (!s.equals(lastVins)) {
+                lastVins = new HashSet<Integer>(s);
+                int[] vins = new int[s.size()];
+                int i = 0;
+                for (int vin : s) {
+                    vins[i++] = vin;
+                }
+                changes.add(new Change(manager.currentTime, vins));
+                if (history != null) {
+                    try {
+                        ByteBuffer record = history.beginRecord(8 + 4 * vins.length);
+                        record.putDouble(manager.currentTime);
+                        for (int vin : vins) {
+                            record.putInt(vin);
+                        }
+                    } catch (IOException e) {
+                        System.err.printf("Cannot capture the VIN history: %s\n",
+                                e.getMessage());
+                        history = null;
+                    }
+                }
             }
         }
 
+        /**
+         * Get the distribution of the number of vehicles holding reservations
+         * at every time step.
+         *
+         * @return the histogram of the number of vehicles
+         */
+        public Histogram getOccupancy() {
+            return occupancy;
+        }
+
+        /**
+         * Get the number of changes of the VINs of all reserved tiles.
+         *
+         * @return the number of changes
+         */
+        public long getNumOfChanges() {
+            return changes.getCount();
+        }
+
         /**
          * {@inheritDoc}
          */
         @Override
-        public void print(PrintStream outfile) {
-            for (double time : vinHistoryTime) {
-                Set<Integer> vins = vinHistory.get(time);
-                outfile.printf("%.2f", time);
-                for (int vin : vins) {
-                    outfile.printf(",%d", vin);
+        public void print(final PrintStream outfile) {
+            if (history != null) {
+                history.forEachRecord(new MappedHistoryFile.RecordReader() {
+                    @Override
+                    public void read(ByteBuffer record) {
+                        outfile.printf("%.2f", record.getDouble());
+                        while (record.hasRemaining()) {
+                            outfile.printf(",%d", record.getInt());
+                        }
+                        outfile.println();
+                    }
+                });
+            } else {
+                if (changes.getCount() > NUM_OF_SAMPLED_CHANGES) {
+                    outfile.printf("# SAMPLED: %d of the %d VIN set changes\n",
+                                   NUM_OF_SAMPLED_CHANGES, changes.getCount());
+                }
+                for (Change change : changes.getSample()) {
+                    outfile.printf("%.2f", change.time);
+                    for (int vin : change.vins) {
+                        outfile.printf(",%d", vin);
+                    }
+                    outfile.println();
                 }
-                outfile.println();
             }
         }
 
@@ -428,6 +547,10 @@ public class ReservationGridManager implements
      * The statistic collector
      */
     private StatCollector<ReservationGridManager> statCollector;
+    /**
+     * The prefix of the names of the metrics of the queries
+     */
+    private String metricName = "im";
 
     /////////////////////////////////
     // CONSTRUCTORS
@@ -515,6 +638,16 @@ public class ReservationGridManager implements
         return statCollector;
     }
 
+    /**
+     * Set the prefix of the names of the metrics of the queries, under which
+     * the query latencies and the number of successful queries are recorded.
+     *
+     * @param metricName  the prefix of the names of the metrics
+     */
+    public void setMetricName(String metricName) {
+        this.metricName = metricName;
+    }
+
     /////////////////////////////////
     // PUBLIC METHODS
     /////////////////////////////////
@@ -531,6 +664,26 @@ public class ReservationGridManager implements
      */
     @Override
     public Plan query(Query q) {
+        if (!SimConfig.IS_METRICS_ENABLED) {
+            return findPlan(q);
+        }
+        long startTime = System.nanoTime();
+        Plan plan = findPlan(q);
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.getHistogram(metricName + ".query").record(System.nanoTime() - startTime);
+        if (plan != null) {
+            registry.getCounter(metricName + ".query.planned").incrementAndGet();
+        }
+        return plan;
+    }
+
+    /**
+     * Find a plan for a query by simulating a test vehicle.
+     *
+     * @param q  the query object
+     * @return the plan, or null if the reservation is unsuccessful
+     */
+    private Plan findPlan(Query q) {
 
         // Position the Vehicle to be ready to start the simulation
         ArcSegmentLane arrivalLane = (ArcSegmentLane) Debug.currentRimMap.getLaneRegistry().get(q.getArrivalLaneId());
@@ -637,7 +790,7 @@ public class ReservationGridManager implements
         RIMBasicAutoVehicle testVehicle = new RIMBasicAutoVehicle(
                 newSpec,
                 arrivalLane.getStartPoint(), // Vehicle Initial Position
-                ((ArcSegmentLane) arrivalLane).getArcLaneDecomposition().get(0).getInitialHeading(), // Heading
+                ((ArcSegmentLane) arrivalLane).getFollowedInitialHeading(), // Heading
                 0.0, // Steering angle
                 arrivalVelocity, // velocity
                 0.0, // target velocity
@@ -710,6 +863,7 @@ public class ReservationGridManager implements
                               boolean accelerating) {
         // The area of the intersection
         Area areaPlus = intersection.getAreaPlus();
+        AreaMask areaPlusMask = intersection.getAreaPlusMask();
         // The following must be true because the test vehicle
         // starts at the entry point of the intersection.
         assertEquals(intersection.getEntryPoint(arrivalLane).getX(), testVehicle.getPointAtMiddleFront(
@@ -727,13 +881,13 @@ public class ReservationGridManager implements
         double currentDuration = reservationGrid.calcRemainingTime(arrivalTime);
 
         // While the vehicle has not entered the intersection, move
-        while (!(VehicleUtil.intersects(testVehicle, areaPlus))) {
+        while (!(VehicleUtil.intersects(testVehicle, areaPlusMask))) {
             moveTestVehicle(testVehicle, dummy, currentDuration, accelerating);
             currentIntTime++;  // Record that we've moved forward one time step
             currentDuration = reservationGrid.getGridTimeStep();
         }
         // Now in intersection, drive the test vehicle until it leaves the intersection
-        while(VehicleUtil.intersects(testVehicle, areaPlus)) {
+        while(VehicleUtil.intersects(testVehicle, areaPlusMask)) {
             moveTestVehicle(testVehicle, dummy, currentDuration, accelerating);
             assertVehicleInsideIntersection(testVehicle, areaPlus);
             // Find out which tiles are occupied by the vehicle
@@ -33,19 +33,54 @@ package aim4.map;
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import aim4.config.SimConfig;
+import aim4.util.GeomMath;
+import aim4.util.Histogram;
+import aim4.util.MappedHistoryFile;
+import aim4.util.WindowedCounter;
 import aim4.vehicle.VehicleSimModel;
-import aim4.vehicle.aim.AIMVehicleSimModel;
 
 /**
- * The data collection line.
+ * The data collection line.  The line keeps the most recent crossings,
+ * the distribution of the headways between crossings and the recent flow
+ * in constant memory.  If {@link SimConfig#IS_FULL_HISTORY_CAPTURED} is
+ * true when the line is created, every crossing is also appended to a
+ * memory-mapped history file, so that the whole history can be printed.
+ * Otherwise the printers of the crossings mark the lines whose older
+ * crossings were discarded, with {@link #printTruncationMarker}.  The
+ * history file is released by {@link #close()}.
  */
-public class DataCollectionLine {
+public class DataCollectionLine implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * A visitor of the crossings of the line.
+   */
+  public static interface CrossingVisitor {
+    /**
+     * Visit a crossing.
+     *
+     * @param vin   the VIN of the vehicle
+     * @param time  the time of the crossing
+     */
+    void visit(int vin, double time);
+  }
 
   /////////////////////////////////
   // CONSTANTS
@@ -54,6 +89,18 @@ public class DataCollectionLine {
   /** The no repeat time period */
   protected static final double NO_REPEAT_TIME_PERIOD = 1.0; // seconds
 
+  /** The number of most recent crossings kept in memory */
+  public static final int NUM_OF_RETAINED_CROSSINGS = 4096;
+
+  /** The window over which the flow is counted */
+  public static final double FLOW_WINDOW = 300.0; // seconds
+
+  /** The number of buckets of the flow window */
+  private static final int NUM_OF_FLOW_BUCKETS = 60;
+
+  /** The size of a crossing in the history file: a VIN and a time */
+  private static final int CROSSING_RECORD_SIZE = 4 + 8;
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
@@ -64,8 +111,34 @@ public class DataCollectionLine {
   protected int id;
   /** The line */
   protected Line2D line;
-  /** The record of the times of the vehicle passing through the line */
-  protected Map<Integer,List<Double>> vinToTime;
+  /** The bounding box of the line */
+  protected double minX, minY, maxX, maxY;
+  /**
+   * The times of the last crossings of the vehicles which crossed within
+   * the last NO_REPEAT_TIME_PERIOD
+   */
+  protected Map<Integer,Double> vinToLastTime;
+  /** The VINs of the most recent crossings, used as a ring */
+  private int[] recentVins = new int[NUM_OF_RETAINED_CROSSINGS];
+  /** The times of the most recent crossings, used as a ring */
+  private double[] recentTimes = new double[NUM_OF_RETAINED_CROSSINGS];
+  /** The number of crossings so far */
+  private long numOfCrossings;
+  /**
+   * The number of the earliest crossing whose entry in vinToLastTime may
+   * not have expired yet
+   */
+  private long firstUnexpiredCrossing;
+  /** The headways between consecutive crossings, in milliseconds */
+  private Histogram headways = new Histogram();
+  /** The crossings in the last FLOW_WINDOW */
+  private WindowedCounter flow =
+    new WindowedCounter(FLOW_WINDOW, NUM_OF_FLOW_BUCKETS);
+  /**
+   * The full history of the crossings, or null if it is not captured.  It
+   * is not kept in simulator snapshots.
+   */
+  private transient MappedHistoryFile history;
   /**
    * Whether vehicles should not be counted more than once when it passes
    * through the line more than once within the NO_REPEAT_TIME_PERIOD.
@@ -91,9 +164,21 @@ public class DataCollectionLine {
                             boolean isNoRepeat) {
     this.name = name;
     this.id = id;
-    this.vinToTime = new HashMap<Integer,List<Double>>();
+    this.vinToLastTime = new HashMap<Integer,Double>();
     this.line = new Line2D.Double(p1, p2);
+    this.minX = Math.min(p1.getX(), p2.getX());
+    this.minY = Math.min(p1.getY(), p2.getY());
+    this.maxX = Math.max(p1.getX(), p2.getX());
+    this.maxY = Math.max(p1.getY(), p2.getY());
     this.isNoRepeat = isNoRepeat;
+    if (SimConfig.IS_FULL_HISTORY_CAPTURED) {
+      try {
+        this.history = MappedHistoryFile.createTemporary("dcl" + id + "-");
+      } catch (IOException e) {
+        System.err.printf("Cannot capture the history of %s: %s\n",
+                          name, e.getMessage());
+      }
+    }
   }
 
   /////////////////////////////////
@@ -120,19 +205,13 @@ public class DataCollectionLine {
    */
   public boolean intersect(VehicleSimModel v, double time,
                            Point2D p1, Point2D p2) {
+    if (!isInBoundingBox(p1, p2)) {
+      return false;
+    }
     int vin = v.getVIN();
-    if (!isNoRepeat
-      || !vinToTime.containsKey(vin)
-      || vinToTime.get(vin).get(vinToTime.get(vin).size()-1)
-        + NO_REPEAT_TIME_PERIOD < time) {
+    if (!isRepeat(vin, time)) {
       if (line.intersectsLine(p1.getX(), p1.getY(), p2.getX(), p2.getY())) {
-        if (!vinToTime.containsKey(vin)) {
-          List<Double> times = new LinkedList<Double>();
-          times.add(time);
-          vinToTime.put(vin, times);
-        } else {
-          vinToTime.get(vin).add(time);
-        }
+        recordCrossing(vin, time);
         return true;
       } else {
         return false;
@@ -143,6 +222,67 @@ public class DataCollectionLine {
     }
   }
 
+  /**
+   * Whether a crossing of a vehicle would repeat one within the last
+   * NO_REPEAT_TIME_PERIOD, and should not be counted.
+   *
+   * @param vin   the VIN of the vehicle
+   * @param time  the current time
+   * @return whether the crossing should not be counted
+   */
+  protected boolean isRepeat(int vin, double time) {
+    if (!isNoRepeat) {
+      return false;
+    }
+    Double lastTime = vinToLastTime.get(vin);
+    return lastTime != null && lastTime + NO_REPEAT_TIME_PERIOD >= time;
+  }
+
+  /**
+   * Record a crossing of the line.
+   *
+   * @param vin   the VIN of the vehicle
+   * @param time  the time of the crossing
+   */
+  protected void recordCrossing(int vin, double time) {
+    if (numOfCrossings > 0) {
+      double lastTime = recentTimes[ringIndexOf(numOfCrossings - 1)];
+      headways.record(Math.round((time - lastTime) * 1000));
+    }
+    int i = ringIndexOf(numOfCrossings);
+    recentVins[i] = vin;
+    recentTimes[i] = time;
+    numOfCrossings++;
+    flow.increment(time);
+    vinToLastTime.put(vin, time);
+    expireLastTimes(time);
+    if (history != null) {
+      try {
+        ByteBuffer record = history.beginRecord(CROSSING_RECORD_SIZE);
+        record.putInt(vin);
+        record.putDouble(time);
+      } catch (IOException e) {
+        System.err.printf("Cannot capture the history of %s: %s\n",
+                          name, e.getMessage());
+        history = null;
+      }
+    }
+  }
+
+  /**
+   * Whether the bounding box of the segment between two points overlaps
+   * the bounding box of the line.  A segment that fails this test cannot
+   * intersect the line, so the test can be used to skip the exact
+   * intersection test for most of the vehicles.
+   *
+   * @param p1  the first point of the segment
+   * @param p2  the second point of the segment
+   * @return whether the bounding boxes overlap
+   */
+  protected boolean isInBoundingBox(Point2D p1, Point2D p2) {
+    return GeomMath.isInBoundingBox(p1, p2, minX, minY, maxX, maxY);
+  }
+
   /**
    * Get the name of the line.
    *
@@ -162,22 +302,167 @@ public class DataCollectionLine {
   }
 
   /**
-   * Get the VINs of all vehicles.
+   * Get the VINs of all vehicles in the history of the line, which is
+   * either the full history or the most recent crossings.
    *
-   * @return the VINs of all vehicles
+   * @return the VINs of all vehicles, in the order of their first crossings
    */
   public Set<Integer> getAllVIN() {
-    return vinToTime.keySet();
+    final Set<Integer> vins = new LinkedHashSet<Integer>();
+    forEachCrossing(new CrossingVisitor() {
+      @Override
+      public void visit(int vin, double time) {
+        vins.add(vin);
+      }
+    });
+    return vins;
   }
 
   /**
-   * Get the time a vehicle passing through the line.
+   * Get the time a vehicle passing through the line.  Unless the full
+   * history is captured, only the most recent crossings are known.
    *
    * @param vin  the VIN of the vehicle
-   * @return the time the vehicle passing through the line
+   * @return the time the vehicle passing through the line, or null if the
+   *         vehicle has no known crossing
    */
-  public List<Double> getTimes(int vin) {
-    return vinToTime.get(vin);
+  public List<Double> getTimes(final int vin) {
+    final List<Double> times = new ArrayList<Double>(1);
+    forEachCrossing(new CrossingVisitor() {
+      @Override
+      public void visit(int crossingVin, double time) {
+        if (crossingVin == vin) {
+          times.add(time);
+        }
+      }
+    });
+    return times.isEmpty() ? null : times;
+  }
+
+  /**
+   * Visit the crossings in the history of the line, which is either the
+   * full history or the most recent crossings, in the order of time.
+   *
+   * @param visitor  the visitor of the crossings
+   */
+  public void forEachCrossing(final CrossingVisitor visitor) {
+    if (history != null) {
+      history.forEachRecord(new MappedHistoryFile.RecordReader() {
+        @Override
+        public void read(ByteBuffer record) {
+          visitor.visit(record.getInt(), record.getDouble());
+        }
+      });
+    } else {
+      long first = Math.max(0, numOfCrossings - NUM_OF_RETAINED_CROSSINGS);
+      for (long c = first; c < numOfCrossings; c++) {
+        int i = ringIndexOf(c);
+        visitor.visit(recentVins[i], recentTimes[i]);
+      }
+    }
+  }
+
+  /**
+   * Whether the history of the line still holds every crossing so far.  It
+   * does not once more than NUM_OF_RETAINED_CROSSINGS crossings were made
+   * without the full history being captured, or after the full history was
+   * lost, such as when the line was restored from a simulator snapshot.
+   *
+   * @return whether the history of the line is complete
+   */
+  public boolean isHistoryComplete() {
+    return history != null || numOfCrossings <= NUM_OF_RETAINED_CROSSINGS;
+  }
+
+  /**
+   * Print a line which marks the history of the line as truncated, if it
+   * is incomplete, so that the printed crossings are not mistaken for all
+   * the crossings.
+   *
+   * @param out  the output stream
+   */
+  public void printTruncationMarker(PrintStream out) {
+    if (!isHistoryComplete()) {
+      out.printf("# TRUNCATED: %s lists only the last %d of its %d crossings\n",
+                 name, NUM_OF_RETAINED_CROSSINGS, numOfCrossings);
+    }
+  }
+
+  /**
+   * Release the full history of the line, if it is captured.  The line
+   * keeps the most recent crossings only afterwards.
+   */
+  public void close() {
+    if (history != null) {
+      try {
+        history.close();
+      } catch (IOException e) {
+        System.err.printf("Cannot close the history of %s: %s\n",
+                          name, e.getMessage());
+      }
+      history = null;
+    }
+  }
+
+  /**
+   * Get the number of crossings of the line so far.
+   *
+   * @return the number of crossings of the line
+   */
+  public long getNumOfCrossings() {
+    return numOfCrossings;
+  }
+
+  /**
+   * Get the distribution of the headways between consecutive crossings.
+   *
+   * @return the histogram of the headways, in milliseconds
+   */
+  public Histogram getHeadways() {
+    return headways;
+  }
+
+  /**
+   * Get the number of crossings in the last FLOW_WINDOW.
+   *
+   * @param currentTime  the current time
+   * @return the number of crossings in the last FLOW_WINDOW
+   */
+  public long getRecentFlow(double currentTime) {
+    return flow.getCount(currentTime);
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the position in the ring of the most recent crossings of a
+   * crossing.
+   */
+  private static int ringIndexOf(long crossing) {
+    return (int) (crossing % NUM_OF_RETAINED_CROSSINGS);
+  }
+
+  /**
+   * Remove the last crossing times which are older than the
+   * NO_REPEAT_TIME_PERIOD, so that vinToLastTime does not grow with the
+   * number of vehicles.
+   */
+  private void expireLastTimes(double time) {
+    firstUnexpiredCrossing = Math.max(firstUnexpiredCrossing,
+      numOfCrossings - NUM_OF_RETAINED_CROSSINGS);
+    while (firstUnexpiredCrossing < numOfCrossings) {
+      int i = ringIndexOf(firstUnexpiredCrossing);
+      if (recentTimes[i] + NO_REPEAT_TIME_PERIOD >= time) {
+        break;
+      }
+      Double lastTime = vinToLastTime.get(recentVins[i]);
+      if (lastTime != null && lastTime == recentTimes[i]) {
+        vinToLastTime.remove(recentVins[i]);
+      }
+      firstUnexpiredCrossing++;
+    }
   }
 
 }
@@ -32,6 +32,7 @@ package aim4.map;
 
 import aim4.map.lane.Lane;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -39,7 +40,9 @@ import java.util.List;
 /**
  * A group of lanes with a name.
  */
-public class Road {
+public class Road implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // PRIVATE FIELDS
@@ -5,12 +5,15 @@ import aim4.vehicle.VehicleSpec;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * An abstract spawn point.
  */
-public abstract class SpawnPoint {
+public abstract class SpawnPoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // NESTED CLASSES
@@ -44,6 +44,8 @@ import aim4.vehicle.VehicleSpec;
  */
 public class AIMSpawnPoint extends SpawnPoint {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
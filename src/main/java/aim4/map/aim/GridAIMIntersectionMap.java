@@ -46,13 +46,16 @@ import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.io.FileNotFoundException;
 import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.*;
 
 
 /**
  * The grid layout map.
  */
-public class GridAIMIntersectionMap implements BasicAIMIntersectionMap {
+public class GridAIMIntersectionMap implements BasicAIMIntersectionMap, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // CONSTANTS
@@ -672,16 +675,20 @@ public class GridAIMIntersectionMap implements BasicAIMIntersectionMap {
         }
         // TODO: sort by time and LineId and VIN
         outfile.printf("VIN,Time,DCLname,vType,startLaneId,destRoad\n");
+        final PrintStream out = outfile;
         for (DataCollectionLine line : dataCollectionLines) {
-            for (int vin : line.getAllVIN()) {
-                for(double time : line.getTimes(vin)) {
-                    outfile.printf("%d,%.4f,%s,%s,%d,%s\n",
-                            vin, time, line.getName(),
+            line.printTruncationMarker(out);
+            final String lineName = line.getName();
+            line.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+                @Override
+                public void visit(int vin, double time) {
+                    out.printf("%d,%.4f,%s,%s,%d,%s\n",
+                            vin, time, lineName,
                             VinRegistry.getVehicleSpecFromVIN(vin).getName(),
                             VinRegistry.getSpawnPointFromVIN(vin).getLane().getId(),
                             VinRegistry.getDestRoadFromVIN(vin).getName());
                 }
-            }
+            });
         }
 
         outfile.close();
@@ -49,6 +49,7 @@ import aim4.map.aim.AIMSpawnPoint.AIMSpawnSpec;
 import aim4.map.aim.AIMSpawnPoint.AIMSpawnSpecGenerator;
 import aim4.map.aim.destination.*;
 import aim4.map.lane.Lane;
+import aim4.util.RandomStreams;
 import aim4.util.Util;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
@@ -60,10 +61,12 @@ import org.json.simple.parser.ParseException;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Random;
 
 /**
  * The utility class for GridAIMIntersectionMap.
@@ -88,13 +91,18 @@ public class GridMapUtil {
     /**
      * The uniform distributed spawn spec generator.
      */
-    public static class UniformSpawnSpecGenerator implements AIMSpawnSpecGenerator {
+    public static class UniformSpawnSpecGenerator implements AIMSpawnSpecGenerator, Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The proportion of each spec */
         private List<Double> proportion;
         /** The destination selector */
         private DestinationSelector destinationSelector;
         /** probability of generating a vehicle in each spawn time step */
         private double prob;
+        /** The spawn streams, by the ID of the lane of the spawn point */
+        private RandomStreams.Family spawnStreams =
+                new RandomStreams.Family("spawn");
 
         /**
          * Create an uniform spawn specification generator.
@@ -124,11 +132,12 @@ public class GridMapUtil {
         public List<AIMSpawnSpec> act(AIMSpawnPoint spawnPoint, double timeStep) {
             List<AIMSpawnSpec> result = new LinkedList<AIMSpawnSpec>();
 
+            Random random = spawnStreams.get(spawnPoint.getLane().getId());
             double initTime = spawnPoint.getCurrentTime();
             for(double time = initTime; time < initTime + timeStep;
                 time += SimConfig.SPAWN_TIME_STEP) {
-                if (Util.random.nextDouble() < prob) {
-                    int i = Util.randomIndex(proportion);
+                if (random.nextDouble() < prob) {
+                    int i = Util.randomIndex(proportion, random);
                     VehicleSpec vehicleSpec = VehicleSpecDatabase.getVehicleSpecById(i);
                     Road destinationRoad =
                             destinationSelector.selectDestination(spawnPoint.getLane());
@@ -20,6 +20,8 @@ import java.util.*;
 
 public class GridRIMIntersectionMap extends GridAIMIntersectionMap implements BasicAIMIntersectionMap {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -660,16 +662,20 @@ public class GridRIMIntersectionMap extends GridAIMIntersectionMap implements Ba
         }
         // TODO: sort by time and LineId and VIN
         outfile.printf("VIN,Time,DCLname,vType,startLaneId,destRoad\n");
+        final PrintStream out = outfile;
         for (DataCollectionLine line : dataCollectionLines) {
-            for (int vin : line.getAllVIN()) {
-                for (double time : line.getTimes(vin)) {
-                    outfile.printf("%d,%.4f,%s,%s,%d,%s\n",
-                            vin, time, line.getName(),
+            line.printTruncationMarker(out);
+            final String lineName = line.getName();
+            line.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+                @Override
+                public void visit(int vin, double time) {
+                    out.printf("%d,%.4f,%s,%s,%d,%s\n",
+                            vin, time, lineName,
                             VinRegistry.getVehicleSpecFromVIN(vin).getName(),
                             VinRegistry.getSpawnPointFromVIN(vin).getLane().getId(),
                             VinRegistry.getDestRoadFromVIN(vin).getName());
                 }
-            }
+            });
         }
 
         outfile.close();
@@ -35,7 +35,7 @@ import aim4.map.BasicAIMIntersectionMap;
 import aim4.map.Road;
 import aim4.map.aim.AIMSpawnPoint;
 import aim4.map.lane.Lane;
-import aim4.util.Util;
+import aim4.util.RandomStreams;
 
 import java.util.HashMap;
 import java.util.List;
@@ -66,6 +66,11 @@ public class RatioDestinationSelector implements DestinationSelector {
    * The probability of making a right turn.
    */
   private Map<Integer,Double> rightTurnProb;
+  /**
+   * The destination streams, by the ID of the lane of the spawn point.
+   */
+  private RandomStreams.Family destinationStreams =
+    new RandomStreams.Family("destination");
 
 
   /////////////////////////////////
@@ -105,7 +110,7 @@ public class RatioDestinationSelector implements DestinationSelector {
   public Road selectDestination(Lane currentLane) {
     Road currentRoad = Debug.currentAimMap.getRoad(currentLane);
     int laneId = currentLane.getId();
-    double prob = Util.random.nextDouble();
+    double prob = destinationStreams.get(laneId).nextDouble();
     if (prob < leftTurnProb.get(laneId)) {
       return trafficVolume.getLeftTurnRoad(currentRoad);
     } else if (prob >= 1.0 - rightTurnProb.get(laneId)) {
@@ -4,19 +4,26 @@ import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.lane.LineSegmentLane;
 import aim4.map.track.WayPoint;
+import aim4.util.AreaMask;
 import aim4.util.GeomMath;
 
 import java.awt.geom.Area;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * The base class to connect roads together. Used to create Corners
  * and Junctions.
  */
-public abstract class BasicConnection implements RoadConnection {
+public abstract class BasicConnection implements RoadConnection, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // PROTECTED FIELDS
@@ -27,7 +34,12 @@ public abstract class BasicConnection implements RoadConnection {
     /**
      * The space governed by this connection.
      */
-    protected Area areaOfConnection;
+    protected transient Area areaOfConnection;
+
+    /**
+     * Memoization cache for {@link #getAreaMask()}.
+     */
+    private transient AreaMask memoAreaMask;
 
     /**
      * The centroid of this connection.
@@ -435,6 +447,19 @@ public abstract class BasicConnection implements RoadConnection {
         return areaOfConnection;
     }
 
+    /**
+     * Get a mask of the Area of this Corner, for fast tests of whether
+     * vehicles are in it.
+     *
+     * @return the mask of the Area of the corner
+     */
+    public AreaMask getAreaMask() {
+        if (memoAreaMask == null) {
+            memoAreaMask = new AreaMask(areaOfConnection);
+        }
+        return memoAreaMask;
+    }
+
     /**
      * Get the centroid of the corner.
      *
@@ -524,4 +549,22 @@ public abstract class BasicConnection implements RoadConnection {
     public double getExitHeading(Lane l) {
         return exitHeadings.get(l);
     }
+
+    /**
+     * Write the Area, which is not serializable, as paths.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        GeomMath.writeArea(out, areaOfConnection);
+    }
+
+    /**
+     * Read the Area written by writeObject.
+     */
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        areaOfConnection = GeomMath.readArea(in);
+    }
+
 }
@@ -15,6 +15,8 @@ import java.util.*;
 // TODO CPM Rename to make it more specific, CornerRightAngleOneLane
 public class Corner extends BasicConnection {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CLASS CONSTRUCTORS
     /////////////////////////////////
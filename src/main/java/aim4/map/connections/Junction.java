@@ -18,6 +18,8 @@ import java.util.List;
 // TODO Rename to make it more specific, TJunctionRightAngleOneLane
 public class Junction extends BasicConnection{
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CLASS CONSTRUCTORS
     /////////////////////////////////
@@ -1,6 +1,7 @@
 package aim4.map.connections;
 
 import aim4.map.Road;
+import aim4.util.AreaMask;
 
 import java.awt.geom.Area;
 import java.util.List;
@@ -9,6 +10,8 @@ import java.util.List;
  * Created by Callum on 10/04/2017.
  */
 public abstract class MergeConnection extends BasicConnection {
+    private static final long serialVersionUID = 1L;
+
     /**
      * Basic class constructor.
      * Takes the Roads which meet to make this connection.
@@ -20,4 +23,12 @@ public abstract class MergeConnection extends BasicConnection {
     }
 
     public abstract Area getAreaPlus();
+
+    /**
+     * Get a mask of the area slightly larger than the area of this
+     * connection, for fast tests of whether vehicles are in it.
+     *
+     * @return the mask of the area plus
+     */
+    public abstract AreaMask getAreaPlusMask();
 }
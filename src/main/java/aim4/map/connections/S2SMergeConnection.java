@@ -4,20 +4,28 @@ import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.lane.LineSegmentLane;
 import aim4.map.merge.RoadNames;
+import aim4.util.AreaMask;
+import aim4.util.GeomMath;
 
 import java.awt.geom.Area;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.List;
 
 /**
  * Created by Callum on 10/04/2017.
  */
 public class S2SMergeConnection extends MergeConnection {
+    private static final long serialVersionUID = 1L;
+
     private Point2D targetEntryPoint;
     private Point2D mergeEntryPoint;
     private Point2D exitPoint;
-    private Area areaPlus;
+    private transient Area areaPlus;
+    private transient AreaMask memoAreaPlusMask;
 
     private static final double areaPlusAdjust = 1;
     /**
@@ -89,4 +97,30 @@ public class S2SMergeConnection extends MergeConnection {
     public Area getAreaPlus() {
         return areaPlus;
     }
+
+    @Override
+    public AreaMask getAreaPlusMask() {
+        if (memoAreaPlusMask == null) {
+            memoAreaPlusMask = new AreaMask(areaPlus);
+        }
+        return memoAreaPlusMask;
+    }
+
+    /**
+     * Write the Area, which is not serializable, as paths.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        GeomMath.writeArea(out, areaPlus);
+    }
+
+    /**
+     * Read the Area written by writeObject.
+     */
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        areaPlus = GeomMath.readArea(in);
+    }
+
 }
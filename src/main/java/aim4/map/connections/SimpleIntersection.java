@@ -17,6 +17,8 @@ import java.util.List;
  */
 public class SimpleIntersection extends BasicConnection {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CLASS CONSTRUCTORS
     /////////////////////////////////
@@ -18,6 +18,7 @@ import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.io.FileNotFoundException;
 import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,7 +27,9 @@ import java.util.Map;
 /**
  * The base class for all CPM Maps.
  */
-public abstract class CPMBasicMap implements CPMMap{
+public abstract class CPMBasicMap implements CPMMap, Serializable{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -303,15 +306,19 @@ public abstract class CPMBasicMap implements CPMMap{
         // TODO: sort by time and LineId and VIN
         outfile.printf("Printing file for CPM simulation%n");
         outfile.printf("VIN,Time,DCLname,vType,startLaneId%n");
+        final PrintStream out = outfile;
         for (DataCollectionLine line : dataCollectionLines) {
-            for (int vin : line.getAllVIN()) {
-                for(double time : line.getTimes(vin)) {
-                    outfile.printf("%d,%.4f,%s,%s,%d%n",
-                            vin, time, line.getName(),
+            line.printTruncationMarker(out);
+            final String lineName = line.getName();
+            line.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+                @Override
+                public void visit(int vin, double time) {
+                    out.printf("%d,%.4f,%s,%s,%d%n",
+                            vin, time, lineName,
                             VinRegistry.getVehicleSpecFromVIN(vin).getName(),
                             VinRegistry.getSpawnPointFromVIN(vin).getLane().getId());
                 }
-            }
+            });
         }
 
         outfile.close();
@@ -13,12 +13,16 @@ import java.io.FileNotFoundException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A car park map with a parking area.
  */
 public class CPMCarParkWithStatus extends CPMBasicMap {
+    private static final long serialVersionUID = 1L;
+
     // TODO CPM Decide if this should extend CPMBasicMap or CPMMapCarPark
 
     /** The number of parking lanes. */
@@ -298,21 +302,41 @@ public class CPMCarParkWithStatus extends CPMBasicMap {
 
         outfile.printf("Printing file for CPM simulation%n");
         outfile.printf("VIN,VehicleType,EntryTime,ExitTime,ParkingTime,TimeToRetrieve,EstimatedDistanceTravelled,NumberOfReEntries%n");
-
-        for (int vin : exitDataCollectionLine.getAllVIN()) {
-            for(double time : exitDataCollectionLine.getTimes(vin)) {
-                outfile.printf("%d,%s,%.2f,%.2f,%.2f,%.2f,%.2f,%d",
+        // the entry times are NaN for the entries cut off a truncated history
+        entryDataCollectionLine.printTruncationMarker(outfile);
+        exitDataCollectionLine.printTruncationMarker(outfile);
+
+        // the first entry time of each vehicle, which is unknown if the
+        // entry is no longer in the history of the entry line
+        final Map<Integer, Double> vinToEntryTime = new HashMap<Integer, Double>();
+        entryDataCollectionLine.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+            @Override
+            public void visit(int vin, double time) {
+                if (!vinToEntryTime.containsKey(vin)) {
+                    vinToEntryTime.put(vin, time);
+                }
+            }
+        });
+        final PrintStream out = outfile;
+        exitDataCollectionLine.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+            @Override
+            public void visit(int vin, double time) {
+                Double entryTime = vinToEntryTime.get(vin);
+                if (entryTime == null) {
+                    entryTime = Double.NaN;
+                }
+                out.printf("%d,%s,%.2f,%.2f,%.2f,%.2f,%.2f,%d",
                         vin,
                         VinRegistry.getVehicleSpecFromVIN(vin).getName(),
-                        entryDataCollectionLine.getTimes(vin).get(0),
+                        entryTime,
                         time,
                         exitDataCollectionLine.getParkingTime(vin),
-                        calculateTimeToRetrieve(entryDataCollectionLine, vin, time),
+                        calculateTimeToRetrieve(entryTime, vin, time),
                         exitDataCollectionLine.getEstimatedDistanceTravelled(vin),
                         exitDataCollectionLine.getNumberOfReEntries(vin)
                         );
             }
-        }
+        });
         // TODO CPM move this to statscreen
         outfile.print("Number of denied entries: " + statusMonitor.getNumberOfDeniedEntries() + "%n");
         outfile.print("Number of allowed entries: " + statusMonitor.getNumberOfAllowedEntries() + "%n");
@@ -323,8 +347,7 @@ public class CPMCarParkWithStatus extends CPMBasicMap {
         outfile.close();
     }
 
-    private Double calculateTimeToRetrieve(DataCollectionLine entryDataCollectionLine, int vin, double exitTime){
-        double entryTime = entryDataCollectionLine.getTimes(vin).get(0); // TODO CPM why is it a list, will this give us the right thing?
+    private Double calculateTimeToRetrieve(double entryTime, int vin, double exitTime){
         double parkingTime = exitDataCollectionLine.getParkingTime(vin);
         double retrievalTime = entryTime + parkingTime;
         double timeToRetrieve = exitTime - retrievalTime;
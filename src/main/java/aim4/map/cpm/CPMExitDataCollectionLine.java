@@ -1,13 +1,12 @@
 package aim4.map.cpm;
 
 import aim4.map.DataCollectionLine;
+import aim4.util.EventLog;
 import aim4.vehicle.VehicleSimModel;
 import aim4.vehicle.cpm.CPMBasicAutoVehicle;
 
 import java.awt.geom.Point2D;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,6 +14,8 @@ import java.util.Map;
  */
 public class CPMExitDataCollectionLine extends DataCollectionLine {
 
+    private static final long serialVersionUID = 1L;
+
     /** The record of the estimated distance travelled of the vehicle passing through the line */
     private Map<Integer,Double> vinToEstimatedDistanceTravelled;
 
@@ -57,24 +58,20 @@ public class CPMExitDataCollectionLine extends DataCollectionLine {
     public boolean intersect(VehicleSimModel v, double time,
                              Point2D p1, Point2D p2) {
         assert v instanceof CPMBasicAutoVehicle;
+        if (!isInBoundingBox(p1, p2)) {
+            return false;
+        }
         int vin = v.getVIN();
-        if (!isNoRepeat
-                || !vinToTime.containsKey(vin)
-                || vinToTime.get(vin).get(vinToTime.get(vin).size()-1)
-                + NO_REPEAT_TIME_PERIOD < time) {
+        if (!isRepeat(vin, time)) {
             if (line.intersectsLine(p1.getX(), p1.getY(), p2.getX(), p2.getY())) {
-                if (!vinToTime.containsKey(vin)) {
-                    List<Double> times = new LinkedList<Double>();
-                    times.add(time);
-                    vinToTime.put(vin, times);
-                } else {
-                    vinToTime.get(vin).add(time);
-                }
+                recordCrossing(vin, time);
                 double parkingTime = ((CPMBasicAutoVehicle) v).getParkingTime();
                 vinToParkingTime.put(vin, parkingTime);
                 vinToEstimatedDistanceTravelled.put(vin, ((CPMBasicAutoVehicle) v).getEstimatedDistanceTravelled());
                 vinToNumberOfReEntries.put(vin, ((CPMBasicAutoVehicle) v).getNumberOfReEntries());
-                System.out.println("INTERSECT WITH DCL");
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.DATA_COLLECTION_LINE_CROSSED, time, vin, id);
+                }
                 return true;
             } else {
                 return false;
@@ -3,6 +3,7 @@ package aim4.map.cpm;
 import aim4.config.SimConfig;
 import aim4.map.cpm.CPMSpawnPoint.*;
 import aim4.map.lane.Lane;
+import aim4.util.EventLog;
 import aim4.util.Util;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
@@ -12,6 +13,7 @@ import java.awt.geom.Point2D;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -83,7 +85,10 @@ public class CPMMapUtil {
                         double parkingTime = generateParkingTime();
                         result.add(new CPMSpawnSpec(spawnPoint.getCurrentTime(),vehicleSpec, parkingTime));
                         numberOfSpawnedVehicles += 1;
-                        System.out.println("Vehicle spawned!");
+                        if (EventLog.IS_ENABLED) {
+                            EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                    EventLog.NO_VIN, vehicleSpec.getLength());
+                        }
                     }
                 }
             }
@@ -98,7 +103,9 @@ public class CPMMapUtil {
     /**
      * The spec generator that continuously generates vehicles of the same spec.
      */
-    public static class InfiniteSpawnSingleSpecGenerator implements CPMSpawnSpecGenerator {
+    public static class InfiniteSpawnSingleSpecGenerator implements CPMSpawnSpecGenerator, Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The vehicle specification */
         private VehicleSpec vehicleSpec;
         /** The probability of generating a vehicle in each spawn time step */
@@ -126,7 +133,10 @@ public class CPMMapUtil {
                 if (Util.random.nextDouble() < spawnProbability) {
                     double parkingTime = generateParkingTime();
                     result.add(new CPMSpawnSpec(spawnPoint.getCurrentTime(),vehicleSpec, parkingTime));
-                    System.out.println("Vehicle spawned!");
+                    if (EventLog.IS_ENABLED) {
+                        EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                EventLog.NO_VIN, vehicleSpec.getLength());
+                    }
                 }
             }
             return result;
@@ -262,7 +272,10 @@ public class CPMMapUtil {
                     double parkingTime = spawnTimes.get(0).getValue();
                     result.add(new CPMSpawnSpec(spawnPoint.getCurrentTime(), vehicleSpec, parkingTime));
                     spawnTimes.remove(0);
-                    System.out.println("Vehicle spawned at time: " + initTime);
+                    if (EventLog.IS_ENABLED) {
+                        EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                EventLog.NO_VIN, vehicleSpec.getLength());
+                    }
                 }
             }
 
@@ -338,7 +351,10 @@ public class CPMMapUtil {
                                 vehicleSpec,
                                 parkingTime));
                         numberOfSpawnedVehicles += 1;
-                        System.out.println("Vehicle " + vehicleSpec.getName() + " spawned!");
+                        if (EventLog.IS_ENABLED) {
+                            EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                    EventLog.NO_VIN, vehicleSpec.getLength());
+                        }
                     }
                 }
             }
@@ -392,7 +408,10 @@ public class CPMMapUtil {
                     result.add(new CPMSpawnSpec(spawnPoint.getCurrentTime(),
                                                 vehicleSpec,
                                                 parkingTime));
-                    System.out.println("Vehicle " + vehicleSpec.getName() + " spawned!");
+                    if (EventLog.IS_ENABLED) {
+                        EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                EventLog.NO_VIN, vehicleSpec.getLength());
+                    }
                 }
             }
 
@@ -535,7 +554,10 @@ public class CPMMapUtil {
                     double parkingTime = spawnTimes.get(0).getValue();
                     result.add(new CPMSpawnSpec(spawnPoint.getCurrentTime(), vehicleSpec, parkingTime));
                     spawnTimes.remove(0);
-                    System.out.println("Vehicle " + vehicleSpec.getName() +" spawned at time: " + initTime);
+                    if (EventLog.IS_ENABLED) {
+                        EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                EventLog.NO_VIN, vehicleSpec.getLength());
+                    }
                 }
             }
 
@@ -598,7 +620,10 @@ public class CPMMapUtil {
                     if (Util.random.nextDouble() < spawnProbability) {
                         double parkingTime = generateParkingTime();
                         result.add(new CPMSpawnSpec(spawnPoint.getCurrentTime(),vehicleSpec, parkingTime));
-                        System.out.println("Vehicle spawned!");
+                        if (EventLog.IS_ENABLED) {
+                            EventLog.log(EventLog.Event.VEHICLE_SPAWNED, spawnPoint.getCurrentTime(),
+                                    EventLog.NO_VIN, vehicleSpec.getLength());
+                        }
                         numberOfSpawnedVehicles += 1;
                     }
                 }
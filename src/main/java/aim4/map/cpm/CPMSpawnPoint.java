@@ -13,6 +13,8 @@ import java.util.List;
  */
 public class CPMSpawnPoint extends SpawnPoint {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -10,6 +10,8 @@ import java.awt.geom.Point2D;
  * A lane where vehicles can park.
  */
 public class ParkingLane extends LineSegmentLane {
+    private static final long serialVersionUID = 1L;
+
     /**The point on the lane where the parking section begins.*/
     private Point2D parkingStartPoint;
     /**The point on the lane where the parking section ends.*/
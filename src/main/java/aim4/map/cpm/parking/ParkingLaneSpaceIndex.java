@@ -0,0 +1,189 @@
+package aim4.map.cpm.parking;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * An index of the space left on each parking lane of a parking area.
+ * The lanes are held in a segment tree, ordered by lane ID, whose nodes
+ * record the lane with the most space in their range.  The lane with the
+ * most space, or the first lane with room for a vehicle, can then be
+ * found, and the space on a lane updated, in O(log n) time for n lanes.
+ * Ties are broken in favour of the lane with the lowest ID.
+ */
+public class ParkingLaneSpaceIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /////////////////////////////////
+    // PRIVATE FIELDS
+    /////////////////////////////////
+
+    /** The parking lanes, ordered by ID. */
+    private ParkingLane[] lanes;
+    /** A mapping from parking lanes to their position in lanes. */
+    private Map<ParkingLane, Integer> laneToIndex;
+    /** The space left on each parking lane. */
+    private double[] space;
+    /** The number of leaves in the segment tree. */
+    private int leaves;
+    /**
+     * The segment tree. Node i has children 2i and 2i+1, and holds the
+     * index of the lane with the most space below it, or -1 if there are
+     * no lanes below it.
+     */
+    private int[] tree;
+    /** The total parking length of all the lanes. */
+    private double totalCapacity;
+    /** The total space left on all the lanes. */
+    private double totalSpace;
+
+    /////////////////////////////////
+    // CONSTRUCTORS
+    /////////////////////////////////
+
+    /**
+     * Create an index of the given parking lanes, all of which
+     * start with their total parking length free.
+     *
+     * @param parkingLanes the parking lanes to index.
+     */
+    public ParkingLaneSpaceIndex(Collection<ParkingLane> parkingLanes) {
+        lanes = parkingLanes.toArray(new ParkingLane[parkingLanes.size()]);
+        Arrays.sort(lanes, new Comparator<ParkingLane>() {
+            @Override
+            public int compare(ParkingLane lane1, ParkingLane lane2) {
+                return Integer.compare(lane1.getId(), lane2.getId());
+            }
+        });
+        laneToIndex = new HashMap<ParkingLane, Integer>();
+        space = new double[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            laneToIndex.put(lanes[i], i);
+            space[i] = lanes[i].getTotalParkingLength();
+            totalCapacity += space[i];
+        }
+        totalSpace = totalCapacity;
+
+        leaves = 1;
+        while (leaves < lanes.length) {
+            leaves *= 2;
+        }
+        tree = new int[2 * leaves];
+        for (int i = 0; i < leaves; i++) {
+            tree[leaves + i] = i < lanes.length ? i : -1;
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /////////////////////////////////
+    // PUBLIC METHODS
+    /////////////////////////////////
+
+    /**
+     * Get the space left on a parking lane.
+     *
+     * @param parkingLane the parking lane.
+     * @return the space left on the parking lane.
+     */
+    public double getSpace(ParkingLane parkingLane) {
+        return space[indexOf(parkingLane)];
+    }
+
+    /**
+     * Change the space left on a parking lane.
+     *
+     * @param parkingLane the parking lane.
+     * @param delta the amount to add to the space left, negative
+     *              when a vehicle is taking up space on the lane.
+     */
+    public void addSpace(ParkingLane parkingLane, double delta) {
+        int i = indexOf(parkingLane);
+        space[i] += delta;
+        totalSpace += delta;
+        for (int node = (leaves + i) / 2; node >= 1; node /= 2) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Get the parking lane with the most space left.
+     *
+     * @return the parking lane with the most space left, or null
+     *         if there are no parking lanes.
+     */
+    public ParkingLane getLaneWithMostSpace() {
+        return lanes.length == 0 ? null : lanes[tree[1]];
+    }
+
+    /**
+     * Get the parking lane with the lowest ID which has more than the
+     * given amount of space left.
+     *
+     * @param spaceNeeded the space needed on the lane.
+     * @return the first parking lane with room, or null if no
+     *         parking lane has room.
+     */
+    public ParkingLane getFirstLaneWithSpace(double spaceNeeded) {
+        if (lanes.length == 0 || !(space[tree[1]] > spaceNeeded)) {
+            return null;
+        }
+        int node = 1;
+        while (node < leaves) {
+            int left = tree[2 * node];
+            node = (left >= 0 && space[left] > spaceNeeded) ? 2 * node
+                                                            : 2 * node + 1;
+        }
+        return lanes[tree[node]];
+    }
+
+    /**
+     * Get the total parking length of all the parking lanes.
+     *
+     * @return the total parking length.
+     */
+    public double getTotalCapacity() { return totalCapacity; }
+
+    /**
+     * Get the total space left on all the parking lanes.
+     *
+     * @return the total space left.
+     */
+    public double getTotalSpace() { return totalSpace; }
+
+    /**
+     * Get the number of parking lanes in the index.
+     *
+     * @return the number of parking lanes.
+     */
+    public int getNumberOfLanes() { return lanes.length; }
+
+    /////////////////////////////////
+    // PRIVATE METHODS
+    /////////////////////////////////
+
+    private int indexOf(ParkingLane parkingLane) {
+        Integer i = laneToIndex.get(parkingLane);
+        if (i == null) {
+            throw new RuntimeException("Parking lane could not be found.");
+        }
+        return i;
+    }
+
+    /**
+     * Choose the lane with more space, or the lane with the lower
+     * ID if they have the same space.
+     */
+    private int better(int i, int j) {
+        if (i < 0) {
+            return j;
+        }
+        if (j < 0) {
+            return i;
+        }
+        // i always comes before j, so it wins ties
+        return space[j] > space[i] ? j : i;
+    }
+}
@@ -1,10 +1,13 @@
 package aim4.map.cpm.parking;
 
+import aim4.util.EventLog;
+import aim4.util.GeomMath;
 import aim4.vehicle.VehicleSimModel;
 
 import java.awt.*;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -16,7 +19,9 @@ import java.util.Map;
  * to update it's records of the car park, and whether any
  * messages need to be sent to CPMBasicCoordinator.
  */
-public class SensoredLine {
+public class SensoredLine implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public enum SensoredLineType {
         /** Is crossed on entry to the car park. */
@@ -44,6 +49,8 @@ public class SensoredLine {
     private int id;
     /** The line to represent this sensored line */
     private Line2D line;
+    /** The bounding box of the line */
+    private double minX, minY, maxX, maxY;
     /** The type of this sensored line */
     SensoredLineType type;
     /** The record of the times of the vehicle passing through the line */
@@ -58,6 +65,10 @@ public class SensoredLine {
         this.name = name;
         this.id = id;
         this.line = new Line2D.Double(p1,p2);
+        this.minX = Math.min(p1.getX(), p2.getX());
+        this.minY = Math.min(p1.getY(), p2.getY());
+        this.maxX = Math.max(p1.getX(), p2.getX());
+        this.maxY = Math.max(p1.getY(), p2.getY());
         this.type = type;
         this.vinToTime = new HashMap<Integer,List<Double>>();
     }
@@ -77,6 +88,11 @@ public class SensoredLine {
      */
     public boolean intersect(VehicleSimModel vehicle, double time,
                              Point2D p1, Point2D p2) {
+        // Most vehicles are nowhere near the line, so reject them on the
+        // bounding boxes before the record lookup and the exact test.
+        if (!GeomMath.isInBoundingBox(p1, p2, minX, minY, maxX, maxY)) {
+            return false;
+        }
         int vin = vehicle.getVIN();
         if (!vinToTime.containsKey(vin)
                 || vinToTime.get(vin).get(vinToTime.get(vin).size()-1)
@@ -89,7 +105,9 @@ public class SensoredLine {
                 } else {
                     vinToTime.get(vin).add(time);
                 }
-                System.out.println("INTERSECT WITH " + type + " SENSORED LINE: " + time);
+                if (EventLog.IS_ENABLED) {
+                    EventLog.log(EventLog.Event.SENSORED_LINE_CROSSED, time, vin, id);
+                }
                 return true;
             } else {
                 return false;
@@ -4,6 +4,7 @@ import aim4.driver.cpm.CPMV2VDriver;
 import aim4.sim.simulator.cpm.CPMAutoDriverSimulator;
 import aim4.vehicle.cpm.CPMBasicAutoVehicle;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -11,13 +12,32 @@ import java.util.*;
  * including the space left in each parking lane and the
  * remaining capacity of the car park.
  */
-public class StatusMonitor {
+public class StatusMonitor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A listener which is told the occupancy of the car park
+     * at the end of every simulation step.
+     */
+    public interface OccupancyListener {
+        /**
+         * Record the occupancy of the car park.
+         *
+         * @param time             the current time
+         * @param numberOfVehicles the number of vehicles in the car park
+         * @param spaceRemaining   the parking length left on all lanes
+         * @param capacity         the total parking length of all lanes
+         */
+        void occupancyObserved(double time, int numberOfVehicles,
+                               double spaceRemaining, double capacity);
+    }
 
     /** The parking area that we are recording the status of. */
     private ParkingArea parkingArea;
-    /** A mapping from parking lanes to the amount of
-     * space left for parking on that lane. */
-    private Map<ParkingLane, Double> parkingLanesSpace = new HashMap<ParkingLane, Double>();
+    /** An index of the amount of space left for
+     * parking on each parking lane. */
+    private ParkingLaneSpaceIndex parkingLanesSpace;
     /** A list of vehicles which are currently in the car park,
      * and the lane they are parked in. */
     private Map<CPMBasicAutoVehicle, ParkingLane> vehicles = new HashMap<CPMBasicAutoVehicle, ParkingLane>();
@@ -27,6 +47,9 @@ public class StatusMonitor {
     private int numberOfAllowedEntries;
     /** The most number of vehicles that have been in the car park at any one time during simulation.*/
     private int mostNumberOfVehicles;
+    /** The listener told the occupancy every step, if any.  It is not
+     * saved with a snapshot, so it must be set again after loading one. */
+    private transient OccupancyListener occupancyListener;
 
     /**
      * Create a StatusMonitor to record the status of the car park.
@@ -41,15 +64,13 @@ public class StatusMonitor {
     }
 
     /**
-     * Create a mapping from each parking lane to the length of
+     * Create an index from each parking lane to the length of
      * the parking space available in that lane.
      * @param parkingArea The parking area to extract the parking
      *                    lanes from.
      */
     private void initialiseParkingLanesSpace(ParkingArea parkingArea){
-        for (ParkingLane lane : parkingArea.getParkingLanes()) {
-            parkingLanesSpace.put(lane, lane.getTotalParkingLength());
-        }
+        parkingLanesSpace = new ParkingLaneSpaceIndex(parkingArea.getParkingLanes());
     }
 
     /**
@@ -59,14 +80,13 @@ public class StatusMonitor {
      */
     public boolean roomForVehicle(double vehicleLength) {
         // Find the lane with the most room available
-        Map.Entry<ParkingLane, Double>  parkingLaneEntry = findLeastFullParkingLane();
-
+        ParkingLane parkingLane = findLeastFullParkingLane();
 
         // Check there is room for this vehicle
-        double distanceBetweenVehicles = CPMAutoDriverSimulator.MIN_DISTANCE_BETWEEN_PARKED_VEHICLES;;
+        double distanceBetweenVehicles = CPMAutoDriverSimulator.MIN_DISTANCE_BETWEEN_PARKED_VEHICLES;
         double spaceNeeded = vehicleLength + distanceBetweenVehicles;
 
-        if (willVehicleFit(parkingLaneEntry, spaceNeeded)) {
+        if (parkingLane != null && willVehicleFit(parkingLane, spaceNeeded)) {
             numberOfAllowedEntries++;
             return true;
         }
@@ -89,18 +109,17 @@ public class StatusMonitor {
         }
 
         // Find the lane with the most room available
-        Map.Entry<ParkingLane, Double>  parkingLaneEntry = findLeastFullParkingLane();
+        ParkingLane parkingLane = findLeastFullParkingLane();
 
         // Update the space available on that lane
-        decreaseCapacity(vehicle, parkingLaneEntry);
+        decreaseCapacity(vehicle, parkingLane);
 
         // Allocate this parking lane to the vehicle by sending message
-        System.out.println("Status monitor sending parking lane to vehicle.");
-        sendParkingLaneMessage(vehicle, parkingLaneEntry.getKey());
+        sendParkingLaneMessage(vehicle, parkingLane);
 
         // Register the vehicle with the StatusMonitor, along with the
         // parking lane it has been allocated
-        vehicles.put(vehicle, parkingLaneEntry.getKey());
+        vehicles.put(vehicle, parkingLane);
     }
 
     /**
@@ -113,19 +132,18 @@ public class StatusMonitor {
         increaseCapacity(vehicle);
 
         // Find the lane with the most room available
-        Map.Entry<ParkingLane, Double>  parkingLaneEntry = findLeastFullParkingLane();
+        ParkingLane parkingLane = findLeastFullParkingLane();
 
         // Update the space available on that lane
-        decreaseCapacity(vehicle, parkingLaneEntry);
+        decreaseCapacity(vehicle, parkingLane);
 
         // Allocate this parking lane to the vehicle by sending message
-        System.out.println("Status monitor sending parking lane to vehicle.");
-        sendParkingLaneMessage(vehicle, parkingLaneEntry.getKey());
+        sendParkingLaneMessage(vehicle, parkingLane);
 
         // Update the vehicles parking lane in StatusMonitor records, along with the
         // parking lane it has been allocated
         // TODO CPM rename vehicles to vehiclesToLane
-        vehicles.put(vehicle, parkingLaneEntry.getKey());
+        vehicles.put(vehicle, parkingLane);
     }
 
     /**
@@ -147,9 +165,8 @@ public class StatusMonitor {
      */
     private void increaseCapacity(CPMBasicAutoVehicle vehicle){
         ParkingLane laneToUpdate = vehicles.get(vehicle);
-        Map.Entry<ParkingLane, Double>  entryToUpdate = findParkingLaneSpace(laneToUpdate);
         double spaceFreed = calculateTotalVehicleSpace(vehicle);
-        parkingLanesSpace.put(entryToUpdate.getKey(), entryToUpdate.getValue() + spaceFreed);
+        parkingLanesSpace.addSpace(laneToUpdate, spaceFreed);
     }
 
     /**
@@ -157,15 +174,15 @@ public class StatusMonitor {
      * This is on ENTRERING and RELOCATING
      * @param vehicle The vehicle entering the parking area.
      */
-    private void decreaseCapacity(CPMBasicAutoVehicle vehicle, Map.Entry<ParkingLane, Double>  parkingLaneEntry){
+    private void decreaseCapacity(CPMBasicAutoVehicle vehicle, ParkingLane parkingLane){
         double spaceTaken = calculateTotalVehicleSpace(vehicle);
-        if (!willVehicleFit(parkingLaneEntry, spaceTaken)){
+        if (parkingLane == null || !willVehicleFit(parkingLane, spaceTaken)){
             assert vehicle.getDriver() instanceof CPMV2VDriver;
             throw new RuntimeException("There's not enough room in the car " +
                     "park for this vehicle to park! Vehicle is " +
                     ((CPMV2VDriver)vehicle.getDriver()).getParkingStatus());
         }
-        parkingLanesSpace.put(parkingLaneEntry.getKey(), parkingLaneEntry.getValue() - spaceTaken);
+        parkingLanesSpace.addSpace(parkingLane, -spaceTaken);
     }
 
     private double calculateTotalVehicleSpace(CPMBasicAutoVehicle vehicle) {
@@ -174,44 +191,12 @@ public class StatusMonitor {
         return vehicleLength + distanceBetweenVehicles;
     }
 
-    private Map.Entry<ParkingLane, Double> findParkingLaneSpace(ParkingLane parkingLane) {
-        for (Map.Entry<ParkingLane, Double> entry : parkingLanesSpace.entrySet())
-        {
-            if (entry.getKey() == parkingLane) {
-                return entry;
-            }
-        }
-        throw new RuntimeException("Parking lane could not be found.");
-    }
-
-    private Map.Entry<ParkingLane, Double> findLeastFullParkingLane() {
-        Map.Entry<ParkingLane, Double> maxEntry = null;
-        String name = null;
-
-        for (Map.Entry<ParkingLane, Double> entry : parkingLanesSpace.entrySet())
-        {
-            boolean hasLowerId = false;
-            if (maxEntry != null && entry.getKey().getId() < maxEntry.getKey().getId()){ hasLowerId = true; }
-            if (maxEntry == null ||
-                    entry.getValue().compareTo(maxEntry.getValue()) > 0 ||
-                    (entry.getValue().equals(maxEntry.getValue()) && hasLowerId))
-            {
-                maxEntry = entry;
-                name = entry.getKey().getRoadName();
-            }
-        }
-        System.out.println("Lane with most room is " + name);
-        return maxEntry;
+    private ParkingLane findLeastFullParkingLane() {
+        return parkingLanesSpace.getLaneWithMostSpace();
     }
 
-    private boolean willVehicleFit(Map.Entry<ParkingLane, Double> parkingLaneEntry,
-                                   Double spaceNeeded) {
-
-        double spaceOnParkingLane = parkingLaneEntry.getValue();
-        if (spaceOnParkingLane > (spaceNeeded)) {
-            return true;
-        }
-        return false;
+    private boolean willVehicleFit(ParkingLane parkingLane, double spaceNeeded) {
+        return parkingLanesSpace.getSpace(parkingLane) > spaceNeeded;
     }
 
     private void sendParkingLaneMessage(CPMBasicAutoVehicle vehicle, ParkingLane parkingLane) {
@@ -225,6 +210,58 @@ public class StatusMonitor {
         }
     }
 
+    /**
+     * Record the occupancy of the car park at the end of a simulation
+     * step, and pass it on to the occupancy listener if there is one.
+     * @param time The current time.
+     */
+    public void observeOccupancy(double time) {
+        updateMostNumberOfVehicles();
+        if (occupancyListener != null) {
+            occupancyListener.occupancyObserved(time, vehicles.size(),
+                    parkingLanesSpace.getTotalSpace(),
+                    parkingLanesSpace.getTotalCapacity());
+        }
+    }
+
+    /**
+     * Set the listener which is told the occupancy of the car park
+     * every step.
+     * @param occupancyListener The listener, or null for none.
+     */
+    public void setOccupancyListener(OccupancyListener occupancyListener) {
+        this.occupancyListener = occupancyListener;
+    }
+
+    /**
+     * Get the space left on a parking lane.
+     * @param parkingLane The parking lane.
+     * @return the space left for parking on the lane.
+     */
+    public double getSpaceLeft(ParkingLane parkingLane) {
+        return parkingLanesSpace.getSpace(parkingLane);
+    }
+
+    /**
+     * Get the parking lane with the lowest ID that has room for a vehicle.
+     * @param vehicleLength The length of the vehicle.
+     * @return the first parking lane with room for the vehicle, or null
+     *         if there is none.
+     */
+    public ParkingLane findFirstLaneWithRoomFor(double vehicleLength) {
+        double distanceBetweenVehicles = CPMAutoDriverSimulator.MIN_DISTANCE_BETWEEN_PARKED_VEHICLES;
+        return parkingLanesSpace.getFirstLaneWithSpace(vehicleLength + distanceBetweenVehicles);
+    }
+
+    /**
+     * Get the fraction of the total parking length which is occupied.
+     * @return the occupancy of the car park, between 0 and 1.
+     */
+    public double getOccupancy() {
+        double capacity = parkingLanesSpace.getTotalCapacity();
+        return capacity == 0 ? 0 : 1 - parkingLanesSpace.getTotalSpace() / capacity;
+    }
+
     public Map<CPMBasicAutoVehicle, ParkingLane> getVehicles() {
         return vehicles;
     }
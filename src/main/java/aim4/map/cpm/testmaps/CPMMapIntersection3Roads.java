@@ -21,6 +21,8 @@ import java.util.List;
  */
 public class CPMMapIntersection3Roads extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Create a map with an intersection made up of 3 roads.
      */
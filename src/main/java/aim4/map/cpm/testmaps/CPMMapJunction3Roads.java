@@ -18,6 +18,8 @@ import java.util.List;
  */
 public class CPMMapJunction3Roads extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Create a map with a T-Junction with 3 roads.
      */
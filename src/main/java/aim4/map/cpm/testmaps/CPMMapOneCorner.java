@@ -16,6 +16,8 @@ import java.util.Collections;
  */
 public class CPMMapOneCorner extends CPMBasicMap{
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Create a map with one corner.
      */
@@ -18,6 +18,8 @@ import java.util.List;
  */
 public class CPMMapParkingLane extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
     ParkingLane onlyParkingLane;
 
     public CPMMapParkingLane(double laneWidth, double speedLimit, double initTime,
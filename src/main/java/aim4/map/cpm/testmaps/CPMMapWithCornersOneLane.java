@@ -16,6 +16,8 @@ import java.util.*;
  */
 public class CPMMapWithCornersOneLane extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Create a very simple map.
      * For now, have 3 roads in backwards C shape.
@@ -17,6 +17,8 @@ import java.util.List;
  */
 public class CPMMapWithParkingArea extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
     private int numberOfParkingLanes;
     private double parkingLength;
     private double accessLength;
@@ -17,6 +17,8 @@ import java.util.*;
  */
 public class CPMMapWithSimpleIntersection extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
 
     /**
      * Create a map with an intersection where only 2 roads cross over
@@ -15,6 +15,8 @@ import java.util.*;
  */
 public class CPMMapWithTJunction extends CPMBasicMap {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Create a map with a T-Junction with 2 roads.
      */
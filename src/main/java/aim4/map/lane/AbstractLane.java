@@ -37,6 +37,7 @@ import aim4.map.rim.LaneRIM;
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 
 
 /**
@@ -45,7 +46,9 @@ import java.awt.geom.Point2D;
  * generation methods, and other things that are the same no matter
  * the implementation of the Lane.
  */
-public abstract class AbstractLane implements Lane {
+public abstract class AbstractLane implements Lane, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // PRIVATE FIELDS
@@ -1,5 +1,6 @@
 package aim4.map.lane;
 
+import aim4.config.Constants;
 import aim4.util.GeomMath;
 
 import java.awt.*;
@@ -13,6 +14,8 @@ import java.util.ArrayList;
  * A lane class that can be represented by a directed arc segment.
  */
 public class ArcSegmentLane extends AbstractLane {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -74,6 +77,36 @@ public class ArcSegmentLane extends AbstractLane {
      */
     private int splitFactor;
 
+    /**
+     * Whether the Arc Lane is also represented by a list of Line Lanes.
+     */
+    private boolean isDecomposed;
+
+    /**
+     * The x-coordinate of the center of the arc.
+     */
+    private double centerX;
+
+    /**
+     * The y-coordinate of the center of the arc.
+     */
+    private double centerY;
+
+    /**
+     * The radius of the arc, in meters.
+     */
+    private double radius;
+
+    /**
+     * The start angle of the arc, in radians.
+     */
+    private double startAngle;
+
+    /**
+     * 1 if the angle grows along the arc, -1 if it shrinks.
+     */
+    private int direction;
+
     /////////////////////////////////
     // CONSTRUCTORS
     /////////////////////////////////
@@ -87,19 +120,48 @@ public class ArcSegmentLane extends AbstractLane {
      * @param splitFactor the number by which the extent angle of the arc Lane is divided.
      */
     public ArcSegmentLane(Arc2D arc, double width, double speedLimit, int splitFactor) {
+        this(arc, width, speedLimit, splitFactor, true);
+    }
+
+    /**
+     * Constructs an arc-segment lane using an Arc, without decomposing it in
+     * Line Lanes. All the geometry of the Lane is computed on the arc itself.
+     *
+     * @param arc        the arc segment representing the center of the Lane
+     * @param width      the width of the Lane, in meters
+     * @param speedLimit the speed limit of the Lane, in meters per second
+     */
+    public ArcSegmentLane(Arc2D arc, double width, double speedLimit) {
+        this(arc, width, speedLimit, 0, false);
+    }
+
+    private ArcSegmentLane(Arc2D arc, double width, double speedLimit, int splitFactor,
+                           boolean isDecomposed) {
         super(speedLimit);
 
         this.arc = arc;
         this.width = width;
         this.halfWidth = width / 2;
         this.splitFactor = splitFactor;
+        this.isDecomposed = isDecomposed;
+        centerX = arc.getCenterX();
+        centerY = arc.getCenterY();
+        radius = arc.getWidth() / 2;
+        startAngle = Math.toRadians(arc.getAngleStart());
+        direction = arc.getAngleExtent() < 0 ? -1 : 1;
         length = GeomMath.calculateArcLaneLength(arc);
         calculateLaneBorders(arc);
-        arcLaneDecomposition = calculateArcLaneDecomposition(arc, splitFactor);
-        lengthArcLaneDecomposition = calculateLengthArcLaneDecomposition(arcLaneDecomposition);
         laneShape = calculateLaneShape(leftBorder, rightBorder);
-        setContinuousLanes();
-        laneDecompositionShape = calculateLaneDecompositionShape(arcLaneDecomposition);
+        if (isDecomposed) {
+            arcLaneDecomposition = calculateArcLaneDecomposition(arc, splitFactor);
+            lengthArcLaneDecomposition = calculateLengthArcLaneDecomposition(arcLaneDecomposition);
+            setContinuousLanes();
+            laneDecompositionShape = calculateLaneDecompositionShape(arcLaneDecomposition);
+        } else {
+            arcLaneDecomposition = new ArrayList<>();
+            lengthArcLaneDecomposition = length;
+            laneDecompositionShape = laneShape;
+        }
     }
 
     /////////////////////////////////
@@ -141,26 +203,45 @@ public class ArcSegmentLane extends AbstractLane {
     public Point2D getEndPoint() { return arc.getEndPoint(); }
 
     /**
-     * Get the list of lanes that represent the arc.
+     * Get the list of lanes that represent the arc. Empty if the Lane is not
+     * decomposed.
      */
     public ArrayList<LineSegmentLane> getArcLaneDecomposition() { return arcLaneDecomposition; }
 
     /**
-     * Given a normalized distance, get the coordinates of a point on the arc
-     * by moving along the arc.
+     * Whether this Lane is also represented by a list of Line Lanes.
+     */
+    public boolean isDecomposed() { return isDecomposed; }
+
+    /**
+     * Get the heading at which a vehicle following this Lane enters it: that
+     * of the first Line Lane if the Lane is decomposed, or of the arc itself
+     * otherwise.
+     */
+    public double getFollowedInitialHeading() {
+        return isDecomposed ? arcLaneDecomposition.get(0).getInitialHeading() : getInitialHeading();
+    }
+
+    /**
+     * Get the heading at which a vehicle following this Lane leaves it: that
+     * of the last Line Lane if the Lane is decomposed, or of the arc itself
+     * otherwise.
+     */
+    public double getFollowedTerminalHeading() {
+        return isDecomposed
+                ? arcLaneDecomposition.get(arcLaneDecomposition.size() - 1).getInitialHeading()
+                : getTerminalHeading();
+    }
+
+    /**
+     * Given a distance along the arc, in meters, get the coordinates of the
+     * point on the arc at that distance from its start.
      */
     @Override
     public Point2D getPointAtNormalizedDistance(double normalizedDistance) {
-        double radius = arc.getWidth() / 2.0;
-        double originX = arc.getX() + radius;
-        double originY = arc.getY() + radius;
-        double startAngle = arc.getAngleStart();
-        //Angle between x axes and point according to distance
-        double theta = startAngle - (normalizedDistance * Math.toDegrees(GeomMath.PI)) / (GeomMath.PI * radius);
-
-        double xCoordinate = originX + radius * Math.cos(Math.toRadians(theta));
-        double yCoordinate = originY - radius * Math.sin(Math.toRadians(theta));
-        return new Point2D.Double(xCoordinate, yCoordinate);
+        double angle = angleAt(normalizedDistance);
+        return new Point2D.Double(centerX + radius * Math.cos(angle),
+                                  centerY - radius * Math.sin(angle));
     }
 
     /**
@@ -168,8 +249,14 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public Point2D nearestPoint(Point2D p) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return null;
+        double distance = distanceAlongLane(p);
+        if (distance <= 0) {
+            return getStartPoint();
+        } else if (distance >= length) {
+            return getEndPoint();
+        } else {
+            return getPointAtNormalizedDistance(distance);
+        }
     }
 
     /**
@@ -177,8 +264,7 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public double nearestDistance(Point2D pos) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0;
+        return pos.distance(nearestPoint(pos));
     }
 
     /**
@@ -186,18 +272,24 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public Point2D getLeadPoint(Point2D pos, double leadDist) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return null;
+        return getPointAtNormalizedDistance(distanceAlongLane(pos) + leadDist);
     }
 
     // distance along lane
     /**
-     * {@inheritDoc}
+     * Get the distance along the arc from its start to the projection of a
+     * point onto the circle of the arc.  Points behind the start of the arc
+     * have negative distances.
      */
     @Override
     public double distanceAlongLane(Point2D pos) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0;
+        double angle = Math.atan2(centerY - pos.getY(), pos.getX() - centerX);
+        double halfExtent = length / radius / 2;
+        // the angle swept from the start, within half a turn of the middle of
+        // the arc
+        double swept = direction * (angle - startAngle) - halfExtent;
+        swept -= Math.floor((swept + GeomMath.PI) / GeomMath.TWO_PI) * GeomMath.TWO_PI;
+        return (swept + halfExtent) * radius;
     }
 
     /**
@@ -205,21 +297,16 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public double remainingDistanceAlongLane(Point2D pos) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0;
+        return length - distanceAlongLane(pos);
     }
 
     /**
-     * {@inheritDoc}
+     * Get the distance along the arc, in meters, of a point.  Unlike Line
+     * Lanes, the normalized distances of an Arc Lane are measured in meters.
      */
     @Override
     public double normalizedDistanceAlongLane(Point2D pos) {
-        double radius = arc.getWidth() / 2.0;
-        double originX = arc.getX() + radius;
-        //Calculate angle between start point, origin and point on arc
-        double theta = Math.toDegrees(Math.acos((pos.getX() - originX) / radius));
-        double startAngle = arc.getAngleStart();
-        return ((startAngle - theta) * GeomMath.PI * radius) / Math.toDegrees(GeomMath.PI);
+        return distanceAlongLane(pos);
     }
 
     /**
@@ -227,8 +314,8 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public double normalizedDistance(double distance) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0;
+        // normalized distances are measured in meters on an Arc Lane
+        return distance;
     }
 
     // heading
@@ -238,8 +325,7 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public double getInitialHeading() {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0.0;
+        return getHeadingAtNormalizedDistance(0);
     }
 
     /**
@@ -247,17 +333,18 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public double getTerminalHeading() {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0.0;
+        return getHeadingAtNormalizedDistance(length);
     }
 
     /**
-     * {@inheritDoc}
+     * Get the heading of the Lane at a distance along the arc, in meters.
      */
     @Override
     public double getHeadingAtNormalizedDistance(double normalizedDistance) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return 0.0;
+        double angle = angleAt(normalizedDistance);
+        // the derivative of the point on the arc in the direction of travel
+        return GeomMath.canonicalAngle(Math.atan2(-direction * Math.cos(angle),
+                                                  -direction * Math.sin(angle)));
     }
 
     /**
@@ -265,8 +352,7 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public Point2D intersectionPoint(Line2D l) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return null;
+        return arcIntersectionPoint(radius, l);
     }
 
     /////////////////////////////////
@@ -283,10 +369,28 @@ public class ArcSegmentLane extends AbstractLane {
         return laneShape;
     }
 
+    /**
+     * Get the shape of a part of the Lane, between two distances along the
+     * arc in meters.
+     */
     @Override
     public Shape getShape(double startFraction, double endFraction) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return null;
+        if (startFraction < 0 || endFraction < 0 ||
+                startFraction > length || endFraction > length) {
+            throw new IllegalArgumentException("Distances must be between 0" +
+                    " and the length of the lane! Got: startFraction = " +
+                    startFraction + ", endFraction = " + endFraction + ".");
+        }
+        double start = Math.toDegrees(angleAt(startFraction));
+        double extent = Math.toDegrees(angleAt(endFraction)) - start;
+        Arc2D outer = new Arc2D.Double();
+        outer.setArcByCenter(centerX, centerY, radius + halfWidth, start, extent, Arc2D.OPEN);
+        Arc2D inner = new Arc2D.Double();
+        inner.setArcByCenter(centerX, centerY, radius - halfWidth, start + extent, -extent, Arc2D.OPEN);
+        GeneralPath result = new GeneralPath(outer);
+        result.append(inner, true);
+        result.closePath();
+        return result;
     }
 
     /**
@@ -310,8 +414,7 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public boolean contains(Point2D pos) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return false;
+        return nearestDistance(pos) < halfWidth;
     }
 
     /**
@@ -335,8 +438,7 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public Point2D leftIntersectionPoint(Line2D l) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return null;
+        return arcIntersectionPoint(leftBorder.getWidth() / 2, l);
     }
 
     /**
@@ -344,14 +446,73 @@ public class ArcSegmentLane extends AbstractLane {
      */
     @Override
     public Point2D rightIntersectionPoint(Line2D l) {
-        // not needed as Arc Lane is decomposed in Line Lanes
-        return null;
+        return arcIntersectionPoint(rightBorder.getWidth() / 2, l);
     }
 
     /////////////////////////////////
     // PRIVATE METHODS
     /////////////////////////////////
 
+    /**
+     * The angle, in radians, of the point at a distance along the arc.
+     */
+    private double angleAt(double distance) {
+        return startAngle + direction * distance / radius;
+    }
+
+    /**
+     * Find the intersection of a line segment with the part of a circle
+     * concentric with the arc that spans the extent of the arc.
+     *
+     * @param r the radius of the circle
+     * @param l the line segment
+     * @return the intersection closest to the start of the line segment, or
+     *         null if there is none
+     */
+    private Point2D arcIntersectionPoint(double r, Line2D l) {
+        double dx = l.getX2() - l.getX1();
+        double dy = l.getY2() - l.getY1();
+        double ox = l.getX1() - centerX;
+        double oy = l.getY1() - centerY;
+        double a = dx * dx + dy * dy;
+        double b = 2 * (dx * ox + dy * oy);
+        double c = ox * ox + oy * oy - r * r;
+        double discriminant = b * b - 4 * a * c;
+        if (a == 0 || discriminant < 0) {
+            return null;
+        }
+        double sqrt = Math.sqrt(discriminant);
+        for (double t : new double[] {(-b - sqrt) / (2 * a), (-b + sqrt) / (2 * a)}) {
+            if (t < 0 || t > 1) {
+                continue;
+            }
+            Point2D p = new Point2D.Double(l.getX1() + t * dx, l.getY1() + t * dy);
+            // Project on the center line to measure the distance along the arc
+            double distance = distanceAlongLane(p);
+            if (distance >= -Constants.DOUBLE_EQUAL_PRECISION
+                    && distance <= length + Constants.DOUBLE_EQUAL_PRECISION) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The Lane the last Line Lane of the decomposition continues into.
+     */
+    private Lane firstLineLaneOfNextLane() {
+        Lane nextLane = this.getNextLane();
+        // If it's a decomposed arc, the first line lane of that lane
+        if (nextLane instanceof ArcSegmentLane) {
+            ArcSegmentLane nextArcLane = (ArcSegmentLane) nextLane;
+            return nextArcLane.isDecomposed() ? nextArcLane.getArcLaneDecomposition().get(0) : nextArcLane;
+        } // Or if it's a line lane, then just set it
+        else if (nextLane instanceof LineSegmentLane) {
+            return nextLane;
+        }
+        return null;
+    }
+
     /**
      * Calculate list of lines that make up the arc lane based on
      * a split factor.
@@ -538,17 +699,7 @@ public class ArcSegmentLane extends AbstractLane {
                     arcLaneDecomposition.get(index).setNextLane(arcLaneDecomposition.get(index + 1));
                     // Otherwise, the next lane will be the next lane of the arc lane
                 } else {
-                    // Possibly next lane to not exits
-                    Lane nextLane = null;
-                    // If it does and it's an arc
-                    if (this.getNextLane() instanceof ArcSegmentLane) {
-                        // Then the next lane will be the first line lane of that lane
-                        nextLane = ((ArcSegmentLane) this.getNextLane()).getArcLaneDecomposition().get(0);
-                    } // Or if it's a line lane, then just set it
-                    else if (this.getNextLane() instanceof LineSegmentLane){
-                        nextLane = this.getNextLane();
-                    }
-                    arcLaneDecomposition.get(index).setNextLane(nextLane);
+                    arcLaneDecomposition.get(index).setNextLane(firstLineLaneOfNextLane());
                 }
             // If not an edge line lane, then set previous lane and next lane according to the decomposition lanes
             } else if (index < arcLaneDecomposition.size() - 1) {
@@ -557,17 +708,7 @@ public class ArcSegmentLane extends AbstractLane {
             // Else reached the last line lane from decomposition. The next lane will be the next lane of the arc lane.
             } else {
                 arcLaneDecomposition.get(index).setPrevLane(arcLaneDecomposition.get(index - 1));
-                // Possibly next lane to not exits
-                Lane nextLane = null;
-                // If it does and it's an arc
-                if (this.getNextLane() instanceof ArcSegmentLane) {
-                    // Then the next lane will be the first line lane of that lane
-                    nextLane = ((ArcSegmentLane) this.getNextLane()).getArcLaneDecomposition().get(0);
-                } // Or if it's a line lane, then just set it
-                else if (this.getNextLane() instanceof LineSegmentLane){
-                    nextLane = this.getNextLane();
-                }
-                arcLaneDecomposition.get(index).setNextLane(nextLane);
+                arcLaneDecomposition.get(index).setNextLane(firstLineLaneOfNextLane());
             }
         }
     }
@@ -42,6 +42,8 @@ import java.awt.geom.Point2D;
  */
 public class LineSegmentLane extends AbstractLane {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
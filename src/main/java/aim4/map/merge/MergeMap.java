@@ -13,6 +13,7 @@ import aim4.vehicle.VinRegistry;
 import java.awt.geom.*;
 import java.io.FileNotFoundException;
 import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,7 +22,9 @@ import java.util.Map;
 /**
  * Created by Callum on 08/03/2017.
  */
-public class MergeMap implements BasicMap {
+public class MergeMap implements BasicMap, Serializable {
+    private static final long serialVersionUID = 1L;
+
     //BASIC MAP PROPERTIES//
     /** The dimensions of the map */
     private Rectangle2D dimensions;
@@ -111,16 +114,20 @@ public class MergeMap implements BasicMap {
         }
         // TODO: sort by time and LineId and VIN
         outfile.printf("VIN,Time,DCLname,vType,startLaneId,destRoad\n");
+        final PrintStream out = outfile;
         for (DataCollectionLine line : dataCollectionLines) {
-            for (int vin : line.getAllVIN()) {
-                for(double time : line.getTimes(vin)) {
-                    outfile.printf("%d,%.4f,%s,%s,%d,%s\n",
-                            vin, time, line.getName(),
+            line.printTruncationMarker(out);
+            final String lineName = line.getName();
+            line.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+                @Override
+                public void visit(int vin, double time) {
+                    out.printf("%d,%.4f,%s,%s,%d,%s\n",
+                            vin, time, lineName,
                             VinRegistry.getVehicleSpecFromVIN(vin).getName(),
                             VinRegistry.getSpawnPointFromVIN(vin).getLane().getId(),
                             VinRegistry.getDestRoadFromVIN(vin).getName());
                 }
-            }
+            });
         }
 
         outfile.close();
@@ -16,6 +16,7 @@ import aim4.map.merge.MergeSpawnPoint.MergeSpawnSpecGenerator;
 import aim4.sim.setup.merge.enums.ProtocolType;
 import aim4.sim.simulator.merge.helper.SensorInputHelper;
 import aim4.sim.simulator.merge.helper.SpawnHelper;
+import aim4.util.RandomStreams;
 import aim4.util.Util;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
@@ -29,6 +30,7 @@ import org.json.simple.parser.ParseException;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -138,7 +140,8 @@ public class MergeMapUtil {
     }
 
     // SPAWN SPEC GENERATORS //
-    public static class NoSpawnSpecGenerator implements MergeSpawnSpecGenerator {
+    public static class NoSpawnSpecGenerator implements MergeSpawnSpecGenerator, Serializable {
+        private static final long serialVersionUID = 1L;
 
         @Override
         public List<MergeSpawnSpec> act(MergeSpawnPoint spawnPoint, double timestep) {
@@ -146,7 +149,8 @@ public class MergeMapUtil {
         }
     }
 
-    public static class SingleSpawnSpecGenerator implements MergeSpawnSpecGenerator {
+    public static class SingleSpawnSpecGenerator implements MergeSpawnSpecGenerator, Serializable {
+        private static final long serialVersionUID = 1L;
         private List<Double> proportion;
         private VehicleSpec spec;
         private List<MergeSpawnPoint> spawnPointAlreadySpawned;
@@ -199,11 +203,16 @@ public class MergeMapUtil {
         }
     }
 
-    public static class UniformSpawnSpecGenerator implements MergeSpawnSpecGenerator {
+    public static class UniformSpawnSpecGenerator implements MergeSpawnSpecGenerator, Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The proportion of each spec */
         private List<Double> proportion;
         /** probability of generating a vehicle in each spawn time step */
         private double prob;
+        /** The spawn streams, by the ID of the lane of the spawn point */
+        private RandomStreams.Family spawnStreams =
+                new RandomStreams.Family("spawn");
 
         /**
          * Create an uniform spawn specification generator.
@@ -227,10 +236,11 @@ public class MergeMapUtil {
         public List<MergeSpawnSpec> act(MergeSpawnPoint spawnPoint, double timestep) {
             List<MergeSpawnSpec> result = new LinkedList<MergeSpawnSpec>();
 
+            Random random = spawnStreams.get(spawnPoint.getLane().getId());
             double initTime = spawnPoint.getCurrentTime();
             for(double time = initTime; time < initTime + timestep; time += SimConfig.SPAWN_TIME_STEP) {
-                if (Util.random.nextDouble() < prob) {
-                    int i = Util.randomIndex(proportion);
+                if (random.nextDouble() < prob) {
+                    int i = Util.randomIndex(proportion, random);
                     VehicleSpec vehicleSpec = VehicleSpecDatabase.getVehicleSpecById(i);
                     result.add(new MergeSpawnSpec(spawnPoint.getCurrentTime(),
                             vehicleSpec));
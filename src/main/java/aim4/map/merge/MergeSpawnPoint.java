@@ -12,6 +12,8 @@ import java.util.List;
  * Created by Callum on 13/03/2017.
  */
 public class MergeSpawnPoint extends SpawnPoint {
+    private static final long serialVersionUID = 1L;
+
     private MergeSpawnSpecGenerator vehicleSpecChooser;
 
     /**
@@ -15,6 +15,8 @@ import java.awt.geom.Rectangle2D;
  * Created by Callum on 17/03/2017.
  */
 public class SingleLaneOnlyMap extends MergeMap {
+    private static final long serialVersionUID = 1L;
+
     private static final double HEIGHT = 50.0;
     private static final double LANE_WIDTH = 4.0;
     private static final double LANE_Y_POS = 25.0;
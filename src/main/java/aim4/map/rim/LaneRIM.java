@@ -6,11 +6,14 @@ import aim4.map.lane.Lane;
 import aim4.map.lane.LineSegmentLane;
 
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
-public class LaneRIM {
+public class LaneRIM implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
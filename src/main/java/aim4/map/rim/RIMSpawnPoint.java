@@ -14,6 +14,8 @@ import java.util.List;
  */
 public class RIMSpawnPoint extends SpawnPoint{
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
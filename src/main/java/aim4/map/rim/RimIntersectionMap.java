@@ -18,6 +18,7 @@ import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.io.FileNotFoundException;
 import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -25,7 +26,9 @@ import java.util.*;
  * https://drive.google.com/file/d/1C5xu8IF-myXM257b444pTfig6p0pOyPS/view?usp=sharing
  * (open with GeoGebra Geometry tool)
  */
-public class RimIntersectionMap implements BasicRIMIntersectionMap {
+public class RimIntersectionMap implements BasicRIMIntersectionMap, Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
@@ -136,7 +139,10 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
      * @param rows                      the number of rows (number of horizontal sets of roads)
      * @param roundaboutDiameter        the diameter of the roundabout (should include width) D = 2 * Radius Central Island + laneWidth
      * @param entranceExitRadius        the radius of the entrance/exit circles
-     * @param splitFactor               the split factor to divide the arc by / gives granularity
+     * @param splitFactor               the split factor to divide the arc by / gives granularity; 0 builds
+     *                                  the arc lanes without decomposing them in line lanes, whose geometry is
+     *                                  computed on the arcs (the V2I drivers and the simulators still need the
+     *                                  decomposition)
      * @param laneWidth                 the lane width
      * @param laneSpeedLimit            the lane speed limit
      * @param roundaboutSpeedLimit      the speed limit inside the roundabout
@@ -227,7 +233,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth2ExtentAngle = theta;
         double arcNorth2StartAngle = Math.toDegrees(GeomMath.PI);
         arcNorth2.setArcByCenter(O1.getX(), O1.getY(), entranceExitRadius, arcNorth2StartAngle, -arcNorth2ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth2 = new ArcSegmentLane(arcNorth2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneNorth2 = createArcLane(arcNorth2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneNorth2.setId(laneRegistry.register(arcLaneNorth2));
         right.addTheUpMostLane(arcLaneNorth2);
         laneToRoad.put(arcLaneNorth2, right);
@@ -240,7 +246,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth3ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcNorth3StartAngle = Math.toDegrees(GeomMath.PI) - theta;
         arcNorth3.setArcByCenter(O1.getX(), O1.getY(), entranceExitRadius, arcNorth3StartAngle, -arcNorth3ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth3 = new ArcSegmentLane(arcNorth3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneNorth3 = createArcLane(arcNorth3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneNorth3.setId(laneRegistry.register(arcLaneNorth3));
         right.addTheUpMostLane(arcLaneNorth3);
         laneToRoad.put(arcLaneNorth3, right);
@@ -253,7 +259,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth4ExtentAngle = beta;
         double arcNorth4StartAngle = Math.toDegrees(GeomMath.TWO_PI) - alpha - beta;
         arcNorth4.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcNorth4StartAngle, arcNorth4ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth4 = new ArcSegmentLane(arcNorth4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneNorth4 = createArcLane(arcNorth4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneNorth4.setId(laneRegistry.register(arcLaneNorth4));
         right.addTheUpMostLane(arcLaneNorth4);
         laneToRoad.put(arcLaneNorth4, right);
@@ -266,7 +272,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth5ExtentAngle = 2 * alpha;
         double arcNorth5StartAngle = Math.toDegrees(GeomMath.TWO_PI) - alpha;
         arcNorth5.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcNorth5StartAngle, arcNorth5ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth5 = new ArcSegmentLane(arcNorth5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
+        ArcSegmentLane arcLaneNorth5 = createArcLane(arcNorth5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
         arcLaneNorth5.setId(laneRegistry.register(arcLaneNorth5));
         right.addTheUpMostLane(arcLaneNorth5);
         laneToRoad.put(arcLaneNorth5, right);
@@ -279,7 +285,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth6ExtentAngle = beta;
         double arcNorth6StartAngle = alpha;
         arcNorth6.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcNorth6StartAngle, arcNorth6ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth6 = new ArcSegmentLane(arcNorth6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneNorth6 = createArcLane(arcNorth6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneNorth6.setId(laneRegistry.register(arcLaneNorth6));
         right.addTheUpMostLane(arcLaneNorth6);
         laneToRoad.put(arcLaneNorth6, right);
@@ -292,7 +298,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth7ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcNorth7StartAngle = Math.toDegrees(GeomMath.PI) + Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha;
         arcNorth7.setArcByCenter(O4.getX(), O4.getY(), entranceExitRadius, arcNorth7StartAngle, - arcNorth7ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth7 = new ArcSegmentLane(arcNorth7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneNorth7 = createArcLane(arcNorth7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneNorth7.setId(laneRegistry.register(arcLaneNorth7));
         right.addTheUpMostLane(arcLaneNorth7);
         laneToRoad.put(arcLaneNorth7, right);
@@ -305,7 +311,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcNorth8ExtentAngle = theta;
         double arcNorth8StartAngle = Math.toDegrees(Math.PI) + arcNorth8ExtentAngle;
         arcNorth8.setArcByCenter(O4.getX(), O4.getY(), entranceExitRadius, arcNorth8StartAngle, - arcNorth8ExtentAngle, 0);
-        ArcSegmentLane arcLaneNorth8 = new ArcSegmentLane(arcNorth8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneNorth8 = createArcLane(arcNorth8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneNorth8.setId(laneRegistry.register(arcLaneNorth8));
         right.addTheUpMostLane(arcLaneNorth8);
         laneToRoad.put(arcLaneNorth8, right);
@@ -379,7 +385,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth2ExtentAngle = theta;
         double arcSouth2StartAngle = Math.toDegrees(GeomMath.TWO_PI);
         arcSouth2.setArcByCenter(O3.getX(), O3.getY(), entranceExitRadius, arcSouth2StartAngle, -arcSouth2ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth2 = new ArcSegmentLane(arcSouth2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneSouth2 = createArcLane(arcSouth2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneSouth2.setId(laneRegistry.register(arcLaneSouth2));
         left.addTheUpMostLane(arcLaneSouth2);
         laneToRoad.put(arcLaneSouth2, left);
@@ -392,7 +398,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth3ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcSouth3StartAngle = Math.toDegrees(GeomMath.TWO_PI) - theta;
         arcSouth3.setArcByCenter(O3.getX(), O3.getY(), entranceExitRadius, arcSouth3StartAngle, -arcSouth3ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth3 = new ArcSegmentLane(arcSouth3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneSouth3 = createArcLane(arcSouth3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneSouth3.setId(laneRegistry.register(arcLaneSouth3));
         left.addTheUpMostLane(arcLaneSouth3);
         laneToRoad.put(arcLaneSouth3, left);
@@ -405,7 +411,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth4ExtentAngle = beta;
         double arcSouth4StartAngle = Math.toDegrees(GeomMath.PI) - alpha - beta;
         arcSouth4.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcSouth4StartAngle, arcSouth4ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth4 = new ArcSegmentLane(arcSouth4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneSouth4 = createArcLane(arcSouth4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneSouth4.setId(laneRegistry.register(arcLaneSouth4));
         left.addTheUpMostLane(arcLaneSouth4);
         laneToRoad.put(arcLaneSouth4, left);
@@ -418,7 +424,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth5ExtentAngle = 2 * alpha;
         double arcSouth5StartAngle = Math.toDegrees(GeomMath.PI) - alpha;
         arcSouth5.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcSouth5StartAngle, arcSouth5ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth5 = new ArcSegmentLane(arcSouth5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
+        ArcSegmentLane arcLaneSouth5 = createArcLane(arcSouth5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
         arcLaneSouth5.setId(laneRegistry.register(arcLaneSouth5));
         left.addTheUpMostLane(arcLaneSouth5);
         laneToRoad.put(arcLaneSouth5, left);
@@ -431,7 +437,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth6ExtentAngle = beta;
         double arcSouth6StartAngle = Math.toDegrees(GeomMath.PI) + alpha;
         arcSouth6.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcSouth6StartAngle, arcSouth6ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth6 = new ArcSegmentLane(arcSouth6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneSouth6 = createArcLane(arcSouth6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneSouth6.setId(laneRegistry.register(arcLaneSouth6));
         left.addTheUpMostLane(arcLaneSouth6);
         laneToRoad.put(arcLaneSouth6, left);
@@ -444,7 +450,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth7ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcSouth7StartAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha;
         arcSouth7.setArcByCenter(O2.getX(), O2.getY(), entranceExitRadius, arcSouth7StartAngle, -arcSouth7ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth7 = new ArcSegmentLane(arcSouth7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneSouth7 = createArcLane(arcSouth7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneSouth7.setId(laneRegistry.register(arcLaneSouth7));
         left.addTheUpMostLane(arcLaneSouth7);
         laneToRoad.put(arcLaneSouth7, left);
@@ -457,7 +463,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcSouth8ExtentAngle = theta;
         double arcSouth8StartAngle = arcSouth8ExtentAngle;
         arcSouth8.setArcByCenter(O2.getX(), O2.getY(), entranceExitRadius, arcSouth8StartAngle, -arcSouth8ExtentAngle, 0);
-        ArcSegmentLane arcLaneSouth8 = new ArcSegmentLane(arcSouth8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneSouth8 = createArcLane(arcSouth8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneSouth8.setId(laneRegistry.register(arcLaneSouth8));
         left.addTheUpMostLane(arcLaneSouth8);
         laneToRoad.put(arcLaneSouth8, left);
@@ -535,7 +541,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast2ExtentAngle = theta;
         double arcEast2StartAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES);
         arcEast2.setArcByCenter(O7.getX(), O7.getY(), entranceExitRadius, arcEast2StartAngle, -arcEast2ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast2 = new ArcSegmentLane(arcEast2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneEast2 = createArcLane(arcEast2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneEast2.setId(laneRegistry.register(arcLaneEast2));
         lower.addTheUpMostLane(arcLaneEast2);
         laneToRoad.put(arcLaneEast2, lower);
@@ -548,7 +554,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast3ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcEast3StartAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - theta;
         arcEast3.setArcByCenter(O7.getX(), O7.getY(), entranceExitRadius, arcEast3StartAngle, -arcEast3ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast3 = new ArcSegmentLane(arcEast3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneEast3 = createArcLane(arcEast3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneEast3.setId(laneRegistry.register(arcLaneEast3));
         lower.addTheUpMostLane(arcLaneEast3);
         laneToRoad.put(arcLaneEast3, lower);
@@ -561,7 +567,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast4ExtentAngle = beta;
         double arcEast4StartAngle = Math.toDegrees(GeomMath.PI) + alpha;
         arcEast4.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcEast4StartAngle, arcEast4ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast4 = new ArcSegmentLane(arcEast4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneEast4 = createArcLane(arcEast4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneEast4.setId(laneRegistry.register(arcLaneEast4));
         lower.addTheUpMostLane(arcLaneEast4);
         laneToRoad.put(arcLaneEast4, lower);
@@ -574,7 +580,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast5ExtentAngle = 2 * alpha;
         double arcEast5StartAngle = Math.toDegrees(GeomMath.TWO_PI) - beta - 3 * alpha;
         arcEast5.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcEast5StartAngle, arcEast5ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast5 = new ArcSegmentLane(arcEast5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
+        ArcSegmentLane arcLaneEast5 = createArcLane(arcEast5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
         arcLaneEast5.setId(laneRegistry.register(arcLaneEast5));
         lower.addTheUpMostLane(arcLaneEast5);
         laneToRoad.put(arcLaneEast5, lower);
@@ -587,7 +593,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast6ExtentAngle = beta;
         double arcEast6StartAngle = Math.toDegrees(GeomMath.TWO_PI) - alpha - beta;
         arcEast6.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcEast6StartAngle, arcEast6ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast6 = new ArcSegmentLane(arcEast6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneEast6 = createArcLane(arcEast6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneEast6.setId(laneRegistry.register(arcLaneEast6));
         lower.addTheUpMostLane(arcLaneEast6);
         laneToRoad.put(arcLaneEast6, lower);
@@ -600,7 +606,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast7ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcEast7StartAngle = Math.toDegrees(GeomMath.PI) - alpha;
         arcEast7.setArcByCenter(O6.getX(), O6.getY(), entranceExitRadius, arcEast7StartAngle, -arcEast7ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast7 = new ArcSegmentLane(arcEast7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneEast7 = createArcLane(arcEast7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneEast7.setId(laneRegistry.register(arcLaneEast7));
         lower.addTheUpMostLane(arcLaneEast7);
         laneToRoad.put(arcLaneEast7, lower);
@@ -613,7 +619,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcEast8ExtentAngle = theta;
         double arcEast8StartAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) + theta;
         arcEast8.setArcByCenter(O6.getX(), O6.getY(), entranceExitRadius, arcEast8StartAngle, -arcEast8ExtentAngle, 0);
-        ArcSegmentLane arcLaneEast8 = new ArcSegmentLane(arcEast8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneEast8 = createArcLane(arcEast8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneEast8.setId(laneRegistry.register(arcLaneEast8));
         lower.addTheUpMostLane(arcLaneEast8);
         laneToRoad.put(arcLaneEast8, lower);
@@ -688,7 +694,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest2ExtentAngle = theta;
         double arcWest2StartAngle = 3 * Math.toDegrees(GeomMath.HALF_PI_90_DEGREES);
         arcWest2.setArcByCenter(O5.getX(), O5.getY(), entranceExitRadius, arcWest2StartAngle, -arcWest2ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest2 = new ArcSegmentLane(arcWest2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneWest2 = createArcLane(arcWest2, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneWest2.setId(laneRegistry.register(arcLaneWest2));
         upper.addTheUpMostLane(arcLaneWest2);
         laneToRoad.put(arcLaneWest2, upper);
@@ -701,7 +707,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest3ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcWest3StartAngle = 3 * Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - theta;
         arcWest3.setArcByCenter(O5.getX(), O5.getY(), entranceExitRadius, arcWest3StartAngle, -arcWest3ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest3 = new ArcSegmentLane(arcWest3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneWest3 = createArcLane(arcWest3, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneWest3.setId(laneRegistry.register(arcLaneWest3));
         upper.addTheUpMostLane(arcLaneWest3);
         laneToRoad.put(arcLaneWest3, upper);
@@ -714,7 +720,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest4ExtentAngle = beta;
         double arcWest4StartAngle = alpha;
         arcWest4.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcWest4StartAngle, arcWest4ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest4 = new ArcSegmentLane(arcWest4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneWest4 = createArcLane(arcWest4, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneWest4.setId(laneRegistry.register(arcLaneWest4));
         upper.addTheUpMostLane(arcLaneWest4);
         laneToRoad.put(arcLaneWest4, upper);
@@ -727,7 +733,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest5ExtentAngle = 2 * alpha;
         double arcWest5StartAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha;
         arcWest5.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcWest5StartAngle, arcWest5ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest5 = new ArcSegmentLane(arcWest5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
+        ArcSegmentLane arcLaneWest5 = createArcLane(arcWest5, roundaboutWidth, roundaboutSpeedLimit, splitFactor * 2);
         arcLaneWest5.setId(laneRegistry.register(arcLaneWest5));
         upper.addTheUpMostLane(arcLaneWest5);
         laneToRoad.put(arcLaneWest5, upper);
@@ -740,7 +746,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest6ExtentAngle = beta;
         double arcWest6StartAngle = Math.toDegrees(GeomMath.PI) - alpha - beta;
         arcWest6.setArcByCenter(O.getX(), O.getY(), roundaboutRadius, arcWest6StartAngle, arcWest6ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest6 = new ArcSegmentLane(arcWest6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneWest6 = createArcLane(arcWest6, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneWest6.setId(laneRegistry.register(arcLaneWest6));
         upper.addTheUpMostLane(arcLaneWest6);
         laneToRoad.put(arcLaneWest6, upper);
@@ -753,7 +759,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest7ExtentAngle = Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) - alpha - theta;
         double arcWest7StartAngle = 3 * Math.toDegrees(GeomMath.TWO_PI) - alpha;
         arcWest7.setArcByCenter(O8.getX(), O8.getY(), entranceExitRadius, arcWest7StartAngle, -arcWest7ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest7 = new ArcSegmentLane(arcWest7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneWest7 = createArcLane(arcWest7, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneWest7.setId(laneRegistry.register(arcLaneWest7));
         upper.addTheUpMostLane(arcLaneWest7);
         laneToRoad.put(arcLaneWest7, upper);
@@ -766,7 +772,7 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         double arcWest8ExtentAngle = theta;
         double arcWest8StartAngle = 3 * Math.toDegrees(GeomMath.HALF_PI_90_DEGREES) + arcWest8ExtentAngle;
         arcWest8.setArcByCenter(O8.getX(), O8.getY(), entranceExitRadius, arcWest8StartAngle, -arcWest8ExtentAngle, 0);
-        ArcSegmentLane arcLaneWest8 = new ArcSegmentLane(arcWest8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
+        ArcSegmentLane arcLaneWest8 = createArcLane(arcWest8, roundaboutWidth, roundaboutSpeedLimit, splitFactor);
         arcLaneWest8.setId(laneRegistry.register(arcLaneWest8));
         upper.addTheUpMostLane(arcLaneWest8);
         laneToRoad.put(arcLaneWest8, upper);
@@ -841,6 +847,22 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
                 widthBetweenOppositeRoads, distanceBetween);
     }
 
+    /**
+     * Create an arc lane, decomposed in line lanes unless the split factor is 0.
+     *
+     * @param arc         the arc segment representing the center of the lane
+     * @param width       the width of the lane
+     * @param speedLimit  the speed limit of the lane
+     * @param splitFactor the split factor to divide the arc by, or 0 not to decompose the arc
+     * @return the arc lane
+     */
+    private static ArcSegmentLane createArcLane(Arc2D arc, double width, double speedLimit, int splitFactor) {
+        if (splitFactor == 0) {
+            return new ArcSegmentLane(arc, width, speedLimit);
+        }
+        return new ArcSegmentLane(arc, width, speedLimit, splitFactor);
+    }
+
     /**
      * Initialize spawn points.
      *
@@ -1178,16 +1200,20 @@ public class RimIntersectionMap implements BasicRIMIntersectionMap {
         }
         // TODO: sort by time and LineId and VIN
         outfile.printf("VIN,Time,DCLname,vType,startLaneId,destRoad\n");
+        final PrintStream out = outfile;
         for (DataCollectionLine line : dataCollectionLines) {
-            for (int vin : line.getAllVIN()) {
-                for (double time : line.getTimes(vin)) {
-                    outfile.printf("%d,%.4f,%s,%s,%d,%s\n",
-                            vin, time, line.getName(),
+            line.printTruncationMarker(out);
+            final String lineName = line.getName();
+            line.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+                @Override
+                public void visit(int vin, double time) {
+                    out.printf("%d,%.4f,%s,%s,%d,%s\n",
+                            vin, time, lineName,
                             VinRegistry.getVehicleSpecFromVIN(vin).getName(),
                             VinRegistry.getSpawnPointFromVIN(vin).getLane().getId(),
                             VinRegistry.getDestRoadFromVIN(vin).getName());
                 }
-            }
+            });
         }
 
         outfile.close();
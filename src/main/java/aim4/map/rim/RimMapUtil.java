@@ -14,6 +14,7 @@ import aim4.map.Road;
 import aim4.map.rim.destination.*;
 import aim4.sim.simulator.rim.helper.SensorInputHelper;
 import aim4.sim.simulator.rim.helper.SpawnHelper;
+import aim4.util.RandomStreams;
 import aim4.util.Util;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
@@ -26,6 +27,7 @@ import org.json.simple.parser.ParseException;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -115,13 +117,18 @@ public class RimMapUtil {
     /**
      * The uniform distributed spawn spec generator.
      */
-    public static class UniformSpawnSpecGenerator implements RIMSpawnPoint.RIMSpawnSpecGenerator {
+    public static class UniformSpawnSpecGenerator implements RIMSpawnPoint.RIMSpawnSpecGenerator, Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The proportion of each spec */
         private List<Double> proportion;
         /** The destination selector */
         private DestinationSelector destinationSelector;
         /** probability of generating a vehicle in each spawn time step */
         private double prob;
+        /** The spawn streams, by the ID of the lane of the spawn point */
+        private RandomStreams.Family spawnStreams =
+                new RandomStreams.Family("spawn");
 
         /**
          * Create an uniform spawn specification generator.
@@ -151,11 +158,12 @@ public class RimMapUtil {
         public List<RIMSpawnPoint.RIMSpawnSpec> act(RIMSpawnPoint spawnPoint, double timeStep) {
             List<RIMSpawnPoint.RIMSpawnSpec> result = new LinkedList<RIMSpawnPoint.RIMSpawnSpec>();
 
+            Random random = spawnStreams.get(spawnPoint.getLane().getId());
             double initTime = spawnPoint.getCurrentTime();
             for(double time = initTime; time < initTime + timeStep;
                 time += SimConfig.SPAWN_TIME_STEP) {
-                if (Util.random.nextDouble() < prob) {
-                    int i = Util.randomIndex(proportion);
+                if (random.nextDouble() < prob) {
+                    int i = Util.randomIndex(proportion, random);
                     VehicleSpec vehicleSpec = VehicleSpecDatabase.getVehicleSpecById(i);
                     Road destinationRoad = destinationSelector.selectDestination(spawnPoint.getLane());
 
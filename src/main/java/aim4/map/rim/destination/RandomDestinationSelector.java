@@ -4,16 +4,20 @@ import aim4.config.Debug;
 import aim4.map.BasicRIMIntersectionMap;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
-import aim4.util.Util;
+import aim4.util.RandomStreams;
 
+import java.io.Serializable;
 import java.util.List;
+import java.util.Random;
 
 /**
  * The RandomDestinationSelector selects Roads uniformly at random, but will
  * not select a Road that is the dual of the starting Road.  This is to
  * prevent Vehicles from simply going back from whence they came.
  */
-public class RandomDestinationSelector implements DestinationSelector {
+public class RandomDestinationSelector implements DestinationSelector, Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -22,6 +26,11 @@ public class RandomDestinationSelector implements DestinationSelector {
      * The Set of legal Roads that a vehicle can use as an ultimate destination.
      */
     private List<Road> destinationRoads;
+    /**
+     * The destination streams, by the ID of the lane of the spawn point.
+     */
+    private RandomStreams.Family destinationStreams =
+            new RandomStreams.Family("destination");
 
     /////////////////////////////////
     // CLASS CONSTRUCTORS
@@ -47,10 +56,11 @@ public class RandomDestinationSelector implements DestinationSelector {
     @Override
     public Road selectDestination(Lane currentLane) {
         Road currentRoad = Debug.currentRimMap.getRoad(currentLane);
+        Random random = destinationStreams.get(currentLane.getId());
         Road dest =
-                destinationRoads.get(Util.random.nextInt(destinationRoads.size()));
+                destinationRoads.get(random.nextInt(destinationRoads.size()));
         while(dest.getDual() == currentRoad) {
-            dest = destinationRoads.get(Util.random.nextInt(destinationRoads.size()));
+            dest = destinationRoads.get(random.nextInt(destinationRoads.size()));
         }
         return dest;
     }
@@ -5,7 +5,7 @@ import aim4.map.BasicRIMIntersectionMap;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.rim.RIMSpawnPoint;
-import aim4.util.Util;
+import aim4.util.RandomStreams;
 
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +35,11 @@ public class RatioDestinationSelector implements DestinationSelector{
      * The probability of making a right turn.
      */
     private Map<Integer,Double> rightTurnProb;
+    /**
+     * The destination streams, by the ID of the lane of the spawn point.
+     */
+    private RandomStreams.Family destinationStreams =
+            new RandomStreams.Family("destination");
 
 
     /////////////////////////////////
@@ -74,7 +79,7 @@ public class RatioDestinationSelector implements DestinationSelector{
     public Road selectDestination(Lane currentLane) {
         Road currentRoad = Debug.currentRimMap.getRoad(currentLane);
         int laneId = currentLane.getId();
-        double prob = Util.random.nextDouble();
+        double prob = destinationStreams.get(laneId).nextDouble();
         if (prob < leftTurnProb.get(laneId)) {
             return trafficVolume.getLeftTurnRoad(currentRoad);
         } else if (prob >= 1.0 - rightTurnProb.get(laneId)) {
@@ -0,0 +1,5 @@
+/**
+ * This package contains the binary wire format of the V2I and I2V messages
+ * in the AIM protocol.
+ */
+package aim4.msg.aim.codec;
@@ -40,6 +40,8 @@ import java.util.Queue;
  */
 public class Confirm extends I2VMessage {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
@@ -38,6 +38,8 @@ import aim4.config.Constants;
  */
 public class Away extends V2IMessage {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // PRIVATE FIELDS
   /////////////////////////////////
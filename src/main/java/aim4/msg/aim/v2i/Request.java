@@ -33,6 +33,7 @@ package aim4.msg.aim.v2i;
 import aim4.config.Constants;
 import aim4.vehicle.VehicleSpec;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,6 +44,8 @@ import java.util.List;
  */
 public class Request extends V2IMessage {
 
+  private static final long serialVersionUID = 1L;
+
   // ///////////////////////////////
   // NESTED CLASSES
   // ///////////////////////////////
@@ -50,7 +53,9 @@ public class Request extends V2IMessage {
   /**
    * A proposal
    */
-  public static class Proposal {
+  public static class Proposal implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // ///////////////////////////////
     // PRIVATE FIELDS
@@ -202,7 +207,9 @@ public class Request extends V2IMessage {
   /**
    * The specification of the vehicle.
    */
-  public static class VehicleSpecForRequestMsg {
+  public static class VehicleSpecForRequestMsg implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * The highest acceleration of which the vehicle is capable, in meters per
@@ -31,11 +31,17 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package aim4.msg.aim.v2i;
 
 import aim4.config.Constants;
+import aim4.config.SimConfig;
+import aim4.msg.aim.codec.MessageCodec;
+
+import java.io.Serializable;
 
 /**
  * A message sent from a Vehicle to an Intersection Manager.
  */
-public abstract class V2IMessage {
+public abstract class V2IMessage implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // NESTED CLASSES
@@ -99,6 +105,12 @@ public abstract class V2IMessage {
    */
   protected int size = Constants.ENUM_SIZE + 2 * Constants.INTEGER_SIZE;
 
+  /**
+   * The size, in bits, of the wire format encoding of this message, or -1 if
+   * the message has not been encoded yet.
+   */
+  private int encodedSize = -1;
+
   /////////////////////////////////
   // CLASS CONSTRUCTORS
   /////////////////////////////////
@@ -157,11 +169,18 @@ public abstract class V2IMessage {
   }
 
   /**
-   * Get the size of this message in bits.
+   * Get the size of this message in bits.  If the wire format is enabled, the
+   * size is the size of the encoding of this message.
    *
    * @return the size of this message in bits
    */
   public int getSize() {
+    if (SimConfig.IS_WIRE_FORMAT_ENABLED) {
+      if (encodedSize < 0) {
+        encodedSize = MessageCodec.getEncodedSize(this);
+      }
+      return encodedSize;
+    }
     return size;
   }
 }
@@ -1,9 +1,14 @@
 package aim4.msg.merge.i2v;
 
+import java.io.Serializable;
+
 /**
  * Created by Callum on 13/04/2017.
  */
-public class I2VMergeMessage {
+public class I2VMergeMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     // NESTED CLASSES //
     /**
      * The different types of Merge Manager to
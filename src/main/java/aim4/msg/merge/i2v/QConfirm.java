@@ -4,6 +4,9 @@ package aim4.msg.merge.i2v;
  * Created by Callum on 19/04/2017.
  */
 public class QConfirm extends I2VMergeMessage {
+
+    private static final long serialVersionUID = 1L;
+
     public QConfirm(int mmID, int vin) {
         super(mmID, vin);
     }
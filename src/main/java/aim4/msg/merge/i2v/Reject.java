@@ -4,6 +4,9 @@ package aim4.msg.merge.i2v;
  * Created by Callum on 13/04/2017.
  */
 public class Reject extends I2VMergeMessage {
+
+    private static final long serialVersionUID = 1L;
+
     // NESTED CLASSES //
     /**
      * Some of the possible reasons that a vehicle may have a reservation
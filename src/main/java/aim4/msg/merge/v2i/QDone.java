@@ -4,6 +4,9 @@ package aim4.msg.merge.v2i;
  * Created by Callum on 19/04/2017.
  */
 public class QDone extends V2IMergeMessage {
+
+    private static final long serialVersionUID = 1L;
+
     // CONSTRUCTOR //
     public QDone(int vin, int mmID) {
         super(vin, mmID);
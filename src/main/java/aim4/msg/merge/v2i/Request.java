@@ -2,6 +2,7 @@ package aim4.msg.merge.v2i;
 
 import aim4.vehicle.VehicleSpec;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -10,11 +11,16 @@ import java.util.List;
  * Created by Callum on 13/04/2017.
  */
 public class Request extends V2IMergeMessage {
+
+    private static final long serialVersionUID = 1L;
+
     // NESTED CLASSES //
     /**
      * A proposal
      */
-    public static class Proposal {
+    public static class Proposal implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         // ///////////////////////////////
         // PRIVATE FIELDS
@@ -134,7 +140,10 @@ public class Request extends V2IMergeMessage {
     /**
      * The specification of the vehicle.
      */
-    public static class VehicleSpecForRequestMsg {
+    public static class VehicleSpecForRequestMsg implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
         /**
          * The highest acceleration of which the vehicle is capable, in meters per
          * second squared.
@@ -0,0 +1,346 @@
+package aim4.msg.rim.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import aim4.msg.rim.i2v.Confirm;
+import aim4.msg.rim.i2v.I2VMessage;
+import aim4.msg.rim.i2v.Reject;
+import aim4.msg.rim.v2i.Away;
+import aim4.msg.rim.v2i.Cancel;
+import aim4.msg.rim.v2i.Done;
+import aim4.msg.rim.v2i.Request;
+import aim4.msg.rim.v2i.V2IMessage;
+
+/**
+ * The binary wire format of the RIM V2I and I2V messages.  Every message
+ * starts with a one-byte type tag followed by the vehicle ID and the
+ * intersection manager ID; enumerations and flags take one byte, list lengths
+ * are prefixed, and all real numbers are kept as doubles so that a message
+ * survives an encode/decode round trip unchanged.
+ */
+public abstract class MessageCodec {
+
+    /////////////////////////////////
+    // CONSTANTS
+    /////////////////////////////////
+
+    /**
+     * The initial capacity of the pooled buffer in bytes.  The buffer grows if
+     * a message does not fit.
+     */
+    private static final int INITIAL_BUFFER_CAPACITY = 512;
+
+    /**
+     * The V2I message types indexed by their tags.
+     */
+    private static final V2IMessage.Type[] V2I_TYPES =
+        V2IMessage.Type.values();
+
+    /**
+     * The I2V message types indexed by their tags.
+     */
+    private static final I2VMessage.Type[] I2V_TYPES =
+        I2VMessage.Type.values();
+
+    /**
+     * The reject reasons indexed by their tags.
+     */
+    private static final Reject.Reason[] REJECT_REASONS =
+        Reject.Reason.values();
+
+    /////////////////////////////////
+    // PRIVATE FIELDS
+    /////////////////////////////////
+
+    /**
+     * The buffer reused for encoding messages on the current thread.
+     */
+    private static final ThreadLocal<ByteBuffer> pooledBuffer =
+        new ThreadLocal<ByteBuffer>() {
+            @Override
+            protected ByteBuffer initialValue() {
+                return ByteBuffer.allocate(INITIAL_BUFFER_CAPACITY);
+            }
+        };
+
+    /////////////////////////////////
+    // PUBLIC METHODS
+    /////////////////////////////////
+
+    // V2I messages
+
+    /**
+     * Encode a V2I message into the pooled buffer of the current thread.  The
+     * returned buffer is flipped and ready to be read; it is overwritten by the
+     * next call to any encode method on the same thread.
+     *
+     * @param msg  the message
+     * @return the pooled buffer containing the encoded message
+     */
+    public static ByteBuffer encode(V2IMessage msg) {
+        ByteBuffer buf = pooledBuffer.get();
+        while (true) {
+            buf.clear();
+            try {
+                encode(msg, buf);
+                buf.flip();
+                return buf;
+            } catch (BufferOverflowException e) {
+                buf = ByteBuffer.allocate(buf.capacity() * 2);
+                pooledBuffer.set(buf);
+            }
+        }
+    }
+
+    /**
+     * Encode a V2I message into a given buffer at its current position.
+     *
+     * @param msg  the message
+     * @param buf  the buffer
+     * @throws BufferOverflowException if the buffer is too small
+     */
+    public static void encode(V2IMessage msg, ByteBuffer buf) {
+        if (msg instanceof Request) {
+            Request r = (Request) msg;
+            putV2IHeader(buf, V2IMessage.Type.REQUEST, msg);
+            buf.putInt(r.getRequestId());
+            Request.VehicleSpecForRequestMsg spec = r.getSpec();
+            buf.putDouble(spec.getMaxAcceleration());
+            buf.putDouble(spec.getMaxDeceleration());
+            buf.putDouble(spec.getMinVelocity());
+            buf.putDouble(spec.getLength());
+            buf.putDouble(spec.getWidth());
+            buf.putDouble(spec.getFrontAxleDisplacement());
+            buf.putDouble(spec.getRearAxleDisplacement());
+            buf.putDouble(spec.getMaxSteeringAngle());
+            buf.putDouble(spec.getMaxTurnPerSecond());
+            List<Request.Proposal> proposals = r.getProposals();
+            buf.putShort((short) proposals.size());
+            for (Request.Proposal p : proposals) {
+                buf.putInt(p.getArrivalLaneID());
+                buf.putInt(p.getDepartureLaneID());
+                buf.putDouble(p.getArrivalTime());
+                buf.putDouble(p.getArrivalVelocity());
+                buf.putDouble(p.getMaximumTurnVelocity());
+                buf.put((byte) (p.isStoppedAtIntersection() ? 1 : 0));
+            }
+        } else if (msg instanceof Cancel) {
+            putV2IHeader(buf, V2IMessage.Type.CANCEL, msg);
+            buf.putInt(((Cancel) msg).getReservationID());
+        } else if (msg instanceof Done) {
+            putV2IHeader(buf, V2IMessage.Type.DONE, msg);
+            buf.putInt(((Done) msg).getReservationID());
+        } else if (msg instanceof Away) {
+            putV2IHeader(buf, V2IMessage.Type.AWAY, msg);
+            buf.putInt(((Away) msg).getReservationID());
+        } else {
+            throw new IllegalArgumentException("MessageCodec: cannot encode " +
+                                               msg.getClass().getName());
+        }
+    }
+
+    /**
+     * Decode a V2I message from the current position of a buffer.
+     *
+     * @param buf  the buffer
+     * @return the decoded message
+     */
+    public static V2IMessage decodeV2IMessage(ByteBuffer buf) {
+        V2IMessage.Type type = V2I_TYPES[buf.get()];
+        int vin = buf.getInt();
+        int imId = buf.getInt();
+        switch (type) {
+        case REQUEST:
+            int requestId = buf.getInt();
+            Request.VehicleSpecForRequestMsg spec =
+                new Request.VehicleSpecForRequestMsg(
+                    buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                    buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                    buf.getDouble(), buf.getDouble(), buf.getDouble());
+            int proposalNum = buf.getShort();
+            List<Request.Proposal> proposals =
+                new LinkedList<Request.Proposal>();
+            for (int i = 0; i < proposalNum; i++) {
+                proposals.add(new Request.Proposal(
+                    buf.getInt(), buf.getInt(), buf.getDouble(),
+                    buf.getDouble(), buf.getDouble(), buf.get() != 0));
+            }
+            return new Request(vin, imId, requestId, spec, proposals);
+        case CANCEL:
+            return new Cancel(vin, imId, buf.getInt());
+        case DONE:
+            return new Done(vin, imId, buf.getInt());
+        case AWAY:
+            return new Away(vin, imId, buf.getInt());
+        default:
+            throw new IllegalArgumentException("MessageCodec: cannot decode " +
+                                               type);
+        }
+    }
+
+    /**
+     * Get the size of the encoding of a V2I message.
+     *
+     * @param msg  the message
+     * @return the size of the encoded message in bits
+     */
+    public static int getEncodedSize(V2IMessage msg) {
+        return encode(msg).remaining() * Byte.SIZE;
+    }
+
+    // I2V messages
+
+    /**
+     * Encode an I2V message into the pooled buffer of the current thread.  The
+     * returned buffer is flipped and ready to be read; it is overwritten by the
+     * next call to any encode method on the same thread.
+     *
+     * @param msg  the message
+     * @return the pooled buffer containing the encoded message
+     */
+    public static ByteBuffer encode(I2VMessage msg) {
+        ByteBuffer buf = pooledBuffer.get();
+        while (true) {
+            buf.clear();
+            try {
+                encode(msg, buf);
+                buf.flip();
+                return buf;
+            } catch (BufferOverflowException e) {
+                buf = ByteBuffer.allocate(buf.capacity() * 2);
+                pooledBuffer.set(buf);
+            }
+        }
+    }
+
+    /**
+     * Encode an I2V message into a given buffer at its current position.
+     *
+     * @param msg  the message
+     * @param buf  the buffer
+     * @throws BufferOverflowException if the buffer is too small
+     */
+    public static void encode(I2VMessage msg, ByteBuffer buf) {
+        if (msg instanceof Confirm) {
+            Confirm c = (Confirm) msg;
+            putI2VHeader(buf, I2VMessage.Type.CONFIRM, msg);
+            buf.putInt(c.getReservationId());
+            buf.putInt(c.getRequestId());
+            buf.putDouble(c.getArrivalTime());
+            buf.putDouble(c.getEarlyError());
+            buf.putDouble(c.getLateError());
+            buf.putDouble(c.getArrivalVelocity());
+            buf.putInt(c.getArrivalLaneID());
+            buf.putInt(c.getDepartureLaneID());
+            buf.putDouble(c.getACZDistance());
+            Queue<double[]> accProfile = c.getAccelerationProfile();
+            if (accProfile == null) {
+                buf.putShort((short) -1);
+            } else {
+                buf.putShort((short) accProfile.size());
+                for (double[] accDuration : accProfile) {
+                    buf.putDouble(accDuration[0]);
+                    buf.putDouble(accDuration[1]);
+                }
+            }
+        } else if (msg instanceof Reject) {
+            Reject r = (Reject) msg;
+            putI2VHeader(buf, I2VMessage.Type.REJECT, msg);
+            buf.putInt(r.getRequestId());
+            buf.putDouble(r.getNextAllowedCommunication());
+            buf.put((byte) r.getReason().ordinal());
+        } else {
+            throw new IllegalArgumentException("MessageCodec: cannot encode " +
+                                               msg.getClass().getName());
+        }
+    }
+
+    /**
+     * Decode an I2V message from the current position of a buffer.
+     *
+     * @param buf  the buffer
+     * @return the decoded message
+     */
+    public static I2VMessage decodeI2VMessage(ByteBuffer buf) {
+        I2VMessage.Type type = I2V_TYPES[buf.get()];
+        int imId = buf.getInt();
+        int vin = buf.getInt();
+        switch (type) {
+        case CONFIRM:
+            int reservationId = buf.getInt();
+            int requestId = buf.getInt();
+            double arrivalTime = buf.getDouble();
+            double earlyError = buf.getDouble();
+            double lateError = buf.getDouble();
+            double arrivalVelocity = buf.getDouble();
+            int arrivalLaneID = buf.getInt();
+            int departureLaneID = buf.getInt();
+            double aczDistance = buf.getDouble();
+            int accNum = buf.getShort();
+            Queue<double[]> accProfile = null;
+            if (accNum >= 0) {
+                accProfile = new LinkedList<double[]>();
+                for (int i = 0; i < accNum; i++) {
+                    accProfile.add(new double[] { buf.getDouble(),
+                                                  buf.getDouble() });
+                }
+            }
+            return new Confirm(imId, vin, reservationId, requestId, arrivalTime,
+                               earlyError, lateError, arrivalVelocity,
+                               arrivalLaneID, departureLaneID, aczDistance,
+                               accProfile);
+        case REJECT:
+            return new Reject(imId, vin, buf.getInt(), buf.getDouble(),
+                              REJECT_REASONS[buf.get()]);
+        default:
+            throw new IllegalArgumentException("MessageCodec: cannot decode " +
+                                               type);
+        }
+    }
+
+    /**
+     * Get the size of the encoding of an I2V message.
+     *
+     * @param msg  the message
+     * @return the size of the encoded message in bits
+     */
+    public static int getEncodedSize(I2VMessage msg) {
+        return encode(msg).remaining() * Byte.SIZE;
+    }
+
+    /////////////////////////////////
+    // PRIVATE METHODS
+    /////////////////////////////////
+
+    /**
+     * Write the common header of a V2I message.
+     *
+     * @param buf   the buffer
+     * @param type  the type of the message
+     * @param msg   the message
+     */
+    private static void putV2IHeader(ByteBuffer buf, V2IMessage.Type type,
+                                     V2IMessage msg) {
+        buf.put((byte) type.ordinal());
+        buf.putInt(msg.getVin());
+        buf.putInt(msg.getImId());
+    }
+
+    /**
+     * Write the common header of an I2V message.
+     *
+     * @param buf   the buffer
+     * @param type  the type of the message
+     * @param msg   the message
+     */
+    private static void putI2VHeader(ByteBuffer buf, I2VMessage.Type type,
+                                     I2VMessage msg) {
+        buf.put((byte) type.ordinal());
+        buf.putInt(msg.getImId());
+        buf.putInt(msg.getVin());
+    }
+}
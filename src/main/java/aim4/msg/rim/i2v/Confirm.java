@@ -9,6 +9,8 @@ import java.util.Queue;
  * reservation request.
  */
 public class Confirm extends I2VMessage{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
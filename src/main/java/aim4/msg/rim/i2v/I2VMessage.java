@@ -1,11 +1,17 @@
 package aim4.msg.rim.i2v;
 
 import aim4.config.Constants;
+import aim4.config.SimConfig;
+import aim4.msg.rim.codec.MessageCodec;
+
+import java.io.Serializable;
 
 /**
  * A message sent from a RIM Intersection Manager to a Vehicle.
  */
-public abstract class I2VMessage {
+public abstract class I2VMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -53,6 +59,12 @@ public abstract class I2VMessage {
      */
     protected int size = Constants.ENUM_SIZE + 2 * Constants.INTEGER_SIZE;
 
+    /**
+     * The size, in bits, of the wire format encoding of this message, or -1 if
+     * the message has not been encoded yet.
+     */
+    private int encodedSize = -1;
+
     /////////////////////////////////
     // CLASS CONSTRUCTORS
     /////////////////////////////////
@@ -116,11 +128,18 @@ public abstract class I2VMessage {
     }
 
     /**
-     * Get the size of this message in bits.
+     * Get the size of this message in bits.  If the wire format is enabled, the
+     * size is the size of the encoding of this message.
      *
      * @return the size of this message in bits
      */
     public int getSize() {
+        if (SimConfig.IS_WIRE_FORMAT_ENABLED) {
+            if (encodedSize < 0) {
+                encodedSize = MessageCodec.getEncodedSize(this);
+            }
+            return encodedSize;
+        }
         return size;
     }
 }
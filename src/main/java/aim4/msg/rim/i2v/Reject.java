@@ -7,6 +7,8 @@ import aim4.config.Constants;
  * reservation request.
  */
 public class Reject extends I2VMessage{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
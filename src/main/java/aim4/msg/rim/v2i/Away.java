@@ -7,6 +7,8 @@ import aim4.config.Constants;
  * has exited the Admission Control Zone.
  */
 public class Away extends V2IMessage{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
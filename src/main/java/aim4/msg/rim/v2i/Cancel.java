@@ -7,6 +7,8 @@ import aim4.config.Constants;
  * cancel a reservation.
  */
 public class Cancel extends V2IMessage{
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
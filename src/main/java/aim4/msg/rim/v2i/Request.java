@@ -3,6 +3,7 @@ package aim4.msg.rim.v2i;
 import aim4.config.Constants;
 import aim4.vehicle.VehicleSpec;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -12,6 +13,8 @@ import java.util.List;
  * reservation.
  */
 public class Request extends V2IMessage{
+    private static final long serialVersionUID = 1L;
+
     // ///////////////////////////////
     // NESTED CLASSES
     // ///////////////////////////////
@@ -19,7 +22,9 @@ public class Request extends V2IMessage{
     /**
      * A proposal
      */
-    public static class Proposal {
+    public static class Proposal implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         // ///////////////////////////////
         // PRIVATE FIELDS
@@ -171,7 +176,9 @@ public class Request extends V2IMessage{
     /**
      * The specification of the vehicle.
      */
-    public static class VehicleSpecForRequestMsg {
+    public static class VehicleSpecForRequestMsg implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         /**
          * The highest acceleration of which the vehicle is capable, in meters per
@@ -30,11 +30,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.noise;
 
+import java.io.Serializable;
+
 /**
  * Singleton class representing the null NoiseFunction.  This function
  * does nothing to values to which it is applied.
  */
-public class BasicNoiseFunction implements NoiseFunction {
+public class BasicNoiseFunction implements NoiseFunction, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /**
    * Holds the one instance of the singleton class.
@@ -50,4 +54,11 @@ public class BasicNoiseFunction implements NoiseFunction {
   public double apply(double trueValue) {
     return trueValue;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void applyAll(double[] values, int numOfValues) {
+    // do nothing
+  }
 }
@@ -30,13 +30,18 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.noise;
 
+import aim4.config.Debug;
 import aim4.util.Util;
 
+import java.io.Serializable;
+
 /**
  * A gauge that holds doubles.  This gauge also can apply noise
  * functions to incoming data to simulate a noisy gauge.
  */
-public class DoubleGauge {
+public class DoubleGauge implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /**
    * The actual value being measured by the gauge.
@@ -130,6 +135,15 @@ public class DoubleGauge {
     return value;
   }
 
+  /**
+   * Get the noise function of the gauge.
+   *
+   * @return the noise function this gauge applies to values
+   */
+  public NoiseFunction getNoiseFunction() {
+    return noiseFunction;
+  }
+
   /**
    * Records a value to the gauge, with noise according to the
    * gauge's {@link NoiseFunction}.
@@ -137,7 +151,42 @@ public class DoubleGauge {
    * @param recValue the value to be written to the gauge
    */
   public void record(double recValue) {
-    double v = noiseFunction.apply(recValue);
+    double v = recValue;
+    if (Debug.IS_SENSOR_NOISE_ENABLED
+        && !(noiseFunction instanceof BasicNoiseFunction)) {
+      v = noiseFunction.apply(recValue);
+    }
     value = Util.constrain(v, minValue, maxValue);
   }
+
+  /**
+   * Records values to a batch of gauges that share a {@link NoiseFunction}.
+   * The noise for the whole batch is drawn at once.  This is equivalent to
+   * recording each value to its gauge in turn.
+   *
+   * @param gauges        the gauges
+   * @param values        the values to be written to the gauges; they are
+   *                      replaced by the values with noise added
+   * @param numOfValues   the number of values to be written
+   * @param noiseFunction the noise function of every gauge in the batch
+   * @throws IllegalArgumentException if one of the gauges has another noise
+   *                                  function
+   */
+  public static void recordAll(DoubleGauge[] gauges, double[] values,
+                               int numOfValues, NoiseFunction noiseFunction) {
+    for (int i = 0; i < numOfValues; i++) {
+      if (gauges[i].noiseFunction != noiseFunction) {
+        throw new IllegalArgumentException("Gauge " + i + " has another " +
+                                           "noise function than the batch");
+      }
+    }
+    if (Debug.IS_SENSOR_NOISE_ENABLED
+        && !(noiseFunction instanceof BasicNoiseFunction)) {
+      noiseFunction.applyAll(values, numOfValues);
+    }
+    for (int i = 0; i < numOfValues; i++) {
+      DoubleGauge gauge = gauges[i];
+      gauge.value = Util.constrain(values[i], gauge.minValue, gauge.maxValue);
+    }
+  }
 }
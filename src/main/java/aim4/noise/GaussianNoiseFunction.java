@@ -30,19 +30,47 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.noise;
 
+import java.io.Serializable;
 import java.util.Random;
 
 /**
  * NoiseFunction that adds Gaussian noise to a value.
  */
-public class GaussianNoiseFunction implements NoiseFunction {
+public class GaussianNoiseFunction implements NoiseFunction, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /** Random seed for creating noise. */
   protected static Random rnd = new Random();
 
+  /**
+   * Get the random number generator for creating noise.
+   *
+   * @return the random number generator for creating noise
+   */
+  public static Random getRandom() {
+    return rnd;
+  }
+
+  /**
+   * Set the random number generator for creating noise, such as when a
+   * simulator snapshot is restored.
+   *
+   * @param random  the random number generator for creating noise
+   */
+  public static void setRandom(Random random) {
+    rnd = random;
+  }
+
   /** The standard deviation of the Gaussian that will generate the noise. */
   private double standardDeviation;
 
+  /** The pre-generated standard normal numbers. */
+  private NoiseTable table = new NoiseTable(NoiseTable.Distribution.GAUSSIAN);
+
+  /** The numbers drawn from the table for a batch of values. */
+  private transient double[] numbers;
+
   /**
    * Class constructor.  Takes the standard deviation of the Gaussian and uses
    * it to generate noise with mean zero.
@@ -58,6 +86,18 @@ public class GaussianNoiseFunction implements NoiseFunction {
    */
   @Override
   public double apply(double trueValue) {
-    return trueValue + rnd.nextGaussian() * standardDeviation;
+    return trueValue + table.next() * standardDeviation;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void applyAll(double[] values, int numOfValues) {
+    numbers = NoiseTable.ensureCapacity(numbers, numOfValues);
+    table.next(numbers, numOfValues);
+    for (int i = 0; i < numOfValues; i++) {
+      values[i] += numbers[i] * standardDeviation;
+    }
   }
 }
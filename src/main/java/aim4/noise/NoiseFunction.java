@@ -44,5 +44,15 @@ public interface NoiseFunction {
      */
     public double apply(double actualValue);
 
+    /**
+     * Apply the noise function to each of the given values in place.  The
+     * result is the same as applying the function to each value in turn.
+     *
+     * @param values      the actual values of the quantity, which are
+     *                    replaced by the values with noise added
+     * @param numOfValues the number of values
+     */
+    public void applyAll(double[] values, int numOfValues);
+
 }
 
@@ -0,0 +1,250 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.noise;
+
+import java.io.Serializable;
+import java.util.Random;
+
+import aim4.util.RandomStreams;
+
+/**
+ * A block of pre-generated random numbers for a noise function.  The block
+ * is refilled in one loop when it runs out, so the
+ * noise functions neither draw from the shared generator for every reading
+ * nor hold it for longer than a refill.  The standard normal numbers are
+ * generated with the ziggurat method of Marsaglia and Tsang, which needs
+ * one table lookup and one multiplication for all but about 2.5% of the
+ * numbers, instead of the polar method of {@link Random#nextGaussian()}.
+ * <p>
+ * A table belongs to one noise function and is saved with it, so a
+ * simulator snapshot continues the noise where it left off.
+ */
+public class NoiseTable implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The distributions of the numbers of a table.
+   */
+  public static enum Distribution {
+    /** The standard normal distribution */
+    GAUSSIAN,
+    /** The uniform distribution on [0, 1) */
+    UNIFORM,
+  }
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The number of numbers generated in one refill */
+  public static final int BLOCK_SIZE = 256;
+
+  /** The number of layers of the ziggurat */
+  private static final int NUM_OF_LAYERS = 128;
+  /** The start of the tail of the ziggurat */
+  private static final double R = 3.442619855899;
+  /** The area of each layer of the ziggurat */
+  private static final double V = 9.91256303526217e-3;
+  /** The scale of the 32-bit integers drawn for the ziggurat */
+  private static final double M = 2147483648.0;
+
+  /** The integer thresholds below which a number is inside its layer */
+  private static final long[] K = new long[NUM_OF_LAYERS];
+  /** The widths of the layers, scaled down by M */
+  private static final double[] W = new double[NUM_OF_LAYERS];
+  /** The densities at the edges of the layers */
+  private static final double[] F = new double[NUM_OF_LAYERS];
+
+  static {
+    double d = R;
+    double t = d;
+    double q = V / Math.exp(-0.5 * d * d);
+    K[0] = (long) ((d / q) * M);
+    K[1] = 0;
+    W[0] = q / M;
+    W[NUM_OF_LAYERS - 1] = d / M;
+    F[0] = 1.0;
+    F[NUM_OF_LAYERS - 1] = Math.exp(-0.5 * d * d);
+    for (int i = NUM_OF_LAYERS - 2; i >= 1; i--) {
+      d = Math.sqrt(-2.0 * Math.log(V / d + Math.exp(-0.5 * d * d)));
+      K[i + 1] = (long) ((d / t) * M);
+      t = d;
+      F[i] = Math.exp(-0.5 * d * d);
+      W[i] = d / M;
+    }
+  }
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The distribution of the numbers */
+  private final Distribution distribution;
+  /** The numbers */
+  private final double[] block = new double[BLOCK_SIZE];
+  /** The position of the next number in the block */
+  private int next = BLOCK_SIZE;
+
+  /////////////////////////////////
+  // CLASS CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a table, which is filled on its first use.
+   *
+   * @param distribution  the distribution of the numbers
+   */
+  public NoiseTable(Distribution distribution) {
+    this.distribution = distribution;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the next number of the table.
+   *
+   * @return the next number
+   */
+  public double next() {
+    if (next == BLOCK_SIZE) {
+      fill();
+    }
+    return block[next++];
+  }
+
+  /**
+   * Copy the next numbers of the table into an array, refilling the block
+   * as often as needed.
+   *
+   * @param numbers      the array the numbers are copied into
+   * @param numOfNumbers the number of numbers to copy
+   */
+  public void next(double[] numbers, int numOfNumbers) {
+    int i = 0;
+    while (i < numOfNumbers) {
+      if (next == BLOCK_SIZE) {
+        fill();
+      }
+      int n = Math.min(numOfNumbers - i, BLOCK_SIZE - next);
+      System.arraycopy(block, next, numbers, i, n);
+      next += n;
+      i += n;
+    }
+  }
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get an array that can hold a batch of numbers, reusing the given one if
+   * it is large enough.
+   *
+   * @param numbers      the array used for the previous batch, or null
+   * @param numOfNumbers the number of numbers in the batch
+   * @return the given array if it is large enough; otherwise a new one
+   */
+  public static double[] ensureCapacity(double[] numbers, int numOfNumbers) {
+    if (numbers == null || numbers.length < numOfNumbers) {
+      return new double[Math.max(numOfNumbers, BLOCK_SIZE)];
+    }
+    return numbers;
+  }
+
+  /**
+   * Draw a standard normal number with the ziggurat method.
+   *
+   * @param random  the random number generator
+   * @return the number
+   */
+  public static double nextGaussian(Random random) {
+    while (true) {
+      long bits = random.nextLong();
+      int i = (int) (bits & (NUM_OF_LAYERS - 1));
+      // the sign and magnitude come from other bits than the layer
+      int h = (int) (bits >> 32);
+      double x = h * W[i];
+      if (Math.abs((long) h) < K[i]) {
+        return x;
+      }
+      if (i == 0) {
+        // the tail beyond R
+        double a;
+        double b;
+        do {
+          a = -Math.log(1.0 - random.nextDouble()) / R;
+          b = -Math.log(1.0 - random.nextDouble());
+        } while (b + b < a * a);
+        return h > 0 ? R + a : -R - a;
+      }
+      // the wedge between the layer and the density
+      if (F[i] + random.nextDouble() * (F[i - 1] - F[i])
+          < Math.exp(-0.5 * x * x)) {
+        return x;
+      }
+    }
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Refill the block from the generator the noise functions would have
+   * drawn from directly.
+   */
+  private void fill() {
+    switch (distribution) {
+    case GAUSSIAN:
+      Random gaussianRandom = GaussianNoiseFunction.getRandom();
+      for (int i = 0; i < BLOCK_SIZE; i++) {
+        block[i] = nextGaussian(gaussianRandom);
+      }
+      break;
+    case UNIFORM:
+      Random random = RandomStreams.noise();
+      for (int i = 0; i < BLOCK_SIZE; i++) {
+        block[i] = random.nextDouble();
+      }
+      break;
+    default:
+      throw new IllegalStateException("Unknown distribution: " + distribution);
+    }
+    next = 0;
+  }
+}
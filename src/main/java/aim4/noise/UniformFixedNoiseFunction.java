@@ -30,13 +30,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.noise;
 
-import aim4.util.Util;
+import java.io.Serializable;
 
 /**
  * NoiseFunction that adds noise uniformly within a fixed proportion of the
  * true value.
  */
-public class UniformFixedNoiseFunction implements NoiseFunction {
+public class UniformFixedNoiseFunction implements NoiseFunction, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /**
    * The amount to vary in either direction.  For example, if this is 10, then
@@ -45,6 +47,16 @@ public class UniformFixedNoiseFunction implements NoiseFunction {
    */
   private double range;
 
+  /**
+   * The pre-generated uniform numbers.
+   */
+  private NoiseTable table = new NoiseTable(NoiseTable.Distribution.UNIFORM);
+
+  /**
+   * The numbers drawn from the table for a batch of values.
+   */
+  private transient double[] numbers;
+
   /**
    * Class constructor.
    *
@@ -59,6 +71,18 @@ public class UniformFixedNoiseFunction implements NoiseFunction {
    */
   @Override
   public double apply(double trueValue) {
-    return trueValue + (Util.random.nextDouble() * range * 2) - range;
+    return trueValue + (table.next() * range * 2) - range;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void applyAll(double[] values, int numOfValues) {
+    numbers = NoiseTable.ensureCapacity(numbers, numOfValues);
+    table.next(numbers, numOfValues);
+    for (int i = 0; i < numOfValues; i++) {
+      values[i] = values[i] + (numbers[i] * range * 2) - range;
+    }
   }
 }
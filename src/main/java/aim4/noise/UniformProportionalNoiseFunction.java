@@ -30,13 +30,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.noise;
 
-import aim4.util.Util;
+import java.io.Serializable;
 
 /**
  * NoiseFunction that adds noise uniformly within a fixed proportion of the
  * true value.
  */
-public class UniformProportionalNoiseFunction implements NoiseFunction {
+public class UniformProportionalNoiseFunction implements NoiseFunction, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /**
    * The proportion of the true value to use as a range for noise.  For
@@ -45,6 +47,16 @@ public class UniformProportionalNoiseFunction implements NoiseFunction {
    */
   private double proportion;
 
+  /**
+   * The pre-generated uniform numbers.
+   */
+  private NoiseTable table = new NoiseTable(NoiseTable.Distribution.UNIFORM);
+
+  /**
+   * The numbers drawn from the table for a batch of values.
+   */
+  private transient double[] numbers;
+
   /**
    * Class constructor.
    *
@@ -61,6 +73,19 @@ public class UniformProportionalNoiseFunction implements NoiseFunction {
   @Override
   public double apply(double trueValue) {
     double range = 2 * trueValue * proportion;
-    return trueValue + (Util.random.nextDouble() * range) - range/2;
+    return trueValue + (table.next() * range) - range/2;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void applyAll(double[] values, int numOfValues) {
+    numbers = NoiseTable.ensureCapacity(numbers, numOfValues);
+    table.next(numbers, numOfValues);
+    for (int i = 0; i < numOfValues; i++) {
+      double range = 2 * values[i] * proportion;
+      values[i] = values[i] + (numbers[i] * range) - range/2;
+    }
   }
 }
@@ -0,0 +1,240 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import aim4.config.Debug;
+import aim4.map.BasicAIMIntersectionMap;
+import aim4.map.BasicMap;
+import aim4.map.BasicRIMIntersectionMap;
+import aim4.noise.GaussianNoiseFunction;
+import aim4.util.Util;
+import aim4.vehicle.VehicleSpecDatabase;
+import aim4.vehicle.VinRegistry;
+
+/**
+ * Snapshots of the whole state of a simulator, so that experiments can be
+ * started from a warmed-up simulator and long runs can be resumed.
+ * <p>
+ * A snapshot file begins with a header, which holds the magic number, the
+ * version of the format, the simulation time and the class of the
+ * simulator.  The rest of the file is a compressed stream of the global
+ * random number generators, the {@link VehicleSpecDatabase}, the
+ * {@link VinRegistry} and the simulator itself, with its map, vehicles,
+ * drivers, intersection managers and spawn points.  Since the registries
+ * are global, restoring a snapshot replaces them, and only one restored
+ * simulator should be run at a time.
+ * <p>
+ * Snapshots are only compatible with the version of the simulator that
+ * wrote them.
+ */
+public class SimSnapshot {
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The magic number at the beginning of a snapshot file ("AIMS"). */
+  public static final int MAGIC = 0x41494D53;
+
+  /** The version of the format of the snapshot files. */
+  public static final int FORMAT_VERSION = 2;
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Write a snapshot of a simulator to a file.
+   *
+   * @param sim   the simulator, which must not be running a step
+   * @param file  the file
+   * @throws IOException  if the snapshot cannot be written
+   */
+  public static void save(Simulator sim, File file) throws IOException {
+    // write to a temporary file first, so that a crash while saving does
+    // not destroy the previous snapshot
+    File tmpFile = new File(file.getPath() + ".tmp");
+    FileChannel channel =
+      FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE,
+                       StandardOpenOption.TRUNCATE_EXISTING,
+                       StandardOpenOption.WRITE);
+    try {
+      byte[] className =
+        sim.getClass().getName().getBytes(StandardCharsets.UTF_8);
+      ByteBuffer header = ByteBuffer.allocate(4 + 4 + 8 + 4 + className.length);
+      header.putInt(MAGIC);
+      header.putInt(FORMAT_VERSION);
+      header.putDouble(sim.getSimulationTime());
+      header.putInt(className.length);
+      header.put(className);
+      header.flip();
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      GZIPOutputStream zip =
+        new GZIPOutputStream(Channels.newOutputStream(channel));
+      ObjectOutputStream out = new ObjectOutputStream(zip);
+      out.writeLong(Util.randSeed);
+      out.writeObject(Util.random);
+      out.writeObject(GaussianNoiseFunction.getRandom());
+      VehicleSpecDatabase.writeSnapshot(out);
+      VinRegistry.writeSnapshot(out);
+      out.writeObject(sim);
+      out.flush();
+      zip.finish();
+      channel.force(false);
+    } finally {
+      channel.close();
+    }
+    // the previous snapshot is replaced in one step, so there is always a
+    // complete snapshot in the file
+    Files.move(tmpFile.toPath(), file.toPath(),
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Restore a simulator from a snapshot file.  The global random number
+   * generators and registries are replaced by the ones in the snapshot.
+   *
+   * @param file  the file
+   * @return the simulator
+   * @throws IOException  if the snapshot cannot be read, or if it was
+   *                      written in a different format
+   */
+  public static Simulator load(File file) throws IOException {
+    FileChannel channel =
+      FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      ByteBuffer header = readFully(channel, 4 + 4 + 8 + 4);
+      if (header.getInt() != MAGIC) {
+        throw new IOException(file + " is not a simulator snapshot");
+      }
+      int version = header.getInt();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported snapshot format version "
+                              + version + " in " + file);
+      }
+      header.getDouble();  // the simulation time is only for readers
+      readFully(channel, header.getInt());  // so is the simulator class
+
+      ObjectInputStream in =
+        new ObjectInputStream(
+          new GZIPInputStream(Channels.newInputStream(channel)));
+      long randSeed = in.readLong();
+      Random random = (Random) in.readObject();
+      Random noiseRandom = (Random) in.readObject();
+      VehicleSpecDatabase.readSnapshot(in);
+      VinRegistry.readSnapshot(in);
+      Simulator sim = (Simulator) in.readObject();
+      Util.randSeed = randSeed;
+      Util.random = random;
+      GaussianNoiseFunction.setRandom(noiseRandom);
+      BasicMap map = sim.getMap();
+      if (map instanceof BasicAIMIntersectionMap) {
+        Debug.currentAimMap = (BasicAIMIntersectionMap) map;
+      }
+      if (map instanceof BasicRIMIntersectionMap) {
+        Debug.currentRimMap = (BasicRIMIntersectionMap) map;
+      }
+      return sim;
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Unknown class in the snapshot " + file, e);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Read the simulation time of a snapshot file without restoring it.
+   *
+   * @param file  the file
+   * @return the simulation time of the snapshot
+   * @throws IOException  if the header of the snapshot cannot be read
+   */
+  public static double readSimulationTime(File file) throws IOException {
+    FileChannel channel =
+      FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      ByteBuffer header = readFully(channel, 4 + 4 + 8);
+      if (header.getInt() != MAGIC) {
+        throw new IOException(file + " is not a simulator snapshot");
+      }
+      header.getInt();
+      return header.getDouble();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /////////////////////////////////
+  // PRIVATE STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Read a number of bytes from a channel.
+   */
+  private static ByteBuffer readFully(FileChannel channel, int length)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Truncated snapshot");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * This class should never be instantiated.
+   */
+  private SimSnapshot() {}
+}
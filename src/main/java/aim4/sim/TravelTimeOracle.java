@@ -0,0 +1,309 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aim4.vehicle.VehicleSpec;
+import aim4.vehicle.VehicleSpecDatabase;
+
+/**
+ * An oracle of the time a lone vehicle takes to traverse a route of a map
+ * when nothing obstructs it.  A route is a sequence of straight segments,
+ * each with a speed limit, and the vehicle may be required to slow down to
+ * a certain velocity at the end of a segment, for instance to make a turn
+ * safely.  The vehicle starts at the start of the route at the lesser of
+ * its maximum velocity and the speed limit of the first segment, and
+ * travels as fast as its acceleration and deceleration allow; it has
+ * traversed the route once its rear has passed the end of the route.  The
+ * time is computed in closed form instead of by simulating the vehicle,
+ * and is memoised per vehicle specification and route, so an oracle should
+ * only be given the routes of one map.
+ */
+public class TravelTimeOracle implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * A limit on the velocity of a vehicle at a point of a route.
+   */
+  public static interface VelocityCap {
+    /**
+     * Get the maximum velocity of a vehicle at the point.
+     *
+     * @param spec  the specification of the vehicle
+     * @return      the maximum velocity of the vehicle at the point
+     */
+    double getMaxVelocity(VehicleSpec spec);
+  }
+
+  /**
+   * A route through a map.
+   */
+  public static class Route {
+    /** The name of the route, unique among the routes of an oracle */
+    private final String name;
+    /** The lengths of the segments of the route */
+    private final List<Double> lengths = new ArrayList<Double>();
+    /** The speed limits of the segments of the route */
+    private final List<Double> speedLimits = new ArrayList<Double>();
+    /** The velocity caps at the ends of the segments, if any */
+    private final List<VelocityCap> caps = new ArrayList<VelocityCap>();
+
+    /**
+     * Create an empty route.
+     *
+     * @param name  the name of the route, which must be unique among the
+     *              routes given to an oracle
+     */
+    public Route(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Append a segment to the route.
+     *
+     * @param length      the length of the segment
+     * @param speedLimit  the speed limit of the segment
+     * @return            this route
+     */
+    public Route addSegment(double length, double speedLimit) {
+      lengths.add(length);
+      speedLimits.add(speedLimit);
+      caps.add(null);
+      return this;
+    }
+
+    /**
+     * Limit the velocity of a vehicle at the end of the last segment of the
+     * route.
+     *
+     * @param cap  the velocity cap
+     * @return     this route
+     */
+    public Route addVelocityCap(VelocityCap cap) {
+      if (lengths.isEmpty()) {
+        throw new IllegalStateException("The route has no segments.");
+      }
+      caps.set(caps.size() - 1, cap);
+      return this;
+    }
+
+    /**
+     * Get the name of the route.
+     *
+     * @return the name of the route
+     */
+    public String getName() {
+      return name;
+    }
+  }
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The memoised traversal times, keyed by the name of the vehicle
+   * specification and then by the name of the route.
+   */
+  private final Map<String, Map<String, Double>> memo =
+    new HashMap<String, Map<String, Double>>();
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the time a lone vehicle takes to traverse a route.
+   *
+   * @param spec   the specification of the vehicle
+   * @param route  the route
+   * @return       the traversal time of the route
+   */
+  public double getTraversalTime(VehicleSpec spec, Route route) {
+    Map<String, Double> routeToTime = memo.get(spec.getName());
+    if (routeToTime == null) {
+      routeToTime = new HashMap<String, Double>();
+      memo.put(spec.getName(), routeToTime);
+    }
+    Double time = routeToTime.get(route.getName());
+    if (time == null) {
+      time = computeTraversalTime(spec, route);
+      routeToTime.put(route.getName(), time);
+    }
+    return time;
+  }
+
+  /**
+   * Get the time a lone vehicle of each specification in the vehicle
+   * specification database takes to traverse a route.
+   *
+   * @param route  the route
+   * @return       a mapping from the names of the vehicle specifications to
+   *               the traversal times of the route
+   */
+  public Map<String, Double> getTraversalTimes(Route route) {
+    Map<String, Double> specToTime = new HashMap<String, Double>();
+    for (int specID = 0; specID < VehicleSpecDatabase.getNumOfSpec();
+         specID++) {
+      VehicleSpec spec = VehicleSpecDatabase.getVehicleSpecById(specID);
+      specToTime.put(spec.getName(), getTraversalTime(spec, route));
+    }
+    return specToTime;
+  }
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Compute the time a vehicle takes to travel along a sequence of
+   * segments, as fast as its acceleration and deceleration allow.  The
+   * velocities at the boundaries of the segments are found by a backward
+   * pass, which makes sure the vehicle can slow down in time for every
+   * velocity limit ahead, and a forward pass, which makes sure the vehicle
+   * can speed up to them.  On each segment the vehicle then accelerates,
+   * cruises at its peak velocity and decelerates.
+   *
+   * @param initVelocity          the velocity at the start of the first
+   *                              segment
+   * @param maxAcceleration       the maximum acceleration, which must be
+   *                              positive
+   * @param maxDeceleration       the maximum deceleration, as a positive or a
+   *                              negative number
+   * @param lengths               the lengths of the segments
+   * @param maxVelocities         the maximum velocities on the segments
+   * @param boundaryMaxVelocities the maximum velocities at the ends of the
+   *                              segments
+   * @return                      the time to travel along the segments
+   */
+  public static double computeTraversalTime(double initVelocity,
+                                            double maxAcceleration,
+                                            double maxDeceleration,
+                                            double[] lengths,
+                                            double[] maxVelocities,
+                                            double[] boundaryMaxVelocities) {
+    int n = lengths.length;
+    double a = maxAcceleration;
+    double b = Math.abs(maxDeceleration);
+    // v[i] is the velocity at the start of segment i, v[n] at the end of
+    // the route
+    double[] v = new double[n + 1];
+    v[0] = initVelocity;
+    for (int i = 1; i <= n; i++) {
+      v[i] = Math.min(boundaryMaxVelocities[i - 1], maxVelocities[i - 1]);
+      if (i < n) {
+        v[i] = Math.min(v[i], maxVelocities[i]);
+      }
+    }
+    for (int i = n - 1; i >= 1; i--) {
+      v[i] = Math.min(v[i], Math.sqrt(v[i + 1] * v[i + 1] + 2 * b * lengths[i]));
+    }
+    for (int i = 0; i < n; i++) {
+      double d = lengths[i];
+      // A vehicle starting too fast can neither reach a velocity it could
+      // not accelerate to, nor one it could not slow down to.
+      v[i + 1] = Math.min(v[i + 1], Math.sqrt(v[i] * v[i] + 2 * a * d));
+      v[i + 1] = Math.max(v[i + 1],
+                          Math.sqrt(Math.max(0, v[i] * v[i] - 2 * b * d)));
+    }
+
+    double time = 0.0;
+    for (int i = 0; i < n; i++) {
+      time += segmentTime(v[i], v[i + 1], maxVelocities[i], a, b, lengths[i]);
+    }
+    return time;
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Compute the time a vehicle takes to traverse a route.
+   */
+  private static double computeTraversalTime(VehicleSpec spec, Route route) {
+    int n = route.lengths.size();
+    if (n == 0) {
+      throw new IllegalArgumentException("The route has no segments.");
+    }
+    double[] lengths = new double[n];
+    double[] maxVelocities = new double[n];
+    double[] boundaryMaxVelocities = new double[n];
+    for (int i = 0; i < n; i++) {
+      lengths[i] = route.lengths.get(i);
+      maxVelocities[i] = Math.min(spec.getMaxVelocity(),
+                                  route.speedLimits.get(i));
+      VelocityCap cap = route.caps.get(i);
+      boundaryMaxVelocities[i] = (cap == null) ? Double.MAX_VALUE
+                                               : cap.getMaxVelocity(spec);
+    }
+    // the rear of the vehicle must pass the end of the route too
+    lengths[n - 1] += spec.getLength();
+    return computeTraversalTime(maxVelocities[0],
+                                spec.getMaxAcceleration(),
+                                spec.getMaxDeceleration(),
+                                lengths, maxVelocities,
+                                boundaryMaxVelocities);
+  }
+
+  /**
+   * Compute the time to travel along one segment, accelerating from the
+   * initial velocity to the highest velocity the segment allows and then
+   * decelerating to the final velocity.
+   */
+  private static double segmentTime(double v0, double v1, double maxVelocity,
+                                    double a, double b, double d) {
+    if (d <= 0) {
+      return 0.0;
+    }
+    if (v0 > v1 && v0 * v0 - v1 * v1 >= 2 * b * d) {
+      // too fast to do anything but brake all the way
+      return 2 * d / (v0 + v1);
+    }
+    double peak = Math.sqrt((2 * a * b * d + b * v0 * v0 + a * v1 * v1)
+                            / (a + b));
+    peak = Math.max(Math.min(peak, maxVelocity), Math.max(v0, v1));
+    double accelDistance = (peak * peak - v0 * v0) / (2 * a);
+    double decelDistance = (peak * peak - v1 * v1) / (2 * b);
+    double cruiseDistance = Math.max(0.0, d - accelDistance - decelDistance);
+    return (peak - v0) / a + (peak - v1) / b + cruiseDistance / peak;
+  }
+}
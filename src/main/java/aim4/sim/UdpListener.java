@@ -240,28 +240,30 @@ public class UdpListener implements Runnable {
    * @param dp  the datagram.
    */
   private void processIncomingDatagram(DatagramPacket dp) {
-    synchronized(sim) {
-      SocketAddress sa = dp.getSocketAddress();
-      Real2ProxyMsg msg = convertDatagramToReal2ProxyMsg(dp);
-
-      if (Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
-        if (Debug.SHOW_PROXY_VEHICLE_PVUPDATE_MSG ||
-            !(msg instanceof Real2ProxyPVUpdate)) {
-          System.err.printf("Proxy vehicle received a Real2Proxy msg: %s\n",
-                            msg);
-        }
+    SocketAddress sa = dp.getSocketAddress();
+    Real2ProxyMsg msg = convertDatagramToReal2ProxyMsg(dp);
+
+    if (Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
+      if (Debug.SHOW_PROXY_VEHICLE_PVUPDATE_MSG ||
+          !(msg instanceof Real2ProxyPVUpdate)) {
+        System.err.printf("Proxy vehicle received a Real2Proxy msg: %s\n",
+                          msg);
       }
+    }
 
-      if (msg == null) {
-        System.err.println("Error: cannot parse the datagram package.");
-        return;
-      }
+    if (msg == null) {
+      System.err.println("Error: cannot parse the datagram package.");
+      return;
+    }
 
-      if (sa2ProxyVehicle.containsKey(sa)) {
-        // The datagram came from a real vehicle we're already tracking.
-        // Simply forward the datagram to the corresponding proxy vehicle
-        sa2ProxyVehicle.get(sa).processReal2ProxyMsg(msg);
-      } else {
+    if (sa2ProxyVehicle.containsKey(sa)) {
+      // The datagram came from a real vehicle we're already tracking.
+      // Simply forward the datagram to the corresponding proxy vehicle,
+      // which processes it the next time its driver acts.  This does not
+      // take the simulator's lock, so it never holds up a time step.
+      sa2ProxyVehicle.get(sa).postReal2ProxyMsg(msg);
+    } else {
+      synchronized(sim) {
         // We haven't seem this SA before. This must be coming from
         // a new real vehicle that we're not tracking
 
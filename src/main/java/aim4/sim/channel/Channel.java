@@ -0,0 +1,276 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim.channel;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import aim4.util.Util;
+
+/**
+ * A radio channel.  Messages sent over the channel during a time step are
+ * collected and then processed in one batch by {@link #deliver(double)}:
+ * the channel model decides, for each message, whether it is lost and when
+ * it arrives, and the surviving messages are placed in a queue ordered by
+ * their arrival times.  A message is handed to its receiver in the first
+ * time step at or after its arrival time; messages arriving at the same time
+ * are delivered in the order they were sent.
+ * <p>
+ * Only the AIM and RIM AutoDriverOnlySimulators send their V2I and I2V
+ * messages over channels.  The optimal simulators and the V2I merge
+ * simulator still move messages straight from the outboxes to the inboxes
+ * in the same time step, so no channel model applies to them.
+ *
+ * @param <M>  the type of the messages
+ */
+public class Channel<M> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The receiver of messages from a channel.  A receiver is kept with the
+   * messages in transit to it, so it is saved in simulator snapshots.
+   *
+   * @param <M>  the type of the messages
+   */
+  public interface Receiver<M> extends Serializable {
+    /**
+     * Receive a message.
+     *
+     * @param msg  the message
+     */
+    void receive(M msg);
+  }
+
+  /**
+   * A message in transit.
+   */
+  private static class Transmission<M>
+      implements Comparable<Transmission<M>>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** The message */
+    final M msg;
+    /** The receiver of the message */
+    final Receiver<? super M> receiver;
+    /** The distance of the transmission */
+    final double distance;
+    /** The transmission power of the sender */
+    final double power;
+    /** The time at which the message arrives */
+    double arrivalTime;
+    /** The order in which the message was accepted by the channel */
+    long seqNum;
+
+    /**
+     * Create a message in transit.
+     *
+     * @param msg       the message
+     * @param receiver  the receiver of the message
+     * @param distance  the distance of the transmission
+     * @param power     the transmission power of the sender
+     */
+    Transmission(M msg, Receiver<? super M> receiver, double distance,
+                 double power) {
+      this.msg = msg;
+      this.receiver = receiver;
+      this.distance = distance;
+      this.power = power;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(Transmission<M> other) {
+      if (arrivalTime < other.arrivalTime) {
+        return -1;
+      } else if (arrivalTime > other.arrivalTime) {
+        return 1;
+      } else {
+        return Long.compare(seqNum, other.seqNum);
+      }
+    }
+  }
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The channel model.
+   */
+  private ChannelModel model;
+
+  /**
+   * The random number generator for deciding message losses.
+   */
+  private Random random;
+
+  /**
+   * The messages sent since the last delivery.
+   */
+  private List<Transmission<M>> outgoing = new ArrayList<Transmission<M>>();
+
+  /**
+   * The messages in the air, ordered by their arrival times.
+   */
+  private PriorityQueue<Transmission<M>> inTransit =
+    new PriorityQueue<Transmission<M>>();
+
+  /**
+   * The sequence number of the next message accepted by the channel.
+   */
+  private long nextSeqNum = 0;
+
+  /**
+   * The number of messages sent over the channel.
+   */
+  private int numOfSentMessages = 0;
+
+  /**
+   * The number of messages lost by the channel.
+   */
+  private int numOfLostMessages = 0;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a radio channel.
+   *
+   * @param model  the channel model
+   */
+  public Channel(ChannelModel model) {
+    this(model, new Random(Util.randSeed));
+  }
+
+  /**
+   * Create a radio channel.
+   *
+   * @param model   the channel model
+   * @param random  the random number generator for deciding message losses
+   */
+  public Channel(ChannelModel model, Random random) {
+    this.model = model;
+    this.random = random;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Send a message over the channel.  The message is not processed until the
+   * next call to {@link #deliver(double)}.
+   *
+   * @param msg       the message
+   * @param receiver  the receiver of the message
+   * @param distance  the distance between the sender and the receiver
+   * @param power     the transmission power of the sender
+   */
+  public void send(M msg, Receiver<? super M> receiver, double distance,
+                   double power) {
+    outgoing.add(new Transmission<M>(msg, receiver, distance, power));
+  }
+
+  /**
+   * Process the messages sent since the last call and deliver all messages
+   * that have arrived by the given time.
+   *
+   * @param currentTime  the current time
+   */
+  public void deliver(double currentTime) {
+    int load = outgoing.size();
+    for (Transmission<M> t : outgoing) {
+      numOfSentMessages++;
+      double p = model.getLossProbability(t.distance, t.power, load);
+      // only draw a random number if the outcome is uncertain
+      if (p >= 1.0 || (p > 0.0 && random.nextDouble() < p)) {
+        numOfLostMessages++;
+      } else {
+        t.arrivalTime = currentTime + model.getLatency(t.distance, load);
+        t.seqNum = nextSeqNum++;
+        inTransit.add(t);
+      }
+    }
+    outgoing.clear();
+    while (!inTransit.isEmpty()
+           && inTransit.peek().arrivalTime <= currentTime) {
+      Transmission<M> t = inTransit.poll();
+      t.receiver.receive(t.msg);
+    }
+  }
+
+  /**
+   * Get the channel model.
+   *
+   * @return the channel model
+   */
+  public ChannelModel getModel() {
+    return model;
+  }
+
+  /**
+   * Get the number of messages in the air.
+   *
+   * @return the number of messages in the air
+   */
+  public int getNumOfMessagesInTransit() {
+    return inTransit.size();
+  }
+
+  /**
+   * Get the number of messages sent over the channel.
+   *
+   * @return the number of messages sent over the channel
+   */
+  public int getNumOfSentMessages() {
+    return numOfSentMessages;
+  }
+
+  /**
+   * Get the number of messages lost by the channel.
+   *
+   * @return the number of messages lost by the channel
+   */
+  public int getNumOfLostMessages() {
+    return numOfLostMessages;
+  }
+}
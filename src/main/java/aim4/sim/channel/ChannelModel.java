@@ -0,0 +1,64 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim.channel;
+
+import java.io.Serializable;
+
+/**
+ * A model of the radio channel over which messages are transmitted.  The
+ * model decides how likely a transmission is lost and how long it takes for
+ * a transmission to arrive, given the distance of the transmission and the
+ * number of messages sent over the channel in the same time step.
+ */
+public interface ChannelModel extends Serializable {
+
+  /**
+   * Get the probability that a transmission is lost.
+   *
+   * @param distance  the distance of the transmission in meters
+   * @param power     the transmission power of the sender, i.e., the maximum
+   *                  distance its messages can travel
+   * @param load      the number of messages sent over the channel in the
+   *                  current time step
+   * @return the probability, between 0 and 1, that the transmission is lost
+   */
+  double getLossProbability(double distance, double power, int load);
+
+  /**
+   * Get the time it takes for a transmission to arrive.
+   *
+   * @param distance  the distance of the transmission in meters
+   * @param load      the number of messages sent over the channel in the
+   *                  current time step
+   * @return the latency of the transmission in seconds
+   */
+  double getLatency(double distance, int load);
+}
@@ -0,0 +1,111 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim.channel;
+
+/**
+ * A congestion-based channel model.  It extends another channel model with a
+ * channel capacity: the messages sent in a time step beyond the capacity
+ * wait in a queue, adding to the latency, and are dropped in proportion to
+ * the overload.
+ */
+public class CongestionChannelModel implements ChannelModel {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The underlying channel model.
+   */
+  private ChannelModel model;
+
+  /**
+   * The number of messages the channel can carry in a time step without
+   * congestion.
+   */
+  private int capacity;
+
+  /**
+   * The additional latency, in seconds, for each message beyond the capacity.
+   */
+  private double latencyPerExcessMessage;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a congestion-based channel model.
+   *
+   * @param model                    the underlying channel model
+   * @param capacity                 the number of messages the channel can
+   *                                 carry in a time step without congestion
+   * @param latencyPerExcessMessage  the additional latency, in seconds, for
+   *                                 each message beyond the capacity
+   */
+  public CongestionChannelModel(ChannelModel model, int capacity,
+                                double latencyPerExcessMessage) {
+    assert capacity > 0;
+    assert latencyPerExcessMessage >= 0.0;
+    this.model = model;
+    this.capacity = capacity;
+    this.latencyPerExcessMessage = latencyPerExcessMessage;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getLossProbability(double distance, double power, int load) {
+    double p = model.getLossProbability(distance, power, load);
+    if (load <= capacity) {
+      return p;
+    } else {
+      // only capacity out of load messages get through
+      return 1.0 - (1.0 - p) * capacity / load;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getLatency(double distance, int load) {
+    return model.getLatency(distance, load)
+           + Math.max(0, load - capacity) * latencyPerExcessMessage;
+  }
+}
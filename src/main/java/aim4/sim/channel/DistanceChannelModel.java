@@ -0,0 +1,103 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim.channel;
+
+/**
+ * A distance-based channel model.  The probability of losing a message grows
+ * quadratically with the distance of the transmission, from zero next to the
+ * sender to a given probability at the edge of the transmission range;
+ * messages beyond the range are always lost.  Every message takes a fixed
+ * latency to arrive.
+ */
+public class DistanceChannelModel implements ChannelModel {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The latency of a transmission in seconds.
+   */
+  private double latency;
+
+  /**
+   * The probability of losing a message at the edge of the transmission
+   * range.
+   */
+  private double edgeLossProbability;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a distance-based channel model.
+   *
+   * @param latency              the latency of a transmission in seconds
+   * @param edgeLossProbability  the probability of losing a message at the
+   *                             edge of the transmission range
+   */
+  public DistanceChannelModel(double latency, double edgeLossProbability) {
+    assert latency >= 0.0;
+    assert 0.0 <= edgeLossProbability && edgeLossProbability <= 1.0;
+    this.latency = latency;
+    this.edgeLossProbability = edgeLossProbability;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getLossProbability(double distance, double power, int load) {
+    if (distance > power) {
+      return 1.0;
+    } else if (power <= 0.0) {
+      return 0.0;
+    } else {
+      double r = distance / power;
+      return edgeLossProbability * r * r;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getLatency(double distance, int load) {
+    return latency;
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the radio channel over which the simulator delivers
+ * messages and the models of its loss and latency.
+ */
+package aim4.sim.channel;
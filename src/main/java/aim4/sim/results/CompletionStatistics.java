@@ -0,0 +1,111 @@
+package aim4.sim.results;
+
+import aim4.util.Histogram;
+
+import java.io.Serializable;
+
+/**
+ * Running statistics of the vehicles completing a simulation: their number,
+ * the exact minimum and maximum of their delays, the mean and variance of
+ * the delays by Welford's method, a histogram of the delays for their
+ * percentiles and the last finish time for the throughput.  Every vehicle
+ * updates the statistics in constant time, and the statistics of several
+ * runs merge into those of all their vehicles.
+ */
+public class CompletionStatistics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** The resolution of the delays in the histogram, in seconds */
+    private static final double DELAY_RESOLUTION = 1e-6;
+
+    private int count;
+    private double minDelay = Double.MAX_VALUE;
+    private double maxDelay = Double.MIN_VALUE;
+    private double totalDelay;
+    /** The running mean of the delays, for the variance */
+    private double meanDelay;
+    /** The sum of the squared differences of the delays from their mean */
+    private double squaredDeviations;
+    private double lastFinishTime;
+    /** The delays, in multiples of the delay resolution */
+    private final Histogram delays = new Histogram();
+
+    /**
+     * Add a completed vehicle.
+     *
+     * @param delay       the delay of the vehicle
+     * @param finishTime  the time the vehicle completed
+     */
+    public void add(double delay, double finishTime) {
+        count++;
+        if (lastFinishTime < finishTime)
+            lastFinishTime = finishTime;
+        if (maxDelay < delay)
+            maxDelay = delay;
+        if (minDelay > delay)
+            minDelay = delay;
+        totalDelay += delay;
+        double deviation = delay - meanDelay;
+        meanDelay += deviation / count;
+        squaredDeviations += deviation * (delay - meanDelay);
+        delays.record(Math.round(delay / DELAY_RESOLUTION));
+    }
+
+    /**
+     * Add the vehicles of other statistics to these ones.  The variance is
+     * combined by the parallel form of Welford's method.
+     *
+     * @param other  the other statistics
+     */
+    public void merge(CompletionStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        int total = count + other.count;
+        double deviation = other.meanDelay - meanDelay;
+        squaredDeviations += other.squaredDeviations
+                + deviation * deviation * count * other.count / total;
+        meanDelay += deviation * other.count / total;
+        count = total;
+        lastFinishTime = Math.max(lastFinishTime, other.lastFinishTime);
+        maxDelay = Math.max(maxDelay, other.maxDelay);
+        minDelay = Math.min(minDelay, other.minDelay);
+        totalDelay += other.totalDelay;
+        delays.add(other.delays);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMinDelay() {
+        return minDelay;
+    }
+
+    public double getMaxDelay() {
+        return maxDelay;
+    }
+
+    public double getAverageDelay() {
+        return totalDelay / count;
+    }
+
+    public double getStdDevDelay() {
+        return Math.sqrt(squaredDeviations / count);
+    }
+
+    /**
+     * Get the delay at a quantile of the delays, to within the accuracy of
+     * the histogram.
+     *
+     * @param quantile  the quantile, between 0 and 1
+     * @return the delay at the quantile, or zero if there is no vehicle
+     */
+    public double getDelayAtQuantile(double quantile) {
+        return delays.getValueAtQuantile(quantile) * DELAY_RESOLUTION;
+    }
+
+    public double getThroughput() {
+        return count / lastFinishTime;
+    }
+}
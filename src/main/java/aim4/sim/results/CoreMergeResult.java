@@ -2,182 +2,134 @@ package aim4.sim.results;
 
 import aim4.map.merge.RoadNames;
 
-import java.util.ArrayList;
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * Created by Callum on 21/04/2017.
  */
-public class CoreMergeResult implements SimulatorResult {
+public class CoreMergeResult implements SimulatorResult, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private List<CoreMergeVehicleResult> vehicleResults;
-    private double maxDelay;
-    private double maxTargetDelay;
-    private double maxMergeDelay;
-    private double minDelay;
-    private double minTargetDelay;
-    private double minMergeDelay;
-    private double averageDelay;
-    private double averageTargetDelay;
-    private double averageMergeDelay;
-    private double stdDevDelay;
-    private double stdDevTargetDelay;
-    private double stdDevMergeDelay;
-    private double throughput;
-    private double throughputTarget;
-    private double throughputMerge;
-    private int completedVehicles;
-    private int completedTargetVehicles;
-    private int completedMergeVehicles;
+    private CompletionStatistics statistics;
+    private CompletionStatistics targetStatistics;
+    private CompletionStatistics mergeStatistics;
 
     public CoreMergeResult(List<CoreMergeVehicleResult> vehicleResults) {
         this.vehicleResults = vehicleResults;
-        List<CoreMergeVehicleResult> targetVehicleResults = new ArrayList<CoreMergeVehicleResult>();
-        List<CoreMergeVehicleResult> mergeVehicleResults = new ArrayList<CoreMergeVehicleResult>();
-
-        this.completedVehicles = 0;
-        this.completedMergeVehicles = 0;
-        this.completedTargetVehicles = 0;
-        double lastVehicleTime = 0;
-        double lastTargetVehicleTime = 0;
-        double lastMergeVehicleTime = 0;
-
-        this.maxDelay = Double.MIN_VALUE;
-        this.maxTargetDelay = Double.MIN_VALUE;
-        this.maxMergeDelay = Double.MIN_VALUE;
-        this.minDelay = Double.MAX_VALUE;
-        this.minTargetDelay = Double.MAX_VALUE;
-        this.minMergeDelay = Double.MAX_VALUE;
-        double totalDelay = 0;
-        double totalTargetDelay = 0;
-        double totalMergeDelay = 0;
-
+        this.statistics = new CompletionStatistics();
+        this.targetStatistics = new CompletionStatistics();
+        this.mergeStatistics = new CompletionStatistics();
         for(CoreMergeVehicleResult result : vehicleResults) {
-            //Split Vehicles
-            if(result.getStartingRoad() == RoadNames.TARGET_ROAD.toString()) {
-                targetVehicleResults.add(result);
-                //Completed Vehicles
-                this.completedTargetVehicles++;
-                //Throughput Help
-                if(lastTargetVehicleTime < result.getFinishTime())
-                    lastTargetVehicleTime = result.getFinishTime();
-                //Delay
-                if(maxTargetDelay < result.getDelayTime())
-                    maxTargetDelay = result.getDelayTime();
-                if(minTargetDelay > result.getDelayTime())
-                    minTargetDelay = result.getDelayTime();
-                totalTargetDelay += result.getDelayTime();
-
-            }
-            else if(result.getStartingRoad() == RoadNames.MERGING_ROAD.toString()) {
-                mergeVehicleResults.add(result);
-                //Completed Vehicles
-                this.completedMergeVehicles++;
-                //Throughput Help
-                if(lastMergeVehicleTime < result.getFinishTime())
-                    lastMergeVehicleTime = result.getFinishTime();
-                //Delay
-                if(maxMergeDelay < result.getDelayTime())
-                    maxMergeDelay = result.getDelayTime();
-                if(minMergeDelay > result.getDelayTime())
-                    minMergeDelay = result.getDelayTime();
-                totalMergeDelay += result.getDelayTime();
-            }
-            //Completed Vehicles
-            this.completedVehicles++;
-            //Throughput Help
-            if(lastVehicleTime < result.getFinishTime())
-                lastVehicleTime = result.getFinishTime();
-            //Delay
-            if(maxDelay < result.getDelayTime())
-                maxDelay = result.getDelayTime();
-            if(minDelay > result.getDelayTime())
-                minDelay = result.getDelayTime();
-            totalDelay += result.getDelayTime();
+            addToStatistics(result);
         }
-        //Average Delay
-        this.averageDelay = totalDelay / completedVehicles;
-        this.averageTargetDelay = totalTargetDelay / completedTargetVehicles;
-        this.averageMergeDelay = totalMergeDelay / completedMergeVehicles;
-
-        //Std. Dev Delay
-        this.stdDevDelay = calculateStdDeviationDelay(vehicleResults, averageDelay);
-        this.stdDevTargetDelay = calculateStdDeviationDelay(targetVehicleResults, averageTargetDelay);
-        this.stdDevMergeDelay = calculateStdDeviationDelay(mergeVehicleResults, averageMergeDelay);
-
-        //Throughput
-        this.throughput = completedVehicles / lastVehicleTime;
-        this.throughputTarget = completedTargetVehicles / lastTargetVehicleTime;
-        this.throughputMerge = completedMergeVehicles / lastMergeVehicleTime;
+    }
+
+    /**
+     * Add the result of a vehicle that has just completed.  The statistics
+     * are updated in constant time, so a result can be kept up to date
+     * while the simulation runs.
+     *
+     * @param result  the result of the vehicle
+     */
+    public void add(CoreMergeVehicleResult result) {
+        vehicleResults.add(result);
+        addToStatistics(result);
     }
 
     public List<CoreMergeVehicleResult> getVehicleResults() {
         return vehicleResults;
     }
 
+    public CompletionStatistics getStatistics() {
+        return statistics;
+    }
+
+    public CompletionStatistics getTargetStatistics() {
+        return targetStatistics;
+    }
+
+    public CompletionStatistics getMergeStatistics() {
+        return mergeStatistics;
+    }
+
     public double getMaxDelay() {
-        return maxDelay;
+        return statistics.getMaxDelay();
     }
 
     public double getMaxTargetDelay() {
-        return maxTargetDelay;
+        return targetStatistics.getMaxDelay();
     }
 
     public double getMaxMergeDelay() {
-        return maxMergeDelay;
+        return mergeStatistics.getMaxDelay();
     }
 
     public double getMinDelay() {
-        return minDelay;
+        return statistics.getMinDelay();
     }
 
     public double getMinTargetDelay() {
-        return minTargetDelay;
+        return targetStatistics.getMinDelay();
     }
 
     public double getMinMergeDelay() {
-        return minMergeDelay;
+        return mergeStatistics.getMinDelay();
     }
 
     public double getAverageDelay() {
-        return averageDelay;
+        return statistics.getAverageDelay();
     }
 
     public double getAverageTargetDelay() {
-        return averageTargetDelay;
+        return targetStatistics.getAverageDelay();
     }
 
     public double getAverageMergeDelay() {
-        return averageMergeDelay;
+        return mergeStatistics.getAverageDelay();
     }
 
-    public double getStdDevDelay() { return stdDevDelay; }
+    public double getStdDevDelay() { return statistics.getStdDevDelay(); }
+
+    public double getStdDevTargetDelay() { return targetStatistics.getStdDevDelay(); }
+
+    public double getStdDevMergeDelay() { return mergeStatistics.getStdDevDelay(); }
+
+    public double getMedianDelay() { return statistics.getDelayAtQuantile(0.5); }
+
+    public double getMedianTargetDelay() { return targetStatistics.getDelayAtQuantile(0.5); }
+
+    public double getMedianMergeDelay() { return mergeStatistics.getDelayAtQuantile(0.5); }
+
+    public double get95thPercentileDelay() { return statistics.getDelayAtQuantile(0.95); }
 
-    public double getStdDevTargetDelay() { return stdDevTargetDelay; }
+    public double get95thPercentileTargetDelay() { return targetStatistics.getDelayAtQuantile(0.95); }
 
-    public double getStdDevMergeDelay() { return stdDevMergeDelay; }
+    public double get95thPercentileMergeDelay() { return mergeStatistics.getDelayAtQuantile(0.95); }
 
     public double getThroughput() {
-        return throughput;
+        return statistics.getThroughput();
     }
 
     public double getThroughputTarget() {
-        return throughputTarget;
+        return targetStatistics.getThroughput();
     }
 
     public double getThroughputMerge() {
-        return throughputMerge;
+        return mergeStatistics.getThroughput();
     }
 
     public double getCompletedVehicles() {
-        return completedVehicles;
+        return statistics.getCount();
     }
 
     public double getCompletedTargetVehicles() {
-        return completedTargetVehicles;
+        return targetStatistics.getCount();
     }
 
     public double getCompletedMergeVehicles() {
-        return completedMergeVehicles;
+        return mergeStatistics.getCount();
     }
 
     public String produceCSVString() {
@@ -234,6 +186,18 @@ public class CoreMergeResult implements SimulatorResult {
         sb.append("Completed Target Vehicles");
         sb.append(',');
         sb.append("Completed Merge Vehicles");
+        sb.append(',');
+        sb.append("Median Delay");
+        sb.append(',');
+        sb.append("Median Target Delay");
+        sb.append(',');
+        sb.append("Median Merge Delay");
+        sb.append(',');
+        sb.append("95th Percentile Delay");
+        sb.append(',');
+        sb.append("95th Percentile Target Delay");
+        sb.append(',');
+        sb.append("95th Percentile Merge Delay");
 
         return sb.toString();
     }
@@ -275,6 +239,18 @@ public class CoreMergeResult implements SimulatorResult {
         sb.append(getCompletedTargetVehicles());
         sb.append(',');
         sb.append(getCompletedMergeVehicles());
+        sb.append(',');
+        sb.append(getMedianDelay());
+        sb.append(',');
+        sb.append(getMedianTargetDelay());
+        sb.append(',');
+        sb.append(getMedianMergeDelay());
+        sb.append(',');
+        sb.append(get95thPercentileDelay());
+        sb.append(',');
+        sb.append(get95thPercentileTargetDelay());
+        sb.append(',');
+        sb.append(get95thPercentileMergeDelay());
 
         return sb.toString();
     }
@@ -335,15 +311,12 @@ public class CoreMergeResult implements SimulatorResult {
         return sb.toString();
     }
 
-    private double calculateStdDeviationDelay(List<CoreMergeVehicleResult> results, double mean) {
-        double variance = 0;
-
-        double temp = 0;
-        for(CoreMergeVehicleResult result : results) {
-            temp += (result.getDelayTime() - mean)*(result.getDelayTime() - mean);
-        }
-        variance = temp / results.size();
-
-        return Math.sqrt(variance);
+    private void addToStatistics(CoreMergeVehicleResult result) {
+        //Split Vehicles
+        if(result.getStartingRoad() == RoadNames.TARGET_ROAD.toString())
+            targetStatistics.add(result.getDelayTime(), result.getFinishTime());
+        else if(result.getStartingRoad() == RoadNames.MERGING_ROAD.toString())
+            mergeStatistics.add(result.getDelayTime(), result.getFinishTime());
+        statistics.add(result.getDelayTime(), result.getFinishTime());
     }
 }
@@ -1,9 +1,13 @@
 package aim4.sim.results;
 
+import java.io.Serializable;
+
 /**
  * Created by Callum on 21/04/2017.
  */ //Nested Class
-public class CoreMergeVehicleResult {
+public class CoreMergeVehicleResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private int vin;
     private String startingRoad;
     private String specType;
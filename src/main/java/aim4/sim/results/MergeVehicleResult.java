@@ -1,9 +1,13 @@
 package aim4.sim.results;
 
+import java.io.Serializable;
+
 /**
  * Created by Callum on 21/04/2017.
  */
-public class MergeVehicleResult {
+public class MergeVehicleResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private int vin;
     private String startingRoad;
     private String specType;
@@ -1,13 +1,15 @@
 package aim4.sim.results;
 
-import aim4.util.Util;
-
+import java.util.ArrayList;
 import java.util.List;
 
 public class Result implements SimulatorResult{
     private List<VehicleResult> vehicleResults;
     private double throughput;
     private int completedVehicles;
+    /** The vehicle results indexed by start time, built on first use */
+    private VehicleResultIndex startTimeIndex;
+
     public Result(List<VehicleResult> vehicleResults) {
         this.vehicleResults = vehicleResults;
 
@@ -40,6 +42,117 @@ public class Result implements SimulatorResult{
         return completedVehicles;
     }
 
+    /**
+     * Find the vehicle which started at the given time, i.e. the vehicle
+     * from the same spawn in another protocol's run. If several vehicles
+     * started at that time, the first one in the results is returned.
+     *
+     * @param startTime the start time of the vehicle
+     * @return the matching vehicle result, or null if there is none
+     */
+    public VehicleResult findVehicleResult(double startTime) {
+        if (vehicleResults == null) {
+            return null;
+        }
+        if (startTimeIndex == null) {
+            startTimeIndex = new VehicleResultIndex(vehicleResults);
+        }
+        return startTimeIndex.find(startTime);
+    }
+
+    /**
+     * Produce the results the vehicles would have had without other traffic, i.e. each vehicle finishing its
+     * expected travel time after it started. These take the place of the results of an optimal protocol's run when
+     * computing delays. Vehicles without an expected travel time are left out.
+     *
+     * @return the results of the unobstructed vehicles
+     */
+    public Result produceExpectedResult() {
+        List<VehicleResult> expectedResults = new ArrayList<VehicleResult>();
+        if (vehicleResults != null) {
+            for (VehicleResult vr : vehicleResults) {
+                if (!Double.isNaN(vr.getExpectedTravelTime())) {
+                    expectedResults.add(new VehicleResult(
+                            vr.getVin(),
+                            vr.getSpecType(),
+                            vr.getStartTime(),
+                            vr.getStartTime() + vr.getExpectedTravelTime(),
+                            Double.NaN,
+                            Double.NaN,
+                            Double.NaN,
+                            vr.getExpectedTravelTime()
+                    ));
+                }
+            }
+        }
+        return new Result(expectedResults);
+    }
+
+    /**
+     * Compare the expected travel times of these vehicles with the travel times of the vehicles spawned at the same
+     * time in an optimal protocol's run.
+     *
+     * @param optimalProtocolResult the results of the optimal protocol's run
+     * @return a CSV of the expected and simulated travel time of each matched vehicle and their difference, preceded
+     *         by the mean and the maximum absolute difference
+     */
+    public String produceExpectedTravelTimeDiscrepancyCSVString(Result optimalProtocolResult) {
+        StringBuilder rows = new StringBuilder();
+        double sum = 0.0;
+        double max = 0.0;
+        int count = 0;
+        for (VehicleResult vr : vehicleResults) {
+            VehicleResult optimalMatchingVehicle = optimalProtocolResult.findVehicleResult(vr.getStartTime());
+            if (optimalMatchingVehicle != null && !Double.isNaN(vr.getExpectedTravelTime())) {
+                double simulated = optimalMatchingVehicle.getFinishTime() - optimalMatchingVehicle.getStartTime();
+                double discrepancy = vr.getExpectedTravelTime() - simulated;
+                sum += Math.abs(discrepancy);
+                max = Math.max(max, Math.abs(discrepancy));
+                count++;
+                rows.append(vr.getVin());
+                rows.append(',');
+                rows.append(vr.getSpecType());
+                rows.append(',');
+                rows.append(vr.getStartTime());
+                rows.append(',');
+                rows.append(vr.getExpectedTravelTime());
+                rows.append(',');
+                rows.append(simulated);
+                rows.append(',');
+                rows.append(discrepancy);
+                rows.append('\n');
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("Mean Abs. Discrepancy");
+        sb.append(',');
+        sb.append("Max Abs. Discrepancy");
+        sb.append(',');
+        sb.append("Matched Vehicles");
+        sb.append('\n');
+        sb.append(sum / count);
+        sb.append(',');
+        sb.append(max);
+        sb.append(',');
+        sb.append(count);
+        sb.append('\n');
+        sb.append('\n');
+        sb.append("VIN");
+        sb.append(',');
+        sb.append("Vehicle Spec");
+        sb.append(',');
+        sb.append("Start Time");
+        sb.append(',');
+        sb.append("Expected Travel Time");
+        sb.append(',');
+        sb.append("Simulated Travel Time");
+        sb.append(',');
+        sb.append("Discrepancy");
+        sb.append('\n');
+        sb.append(rows);
+        return sb.toString();
+    }
+
     public String produceRIMVsRIMOptimalCSVString(String rimProtocol, Result rimProtocolResult, int rimNumOfVehiclesWhichCouldNotBeSpawned, int rimNumOfVehiclesSpawned,
                                                   String optimalProtocol, Result optimalProtocolResult, int rimOptimalNumOfVehiclesWhichCouldNotBeSpawned, int rimOptimalNumOfVehiclesSpawned) {
         StringBuilder sb = new StringBuilder();
@@ -120,20 +233,8 @@ public class Result implements SimulatorResult{
         double sum = 0.0;
         int count = 0;
         for (VehicleResult vr : vehicleResults) {
-            VehicleResult firstProtocolMatchingVehicle = null;
-            VehicleResult secondProtocolMatchingVehicle = null;
-            for (VehicleResult match : firstProtocolResult.getVehicleResults()) {
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())) {
-                    firstProtocolMatchingVehicle = match;
-                    break;
-                }
-            }
-            for (VehicleResult match : secondProtocolResult.getVehicleResults()) {
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())) {
-                    secondProtocolMatchingVehicle = match;
-                    break;
-                }
-            }
+            VehicleResult firstProtocolMatchingVehicle = firstProtocolResult.findVehicleResult(vr.getStartTime());
+            VehicleResult secondProtocolMatchingVehicle = secondProtocolResult.findVehicleResult(vr.getStartTime());
             if (firstProtocolMatchingVehicle!=null && secondProtocolMatchingVehicle != null){
                 sum += firstProtocolMatchingVehicle.getFinishTime() - secondProtocolMatchingVehicle.getFinishTime();
                 count++;
@@ -440,13 +541,7 @@ public class Result implements SimulatorResult{
             sb.append(',');
             sb.append(',');
 
-            VehicleResult matchingVehicle = null;
-            for (VehicleResult match : secondProtocolResult.getVehicleResults()) {
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())) {
-                    matchingVehicle = match;
-                    break;
-                }
-            }
+            VehicleResult matchingVehicle = secondProtocolResult.findVehicleResult(vr.getStartTime());
             if (matchingVehicle != null) {
                 sb.append(matchingVehicle.getVin());
                 sb.append(',');
@@ -509,41 +604,11 @@ public class Result implements SimulatorResult{
             sb.append(',');
             sb.append(',');
 
-            VehicleResult rimOptimalMatchingVehicle = null;
-            VehicleResult rimStopSignMatchingVehicle = null;
-            VehicleResult aimCrossMatchingVehicle = null;
-            VehicleResult aimCrossOptimalMatchingVehicle = null;
-            VehicleResult aimCrossStopSignMatchingVehicle = null;
-            for (VehicleResult match: rimOptimalProtocolResult.getVehicleResults()){
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())){
-                    rimOptimalMatchingVehicle = match;
-                    break;
-                }
-            }
-            for (VehicleResult match: rimStopSignProtocolResult.getVehicleResults()){
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())){
-                    rimStopSignMatchingVehicle = match;
-                    break;
-                }
-            }
-            for (VehicleResult match: aimCrossProtocolResult.getVehicleResults()){
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())){
-                    aimCrossMatchingVehicle = match;
-                    break;
-                }
-            }
-            for (VehicleResult match: aimCrossOptimalProtocolResult.getVehicleResults()){
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())){
-                    aimCrossOptimalMatchingVehicle = match;
-                    break;
-                }
-            }
-            for (VehicleResult match: aimCrossStopSignProtocolResult.getVehicleResults()){
-                if (Util.isDoubleEqual(vr.getStartTime(), match.getStartTime())){
-                    aimCrossStopSignMatchingVehicle = match;
-                    break;
-                }
-            }
+            VehicleResult rimOptimalMatchingVehicle = rimOptimalProtocolResult.findVehicleResult(vr.getStartTime());
+            VehicleResult rimStopSignMatchingVehicle = rimStopSignProtocolResult.findVehicleResult(vr.getStartTime());
+            VehicleResult aimCrossMatchingVehicle = aimCrossProtocolResult.findVehicleResult(vr.getStartTime());
+            VehicleResult aimCrossOptimalMatchingVehicle = aimCrossOptimalProtocolResult.findVehicleResult(vr.getStartTime());
+            VehicleResult aimCrossStopSignMatchingVehicle = aimCrossStopSignProtocolResult.findVehicleResult(vr.getStartTime());
             if (rimOptimalMatchingVehicle != null) {
                 sb.append(rimOptimalMatchingVehicle.getVin());
                 sb.append(',');
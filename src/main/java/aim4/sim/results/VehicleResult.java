@@ -1,6 +1,10 @@
 package aim4.sim.results;
 
-public class VehicleResult {
+import java.io.Serializable;
+
+public class VehicleResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private int vin;
     private String specType;
     private double startTime;
@@ -8,8 +12,15 @@ public class VehicleResult {
     private double finalVelocity;
     private double maxVelocity;
     private double minVelocity;
+    /** The time the vehicle would have taken without other traffic, NaN if unknown */
+    private double expectedTravelTime;
 
     public VehicleResult(int vin, String specType, double startTime, double finishTime, double finalVelocity, double maxVelocity, double minVelocity) {
+        this(vin, specType, startTime, finishTime, finalVelocity, maxVelocity, minVelocity, Double.NaN);
+    }
+
+    public VehicleResult(int vin, String specType, double startTime, double finishTime, double finalVelocity, double maxVelocity, double minVelocity,
+                         double expectedTravelTime) {
         this.vin = vin;
         this.specType = specType;
         this.startTime = startTime;
@@ -17,6 +28,7 @@ public class VehicleResult {
         this.finalVelocity = finalVelocity;
         this.maxVelocity = maxVelocity;
         this.minVelocity = minVelocity;
+        this.expectedTravelTime = expectedTravelTime;
     }
 
     public int getVin() {
@@ -46,4 +58,8 @@ public class VehicleResult {
     public double getMinVelocity() {
         return minVelocity;
     }
+
+    public double getExpectedTravelTime() {
+        return expectedTravelTime;
+    }
 }
@@ -0,0 +1,71 @@
+package aim4.sim.results;
+
+import aim4.config.Constants;
+import aim4.util.Util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of vehicle results by start time, used to match the vehicles of
+ * one protocol run with those of another run of the same spawn schedule.
+ * The start times are hashed into buckets twice as wide as the double
+ * equality precision, so every start time equal to a given one lies in the
+ * same bucket or one of its two neighbours.
+ */
+class VehicleResultIndex {
+    private static final double BUCKET_WIDTH = 2 * Constants.DOUBLE_EQUAL_PRECISION;
+
+    private List<VehicleResult> vehicleResults;
+    /** The positions in vehicleResults of the results in each bucket, in order */
+    private Map<Long, List<Integer>> bucketToPositions;
+
+    VehicleResultIndex(List<VehicleResult> vehicleResults) {
+        this.vehicleResults = vehicleResults;
+        this.bucketToPositions = new HashMap<Long, List<Integer>>();
+        for (int i = 0; i < vehicleResults.size(); i++) {
+            long bucket = bucketOf(vehicleResults.get(i).getStartTime());
+            List<Integer> positions = bucketToPositions.get(bucket);
+            if (positions == null) {
+                positions = new ArrayList<Integer>(1);
+                bucketToPositions.put(bucket, positions);
+            }
+            positions.add(i);
+        }
+    }
+
+    /**
+     * Find the first vehicle result, in list order, whose start time is
+     * equal to the given one within the double equality precision. This is
+     * the result a linear scan of the list would find.
+     *
+     * @param startTime the start time
+     * @return the first matching vehicle result, or null if there is none
+     */
+    VehicleResult find(double startTime) {
+        long bucket = bucketOf(startTime);
+        int first = Integer.MAX_VALUE;
+        for (long b = bucket - 1; b <= bucket + 1; b++) {
+            List<Integer> positions = bucketToPositions.get(b);
+            if (positions == null) {
+                continue;
+            }
+            for (int i : positions) {
+                if (i >= first) {
+                    break;
+                }
+                if (Util.isDoubleEqual(startTime, vehicleResults.get(i).getStartTime())) {
+                    first = i;
+                    break;
+                }
+            }
+        }
+        return first == Integer.MAX_VALUE ? null : vehicleResults.get(first);
+    }
+
+    private static long bucketOf(double startTime) {
+        return (long) Math.floor(startTime / BUCKET_WIDTH);
+    }
+}
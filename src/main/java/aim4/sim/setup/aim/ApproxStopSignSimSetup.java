@@ -38,6 +38,7 @@ import aim4.map.aim.GridAIMIntersectionMap;
 import aim4.map.aim.GridMapUtil;
 import aim4.sim.Simulator;
 import aim4.sim.simulator.aim.AutoDriverOnlySimulator;
+import aim4.util.RandomStreams;
 
 /**
  * The setup for the simulator in which the intersections are controlled
@@ -108,6 +109,7 @@ public class ApproxStopSignSimSetup extends BasicSimSetup
    */
   @Override
   public Simulator getSimulator() {
+    RandomStreams.restartExperiment();
     double currentTime = 0.0;
     GridAIMIntersectionMap layout = new GridAIMIntersectionMap(currentTime,
                                        numOfColumns,
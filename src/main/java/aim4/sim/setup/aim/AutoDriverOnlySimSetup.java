@@ -40,6 +40,7 @@ import aim4.map.aim.GridAIMIntersectionMap;
 import aim4.map.aim.GridMapUtil;
 import aim4.sim.Simulator;
 import aim4.sim.simulator.aim.AutoDriverOnlySimulator;
+import aim4.util.RandomStreams;
 
 import java.io.File;
 
@@ -232,6 +233,7 @@ public class AutoDriverOnlySimSetup extends BasicSimSetup implements AIMSimSetup
    */
   @Override
   public Simulator getSimulator() {
+    RandomStreams.restartExperiment();
     double currentTime = 0.0;
     GridAIMIntersectionMap layout = new GridAIMIntersectionMap(currentTime,
             numOfColumns,
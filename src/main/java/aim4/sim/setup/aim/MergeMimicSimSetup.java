@@ -10,6 +10,7 @@ import aim4.map.aim.GridAIMIntersectionMap;
 import aim4.map.aim.GridMapUtil;
 import aim4.sim.simulator.aim.AIMSimulator;
 import aim4.sim.simulator.aim.AutoDriverOnlySimulator;
+import aim4.util.RandomStreams;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
 import aim4.vehicle.aim.AIMVehicleSimModel;
@@ -68,6 +69,7 @@ public class MergeMimicSimSetup implements AIMSimSetup {
 
     @Override
     public AIMSimulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         GridAIMIntersectionMap layout = new GridAIMIntersectionMap(
                 currentTime, //Current time
@@ -6,6 +6,7 @@ import aim4.map.cpm.CPMMapUtil;
 import aim4.map.cpm.CPMCarParkWithStatus;
 import aim4.sim.simulator.cpm.CPMAutoDriverSimulator;
 import aim4.sim.Simulator;
+import aim4.util.RandomStreams;
 
 /**
  * Setup for simulation of AVs in an AV specific car park which are self-organising.
@@ -26,6 +27,7 @@ public class CPMAutoDriverSimSetup extends BasicCPMSimSetup {
      */
     @Override
     public Simulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
 
         CPMBasicMap layout = new CPMCarParkWithStatus(laneWidth, // laneWidth
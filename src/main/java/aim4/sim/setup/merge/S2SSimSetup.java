@@ -1,16 +1,21 @@
 package aim4.sim.setup.merge;
 
 import aim4.config.SimConfig;
+import aim4.im.merge.MergeManager;
 import aim4.im.merge.reservation.grid.ReservationMergeGridManager;
 import aim4.im.merge.reservation.nogrid.ReservationMergeManager;
+import aim4.map.lane.Lane;
 import aim4.map.merge.MergeMapUtil;
 import aim4.map.merge.S2SMergeMap;
+import aim4.sim.TravelTimeOracle;
 import aim4.sim.setup.merge.enums.ProtocolType;
 import aim4.sim.simulator.merge.CoreMergeSimulator;
 import aim4.sim.simulator.merge.MergeSimulator;
 import aim4.sim.simulator.merge.V2IMergeSimulator;
+import aim4.util.RandomStreams;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
+import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.merge.MergeVehicleSimModel;
 
 import java.io.File;
@@ -56,6 +61,8 @@ public class S2SSimSetup implements MergeSimSetup {
     File targetSpawnSchedule;
     /**The json file dictating merge spawn times and types**/
     File mergeSpawnSchedule;
+    /**The oracle of the expected travel times, which keeps them across the simulators of this setup**/
+    private final TravelTimeOracle oracle = new TravelTimeOracle();
 
     public S2SSimSetup(ProtocolType protocol, double trafficLevel,
                             double targetLaneSpeedLimit, double mergingLaneSpeedLimit,
@@ -89,14 +96,28 @@ public class S2SSimSetup implements MergeSimSetup {
 
     @Override
     public MergeSimulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         S2SMergeMap layout = new S2SMergeMap(currentTime,
                 targetLaneSpeedLimit, mergingLaneSpeedLimit,
                 targetLeadInDistance, targetLeadOutDistance,
                 mergeLeadInDistance, mergingAngle);
 
-        Map<String, Double> specToExpectedTimeMergeLane = simulateExpectedMergeLaneTimes(layout);
-        Map<String, Double> specToExpectedTimeTargetLane = simulateExpectedTargetLaneTimes(layout);
+        Map<String, Double> specToExpectedTimeMergeLane;
+        Map<String, Double> specToExpectedTimeTargetLane;
+        if(SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.ORACLE) {
+            specToExpectedTimeMergeLane = estimateExpectedMergeLaneTimes(layout);
+            specToExpectedTimeTargetLane = estimateExpectedTargetLaneTimes(layout);
+        } else {
+            specToExpectedTimeMergeLane = simulateExpectedMergeLaneTimes(layout);
+            specToExpectedTimeTargetLane = simulateExpectedTargetLaneTimes(layout);
+            if(SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.VALIDATION) {
+                System.err.print(produceDiscrepancyReport("merge lane",
+                        estimateExpectedMergeLaneTimes(layout), specToExpectedTimeMergeLane));
+                System.err.print(produceDiscrepancyReport("target lane",
+                        estimateExpectedTargetLaneTimes(layout), specToExpectedTimeTargetLane));
+            }
+        }
 
         switch(mergingProtocol){
             case AIM_GRID:
@@ -133,6 +154,72 @@ public class S2SSimSetup implements MergeSimSetup {
     }
 
 
+    private Map<String, Double> estimateExpectedMergeLaneTimes(S2SMergeMap mapOriginal) {
+        final S2SMergeMap map = createOracleMap(mapOriginal);
+        final MergeManager mergeManager = map.getMergeManagers().get(0);
+        final Lane mergeLane = map.getMergeSpawnPoint().getLane();
+        final Lane targetLane = map.getTargetSpawnPoint().getLane();
+        double distanceToMerge =
+                mergeLane.distanceAlongLane(mergeManager.getMergeConnection().getEntryPoint(mergeLane));
+        TravelTimeOracle.Route route = new TravelTimeOracle.Route("merge lane")
+                .addSegment(distanceToMerge, mergeLane.getSpeedLimit())
+                .addVelocityCap(new TravelTimeOracle.VelocityCap() {
+                    @Override
+                    public double getMaxVelocity(VehicleSpec spec) {
+                        return VehicleUtil.maxTurnVelocity(spec, mergeLane, targetLane, mergeManager, map);
+                    }
+                })
+                .addSegment(mergeLane.getLength() - distanceToMerge, mergeLane.getSpeedLimit())
+                .addSegment(targetLane.remainingDistanceAlongLane(mergeLane.getEndPoint()),
+                        targetLane.getSpeedLimit());
+        return oracle.getTraversalTimes(route);
+    }
+
+    private Map<String, Double> estimateExpectedTargetLaneTimes(S2SMergeMap mapOriginal) {
+        final S2SMergeMap map = createOracleMap(mapOriginal);
+        final MergeManager mergeManager = map.getMergeManagers().get(0);
+        final Lane targetLane = map.getTargetSpawnPoint().getLane();
+        double distanceToMerge =
+                targetLane.distanceAlongLane(mergeManager.getMergeConnection().getEntryPoint(targetLane));
+        TravelTimeOracle.Route route = new TravelTimeOracle.Route("target lane")
+                .addSegment(distanceToMerge, targetLane.getSpeedLimit())
+                .addVelocityCap(new TravelTimeOracle.VelocityCap() {
+                    @Override
+                    public double getMaxVelocity(VehicleSpec spec) {
+                        return VehicleUtil.maxTurnVelocity(spec, targetLane, targetLane, mergeManager, map);
+                    }
+                })
+                .addSegment(targetLane.getLength() - distanceToMerge, targetLane.getSpeedLimit());
+        return oracle.getTraversalTimes(route);
+    }
+
+    /**
+     * The oracle limits the speed at the merge point in the same way as the lone vehicles simulated under the queue
+     * protocol, so it needs a copy of the map with queue merge managers.
+     */
+    private S2SMergeMap createOracleMap(S2SMergeMap mapOriginal) {
+        S2SMergeMap map = new S2SMergeMap(mapOriginal);
+        MergeMapUtil.setQueueMergeManagers(map, 0.0);
+        return map;
+    }
+
+    /**
+     * Produces a table of the oracle's and the simulated travel time of each vehicle specification on a lane, and
+     * their difference.
+     */
+    static String produceDiscrepancyReport(String laneName,
+                                           Map<String, Double> estimatedTimes, Map<String, Double> simulatedTimes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Expected %s travel times (oracle vs. simulation):%n", laneName));
+        for(String specName : simulatedTimes.keySet()) {
+            double estimated = estimatedTimes.get(specName);
+            double simulated = simulatedTimes.get(specName);
+            sb.append(String.format("  %-12s oracle %8.3f  simulation %8.3f  difference %+.3f%n",
+                    specName, estimated, simulated, estimated - simulated));
+        }
+        return sb.toString();
+    }
+
     private Map<String, Double> simulateExpectedMergeLaneTimes(S2SMergeMap mapOriginal) {
         Map<String, Double> specToExpectedTime = new HashMap<String, Double>();
         for(int specID = 0; specID < VehicleSpecDatabase.getNumOfSpec(); specID++) {
@@ -5,6 +5,7 @@ import aim4.map.merge.SingleLaneOnlyMap;
 import aim4.sim.setup.merge.enums.ProtocolType;
 import aim4.sim.simulator.merge.CoreMergeSimulator;
 import aim4.sim.simulator.merge.MergeSimulator;
+import aim4.util.RandomStreams;
 
 /**
  * Created by Callum on 26/03/2017.
@@ -22,6 +23,7 @@ public class SingleLaneSimSetup implements MergeSimSetup {
 
     @Override
     public MergeSimulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         SingleLaneOnlyMap map = new SingleLaneOnlyMap(currentTime, speedLimit, laneLength);
         MergeMapUtil.setUniformSpawnSpecGenerator(map, trafficRate);
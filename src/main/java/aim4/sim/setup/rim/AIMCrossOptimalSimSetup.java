@@ -11,6 +11,7 @@ import aim4.map.aim.GridRIMIntersectionMap;
 import aim4.sim.Simulator;
 import aim4.sim.setup.aim.BasicSimSetup;
 import aim4.sim.simulator.aim.AIMOptimalSimulator;
+import aim4.util.RandomStreams;
 
 import java.io.File;
 
@@ -199,6 +200,7 @@ public class AIMCrossOptimalSimSetup extends aim4.sim.setup.aim.BasicSimSetup im
      */
     @Override
     public Simulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         GridRIMIntersectionMap layout = new GridRIMIntersectionMap(currentTime,
                 numOfColumns,
@@ -12,6 +12,7 @@ import aim4.sim.Simulator;
 import aim4.sim.setup.aim.AutoDriverOnlySimSetup;
 import aim4.sim.setup.aim.BasicSimSetup;
 import aim4.sim.simulator.aim.AutoDriverOnlySimulator;
+import aim4.util.RandomStreams;
 
 import java.io.File;
 
@@ -213,6 +214,7 @@ public class AIMCrossSimSetup extends aim4.sim.setup.aim.BasicSimSetup implement
      */
     @Override
     public Simulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         GridRIMIntersectionMap layout = new GridRIMIntersectionMap(currentTime,
                 numOfColumns,
@@ -310,7 +312,10 @@ public class AIMCrossSimSetup extends aim4.sim.setup.aim.BasicSimSetup implement
 
         V2IPilot.DEFAULT_STOP_DISTANCE_BEFORE_INTERSECTION =
                 stopDistBeforeIntersection;
-        return new AutoDriverOnlySimulator(layout);
+        AutoDriverOnlySimulator simulator = new AutoDriverOnlySimulator(layout);
+        simulator.setRecordExpectedTravelTimes(
+                SimConfig.EXPECTED_TRAVEL_TIME_MODE != SimConfig.ExpectedTravelTimeMode.SIMULATION);
+        return simulator;
     }
 
     private void setSpawnSpecs(GridRIMIntersectionMap layout) {
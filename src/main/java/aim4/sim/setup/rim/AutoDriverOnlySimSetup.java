@@ -10,6 +10,7 @@ import aim4.map.rim.RimIntersectionMap;
 import aim4.map.rim.RimMapUtil;
 import aim4.sim.Simulator;
 import aim4.sim.simulator.rim.AutoDriverOnlySimulator;
+import aim4.util.RandomStreams;
 
 import java.io.File;
 
@@ -185,6 +186,7 @@ public class AutoDriverOnlySimSetup extends BasicSimSetup implements RIMSimSetup
      */
     @Override
     public Simulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         RimIntersectionMap layout = new RimIntersectionMap(currentTime,
                 numOfColumns,
@@ -274,7 +276,10 @@ public class AutoDriverOnlySimSetup extends BasicSimSetup implements RIMSimSetup
 
         V2IPilot.DEFAULT_STOP_DISTANCE_BEFORE_INTERSECTION =
                 stopDistBeforeIntersection;
-        return new AutoDriverOnlySimulator(layout);
+        AutoDriverOnlySimulator simulator = new AutoDriverOnlySimulator(layout);
+        simulator.setRecordExpectedTravelTimes(
+                SimConfig.EXPECTED_TRAVEL_TIME_MODE != SimConfig.ExpectedTravelTimeMode.SIMULATION);
+        return simulator;
     }
 
     private void setSpawnSpecs(BasicRIMIntersectionMap layout) {
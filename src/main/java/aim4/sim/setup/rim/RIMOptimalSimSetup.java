@@ -10,6 +10,7 @@ import aim4.map.rim.RimIntersectionMap;
 import aim4.map.rim.RimMapUtil;
 import aim4.sim.Simulator;
 import aim4.sim.simulator.rim.RIMOptimalSimulator;
+import aim4.util.RandomStreams;
 
 import java.io.File;
 
@@ -172,6 +173,7 @@ public class RIMOptimalSimSetup extends BasicSimSetup implements RIMSimSetup{
      */
     @Override
     public Simulator getSimulator() {
+        RandomStreams.restartExperiment();
         double currentTime = 0.0;
         RimIntersectionMap layout = new RimIntersectionMap(currentTime,
                 numOfColumns,
@@ -0,0 +1,311 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.sim.simulator;
+
+import aim4.config.Debug;
+import aim4.im.Manager;
+import aim4.map.BasicMap;
+import aim4.map.DataCollectionLine;
+import aim4.map.lane.Lane;
+import aim4.util.StepProfiler;
+import aim4.vehicle.VehicleSimModel;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * The step pipeline shared by the simulators of all the domains.  A
+ * simulator plugs one {@link StepPhase} into each {@link StepProfiler.Phase}
+ * it has, and the kernel runs them in the order of the phases, profiling
+ * each of them.  The kernel also holds the steps that are the same in every
+ * domain, so that they are only written once.
+ *
+ * @param <V>   the type of the vehicles of the simulator
+ * @param <M>   the type of the map of the simulator
+ * @param <IM>  the type of the managers of the map, such as the intersection
+ *              managers or the merge managers
+ */
+public class SimulatorKernel<V extends VehicleSimModel, M extends BasicMap,
+                             IM extends Manager> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /////////////////////////////////
+    // NESTED CLASSES
+    /////////////////////////////////
+
+    /**
+     * A phase of a simulation step.
+     */
+    public interface StepPhase extends Serializable {
+        /**
+         * Run the phase.
+         *
+         * @param timeStep  the time step
+         */
+        void run(double timeStep);
+    }
+
+    /////////////////////////////////
+    // PRIVATE FIELDS
+    /////////////////////////////////
+
+    /** The map */
+    private final M map;
+    /** The managers of the map */
+    private final List<? extends IM> managers;
+    /** All active vehicles, in form of a map from VINs to vehicle objects. */
+    private final Map<Integer, V> vinToVehicles;
+    /** The profiler of the phases of the steps */
+    private final StepProfiler profiler;
+    /** The phases of a step, in the order they are run */
+    private final EnumMap<StepProfiler.Phase, StepPhase> phases =
+            new EnumMap<StepProfiler.Phase, StepPhase>(StepProfiler.Phase.class);
+
+    /////////////////////////////////
+    // CONSTRUCTORS
+    /////////////////////////////////
+
+    /**
+     * Create a kernel without any phase.
+     *
+     * @param simulatorName  the name of the simulator, which prefixes the
+     *                       names of its metrics
+     * @param map            the map of the simulator
+     * @param managers       the managers of the map, which act in the order
+     *                       of the list
+     * @param vinToVehicles  the active vehicles of the simulator, which the
+     *                       simulator keeps adding to and removing from
+     */
+    public SimulatorKernel(String simulatorName, M map,
+                           List<? extends IM> managers,
+                           Map<Integer, V> vinToVehicles) {
+        this.map = map;
+        this.managers = managers;
+        this.vinToVehicles = vinToVehicles;
+        this.profiler = new StepProfiler(simulatorName);
+    }
+
+    /////////////////////////////////
+    // PUBLIC METHODS
+    /////////////////////////////////
+
+    // phases
+
+    /**
+     * Plug a phase into the pipeline, in place of the phase already there.
+     *
+     * @param phase      the phase of the pipeline
+     * @param stepPhase  the phase to run, or null to remove it
+     */
+    public void setPhase(StepProfiler.Phase phase, StepPhase stepPhase) {
+        if (stepPhase == null) {
+            phases.remove(phase);
+        } else {
+            phases.put(phase, stepPhase);
+        }
+    }
+
+    /**
+     * Get the phase plugged into the pipeline.
+     *
+     * @param phase  the phase of the pipeline
+     * @return the phase to run, or null if there is none
+     */
+    public StepPhase getPhase(StepProfiler.Phase phase) {
+        return phases.get(phase);
+    }
+
+    // the main loop
+
+    /**
+     * Run the phases of a step, in order.  The simulator then advances its
+     * time and ends the step with {@link #endStep(double)}.
+     *
+     * @param timeStep  the time step
+     */
+    public void step(double timeStep) {
+        long t = profiler.beginStep();
+        for (Map.Entry<StepProfiler.Phase, StepPhase> entry : phases.entrySet()) {
+            if (Debug.PRINT_SIMULATOR_STAGE) {
+                System.err.printf("------SIM:%s---------------\n",
+                                  entry.getKey().getName());
+            }
+            entry.getValue().run(timeStep);
+            t = profiler.lap(entry.getKey(), t);
+        }
+    }
+
+    /**
+     * End a step.
+     *
+     * @param currentTime  the simulation time at the end of the step
+     */
+    public void endStep(double currentTime) {
+        profiler.endStep(currentTime, vinToVehicles.size());
+    }
+
+    // information retrieval
+
+    /**
+     * Get the map of the simulator.
+     *
+     * @return the map
+     */
+    public M getMap() {
+        return map;
+    }
+
+    /**
+     * Get the managers of the map.
+     *
+     * @return the managers
+     */
+    public List<? extends IM> getManagers() {
+        return managers;
+    }
+
+    /**
+     * Get the profiler of the phases of the steps.
+     *
+     * @return the profiler
+     */
+    public StepProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Whether a vehicle is still on the map.  The shape of the vehicle is
+     * only tested against the boundary of the map when the front of the
+     * vehicle is within a vehicle width of the boundary; otherwise part of
+     * the vehicle is inside the boundary for sure.
+     *
+     * @param vehicle  the vehicle
+     * @return whether the shape of the vehicle intersects the boundary of
+     *         the map
+     */
+    public boolean isOnMap(V vehicle) {
+        Rectangle2D boundary = map.getDimensions();
+        Point2D p = vehicle.getPosition();
+        double x = p.getX();
+        double y = p.getY();
+        double margin = vehicle.getSpec().getWidth();
+        if (x - margin > boundary.getMinX() && x + margin < boundary.getMaxX()
+                && y - margin > boundary.getMinY()
+                && y + margin < boundary.getMaxY()) {
+            return true;
+        }
+        return vehicle.getShape().intersects(boundary);
+    }
+
+    // common phases
+
+    /**
+     * Let the drivers of all the vehicles act.
+     */
+    public void letDriversAct() {
+        for (V vehicle : vinToVehicles.values()) {
+            vehicle.getDriver().act();
+        }
+    }
+
+    /**
+     * Let all the managers of the map act.
+     *
+     * @param timeStep  the time step
+     */
+    public void letManagersAct(double timeStep) {
+        for (IM manager : managers) {
+            manager.act(timeStep);
+        }
+    }
+
+    /**
+     * Move all the vehicles, and record those crossing the data collection
+     * lines of the map.
+     *
+     * @param timeStep     the time step
+     * @param currentTime  the current time
+     */
+    public void moveVehicles(double timeStep, double currentTime) {
+        List<DataCollectionLine> dataCollectionLines =
+                map.getDataCollectionLines();
+        for (V vehicle : vinToVehicles.values()) {
+            Point2D p1 = vehicle.getPosition();
+            vehicle.move(timeStep);
+            Point2D p2 = vehicle.getPosition();
+            for (DataCollectionLine line : dataCollectionLines) {
+                line.intersect(vehicle, currentTime, p1, p2);
+            }
+            if (Debug.isPrintVehicleStateOfVIN(vehicle.getVIN())) {
+                vehicle.printState();
+            }
+        }
+    }
+
+    /////////////////////////////////
+    // PUBLIC STATIC METHODS
+    /////////////////////////////////
+
+    /**
+     * Compute the next vehicles of all vehicles.
+     *
+     * @param vehicleLists  a mapping from lanes to lists of vehicles sorted by
+     *                      their distance on their lanes
+     * @param <V>           the type of the vehicles
+     * @return a mapping from vehicles to next vehicles
+     */
+    public static <V> Map<V, V> computeNextVehicle(
+            Map<Lane, SortedMap<Double, V>> vehicleLists) {
+        // The lists should only have mappings for start Lanes, and they should
+        // include all the Lanes they run into.  Turn this into a hash map that
+        // maps Vehicles to the next vehicle in the Lane or any Lane the Lane
+        // runs into
+        Map<V, V> nextVehicle = new HashMap<V, V>();
+        for (SortedMap<Double, V> vehicleList : vehicleLists.values()) {
+            V lastVehicle = null;
+            // Go through the Vehicles in order of their position in the Lane
+            for (V currVehicle : vehicleList.values()) {
+                if (lastVehicle != null) {
+                    nextVehicle.put(lastVehicle, currVehicle);
+                }
+                lastVehicle = currVehicle;
+            }
+        }
+        return nextVehicle;
+    }
+}
@@ -8,7 +8,6 @@ import aim4.driver.aim.pilot.V2IPilot;
 import aim4.im.aim.IntersectionManager;
 import aim4.im.aim.v2i.V2IManager;
 import aim4.map.BasicAIMIntersectionMap;
-import aim4.map.DataCollectionLine;
 import aim4.map.Road;
 import aim4.map.aim.AIMSpawnPoint;
 import aim4.map.lane.Lane;
@@ -19,7 +18,9 @@ import aim4.sim.results.MergeResult;
 import aim4.sim.results.MergeVehicleResult;
 import aim4.sim.results.Result;
 import aim4.sim.results.VehicleResult;
+import aim4.sim.simulator.SimulatorKernel;
 import aim4.util.Util;
+import aim4.util.StepProfiler;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
 import aim4.vehicle.VehicleUtil;
@@ -81,6 +82,11 @@ public class AIMOptimalSimulator implements AIMSimulator {
      * All active vehicles, in form of a map from VINs to vehicle objects.
      */
     private Map<Integer, AIMVehicleSimModel> vinToVehicles;
+    /** The kernel running the phases of the steps */
+    private final SimulatorKernel<AIMVehicleSimModel, BasicAIMIntersectionMap,
+            IntersectionManager> kernel;
+    /** The VINs of the vehicles completed in the current step */
+    private transient List<Integer> completedVINs;
     /**
      * The current time
      */
@@ -106,7 +112,7 @@ public class AIMOptimalSimulator implements AIMSimulator {
     private List<VehicleResult> vehiclesRecord;
 
     //Results Merge aids//
-    private List<MergeVehicleResult> mergeVehiclesRecord;
+    private MergeResult mergeResult;
     private Map<String, Double> specToExpectedTimeMergeLane;
     private Map<String, Double> specToExpectedTimeTargetLane;
 
@@ -143,7 +149,7 @@ public class AIMOptimalSimulator implements AIMSimulator {
             Map<String, Double> fakeDelayTimes = new HashMap<String, Double>();
             for (int specID = 0; specID < VehicleSpecDatabase.getNumOfSpec(); specID++)
                 fakeDelayTimes.put(VehicleSpecDatabase.getVehicleSpecById(specID).getName(), new Double(0));
-            this.mergeVehiclesRecord = new ArrayList<MergeVehicleResult>();
+            this.mergeResult = new MergeResult(new ArrayList<MergeVehicleResult>());
             if (specToExpectedTimeMergeLane != null)
                 this.specToExpectedTimeMergeLane = specToExpectedTimeMergeLane;
             else
@@ -161,6 +167,10 @@ public class AIMOptimalSimulator implements AIMSimulator {
         numOfVehicleSpawned = 0;
         totalBitsTransmittedByCompletedVehicles = 0;
         totalBitsReceivedByCompletedVehicles = 0;
+        kernel = new SimulatorKernel<AIMVehicleSimModel, BasicAIMIntersectionMap,
+                IntersectionManager>("aimOptimal", basicAIMIntersectionMap,
+                basicAIMIntersectionMap.getIntersectionManagers(), vinToVehicles);
+        setPhases();
     }
 
     /////////////////////////////////
@@ -176,45 +186,10 @@ public class AIMOptimalSimulator implements AIMSimulator {
     public synchronized AIMOptimalSimulatorSimStepResult step(double timeStep) {
         if (Debug.PRINT_SIMULATOR_STAGE) {
             System.err.printf("--------------------------------------\n");
-            System.err.printf("------SIM:spawnVehicles---------------\n");
         }
-        spawnVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:provideSensorInput---------------\n");
-        }
-        provideSensorInput();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letDriversAct---------------\n");
-        }
-        letDriversAct();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letIntersectionManagersAct--------------\n");
-        }
-        letIntersectionManagersAct(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:communication---------------\n");
-        }
-        communication();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:moveVehicles---------------\n");
-        }
-        moveVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:cleanUpCompletedVehicles---------------\n");
-        }
-        List<AIMVehicleSimModel> completedVehicles = calculateCompletedVehicles();
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        recordCompletedVehicles(completedVehicles);
-        updateMaxMinVelocities();
-
-        if (mergeMode) {
-            provideMergeCompletedVehiclesWithResultsInfo(completedVehicles);
-            recordMergeCompletedVehicles(completedVehicles);
-            updateMaxMinVelocities();
-        }
-
-        List<Integer> completedVINs = cleanUpCompletedVehicles();
+        kernel.step(timeStep);
         currentTime += timeStep;
+        kernel.endStep(currentTime);
         // debug
         checkClocks();
 
@@ -333,6 +308,54 @@ public class AIMOptimalSimulator implements AIMSimulator {
     // PRIVATE METHODS
     /////////////////////////////////
 
+    /**
+     * Plug the phases of a step into the kernel.
+     */
+    private void setPhases() {
+        kernel.setPhase(StepProfiler.Phase.SPAWN, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                spawnVehicles(timeStep);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.SENSOR_INPUT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                provideSensorInput();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.letDriversAct();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.IM_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.letManagersAct(timeStep);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.COMMUNICATION, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                communication();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.MOVE, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.moveVehicles(timeStep, currentTime);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                cleanUp();
+            }
+        });
+    }
+
     /////////////////////////////////
     // STEP 1
     /////////////////////////////////
@@ -520,37 +543,6 @@ public class AIMOptimalSimulator implements AIMSimulator {
         return vehicleLists;
     }
 
-    /**
-     * Compute the next vehicles of all vehicles.
-     *
-     * @param vehicleLists a mapping from lanes to lists of vehicles sorted by
-     *                     their distance on their lanes
-     * @return a mapping from vehicles to next vehicles
-     */
-    private Map<AIMVehicleSimModel, AIMVehicleSimModel> computeNextVehicle(
-            Map<Lane, SortedMap<Double, AIMVehicleSimModel>> vehicleLists) {
-        // At this point we should only have mappings for start Lanes, and they
-        // should include all the Lanes they run into.  Now we need to turn this
-        // into a hash map that maps Vehicles to the next vehicle in the Lane
-        // or any Lane the Lane runs into
-        Map<AIMVehicleSimModel, AIMVehicleSimModel> nextVehicle =
-                new HashMap<AIMVehicleSimModel, AIMVehicleSimModel>();
-        // For each of the ordered lists of vehicles
-        for (SortedMap<Double, AIMVehicleSimModel> vehicleList : vehicleLists.values()) {
-            AIMVehicleSimModel lastVehicle = null;
-            // Go through the Vehicles in order of their position in the Lane
-            for (AIMVehicleSimModel currVehicle : vehicleList.values()) {
-                if (lastVehicle != null) {
-                    // Create the mapping from the previous Vehicle to the current one
-                    nextVehicle.put(lastVehicle, currVehicle);
-                }
-                lastVehicle = currVehicle;
-            }
-        }
-
-        return nextVehicle;
-    }
-
     /**
      * Provide each vehicle with sensor information to allow it to make
      * decisions.  This works first by making an ordered list for each Lane of
@@ -781,34 +773,6 @@ public class AIMOptimalSimulator implements AIMSimulator {
 //    }
     }
 
-    /////////////////////////////////
-    // STEP 3
-    /////////////////////////////////
-
-    /**
-     * Allow each driver to act.
-     */
-    private void letDriversAct() {
-        for (AIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            vehicle.getDriver().act();
-        }
-    }
-
-    /////////////////////////////////
-    // STEP 4
-    /////////////////////////////////
-
-    /**
-     * Allow each intersection manager to act.
-     *
-     * @param timeStep the time step
-     */
-    private void letIntersectionManagersAct(double timeStep) {
-        for (IntersectionManager im : basicAIMIntersectionMap.getIntersectionManagers()) {
-            im.act(timeStep);
-        }
-    }
-
     /////////////////////////////////
     // STEP 5
     /////////////////////////////////
@@ -972,25 +936,6 @@ public class AIMOptimalSimulator implements AIMSimulator {
     // STEP 6
     /////////////////////////////////
 
-    /**
-     * Move all the vehicles.
-     *
-     * @param timeStep the time step
-     */
-    private void moveVehicles(double timeStep) {
-        for (AIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            Point2D p1 = vehicle.getPosition();
-            vehicle.move(timeStep);
-            Point2D p2 = vehicle.getPosition();
-            for (DataCollectionLine line : basicAIMIntersectionMap.getDataCollectionLines()) {
-                line.intersect(vehicle, currentTime, p1, p2);
-            }
-            if (Debug.isPrintVehicleStateOfVIN(vehicle.getVIN())) {
-                vehicle.printState();
-            }
-        }
-    }
-
     /**
      * Detects collisions. Currently not used because vehicles collide - Go figure.
      */
@@ -1016,111 +961,80 @@ public class AIMOptimalSimulator implements AIMSimulator {
     /////////////////////////////////
 
     /**
-     * Remove all completed vehicles.
-     *
-     * @return the VINs of the completed vehicles
+     * Record and remove the completed vehicles, and update the maximum and
+     * minimum velocities of the others, in a single pass over the vehicles.
      */
-    private List<Integer> cleanUpCompletedVehicles() {
-        List<Integer> completedVINs = new LinkedList<Integer>();
-
-        Rectangle2D mapBoundary = basicAIMIntersectionMap.getDimensions();
-
-        List<Integer> removedVINs = new ArrayList<Integer>(vinToVehicles.size());
-        for (int vin : vinToVehicles.keySet()) {
-            AIMVehicleSimModel v = vinToVehicles.get(vin);
+    private void cleanUp() {
+        completedVINs = new ArrayList<Integer>();
+        Iterator<AIMVehicleSimModel> iter = vinToVehicles.values().iterator();
+        while (iter.hasNext()) {
+            AIMVehicleSimModel vehicle = iter.next();
             // If the vehicle is no longer in the layout
             // TODO: this should be replaced with destination zone.
-            if (!v.getShape().intersects(mapBoundary)) {
-                // Process all the things we need to from this vehicle
-                if (v instanceof AIMAutoVehicleSimModel) {
-                    AIMAutoVehicleSimModel v2 = (AIMAutoVehicleSimModel) v;
-                    totalBitsTransmittedByCompletedVehicles += v2.getBitsTransmitted();
-                    totalBitsReceivedByCompletedVehicles += v2.getBitsReceived();
-                }
-                removedVINs.add(vin);
+            if (kernel.isOnMap(vehicle)) {
+                updateMaxMinVelocities(vehicle);
+                continue;
             }
-        }
-        // Remove the marked vehicles
-        for (int vin : removedVINs) {
-            vinToVehicles.remove(vin);
-            completedVINs.add(vin);
+            // The result is recorded before the velocity of the last step is
+            // taken into the maximum and minimum velocities, the merge result
+            // after.
+            vehicle.setFinishTime(currentTime);
+            vehicle.setFinalVelocity(vehicle.getVelocity());
+            recordCompletedVehicle(vehicle);
+            updateMaxMinVelocities(vehicle);
+            if (mergeMode) {
+                vehicle.setDelay(calculateDelay(vehicle));
+                vehicle.setFinalXPos(vehicle.getPosition().getX());
+                vehicle.setFinalYPos(vehicle.getPosition().getY());
+                recordMergeCompletedVehicle(vehicle);
+            }
+            if (vehicle instanceof AIMAutoVehicleSimModel) {
+                AIMAutoVehicleSimModel v2 = (AIMAutoVehicleSimModel) vehicle;
+                totalBitsTransmittedByCompletedVehicles += v2.getBitsTransmitted();
+                totalBitsReceivedByCompletedVehicles += v2.getBitsReceived();
+            }
+            iter.remove();
+            completedVINs.add(vehicle.getVIN());
             numOfCompletedVehicles++;
         }
-
-        return completedVINs;
     }
 
     // RESULTS //
-    private List<AIMVehicleSimModel> calculateCompletedVehicles() {
-        List<AIMVehicleSimModel> completedVehicles = new LinkedList<AIMVehicleSimModel>();
-
-        Rectangle2D mapBoundary = basicAIMIntersectionMap.getDimensions();
-        for (int vin : vinToVehicles.keySet()) {
-            if (!vinToVehicles.get(vin).getShape().intersects(mapBoundary))
-                completedVehicles.add(vinToVehicles.get(vin));
-        }
-
-        return completedVehicles;
+    private void recordCompletedVehicle(AIMVehicleSimModel vehicle) {
+        vehiclesRecord.add(new VehicleResult(
+                vehicle.getVIN(),
+                vehicle.getSpec().getName(),
+                vehicle.getStartTime(),
+                vehicle.getFinishTime(),
+                vehicle.getFinalVelocity(),
+                vehicle.getMaxVelocity(),
+                vehicle.getMinVelocity()
+        ));
     }
 
-    private void recordCompletedVehicles(List<AIMVehicleSimModel> completedVehicles) {
-        for (AIMVehicleSimModel vehicle : completedVehicles) {
-            vehiclesRecord.add(new VehicleResult(
-                    vehicle.getVIN(),
-                    vehicle.getSpec().getName(),
-                    vehicle.getStartTime(),
-                    vehicle.getFinishTime(),
-                    vehicle.getFinalVelocity(),
-                    vehicle.getMaxVelocity(),
-                    vehicle.getMinVelocity()
-            ));
-        }
+    private void recordMergeCompletedVehicle(AIMVehicleSimModel vehicle) {
+        mergeResult.add(new MergeVehicleResult(
+                vehicle.getVIN(),
+                vehicle.getStartingRoad().toString(),
+                vehicle.getSpec().getName(),
+                vehicle.getStartTime(),
+                vehicle.getFinishTime(),
+                vehicle.getDelay(),
+                vehicle.getFinalVelocity(),
+                vehicle.getMaxVelocity(),
+                vehicle.getMinVelocity(),
+                vehicle.getFinalXPos(),
+                vehicle.getFinalYPos()
+        ));
     }
 
-    private void recordMergeCompletedVehicles(List<AIMVehicleSimModel> completedVehicles) {
-        for (AIMVehicleSimModel vehicle : completedVehicles) {
-            mergeVehiclesRecord.add(new MergeVehicleResult(
-                    vehicle.getVIN(),
-                    vehicle.getStartingRoad().toString(),
-                    vehicle.getSpec().getName(),
-                    vehicle.getStartTime(),
-                    vehicle.getFinishTime(),
-                    vehicle.getDelay(),
-                    vehicle.getFinalVelocity(),
-                    vehicle.getMaxVelocity(),
-                    vehicle.getMinVelocity(),
-                    vehicle.getFinalXPos(),
-                    vehicle.getFinalYPos()
-            ));
-        }
-    }
-
-    private void provideCompletedVehiclesWithResultsInfo(List<AIMVehicleSimModel> completedVehicles) {
-        for (AIMVehicleSimModel vehicle : completedVehicles) {
-            vehicle.setFinishTime(currentTime);
-            vehicle.setFinalVelocity(vehicle.getVelocity());
-        }
-    }
-
-    private void provideMergeCompletedVehiclesWithResultsInfo(List<AIMVehicleSimModel> completedVehicles) {
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        for (AIMVehicleSimModel vehicle : completedVehicles) {
-            vehicle.setDelay(calculateDelay(vehicle));
-            vehicle.setFinalXPos(vehicle.getPosition().getX());
-            vehicle.setFinalYPos(vehicle.getPosition().getY());
-        }
-    }
-
-    private void updateMaxMinVelocities() {
-        for (int vin : vinToVehicles.keySet()) {
-            AIMVehicleSimModel vehicle = vinToVehicles.get(vin);
-            if (vehicle.getVelocity() > vehicle.getMaxVelocity())
-                vehicle.setMaxVelocity(vehicle.getVelocity());
-            else if (vehicle.getVelocity() < vehicle.getMinVelocity()) {
-                if (Util.isDoubleZero(vehicle.getVelocity())) {
-                    vehicle.setMinVelocity(0.0);
-                } else vehicle.setMinVelocity(vehicle.getVelocity());
-            }
+    private void updateMaxMinVelocities(AIMVehicleSimModel vehicle) {
+        if (vehicle.getVelocity() > vehicle.getMaxVelocity())
+            vehicle.setMaxVelocity(vehicle.getVelocity());
+        else if (vehicle.getVelocity() < vehicle.getMinVelocity()) {
+            if (Util.isDoubleZero(vehicle.getVelocity())) {
+                vehicle.setMinVelocity(0.0);
+            } else vehicle.setMinVelocity(vehicle.getVelocity());
         }
     }
 
@@ -1151,8 +1065,12 @@ public class AIMOptimalSimulator implements AIMSimulator {
         return produceResult().produceCSVString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
     public MergeResult produceMergeResult() {
-        return new MergeResult(mergeVehiclesRecord);
+        return mergeResult;
     }
 
     public Result produceResult() {
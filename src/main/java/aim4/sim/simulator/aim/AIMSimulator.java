@@ -30,6 +30,12 @@ public interface AIMSimulator extends Simulator {
      */
     void addProxyVehicle(ProxyVehicleSimModel vehicle);
 
+    /**
+     * Get the results of the vehicles that have completed so far.
+     *
+     * @return the live result of the simulator, which keeps being updated
+     *         as vehicles complete; it is not a copy
+     */
     MergeResult produceMergeResult();
 
     Result produceResult();
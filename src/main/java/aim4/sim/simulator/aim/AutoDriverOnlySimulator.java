@@ -32,25 +32,33 @@ package aim4.sim.simulator.aim;
 
 import aim4.config.Debug;
 import aim4.config.DebugPoint;
+import aim4.config.SimConfig;
 import aim4.driver.aim.AIMAutoDriver;
+import aim4.driver.aim.AIMDriver;
 import aim4.driver.aim.ProxyDriver;
 import aim4.driver.aim.pilot.V2IPilot;
 import aim4.im.aim.IntersectionManager;
 import aim4.im.aim.v2i.V2IManager;
 import aim4.map.BasicAIMIntersectionMap;
-import aim4.map.DataCollectionLine;
 import aim4.map.Road;
 import aim4.map.aim.AIMSpawnPoint;
 import aim4.map.aim.AIMSpawnPoint.AIMSpawnSpec;
 import aim4.map.lane.Lane;
 import aim4.map.merge.RoadNames;
+import aim4.msg.aim.codec.MessageCodec;
 import aim4.msg.aim.i2v.I2VMessage;
 import aim4.msg.aim.v2i.V2IMessage;
+import aim4.sim.TravelTimeOracle;
+import aim4.sim.channel.Channel;
+import aim4.sim.channel.ChannelModel;
+import aim4.sim.channel.IdealChannelModel;
 import aim4.sim.results.MergeResult;
 import aim4.sim.results.MergeVehicleResult;
 import aim4.sim.results.Result;
 import aim4.sim.results.VehicleResult;
+import aim4.sim.simulator.SimulatorKernel;
 import aim4.util.Util;
+import aim4.util.StepProfiler;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VehicleSpecDatabase;
 import aim4.vehicle.VehicleUtil;
@@ -61,6 +69,7 @@ import java.awt.*;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.*;
 import java.util.List;
 import java.util.Queue;
@@ -68,7 +77,9 @@ import java.util.Queue;
 /**
  * The autonomous drivers only simulator.
  */
-public class AutoDriverOnlySimulator implements AIMSimulator {
+public class AutoDriverOnlySimulator implements AIMSimulator, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // NESTED CLASSES
@@ -101,6 +112,44 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
         }
     }
 
+    /**
+     * The receiver of V2I messages sent to an intersection manager.
+     */
+    private static class IMReceiver implements Channel.Receiver<V2IMessage> {
+        private static final long serialVersionUID = 1L;
+
+        /** The intersection manager */
+        private final V2IManager im;
+
+        IMReceiver(V2IManager im) {
+            this.im = im;
+        }
+
+        @Override
+        public void receive(V2IMessage msg) {
+            im.receive(msg);
+        }
+    }
+
+    /**
+     * The receiver of I2V messages sent to a vehicle.
+     */
+    private static class VehicleReceiver implements Channel.Receiver<I2VMessage> {
+        private static final long serialVersionUID = 1L;
+
+        /** The vehicle */
+        private final AIMAutoVehicleSimModel vehicle;
+
+        VehicleReceiver(AIMAutoVehicleSimModel vehicle) {
+            this.vehicle = vehicle;
+        }
+
+        @Override
+        public void receive(I2VMessage msg) {
+            vehicle.receive(msg);
+        }
+    }
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -109,6 +158,11 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
     private BasicAIMIntersectionMap basicAIMIntersectionMap;
     /** All active vehicles, in form of a map from VINs to vehicle objects. */
     private Map<Integer,AIMVehicleSimModel> vinToVehicles;
+    /** The kernel running the phases of the steps */
+    private final SimulatorKernel<AIMVehicleSimModel, BasicAIMIntersectionMap,
+            IntersectionManager> kernel;
+    /** The VINs of the vehicles completed in the current step */
+    private transient List<Integer> completedVINs;
     /** The current time */
     private double currentTime;
     /** The number of completed vehicles */
@@ -121,12 +175,18 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
     private int totalBitsTransmittedByCompletedVehicles;
     /** The total number of bits received by the completed vehicles */
     private int totalBitsReceivedByCompletedVehicles;
+    /** The channel over which the V2I messages are sent */
+    private Channel<V2IMessage> v2iChannel;
+    /** The channel over which the I2V messages are sent */
+    private Channel<I2VMessage> i2vChannel;
 
     //Results aids//
     private List<VehicleResult> vehiclesRecord;
+    /** The oracle of the expected travel times of the completed vehicles; null if they are not recorded */
+    private TravelTimeOracle travelTimeOracle;
 
     //Results Merge aids//
-    private List<MergeVehicleResult> mergeVehiclesRecord;
+    private MergeResult mergeResult;
     private Map<String, Double> specToExpectedTimeMergeLane;
     private Map<String, Double> specToExpectedTimeTargetLane;
 
@@ -163,7 +223,7 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
             Map<String, Double> fakeDelayTimes = new HashMap<String, Double>();
             for(int specID = 0; specID < VehicleSpecDatabase.getNumOfSpec(); specID++)
                 fakeDelayTimes.put(VehicleSpecDatabase.getVehicleSpecById(specID).getName(), new Double(0));
-            this.mergeVehiclesRecord = new ArrayList<MergeVehicleResult>();
+            this.mergeResult = new MergeResult(new ArrayList<MergeVehicleResult>());
             if(specToExpectedTimeMergeLane != null)
                 this.specToExpectedTimeMergeLane = specToExpectedTimeMergeLane;
             else
@@ -181,6 +241,12 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
         numOfVehicleSpawned = 0;
         totalBitsTransmittedByCompletedVehicles = 0;
         totalBitsReceivedByCompletedVehicles = 0;
+        v2iChannel = new Channel<V2IMessage>(new IdealChannelModel());
+        i2vChannel = new Channel<I2VMessage>(new IdealChannelModel());
+        kernel = new SimulatorKernel<AIMVehicleSimModel, BasicAIMIntersectionMap,
+                IntersectionManager>("aim", basicAIMIntersectionMap,
+                basicAIMIntersectionMap.getIntersectionManagers(), vinToVehicles);
+        setPhases();
     }
 
     /////////////////////////////////
@@ -196,49 +262,10 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
     public synchronized AutoDriverOnlySimStepResult step(double timeStep) {
         if (Debug.PRINT_SIMULATOR_STAGE) {
             System.err.printf("--------------------------------------\n");
-            System.err.printf("------SIM:spawnVehicles---------------\n");
-        }
-        spawnVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:provideSensorInput---------------\n");
-        }
-        provideSensorInput();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letDriversAct---------------\n");
-        }
-        letDriversAct();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letIntersectionManagersAct--------------\n");
-        }
-        letIntersectionManagersAct(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:communication---------------\n");
-        }
-        communication();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:moveVehicles---------------\n");
-        }
-        moveVehicles(timeStep);
-        if (Debug.CHECK_FOR_COLLISIONS) {
-            System.err.printf("------SIM:checkForCollisions---------------\n");
-            checkForCollisions();
-        }
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:cleanUpCompletedVehicles---------------\n");
-        }
-        List<AIMVehicleSimModel> completedVehicles = calculateCompletedVehicles();
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        recordCompletedVehicles(completedVehicles);
-        updateMaxMinVelocities();
-
-        if(mergeMode) {
-            provideMergeCompletedVehiclesWithResultsInfo(completedVehicles);
-            recordMergeCompletedVehicles(completedVehicles);
-            updateMaxMinVelocities();
         }
-
-        List<Integer> completedVINs = cleanUpCompletedVehicles();
+        kernel.step(timeStep);
         currentTime += timeStep;
+        kernel.endStep(currentTime);
         // debug
         checkClocks();
 
@@ -322,6 +349,35 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
     // PUBLIC METHODS
     /////////////////////////////////
 
+    /**
+     * Set the model of the channels over which the V2I and I2V messages are
+     * sent.  The messages in transit on the old channels are discarded.
+     *
+     * @param model  the channel model
+     */
+    public synchronized void setChannelModel(ChannelModel model) {
+        v2iChannel = new Channel<V2IMessage>(model);
+        i2vChannel = new Channel<I2VMessage>(model);
+    }
+
+    /**
+     * Get the channel over which the V2I messages are sent.
+     *
+     * @return the channel over which the V2I messages are sent
+     */
+    public synchronized Channel<V2IMessage> getV2IChannel() {
+        return v2iChannel;
+    }
+
+    /**
+     * Get the channel over which the I2V messages are sent.
+     *
+     * @return the channel over which the I2V messages are sent
+     */
+    public synchronized Channel<I2VMessage> getI2VChannel() {
+        return i2vChannel;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -357,6 +413,54 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
     // PRIVATE METHODS
     /////////////////////////////////
 
+    /**
+     * Plug the phases of a step into the kernel.
+     */
+    private void setPhases() {
+        kernel.setPhase(StepProfiler.Phase.SPAWN, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                spawnVehicles(timeStep);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.SENSOR_INPUT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                provideSensorInput();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.letDriversAct();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.IM_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.letManagersAct(timeStep);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.COMMUNICATION, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                communication();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.MOVE, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.moveVehicles(timeStep, currentTime);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                cleanUp();
+            }
+        });
+    }
+
     /////////////////////////////////
     // STEP 1
     /////////////////////////////////
@@ -545,37 +649,6 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
         return vehicleLists;
     }
 
-    /**
-     * Compute the next vehicles of all vehicles.
-     *
-     * @param vehicleLists  a mapping from lanes to lists of vehicles sorted by
-     *                      their distance on their lanes
-     * @return a mapping from vehicles to next vehicles
-     */
-    private Map<AIMVehicleSimModel, AIMVehicleSimModel> computeNextVehicle(
-            Map<Lane,SortedMap<Double,AIMVehicleSimModel>> vehicleLists) {
-        // At this point we should only have mappings for start Lanes, and they
-        // should include all the Lanes they run into.  Now we need to turn this
-        // into a hash map that maps Vehicles to the next vehicle in the Lane
-        // or any Lane the Lane runs into
-        Map<AIMVehicleSimModel, AIMVehicleSimModel> nextVehicle =
-                new HashMap<AIMVehicleSimModel,AIMVehicleSimModel>();
-        // For each of the ordered lists of vehicles
-        for(SortedMap<Double,AIMVehicleSimModel> vehicleList : vehicleLists.values()) {
-            AIMVehicleSimModel lastVehicle = null;
-            // Go through the Vehicles in order of their position in the Lane
-            for(AIMVehicleSimModel currVehicle : vehicleList.values()) {
-                if(lastVehicle != null) {
-                    // Create the mapping from the previous Vehicle to the current one
-                    nextVehicle.put(lastVehicle,currVehicle);
-                }
-                lastVehicle = currVehicle;
-            }
-        }
-
-        return nextVehicle;
-    }
-
     /**
      * Provide each vehicle with sensor information to allow it to make
      * decisions.  This works first by making an ordered list for each Lane of
@@ -589,7 +662,7 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
         Map<Lane,SortedMap<Double,AIMVehicleSimModel>> vehicleLists =
                 computeVehicleLists();
         Map<AIMVehicleSimModel, AIMVehicleSimModel> nextVehicle =
-                computeNextVehicle(vehicleLists);
+                SimulatorKernel.computeNextVehicle(vehicleLists);
 
         provideIntervalInfo(nextVehicle);
         provideVehicleTrackingInfo(vehicleLists);
@@ -806,34 +879,6 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
 //    }
     }
 
-    /////////////////////////////////
-    // STEP 3
-    /////////////////////////////////
-
-    /**
-     * Allow each driver to act.
-     */
-    private void letDriversAct() {
-        for(AIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            vehicle.getDriver().act();
-        }
-    }
-
-    /////////////////////////////////
-    // STEP 4
-    /////////////////////////////////
-
-    /**
-     * Allow each intersection manager to act.
-     *
-     * @param timeStep  the time step
-     */
-    private void letIntersectionManagersAct(double timeStep) {
-        for(IntersectionManager im : basicAIMIntersectionMap.getIntersectionManagers()) {
-            im.act(timeStep);
-        }
-    }
-
     /////////////////////////////////
     // STEP 5
     /////////////////////////////////
@@ -845,6 +890,10 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
         deliverV2IMessages();
         deliverI2VMessages();
 //    deliverV2VMessages();
+        kernel.getProfiler().setGauge("messages.v2i.sent", v2iChannel.getNumOfSentMessages());
+        kernel.getProfiler().setGauge("messages.v2i.lost", v2iChannel.getNumOfLostMessages());
+        kernel.getProfiler().setGauge("messages.i2v.sent", i2vChannel.getNumOfSentMessages());
+        kernel.getProfiler().setGauge("messages.i2v.lost", i2vChannel.getNumOfLostMessages());
     }
 
     /**
@@ -865,16 +914,18 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
                     double txDistance =
                             sender.getPosition().distance(
                                     receiver.getIntersection().getCentroid());
-                    // Find out if the message will make it that far
-                    if(transmit(txDistance, sender.getTransmissionPower())) {
-                        // Actually deliver the message
-                        receiver.receive(msg);
-                        // Add the delivery to the debugging information
+                    if (SimConfig.IS_WIRE_FORMAT_ENABLED) {
+                        // Send what the receiver would decode off the air
+                        msg = MessageCodec.decodeV2IMessage(
+                                MessageCodec.encode(msg));
                     }
-                    // Either way, we increment the number of transmitted messages
+                    // The channel decides whether and when it arrives
+                    v2iChannel.send(msg, new IMReceiver(receiver), txDistance,
+                                    sender.getTransmissionPower());
                 }
             }
         }
+        v2iChannel.deliver(currentTime);
     }
 
     /**
@@ -894,16 +945,20 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
                 double txDistance =
                         senderIM.getIntersection().getCentroid().distance(
                                 vehicle.getPosition());
-                // Find out if the message will make it that far
-                if(transmit(txDistance, senderIM.getTransmissionPower())) {
-                    // Actually deliver the message
-                    vehicle.receive(msg);
+                if (SimConfig.IS_WIRE_FORMAT_ENABLED) {
+                    // Send what the vehicle would decode off the air
+                    msg = MessageCodec.decodeI2VMessage(
+                            MessageCodec.encode(msg));
                 }
+                // The channel decides whether and when it arrives
+                i2vChannel.send(msg, new VehicleReceiver(vehicle), txDistance,
+                                senderIM.getTransmissionPower());
             }
             // Done delivering the IntersectionManager's messages, so clear the
             // outbox.
             senderIM.clearOutbox();
         }
+        i2vChannel.deliver(currentTime);
     }
 
 //  private void deliverV2VMessages() {
@@ -980,42 +1035,11 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
 //  }
 
 
-    /**
-     * Whether the transmission of a message is successful
-     *
-     * @param distance  the distance of the transmission
-     * @param power     the power of the transmission
-     * @return whether the transmission of a messsage is successful
-     */
-    private boolean transmit(double distance, double power) {
-        // Simple for now
-        return distance <= power;
-    }
-
 
     /////////////////////////////////
     // STEP 6
     /////////////////////////////////
 
-    /**
-     * Move all the vehicles.
-     *
-     * @param timeStep  the time step
-     */
-    private void moveVehicles(double timeStep) {
-        for(AIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            Point2D p1 = vehicle.getPosition();
-            vehicle.move(timeStep);
-            Point2D p2 = vehicle.getPosition();
-            for(DataCollectionLine line : basicAIMIntersectionMap.getDataCollectionLines()) {
-                line.intersect(vehicle, currentTime, p1, p2);
-            }
-            if (Debug.isPrintVehicleStateOfVIN(vehicle.getVIN())) {
-                vehicle.printState();
-            }
-        }
-    }
-
     /**
      * Detects collisions. Currently not used because vehicles collide - Go figure.
      */
@@ -1041,112 +1065,126 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
     /////////////////////////////////
 
     /**
-     * Remove all completed vehicles.
-     *
-     * @return the VINs of the completed vehicles
+     * Record and remove the completed vehicles, and update the maximum and
+     * minimum velocities of the others, in a single pass over the vehicles.
      */
-    private List<Integer> cleanUpCompletedVehicles() {
-        List<Integer> completedVINs = new LinkedList<Integer>();
-
-        Rectangle2D mapBoundary = basicAIMIntersectionMap.getDimensions();
-
-        List<Integer> removedVINs = new ArrayList<Integer>(vinToVehicles.size());
-        for(int vin : vinToVehicles.keySet()) {
-            AIMVehicleSimModel v = vinToVehicles.get(vin);
+    private void cleanUp() {
+        if (Debug.CHECK_FOR_COLLISIONS) {
+            System.err.printf("------SIM:checkForCollisions---------------\n");
+            checkForCollisions();
+        }
+        completedVINs = new ArrayList<Integer>();
+        Iterator<AIMVehicleSimModel> iter = vinToVehicles.values().iterator();
+        while (iter.hasNext()) {
+            AIMVehicleSimModel vehicle = iter.next();
             // If the vehicle is no longer in the layout
             // TODO: this should be replaced with destination zone.
-            if(!v.getShape().intersects(mapBoundary)) {
-                // Process all the things we need to from this vehicle
-                if (v instanceof AIMAutoVehicleSimModel) {
-                    AIMAutoVehicleSimModel v2 = (AIMAutoVehicleSimModel)v;
-                    totalBitsTransmittedByCompletedVehicles += v2.getBitsTransmitted();
-                    totalBitsReceivedByCompletedVehicles += v2.getBitsReceived();
-                }
-                removedVINs.add(vin);
+            if (kernel.isOnMap(vehicle)) {
+                updateMaxMinVelocities(vehicle);
+                continue;
             }
-        }
-        // Remove the marked vehicles
-        for(int vin : removedVINs) {
-            vinToVehicles.remove(vin);
-            completedVINs.add(vin);
+            // The result is recorded before the velocity of the last step is
+            // taken into the maximum and minimum velocities, the merge result
+            // after.
+            vehicle.setFinishTime(currentTime);
+            vehicle.setFinalVelocity(vehicle.getVelocity());
+            recordCompletedVehicle(vehicle);
+            updateMaxMinVelocities(vehicle);
+            if (mergeMode) {
+                vehicle.setDelay(calculateDelay(vehicle));
+                vehicle.setFinalXPos(vehicle.getPosition().getX());
+                vehicle.setFinalYPos(vehicle.getPosition().getY());
+                recordMergeCompletedVehicle(vehicle);
+            }
+            if (vehicle instanceof AIMAutoVehicleSimModel) {
+                AIMAutoVehicleSimModel v2 = (AIMAutoVehicleSimModel) vehicle;
+                totalBitsTransmittedByCompletedVehicles += v2.getBitsTransmitted();
+                totalBitsReceivedByCompletedVehicles += v2.getBitsReceived();
+            }
+            iter.remove();
+            completedVINs.add(vehicle.getVIN());
             numOfCompletedVehicles++;
         }
-
-        return completedVINs;
     }
 
     // RESULTS //
-    private List<AIMVehicleSimModel> calculateCompletedVehicles() {
-        List<AIMVehicleSimModel> completedVehicles = new LinkedList<AIMVehicleSimModel>();
-
-        Rectangle2D mapBoundary = basicAIMIntersectionMap.getDimensions();
-        for(int vin : vinToVehicles.keySet()) {
-            if(!vinToVehicles.get(vin).getShape().intersects(mapBoundary))
-                completedVehicles.add(vinToVehicles.get(vin));
-        }
-
-        return completedVehicles;
+    private void recordCompletedVehicle(AIMVehicleSimModel vehicle) {
+        vehiclesRecord.add(new VehicleResult(
+                vehicle.getVIN(),
+                vehicle.getSpec().getName(),
+                vehicle.getStartTime(),
+                vehicle.getFinishTime(),
+                vehicle.getFinalVelocity(),
+                vehicle.getMaxVelocity(),
+                vehicle.getMinVelocity(),
+                travelTimeOracle == null ? Double.NaN : calculateExpectedTravelTime(vehicle)
+        ));
     }
 
-    private void recordCompletedVehicles(List<AIMVehicleSimModel> completedVehicles) {
-        for(AIMVehicleSimModel vehicle : completedVehicles) {
-            vehiclesRecord.add(new VehicleResult(
-                    vehicle.getVIN(),
-                    vehicle.getSpec().getName(),
-                    vehicle.getStartTime(),
-                    vehicle.getFinishTime(),
-                    vehicle.getFinalVelocity(),
-                    vehicle.getMaxVelocity(),
-                    vehicle.getMinVelocity()
-            ));
+    /**
+     * Calculate the time a vehicle would have taken to cross the map without other traffic, from its spawn lane
+     * through the intersection, at no more than its maximum turn velocity, and along the departure lane the
+     * intersection manager would have given it for its destination until it leaves the map.
+     *
+     * @param vehicle the vehicle
+     * @return the expected travel time, or NaN if the map does not have a single intersection or the vehicle's spawn
+     *         lane or destination is unknown
+     */
+    private double calculateExpectedTravelTime(AIMVehicleSimModel vehicle) {
+        if (basicAIMIntersectionMap.getIntersectionManagers().size() != 1
+                || !(vehicle.getDriver() instanceof AIMDriver)) {
+            return Double.NaN;
         }
-    }
-
-    private void recordMergeCompletedVehicles(List<AIMVehicleSimModel> completedVehicles) {
-        for(AIMVehicleSimModel vehicle : completedVehicles) {
-            mergeVehiclesRecord.add(new MergeVehicleResult(
-                    vehicle.getVIN(),
-                    vehicle.getStartingRoad().toString(),
-                    vehicle.getSpec().getName(),
-                    vehicle.getStartTime(),
-                    vehicle.getFinishTime(),
-                    vehicle.getDelay(),
-                    vehicle.getFinalVelocity(),
-                    vehicle.getMaxVelocity(),
-                    vehicle.getMinVelocity(),
-                    vehicle.getFinalXPos(),
-                    vehicle.getFinalYPos()
-            ));
+        AIMDriver driver = (AIMDriver) vehicle.getDriver();
+        if (driver.getSpawnPoint() == null || driver.getDestination() == null) {
+            return Double.NaN;
         }
-    }
-
-    private void provideCompletedVehiclesWithResultsInfo(List<AIMVehicleSimModel> completedVehicles) {
-        for(AIMVehicleSimModel vehicle : completedVehicles) {
-            vehicle.setFinishTime(currentTime);
-            vehicle.setFinalVelocity(vehicle.getVelocity());
+        final Lane arrivalLane = driver.getSpawnPoint().getLane();
+        final IntersectionManager im = arrivalLane.getLaneIM().firstIntersectionManager();
+        if (im == null) {
+            return Double.NaN;
         }
+        final Lane departureLane = im.getSortedDepartureLanes(arrivalLane, driver.getDestination()).get(0);
+        TravelTimeOracle.Route route = new TravelTimeOracle.Route(arrivalLane.getId() + "-" + departureLane.getId())
+                .addSegment(arrivalLane.distanceAlongLane(im.getIntersection().getEntryPoint(arrivalLane)),
+                        arrivalLane.getSpeedLimit())
+                .addVelocityCap(new TravelTimeOracle.VelocityCap() {
+                    @Override
+                    public double getMaxVelocity(VehicleSpec spec) {
+                        return VehicleUtil.maxTurnVelocity(spec, arrivalLane, departureLane, im);
+                    }
+                })
+                .addSegment(im.traversalDistance(arrivalLane, departureLane),
+                        Math.min(departureLane.getSpeedLimit(),
+                                VehicleUtil.maxTurnVelocity(vehicle.getSpec(), arrivalLane, departureLane, im)))
+                .addSegment(departureLane.remainingDistanceAlongLane(im.getIntersection().getExitPoint(departureLane)),
+                        departureLane.getSpeedLimit());
+        return travelTimeOracle.getTraversalTime(vehicle.getSpec(), route);
     }
 
-    private void provideMergeCompletedVehiclesWithResultsInfo(List<AIMVehicleSimModel> completedVehicles) {
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        for(AIMVehicleSimModel vehicle : completedVehicles) {
-            vehicle.setDelay(calculateDelay(vehicle));
-            vehicle.setFinalXPos(vehicle.getPosition().getX());
-            vehicle.setFinalYPos(vehicle.getPosition().getY());
-        }
+    private void recordMergeCompletedVehicle(AIMVehicleSimModel vehicle) {
+        mergeResult.add(new MergeVehicleResult(
+                vehicle.getVIN(),
+                vehicle.getStartingRoad().toString(),
+                vehicle.getSpec().getName(),
+                vehicle.getStartTime(),
+                vehicle.getFinishTime(),
+                vehicle.getDelay(),
+                vehicle.getFinalVelocity(),
+                vehicle.getMaxVelocity(),
+                vehicle.getMinVelocity(),
+                vehicle.getFinalXPos(),
+                vehicle.getFinalYPos()
+        ));
     }
 
-    private void updateMaxMinVelocities() {
-        for(int vin : vinToVehicles.keySet()) {
-            AIMVehicleSimModel vehicle = vinToVehicles.get(vin);
-            if(vehicle.getVelocity() > vehicle.getMaxVelocity())
-                vehicle.setMaxVelocity(vehicle.getVelocity());
-            else if(vehicle.getVelocity() < vehicle.getMinVelocity()) {
-                if (Util.isDoubleZero(vehicle.getVelocity())){
-                    vehicle.setMinVelocity(0.0);
-                }
-                else vehicle.setMinVelocity(vehicle.getVelocity());
-            }
+    private void updateMaxMinVelocities(AIMVehicleSimModel vehicle) {
+        if (vehicle.getVelocity() > vehicle.getMaxVelocity())
+            vehicle.setMaxVelocity(vehicle.getVelocity());
+        else if (vehicle.getVelocity() < vehicle.getMinVelocity()) {
+            if (Util.isDoubleZero(vehicle.getVelocity())) {
+                vehicle.setMinVelocity(0.0);
+            } else vehicle.setMinVelocity(vehicle.getVelocity());
         }
     }
 
@@ -1178,8 +1216,12 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
         return produceResult().produceCSVString();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
     public MergeResult produceMergeResult() {
-        return new MergeResult(mergeVehiclesRecord);
+        return mergeResult;
     }
 
     public Result produceResult() {
@@ -1190,6 +1232,17 @@ public class AutoDriverOnlySimulator implements AIMSimulator {
 
     public int getNumOfVehiclesSpawned(){ return numOfVehicleSpawned; }
 
+    /**
+     * Set whether the time each completed vehicle would have taken without other traffic is recorded in its
+     * result, so that delays can be measured without running an optimal protocol. Only maps with a single
+     * intersection are supported.
+     *
+     * @param record whether to record the expected travel times
+     */
+    public synchronized void setRecordExpectedTravelTimes(boolean record) {
+        travelTimeOracle = record ? new TravelTimeOracle() : null;
+    }
+
     protected String resultsToCSV(MergeResult result) {
         StringBuilder sb = new StringBuilder();
         //Global Stats
@@ -3,6 +3,7 @@ package aim4.sim.simulator.cpm;
 import aim4.config.Debug;
 import aim4.config.DebugPoint;
 import aim4.driver.cpm.CPMV2VDriver;
+import aim4.im.Manager;
 import aim4.map.DataCollectionLine;
 import aim4.map.Road;
 import aim4.map.cpm.*;
@@ -13,6 +14,9 @@ import aim4.map.cpm.parking.StatusMonitor;
 import aim4.map.lane.Lane;
 import aim4.sim.Simulator;
 import aim4.sim.results.SimulatorResult;
+import aim4.sim.simulator.SimulatorKernel;
+import aim4.util.EventLog;
+import aim4.util.StepProfiler;
 import aim4.vehicle.VehicleSimModel;
 import aim4.vehicle.VehicleSpec;
 import aim4.vehicle.VinRegistry;
@@ -23,13 +27,16 @@ import java.awt.*;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.*;
 import java.util.List;
 
 /**
  * The simulator of AVs in an AV specific car park which are self-organising.
  */
-public class CPMAutoDriverSimulator implements Simulator {
+public class CPMAutoDriverSimulator implements Simulator, Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -72,6 +79,10 @@ public class CPMAutoDriverSimulator implements Simulator {
     protected CPMBasicMap map;
     /** All active vehicles, in form of a map from VINs to vehicle objects. */
     protected Map<Integer,CPMBasicAutoVehicle> vinToVehicles;
+    /** The kernel running the phases of the steps */
+    private final SimulatorKernel<CPMBasicAutoVehicle, CPMBasicMap, Manager> kernel;
+    /** The vehicles completed in the current step */
+    private transient List<CPMBasicAutoVehicle> completedVehicles;
     /** The current time */
     protected double currentTime;
     /** The number of completed vehicles */
@@ -92,24 +103,63 @@ public class CPMAutoDriverSimulator implements Simulator {
         numOfCompletedVehicles = 0;
         totalBitsTransmittedByCompletedVehicles = 0;
         totalBitsReceivedByCompletedVehicles = 0;
+        // a car park has no managers; the vehicles coordinate among themselves
+        kernel = new SimulatorKernel<CPMBasicAutoVehicle, CPMBasicMap, Manager>(
+                "cpm", map, Collections.<Manager>emptyList(), vinToVehicles);
+        setPhases();
 
-        System.out.println("CPM Simulator created!");
+        if (EventLog.IS_ENABLED) {
+            EventLog.log(EventLog.Event.SIMULATOR_CREATED, currentTime, EventLog.NO_VIN);
+        }
     }
 
     @Override
     public SimStepResult step(double timeStep) {
-        spawnVehicles(timeStep);
-        provideSensorInput();
-        findNextVehicles();
-        letDriversAct();
-        moveVehicles(timeStep);
-        observeParkedVehicles();
-        observeNumberOfVehiclesInCarPark();
-        List<CPMBasicAutoVehicle> completedVehicles = cleanUpCompletedVehicles();
+        kernel.step(timeStep);
         currentTime += timeStep;
+        kernel.endStep(currentTime);
         return new CPMAutoDriverSimStepResult(completedVehicles);
     }
 
+    /**
+     * Plug the phases of a step into the kernel.
+     */
+    private void setPhases() {
+        kernel.setPhase(StepProfiler.Phase.SPAWN, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                spawnVehicles(timeStep);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.SENSOR_INPUT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                provideSensorInput();
+                findNextVehicles();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                letDriversAct();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.MOVE, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                moveVehicles(timeStep);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                observeParkedVehicles();
+                observeNumberOfVehiclesInCarPark();
+                completedVehicles = cleanUpCompletedVehicles();
+            }
+        });
+    }
+
     /////////////////////////////////
     // STEP 1
     /////////////////////////////////
@@ -128,7 +178,10 @@ public class CPMAutoDriverSimulator implements Simulator {
                     double vehicleWidth = spawnSpec.getVehicleSpec().getWidth();
                     double parkingLaneWidth = map.getParkingArea().getParkingLaneWidth();
                     if (parkingLaneWidth < (vehicleWidth+MIN_DISTANCE_BETWEEN_PARKED_VEHICLES)) {
-                        System.out.println("Spawned vehicle discarded: car park doesn't cater for vehicles this wide.");
+                        if (EventLog.IS_ENABLED) {
+                            EventLog.log(EventLog.Event.SPAWN_DISCARDED_TOO_WIDE, currentTime,
+                                    EventLog.NO_VIN, vehicleWidth);
+                        }
                     } else {
                         // Only create the vehicle if there is room in the car park
                         double vehicleLength = spawnSpec.getVehicleSpec().getLength();
@@ -139,7 +192,10 @@ public class CPMAutoDriverSimulator implements Simulator {
                             map.addVehicleToMap(vehicle);
                             break; // only handle the first spawn vehicle
                         } else {
-                            System.out.println("Spawned vehicle discarded: not enough room.");
+                            if (EventLog.IS_ENABLED) {
+                                EventLog.log(EventLog.Event.SPAWN_DISCARDED_NO_ROOM, currentTime,
+                                        EventLog.NO_VIN, vehicleLength);
+                            }
                         }
                     }
                 }
@@ -220,7 +276,7 @@ public class CPMAutoDriverSimulator implements Simulator {
         Map<Lane,SortedMap<Double,CPMBasicAutoVehicle>> vehicleLists =
                 computeVehicleLists();
         Map<CPMBasicAutoVehicle, CPMBasicAutoVehicle> nextVehicle =
-                computeNextVehicle(vehicleLists);
+                SimulatorKernel.computeNextVehicle(vehicleLists);
 
         provideIntervalInfo(nextVehicle);
         provideVehicleTrackingInfo(vehicleLists);
@@ -274,37 +330,6 @@ public class CPMAutoDriverSimulator implements Simulator {
         return vehicleLists;
     }
 
-    /**
-     * Compute the next vehicles of all vehicles.
-     *
-     * @param vehicleLists  a mapping from lanes to lists of vehicles sorted by
-     *                      their distance on their lanes
-     * @return a mapping from vehicles to next vehicles
-     */
-    private Map<CPMBasicAutoVehicle, CPMBasicAutoVehicle> computeNextVehicle(
-            Map<Lane,SortedMap<Double,CPMBasicAutoVehicle>> vehicleLists) {
-        // At this point we should only have mappings for start Lanes, and they
-        // should include all the Lanes they run into.  Now we need to turn this
-        // into a hash map that maps Vehicles to the next vehicle in the Lane
-        // or any Lane the Lane runs into
-        Map<CPMBasicAutoVehicle, CPMBasicAutoVehicle> nextVehicle =
-                new HashMap<CPMBasicAutoVehicle,CPMBasicAutoVehicle>();
-        // For each of the ordered lists of vehicles
-        for(SortedMap<Double,CPMBasicAutoVehicle> vehicleList : vehicleLists.values()) {
-            CPMBasicAutoVehicle lastVehicle = null;
-            // Go through the Vehicles in order of their position in the Lane
-            for(CPMBasicAutoVehicle currVehicle : vehicleList.values()) {
-                if(lastVehicle != null) {
-                    // Create the mapping from the previous Vehicle to the current one
-                    nextVehicle.put(lastVehicle,currVehicle);
-                }
-                lastVehicle = currVehicle;
-            }
-        }
-
-        return nextVehicle;
-    }
-
     /**
      * Provide sensing information to the intervalometers of all vehicles.
      *
@@ -471,8 +496,64 @@ public class CPMAutoDriverSimulator implements Simulator {
      * current understanding of LRF means we need a workaround.
      */
     protected void findNextVehicles() {
-        for (CPMBasicAutoVehicle vehicle : map.getVehicles()){
-            vehicle.setVehicleInFront(getVehicleInFront(vehicle, map));
+        // Group the vehicles by parking lane in one pass; vehicles on any
+        // other kind of lane have nothing in front of them.
+        Map<Lane, List<CPMBasicAutoVehicle>> laneToVehicles =
+                new HashMap<Lane, List<CPMBasicAutoVehicle>>();
+        for (CPMBasicAutoVehicle vehicle : map.getVehicles()) {
+            Lane lane = vehicle.getDriver().getCurrentLane();
+            if (lane instanceof ParkingLane) {
+                List<CPMBasicAutoVehicle> vehicles = laneToVehicles.get(lane);
+                if (vehicles == null) {
+                    vehicles = new ArrayList<CPMBasicAutoVehicle>();
+                    laneToVehicles.put(lane, vehicles);
+                }
+                vehicles.add(vehicle);
+            } else {
+                vehicle.setVehicleInFront(null);
+            }
+        }
+
+        for (List<CPMBasicAutoVehicle> vehicles : laneToVehicles.values()) {
+            setVehiclesInFront(vehicles);
+        }
+    }
+
+    /**
+     * Set the vehicle in front of each of the vehicles on a parking lane.
+     * The vehicles are ordered by their X coordinate (the sort is stable, so
+     * ties keep the order of the map's vehicle list) and each vehicle is
+     * given the first later vehicle whose X coordinate is strictly greater,
+     * which is the same vehicle {@link #getVehicleInFront} would return.
+     *
+     * @param vehicles the vehicles on the same parking lane.
+     */
+    private void setVehiclesInFront(List<CPMBasicAutoVehicle> vehicles) {
+        int n = vehicles.size();
+        final Map<CPMBasicAutoVehicle, Double> vehicleToX =
+                new IdentityHashMap<CPMBasicAutoVehicle, Double>(n);
+        for (CPMBasicAutoVehicle v : vehicles) {
+            vehicleToX.put(v, v.getPosition().getX());
+        }
+        Collections.sort(vehicles, new Comparator<CPMBasicAutoVehicle>() {
+            @Override
+            public int compare(CPMBasicAutoVehicle v1, CPMBasicAutoVehicle v2) {
+                double x1 = vehicleToX.get(v1);
+                double x2 = vehicleToX.get(v2);
+                return x1 < x2 ? -1 : (x1 > x2 ? 1 : 0);
+            }
+        });
+
+        int front = 0;
+        for (int i = 0; i < n; i++) {
+            double x = vehicleToX.get(vehicles.get(i));
+            if (front <= i) {
+                front = i + 1;
+            }
+            while (front < n && !(vehicleToX.get(vehicles.get(front)) > x)) {
+                front++;
+            }
+            vehicles.get(i).setVehicleInFront(front < n ? vehicles.get(front) : null);
         }
     }
 
@@ -522,9 +603,7 @@ public class CPMAutoDriverSimulator implements Simulator {
      * Allow each driver to act.
      */
     protected void letDriversAct() {
-        for(CPMBasicAutoVehicle vehicle : vinToVehicles.values()) {
-            vehicle.getDriver().act();
-        }
+        kernel.letDriversAct();
     }
 
     /////////////////////////////////
@@ -556,16 +635,22 @@ public class CPMAutoDriverSimulator implements Simulator {
                  if (line.intersect(vehicle, currentTime, p1, p2)) {
                      StatusMonitor statusMonitor = map.getStatusMonitor();
                      if (line.getType() == SensoredLine.SensoredLineType.ENTRY) {
-                         System.out.println("Vehicle is entering.");
+                         if (EventLog.IS_ENABLED) {
+                             EventLog.log(EventLog.Event.VEHICLE_ENTERING, currentTime, vehicle.getVIN());
+                         }
                          vehicle.setEntryTime(currentTime);
                          statusMonitor.vehicleOnEntry(vehicle);
                      }
                      if (line.getType() == SensoredLine.SensoredLineType.REENTRY) {
-                         System.out.println("Vehicle is re-entering.");
+                         if (EventLog.IS_ENABLED) {
+                             EventLog.log(EventLog.Event.VEHICLE_REENTERING, currentTime, vehicle.getVIN());
+                         }
                          statusMonitor.vehicleOnReEntry(vehicle);
                      }
                      if (line.getType() == SensoredLine.SensoredLineType.EXIT) {
-                         System.out.println("Vehicle is exiting.");
+                         if (EventLog.IS_ENABLED) {
+                             EventLog.log(EventLog.Event.VEHICLE_EXITING, currentTime, vehicle.getVIN());
+                         }
                          vehicle.setExitTime(currentTime);
                          statusMonitor.vehicleOnExit(vehicle);
                      }
@@ -606,7 +691,7 @@ public class CPMAutoDriverSimulator implements Simulator {
 
     protected void observeNumberOfVehiclesInCarPark() {
         if (map.getStatusMonitor() != null) {
-            map.getStatusMonitor().updateMostNumberOfVehicles();
+            map.getStatusMonitor().observeOccupancy(currentTime);
         }
     }
 
@@ -621,12 +706,11 @@ public class CPMAutoDriverSimulator implements Simulator {
      */
     protected List<CPMBasicAutoVehicle> cleanUpCompletedVehicles() {
         List<CPMBasicAutoVehicle> completedVehicles = new LinkedList<CPMBasicAutoVehicle>();
-        Rectangle2D mapBoundary = map.getDimensions();
         List<Integer> removedVINs = new ArrayList<Integer>(vinToVehicles.size());
         for(int vin : vinToVehicles.keySet()) {
             CPMBasicAutoVehicle vehicle = vinToVehicles.get(vin);
             // If the vehicle is no longer in the layout
-            if(!vehicle.getShape().intersects(mapBoundary)) {
+            if(!kernel.isOnMap(vehicle)) {
                 // Process anything we need to from this vehicle
                 // TODO CPM Do we need to get anything? Maybe distance travelled
                 map.removeCompletedVehicle(vehicle);
@@ -1,26 +1,29 @@
 package aim4.sim.simulator.merge;
 
-import aim4.map.DataCollectionLine;
+import aim4.im.merge.MergeManager;
 import aim4.map.merge.MergeMap;
 import aim4.map.merge.RoadNames;
 import aim4.sim.results.CoreMergeResult;
 import aim4.sim.results.CoreMergeVehicleResult;
 import aim4.sim.results.SimulatorResult;
 import aim4.sim.setup.merge.enums.ProtocolType;
+import aim4.sim.simulator.SimulatorKernel;
 import aim4.sim.simulator.merge.helper.SensorInputHelper;
 import aim4.sim.simulator.merge.helper.SpawnHelper;
+import aim4.util.StepProfiler;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.merge.MergeVehicleSimModel;
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 
-import java.awt.geom.Point2D;
-import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * Created by Callum on 08/03/2017.
  */
-public class CoreMergeSimulator implements MergeSimulator {
+public class CoreMergeSimulator implements MergeSimulator, Serializable {
+    private static final long serialVersionUID = 1L;
+
     //NESTED CLASSES//
     public static class CoreMergeSimStepResult implements SimStepResult {
         private Map<Integer, MergeVehicleSimModel> completedVehicles;
@@ -37,6 +40,10 @@ public class CoreMergeSimulator implements MergeSimulator {
     private MergeMap map;
     /* All active vehicles, in form of a map from VINs to vehicle objects. */
     private Map<Integer, MergeVehicleSimModel> vinToVehicles;
+    /* The kernel running the phases of the steps */
+    private final SimulatorKernel<MergeVehicleSimModel, MergeMap, MergeManager> kernel;
+    /* The vehicles completed in the current step */
+    private transient Map<Integer, MergeVehicleSimModel> completedVehicles;
     /* The current time */
     private double currentTime;
     /* The number of vehicles that passed through the merge zone */
@@ -46,6 +53,8 @@ public class CoreMergeSimulator implements MergeSimulator {
 
     //RESULTS//
     protected List<CoreMergeVehicleResult> vehiclesRecord;
+    /** The statistics of vehiclesRecord, kept up to date as vehicles complete */
+    private CoreMergeResult mergeResult;
     protected Map<String, Double> specToExpectedTimeMergeLane;
     protected Map<String, Double> specToExpectedTimeTargetLane;
 
@@ -66,6 +75,7 @@ public class CoreMergeSimulator implements MergeSimulator {
         this.protocolType = protocolType;
         this.vinToVehicles = new HashMap<Integer, MergeVehicleSimModel>();
         this.vehiclesRecord = new ArrayList<CoreMergeVehicleResult>();
+        this.mergeResult = new CoreMergeResult(vehiclesRecord);
 
         currentTime = 0.0;
         numberOfCompletedVehicles = 0;
@@ -74,21 +84,16 @@ public class CoreMergeSimulator implements MergeSimulator {
         this.sensorInputHelper = new SensorInputHelper(map, vinToVehicles);
         this.specToExpectedTimeMergeLane = specToExpectedTimeMergeLane;
         this.specToExpectedTimeTargetLane = specToExpectedTimeTargetLane;
+        this.kernel = new SimulatorKernel<MergeVehicleSimModel, MergeMap, MergeManager>(
+                "merge", map, map.getMergeManagers(), vinToVehicles);
+        setPhases();
     }
 
     @Override
     public synchronized CoreMergeSimStepResult step(double timeStep) {
-        spawnHelper.spawnVehicles(timeStep, protocolType);
-        sensorInputHelper.provideSensorInput();
-        letDriversAct();
-        moveVehicles(timeStep);
-        //checkForCollisions(); TODO: Fix collision prevention so that this can be run.
-
-        Map<Integer, MergeVehicleSimModel> completedVehicles = cleanUpCompletedVehicles();
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        recordCompletedVehicles(completedVehicles);
-        updateMaxMinVelocities();
+        kernel.step(timeStep);
         incrementCurrentTime(timeStep);
+        kernel.endStep(currentTime);
 
         return new CoreMergeSimStepResult(completedVehicles);
     }
@@ -128,38 +133,64 @@ public class CoreMergeSimulator implements MergeSimulator {
         return this.vinToVehicles;
     }
 
+    protected SimulatorKernel<MergeVehicleSimModel, MergeMap, MergeManager> getKernel() {
+        return kernel;
+    }
+
     protected void incrementCurrentTime(double timeStep) {
         currentTime += timeStep;
     }
 
     //STEP DRIVERS//
-    protected void letDriversAct() {
-        for(MergeVehicleSimModel vehicle : vinToVehicles.values()) {
-            vehicle.getDriver().act();
-        }
-    }
-
-    protected void moveVehicles(double timestep) {
-        for(MergeVehicleSimModel vehicle : vinToVehicles.values()) {
-            Point2D p1 = vehicle.getPosition();
-            vehicle.move(timestep);
-            Point2D p2 = vehicle.getPosition();
-            for(DataCollectionLine line : map.getDataCollectionLines()){
-                line.intersect(vehicle, currentTime, p1, p2);
+    private void setPhases() {
+        kernel.setPhase(StepProfiler.Phase.SPAWN, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                spawnHelper.spawnVehicles(timeStep, protocolType);
             }
-        }
+        });
+        kernel.setPhase(StepProfiler.Phase.SENSOR_INPUT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                sensorInputHelper.provideSensorInput();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.letDriversAct();
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.MOVE, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                kernel.moveVehicles(timeStep, currentTime);
+            }
+        });
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                cleanUp();
+            }
+        });
     }
 
     //CLEAN UP//
+    private void cleanUp() {
+        //checkForCollisions(); TODO: Fix collision prevention so that this can be run.
+        completedVehicles = cleanUpCompletedVehicles();
+        provideCompletedVehiclesWithResultsInfo(completedVehicles);
+        recordCompletedVehicles(completedVehicles);
+        updateMaxMinVelocities();
+    }
+
     protected Map<Integer, MergeVehicleSimModel> cleanUpCompletedVehicles() {
         Map<Integer, MergeVehicleSimModel> completedVehicles = new HashMap<Integer, MergeVehicleSimModel>();
 
-        Rectangle2D mapBoundary = map.getDimensions();
-
         List<MergeVehicleSimModel> removedVehicles = new ArrayList<MergeVehicleSimModel>(vinToVehicles.size());
         for(int vin : vinToVehicles.keySet()) {
             MergeVehicleSimModel v = vinToVehicles.get(vin);
-            if(!v.getShape().intersects(mapBoundary)){
+            if(!kernel.isOnMap(v)){
                 removedVehicles.add(v);
             }
         }
@@ -203,9 +234,12 @@ public class CoreMergeSimulator implements MergeSimulator {
         throw new NotImplementedException();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
     public CoreMergeResult produceMergeResult() {
-        CoreMergeResult result = new CoreMergeResult(vehiclesRecord);
-        return result;
+        return mergeResult;
     }
 
     protected void provideCompletedVehiclesWithResultsInfo(Map<Integer, MergeVehicleSimModel> completedVehicles) {
@@ -246,7 +280,7 @@ public class CoreMergeSimulator implements MergeSimulator {
     protected void recordCompletedVehicles(Map<Integer, MergeVehicleSimModel> completedVehicles) {
         for(int vin : completedVehicles.keySet()) {
             MergeVehicleSimModel vehicle = completedVehicles.get(vin);
-            vehiclesRecord.add(new CoreMergeVehicleResult(
+            mergeResult.add(new CoreMergeVehicleResult(
                     vin,
                     vehicle.getStartingRoad().toString(),
                     vehicle.getSpec().getName(),
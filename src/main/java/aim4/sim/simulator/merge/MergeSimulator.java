@@ -11,5 +11,12 @@ import java.util.Map;
  */
 public interface MergeSimulator extends Simulator {
     public Map<Integer, MergeVehicleSimModel> getVinToVehicles();
+
+    /**
+     * Get the results of the vehicles that have completed so far.
+     *
+     * @return the live result of the simulator, which keeps being updated
+     *         as vehicles complete; it is not a copy
+     */
     public CoreMergeResult produceMergeResult();
 }
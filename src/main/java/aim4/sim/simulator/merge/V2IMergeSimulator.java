@@ -6,6 +6,8 @@ import aim4.map.merge.MergeMap;
 import aim4.msg.merge.i2v.I2VMergeMessage;
 import aim4.msg.merge.v2i.V2IMergeMessage;
 import aim4.sim.setup.merge.enums.ProtocolType;
+import aim4.sim.simulator.SimulatorKernel;
+import aim4.util.StepProfiler;
 import aim4.vehicle.VinRegistry;
 import aim4.vehicle.merge.MergeV2IAutoVehicleSimModel;
 import aim4.vehicle.merge.MergeVehicleSimModel;
@@ -19,9 +21,11 @@ import java.util.Queue;
  */
 public class V2IMergeSimulator extends CoreMergeSimulator {
 
+    private static final long serialVersionUID = 1L;
+
 
     public V2IMergeSimulator(MergeMap map, ProtocolType protocolType) {
-        super(map, protocolType);
+        this(map, protocolType, null, null);
     }
 
     public V2IMergeSimulator(MergeMap map,
@@ -29,31 +33,18 @@ public class V2IMergeSimulator extends CoreMergeSimulator {
                              Map<String, Double> specToExpectedTimeMergeLane,
                              Map<String, Double> specToExpectedTimeTargetLane) {
         super(map, protocolType, specToExpectedTimeMergeLane, specToExpectedTimeTargetLane);
-    }
-
-    // ACTION //
-    @Override
-    public synchronized CoreMergeSimStepResult step(double timeStep) {
-        spawnHelper.spawnVehicles(timeStep, protocolType);
-        sensorInputHelper.provideSensorInput();
-        letDriversAct();
-        letMergeManagersAct(timeStep);
-        communication();
-        moveVehicles(timeStep);
-        //checkForCollisions(); TODO: Fix collision prevention so that this can be run.
-
-        Map<Integer, MergeVehicleSimModel> completedVehicles = cleanUpCompletedVehicles();
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        recordCompletedVehicles(completedVehicles);
-        updateMaxMinVelocities();
-        incrementCurrentTime(timeStep);
-
-        return new CoreMergeSimStepResult(completedVehicles);
-    }
-
-    private void letMergeManagersAct(double timeStep) {
-        for(MergeManager mm : getMap().getMergeManagers())
-            mm.act(timeStep);
+        getKernel().setPhase(StepProfiler.Phase.IM_ACT, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                getKernel().letManagersAct(timeStep);
+            }
+        });
+        getKernel().setPhase(StepProfiler.Phase.COMMUNICATION, new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                communication();
+            }
+        });
     }
 
     // COMMUNICATION //
@@ -123,6 +114,8 @@ public class V2IMergeSimulator extends CoreMergeSimulator {
      */
     private boolean transmit(double distance, double power) {
         // Simple for now
-        return distance <= power;
+        boolean isTransmitted = distance <= power;
+        getKernel().getProfiler().count(isTransmitted ? "messages.delivered" : "messages.lost");
+        return isTransmitted;
     }
 }
@@ -4,20 +4,31 @@ import aim4.driver.merge.MergeAutoDriver;
 import aim4.map.Road;
 import aim4.map.lane.Lane;
 import aim4.map.merge.MergeMap;
+import aim4.noise.DoubleGauge;
+import aim4.noise.NoiseFunction;
+import aim4.sim.simulator.SimulatorKernel;
 import aim4.vehicle.merge.MergeAutoVehicleSimModel;
 import aim4.vehicle.merge.MergeVehicleSimModel;
 
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * Created by Callum on 15/03/2017.
  */
-public class SensorInputHelper {
+public class SensorInputHelper implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     MergeMap map;
     Map<Integer, MergeVehicleSimModel> vinToVehicles;
 
+    /** The gauges of the vehicle tracking readings of a vehicle, recorded as one batch. */
+    private transient DoubleGauge[] trackingGauges;
+    /** The vehicle tracking readings of a vehicle. */
+    private transient double[] trackingReadings;
+
     /**
      * Provides sensor input for the
      *
@@ -34,7 +45,7 @@ public class SensorInputHelper {
      */
     public void provideSensorInput() {
         Map<Lane, SortedMap<Double, MergeVehicleSimModel>> vehicleLists = computeVehicleLists();
-        Map<MergeVehicleSimModel, MergeVehicleSimModel> nextVehicle = computeNextVehicle(vehicleLists);
+        Map<MergeVehicleSimModel, MergeVehicleSimModel> nextVehicle = SimulatorKernel.computeNextVehicle(vehicleLists);
 
         provideIntervalInfo(nextVehicle);
         providePrecedingVehicleVIN(nextVehicle);
@@ -68,30 +79,6 @@ public class SensorInputHelper {
         return vehicleLists;
     }
 
-    /**
-     * Finds the preceding vehicle for all of the vehicles. This is the preceding vehicle for the lane the vehicle is
-     * currently on.
-     *
-     * @param vehicleLists
-     * @return
-     */
-    private Map<MergeVehicleSimModel, MergeVehicleSimModel> computeNextVehicle(
-            Map<Lane, SortedMap<Double, MergeVehicleSimModel>> vehicleLists) {
-        Map<MergeVehicleSimModel, MergeVehicleSimModel> nextVehicle =
-                new HashMap<MergeVehicleSimModel, MergeVehicleSimModel>();
-        for (SortedMap<Double, MergeVehicleSimModel> vehicleList : vehicleLists.values()) {
-            MergeVehicleSimModel lastVehicle = null;
-            for (MergeVehicleSimModel currVehicle : vehicleList.values()) {
-                if (lastVehicle != null) {
-                    nextVehicle.put(lastVehicle, currVehicle);
-                }
-                lastVehicle = currVehicle;
-            }
-        }
-
-        return nextVehicle;
-    }
-
     private void provideIntervalInfo(Map<MergeVehicleSimModel, MergeVehicleSimModel> nextVehicle) {
         for (MergeVehicleSimModel mergeVehicle : vinToVehicles.values()) {
             if (mergeVehicle instanceof MergeAutoVehicleSimModel) {
@@ -162,29 +149,56 @@ public class SensorInputHelper {
                         rearVehicle = null;
                     }
 
-                    //assign the sensor readings
-
-                    autoVehicle.getFrontVehicleDistanceSensor().record(frontDst);
-                    autoVehicle.getRearVehicleDistanceSensor().record(rearDst);
-
-                    //assign the vehicles' velocities
-                    if(frontVehicle!=null){
-                        autoVehicle.getFrontVehicleSpeedSensor().record(
-                                frontVehicle.getVelocity());
-                    } else {
-                        autoVehicle.getFrontVehicleSpeedSensor().record(Double.MAX_VALUE);
-                    }
-                    if(rearVehicle!=null) {
-                        autoVehicle.getRearVehicleSpeedSensor().record(
-                                rearVehicle.getVelocity());
-                    } else {
-                        autoVehicle.getRearVehicleSpeedSensor().record(Double.MAX_VALUE);
-                    }
+                    //assign the sensor readings and the vehicles' velocities
+                    double frontSpeed = (frontVehicle != null) ? frontVehicle.getVelocity() : Double.MAX_VALUE;
+                    double rearSpeed = (rearVehicle != null) ? rearVehicle.getVelocity() : Double.MAX_VALUE;
+                    recordTrackingReadings(autoVehicle, frontDst, rearDst, frontSpeed, rearSpeed);
                 }
             }
         }
     }
 
+    /**
+     * Records the vehicle tracking readings of a vehicle.  When its four gauges share a noise function, as the
+     * noiseless gauges of a vehicle do, the readings are recorded as one batch, so the noise is drawn at once.
+     *
+     * @param autoVehicle the vehicle
+     * @param frontDst    the distance to the vehicle in front
+     * @param rearDst     the distance to the vehicle behind
+     * @param frontSpeed  the velocity of the vehicle in front
+     * @param rearSpeed   the velocity of the vehicle behind
+     */
+    private void recordTrackingReadings(MergeAutoVehicleSimModel autoVehicle,
+                                        double frontDst, double rearDst, double frontSpeed, double rearSpeed) {
+        if (trackingGauges == null) {
+            trackingGauges = new DoubleGauge[4];
+            trackingReadings = new double[4];
+        }
+        trackingGauges[0] = autoVehicle.getFrontVehicleDistanceSensor();
+        trackingGauges[1] = autoVehicle.getRearVehicleDistanceSensor();
+        trackingGauges[2] = autoVehicle.getFrontVehicleSpeedSensor();
+        trackingGauges[3] = autoVehicle.getRearVehicleSpeedSensor();
+        trackingReadings[0] = frontDst;
+        trackingReadings[1] = rearDst;
+        trackingReadings[2] = frontSpeed;
+        trackingReadings[3] = rearSpeed;
+
+        NoiseFunction noiseFunction = trackingGauges[0].getNoiseFunction();
+        boolean isSharedNoiseFunction = true;
+        for (DoubleGauge gauge : trackingGauges) {
+            if (gauge.getNoiseFunction() != noiseFunction) {
+                isSharedNoiseFunction = false;
+            }
+        }
+        if (isSharedNoiseFunction) {
+            DoubleGauge.recordAll(trackingGauges, trackingReadings, trackingReadings.length, noiseFunction);
+        } else {
+            for (int i = 0; i < trackingGauges.length; i++) {
+                trackingGauges[i].record(trackingReadings[i]);
+            }
+        }
+    }
+
     private double calcInterval(MergeVehicleSimModel vehicle, MergeVehicleSimModel nextVehicle) {
         Point2D pos = vehicle.getPosition();
         if(nextVehicle.getShape().contains(pos)) {
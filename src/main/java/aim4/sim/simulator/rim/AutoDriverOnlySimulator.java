@@ -2,22 +2,29 @@ package aim4.sim.simulator.rim;
 
 import aim4.config.Debug;
 import aim4.config.DebugPoint;
+import aim4.config.SimConfig;
 import aim4.driver.rim.ProxyDriver;
 import aim4.driver.rim.RIMAutoDriver;
 import aim4.im.rim.IntersectionManager;
 import aim4.im.rim.v2i.V2IManager;
 import aim4.map.BasicRIMIntersectionMap;
-import aim4.map.DataCollectionLine;
 import aim4.map.Road;
 import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
 import aim4.map.lane.LineSegmentLane;
+import aim4.msg.rim.codec.MessageCodec;
 import aim4.msg.rim.i2v.I2VMessage;
 import aim4.msg.rim.v2i.V2IMessage;
+import aim4.sim.channel.Channel;
+import aim4.sim.channel.ChannelModel;
+import aim4.sim.channel.IdealChannelModel;
 import aim4.sim.results.Result;
 import aim4.sim.results.VehicleResult;
+import aim4.sim.simulator.SimulatorKernel;
 import aim4.sim.simulator.rim.helper.SpawnHelper;
+import aim4.sim.simulator.rim.helper.TravelTimeHelper;
 import aim4.util.Util;
+import aim4.util.StepProfiler;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.VinRegistry;
 import aim4.vehicle.rim.ProxyVehicleSimModel;
@@ -27,7 +34,7 @@ import aim4.vehicle.rim.RIMVehicleSimModel;
 import java.awt.*;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
-import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.*;
 import java.util.List;
 import java.util.Queue;
@@ -35,7 +42,9 @@ import java.util.Queue;
 /**
  * The autonomous drivers only simulator.
  */
-public class AutoDriverOnlySimulator implements RIMSimulator{
+public class AutoDriverOnlySimulator implements RIMSimulator, Serializable{
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // NESTED CLASSES
@@ -68,6 +77,44 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
         }
     }
 
+    /**
+     * The receiver of V2I messages sent to an intersection manager.
+     */
+    private static class IMReceiver implements Channel.Receiver<V2IMessage> {
+        private static final long serialVersionUID = 1L;
+
+        /** The intersection manager */
+        private final V2IManager im;
+
+        IMReceiver(V2IManager im) {
+            this.im = im;
+        }
+
+        @Override
+        public void receive(V2IMessage msg) {
+            im.receive(msg);
+        }
+    }
+
+    /**
+     * The receiver of I2V messages sent to a vehicle.
+     */
+    private static class VehicleReceiver implements Channel.Receiver<I2VMessage> {
+        private static final long serialVersionUID = 1L;
+
+        /** The vehicle */
+        private final RIMAutoVehicleSimModel vehicle;
+
+        VehicleReceiver(RIMAutoVehicleSimModel vehicle) {
+            this.vehicle = vehicle;
+        }
+
+        @Override
+        public void receive(I2VMessage msg) {
+            vehicle.receive(msg);
+        }
+    }
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -76,6 +123,10 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     private BasicRIMIntersectionMap basicRIMIntersectionMap;
     /** All active vehicles, in form of a map from VINs to vehicle objects. */
     public Map<Integer,RIMVehicleSimModel> vinToVehicles;
+    /** The kernel running the phases of the steps */
+    private final SimulatorKernel<RIMVehicleSimModel, BasicRIMIntersectionMap, IntersectionManager> kernel;
+    /** The VINs of the vehicles completed in the current step */
+    private transient List<Integer> completedVINs;
     /** The current time */
     private double currentTime;
     /** The number of completed vehicles */
@@ -84,12 +135,18 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     private int totalBitsTransmittedByCompletedVehicles;
     /** The total number of bits received by the completed vehicles */
     private int totalBitsReceivedByCompletedVehicles;
+    /** The channel over which the V2I messages are sent */
+    private Channel<V2IMessage> v2iChannel;
+    /** The channel over which the I2V messages are sent */
+    private Channel<I2VMessage> i2vChannel;
 
     //Results aids//
     private List<VehicleResult> vehiclesRecord;
 
     //HELPERS//
     SpawnHelper spawnHelper;
+    /** Computes the expected travel times of the completed vehicles; null if they are not recorded */
+    private TravelTimeHelper travelTimeHelper;
 
     /////////////////////////////////
     // CLASS CONSTRUCTORS
@@ -110,7 +167,11 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
         numOfCompletedVehicles = 0;
         totalBitsTransmittedByCompletedVehicles = 0;
         totalBitsReceivedByCompletedVehicles = 0;
-
+        v2iChannel = new Channel<V2IMessage>(new IdealChannelModel());
+        i2vChannel = new Channel<I2VMessage>(new IdealChannelModel());
+        kernel = new SimulatorKernel<>("rim", basicRIMIntersectionMap,
+                basicRIMIntersectionMap.getIntersectionManagers(), vinToVehicles);
+        setPhases();
     }
 
     /////////////////////////////////
@@ -126,49 +187,10 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     public synchronized AutoDriverOnlySimStepResult step(double timeStep) {
         if (Debug.PRINT_SIMULATOR_STAGE) {
             System.err.printf("--------------------------------------\n");
-            System.err.printf("------SIM:spawnVehicles---------------\n");
-        }
-        spawnHelper.spawnVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:provideSensorInput---------------\n");
-        }
-        provideSensorInput();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letDriversAct---------------\n");
-        }
-        letDriversAct();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letIntersectionManagersAct--------------\n");
-        }
-        letIntersectionManagersAct(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:communication---------------\n");
-        }
-        communication();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:moveVehicles---------------\n");
-        }
-        moveVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:cleanUpCompletedVehicles---------------\n");
-        }
-        if (Debug.CHECK_FOR_COLLISIONS) {
-            System.err.printf("------SIM:checkForCollisions---------------\n");
-            checkForCollisions();
-        }
-        if (Debug.PRINT_SIMULATOR_STAGE){
-            System.err.printf("------SIM:calculateCompletedVehicles---------------\n");
         }
-        List<RIMVehicleSimModel> completedVehicles = calculateCompletedVehicles();
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        recordCompletedVehicles(completedVehicles);
-        updateMaxMinVelocities();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:cleanUpCompletedVehicles---------------\n");
-        }
-        List<Integer> completedVINs = cleanUpCompletedVehicles();
-
+        kernel.step(timeStep);
         currentTime += timeStep;
+        kernel.endStep(currentTime);
         // debug
         checkClocks();
 
@@ -251,6 +273,35 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     // PUBLIC METHODS
     /////////////////////////////////
 
+    /**
+     * Set the model of the channels over which the V2I and I2V messages are
+     * sent.  The messages in transit on the old channels are discarded.
+     *
+     * @param model  the channel model
+     */
+    public synchronized void setChannelModel(ChannelModel model) {
+        v2iChannel = new Channel<V2IMessage>(model);
+        i2vChannel = new Channel<I2VMessage>(model);
+    }
+
+    /**
+     * Get the channel over which the V2I messages are sent.
+     *
+     * @return the channel over which the V2I messages are sent
+     */
+    public synchronized Channel<V2IMessage> getV2IChannel() {
+        return v2iChannel;
+    }
+
+    /**
+     * Get the channel over which the I2V messages are sent.
+     *
+     * @return the channel over which the I2V messages are sent
+     */
+    public synchronized Channel<I2VMessage> getI2VChannel() {
+        return i2vChannel;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -285,6 +336,19 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     // PRIVATE METHODS
     /////////////////////////////////
 
+    /**
+     * Plug the phases of a step into the kernel.
+     */
+    private void setPhases() {
+        kernel.setPhase(StepProfiler.Phase.SPAWN, timeStep -> spawnHelper.spawnVehicles(timeStep));
+        kernel.setPhase(StepProfiler.Phase.SENSOR_INPUT, timeStep -> provideSensorInput());
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, timeStep -> kernel.letDriversAct());
+        kernel.setPhase(StepProfiler.Phase.IM_ACT, timeStep -> kernel.letManagersAct(timeStep));
+        kernel.setPhase(StepProfiler.Phase.COMMUNICATION, timeStep -> communication());
+        kernel.setPhase(StepProfiler.Phase.MOVE, timeStep -> kernel.moveVehicles(timeStep, currentTime));
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, timeStep -> cleanUp());
+    }
+
 
     /////////////////////////////////
     // STEP 2
@@ -386,19 +450,7 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
         // into a hash map that maps Vehicles to the next vehicle in the Lane
         // or any Lane the Lane runs into
         Map<RIMVehicleSimModel, RIMVehicleSimModel> nextVehicle =
-                new HashMap<RIMVehicleSimModel,RIMVehicleSimModel>();
-        // For each of the ordered lists of vehicles
-        for(SortedMap<Double,RIMVehicleSimModel> vehicleList : vehicleLists.values()) {
-            RIMVehicleSimModel lastVehicle = null;
-            // Go through the Vehicles in order of their position in the Lane
-            for(RIMVehicleSimModel currVehicle : vehicleList.values()) {
-                if(lastVehicle != null) {
-                    // Create the mapping from the previous Vehicle to the current one
-                    nextVehicle.put(lastVehicle, currVehicle);
-                }
-                lastVehicle = currVehicle;
-            }
-        }
+                SimulatorKernel.computeNextVehicle(vehicleLists);
         // Now link the vehicles
         for (Lane lane: vehicleLists.keySet()) {
             if (vehicleLists.get(lane).size() > 0) {
@@ -641,33 +693,6 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     // interval = vehicle.getPosition().
     //   distance(nextVehicle.get(vehicle).getPointAtRear());
 
-    /////////////////////////////////
-    // STEP 3
-    /////////////////////////////////
-
-    /**
-     * Allow each driver to act.
-     */
-    private void letDriversAct() {
-        for(RIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            vehicle.getDriver().act();
-        }
-    }
-
-    /////////////////////////////////
-    // STEP 4
-    /////////////////////////////////
-
-    /**
-     * Allow each intersection manager to act.
-     *
-     * @param timeStep  the time step
-     */
-    private void letIntersectionManagersAct(double timeStep) {
-        for(IntersectionManager im : basicRIMIntersectionMap.getIntersectionManagers()) {
-            im.act(timeStep);
-        }
-    }
     /////////////////////////////////
     // STEP 5
     /////////////////////////////////
@@ -679,6 +704,10 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
         deliverV2IMessages();
         deliverI2VMessages();
 //    deliverV2VMessages();
+        kernel.getProfiler().setGauge("messages.v2i.sent", v2iChannel.getNumOfSentMessages());
+        kernel.getProfiler().setGauge("messages.v2i.lost", v2iChannel.getNumOfLostMessages());
+        kernel.getProfiler().setGauge("messages.i2v.sent", i2vChannel.getNumOfSentMessages());
+        kernel.getProfiler().setGauge("messages.i2v.lost", i2vChannel.getNumOfLostMessages());
     }
 
     /**
@@ -699,16 +728,18 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
                     double txDistance =
                             sender.getPosition().distance(
                                     receiver.getIntersection().getCentroid());
-                    // Find out if the message will make it that far
-                    if(transmit(txDistance, sender.getTransmissionPower())) {
-                        // Actually deliver the message
-                        receiver.receive(msg);
-                        // Add the delivery to the debugging information
+                    if (SimConfig.IS_WIRE_FORMAT_ENABLED) {
+                        // Send what the receiver would decode off the air
+                        msg = MessageCodec.decodeV2IMessage(
+                                MessageCodec.encode(msg));
                     }
-                    // Either way, we increment the number of transmitted messages
+                    // The channel decides whether and when it arrives
+                    v2iChannel.send(msg, new IMReceiver(receiver), txDistance,
+                                    sender.getTransmissionPower());
                 }
             }
         }
+        v2iChannel.deliver(currentTime);
     }
 
     /**
@@ -728,53 +759,26 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
                 double txDistance =
                         senderIM.getIntersection().getCentroid().distance(
                                 vehicle.getPosition());
-                // Find out if the message will make it that far
-                if(transmit(txDistance, senderIM.getTransmissionPower())) {
-                    // Actually deliver the message
-                    vehicle.receive(msg);
+                if (SimConfig.IS_WIRE_FORMAT_ENABLED) {
+                    // Send what the vehicle would decode off the air
+                    msg = MessageCodec.decodeI2VMessage(
+                            MessageCodec.encode(msg));
                 }
+                // The channel decides whether and when it arrives
+                i2vChannel.send(msg, new VehicleReceiver(vehicle), txDistance,
+                                senderIM.getTransmissionPower());
             }
             // Done delivering the IntersectionManager's messages, so clear the
             // outbox.
             senderIM.clearOutbox();
         }
-    }
-
-    /**
-     * Whether the transmission of a message is successful
-     *
-     * @param distance  the distance of the transmission
-     * @param power     the power of the transmission
-     * @return whether the transmission of a messsage is successful
-     */
-    private boolean transmit(double distance, double power) {
-        // Simple for now
-        return distance <= power;
+        i2vChannel.deliver(currentTime);
     }
 
     /////////////////////////////////
     // STEP 6
     /////////////////////////////////
 
-    /**
-     * Move all the vehicles.
-     *
-     * @param timeStep  the time step
-     */
-    private void moveVehicles(double timeStep) {
-        for(RIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            Point2D p1 = vehicle.getPosition();
-            vehicle.move(timeStep);
-            Point2D p2 = vehicle.getPosition();
-            for(DataCollectionLine line : basicRIMIntersectionMap.getDataCollectionLines()) {
-                line.intersect(vehicle, currentTime, p1, p2);
-            }
-            if (Debug.isPrintVehicleStateOfVIN(vehicle.getVIN())) {
-                vehicle.printState();
-            }
-        }
-    }
-
     /**
      * Detects collisions. Currently not used because vehicles collide - Go figure.
      */
@@ -798,6 +802,21 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     // STEP 7
     /////////////////////////////////
 
+    /**
+     * Record and remove the completed vehicles.
+     */
+    private void cleanUp() {
+        if (Debug.CHECK_FOR_COLLISIONS) {
+            System.err.printf("------SIM:checkForCollisions---------------\n");
+            checkForCollisions();
+        }
+        List<RIMVehicleSimModel> completedVehicles = calculateCompletedVehicles();
+        provideCompletedVehiclesWithResultsInfo(completedVehicles);
+        recordCompletedVehicles(completedVehicles);
+        updateMaxMinVelocities();
+        completedVINs = cleanUpCompletedVehicles();
+    }
+
     /**
      * Remove all completed vehicles.
      *
@@ -806,14 +825,12 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     private List<Integer> cleanUpCompletedVehicles() {
         List<Integer> completedVINs = new LinkedList<Integer>();
 
-        Rectangle2D mapBoundary = basicRIMIntersectionMap.getDimensions();
-
         List<Integer> removedVINs = new ArrayList<Integer>(vinToVehicles.size());
         for(int vin : vinToVehicles.keySet()) {
             RIMVehicleSimModel v = vinToVehicles.get(vin);
             // If the vehicle is no longer in the layout
             // TODO: this should be replaced with destination zone.
-            if(!v.getShape().intersects(mapBoundary)) {
+            if(!kernel.isOnMap(v)) {
                 // Process all the things we need to from this vehicle
                 if (v instanceof RIMAutoVehicleSimModel) {
                     RIMAutoVehicleSimModel v2 = (RIMAutoVehicleSimModel)v;
@@ -837,9 +854,8 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
     private List<RIMVehicleSimModel> calculateCompletedVehicles() {
         List<RIMVehicleSimModel> completedVehicles = new LinkedList<RIMVehicleSimModel>();
 
-        Rectangle2D mapBoundary = basicRIMIntersectionMap.getDimensions();
         for(int vin : vinToVehicles.keySet()) {
-            if(!vinToVehicles.get(vin).getShape().intersects(mapBoundary))
+            if(!kernel.isOnMap(vinToVehicles.get(vin)))
                 completedVehicles.add(vinToVehicles.get(vin));
         }
 
@@ -855,7 +871,8 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
                     vehicle.getFinishTime(),
                     vehicle.getFinalVelocity(),
                     vehicle.getMaxVelocity(),
-                    vehicle.getMinVelocity()
+                    vehicle.getMinVelocity(),
+                    travelTimeHelper == null ? Double.NaN : travelTimeHelper.getExpectedTravelTime(vehicle)
             ));
         }
     }
@@ -899,6 +916,16 @@ public class AutoDriverOnlySimulator implements RIMSimulator{
         return spawnHelper.getNumOfVehiclesSpawned();
     }
 
+    /**
+     * Set whether the time each completed vehicle would have taken without other traffic is recorded in its
+     * result, so that delays can be measured without running an optimal protocol.
+     *
+     * @param record whether to record the expected travel times
+     */
+    public synchronized void setRecordExpectedTravelTimes(boolean record) {
+        travelTimeHelper = record ? new TravelTimeHelper(basicRIMIntersectionMap) : null;
+    }
+
     /////////////////////////////////
     // DEBUG
     /////////////////////////////////
@@ -7,7 +7,6 @@ import aim4.driver.rim.RIMAutoDriver;
 import aim4.im.rim.IntersectionManager;
 import aim4.im.rim.v2i.V2IManager;
 import aim4.map.BasicRIMIntersectionMap;
-import aim4.map.DataCollectionLine;
 import aim4.map.Road;
 import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
@@ -16,7 +15,9 @@ import aim4.msg.rim.i2v.I2VMessage;
 import aim4.msg.rim.v2i.V2IMessage;
 import aim4.sim.results.Result;
 import aim4.sim.results.VehicleResult;
+import aim4.sim.simulator.SimulatorKernel;
 import aim4.sim.simulator.rim.helper.SpawnHelper;
+import aim4.util.StepProfiler;
 import aim4.util.Util;
 import aim4.vehicle.VehicleUtil;
 import aim4.vehicle.VinRegistry;
@@ -76,6 +77,10 @@ public class RIMOptimalSimulator implements RIMSimulator{
     private BasicRIMIntersectionMap basicRIMIntersectionMap;
     /** All active vehicles, in form of a map from VINs to vehicle objects. */
     public Map<Integer,RIMVehicleSimModel> vinToVehicles;
+    /** The kernel running the phases of the steps */
+    private final SimulatorKernel<RIMVehicleSimModel, BasicRIMIntersectionMap, IntersectionManager> kernel;
+    /** The VINs of the vehicles completed in the current step */
+    private transient List<Integer> completedVINs;
     /** The current time */
     private double currentTime;
     /** The number of completed vehicles */
@@ -110,7 +115,9 @@ public class RIMOptimalSimulator implements RIMSimulator{
         numOfCompletedVehicles = 0;
         totalBitsTransmittedByCompletedVehicles = 0;
         totalBitsReceivedByCompletedVehicles = 0;
-
+        kernel = new SimulatorKernel<>("rimOptimal", basicRIMIntersectionMap,
+                basicRIMIntersectionMap.getIntersectionManagers(), vinToVehicles);
+        setPhases();
     }
 
     /////////////////////////////////
@@ -126,42 +133,10 @@ public class RIMOptimalSimulator implements RIMSimulator{
     public synchronized RIMOptimalSimulatorSimStepResult step(double timeStep) {
         if (Debug.PRINT_SIMULATOR_STAGE) {
             System.err.printf("--------------------------------------\n");
-            System.err.printf("------SIM:spawnVehicles---------------\n");
-        }
-        spawnHelper.spawnVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:provideSensorInput---------------\n");
-        }
-        provideSensorInput();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letDriversAct---------------\n");
-        }
-        letDriversAct();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:letIntersectionManagersAct--------------\n");
-        }
-        letIntersectionManagersAct(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:communication---------------\n");
-        }
-        communication();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:moveVehicles---------------\n");
         }
-        moveVehicles(timeStep);
-        if (Debug.PRINT_SIMULATOR_STAGE){
-            System.err.printf("------SIM:calculateCompletedVehicles---------------\n");
-        }
-        List<RIMVehicleSimModel> completedVehicles = calculateCompletedVehicles();
-        provideCompletedVehiclesWithResultsInfo(completedVehicles);
-        recordCompletedVehicles(completedVehicles);
-        updateMaxMinVelocities();
-        if (Debug.PRINT_SIMULATOR_STAGE) {
-            System.err.printf("------SIM:cleanUpCompletedVehicles---------------\n");
-        }
-        List<Integer> completedVINs = cleanUpCompletedVehicles();
-
+        kernel.step(timeStep);
         currentTime += timeStep;
+        kernel.endStep(currentTime);
         // debug
         checkClocks();
 
@@ -278,6 +253,19 @@ public class RIMOptimalSimulator implements RIMSimulator{
     // PRIVATE METHODS
     /////////////////////////////////
 
+    /**
+     * Plug the phases of a step into the kernel.
+     */
+    private void setPhases() {
+        kernel.setPhase(StepProfiler.Phase.SPAWN, timeStep -> spawnHelper.spawnVehicles(timeStep));
+        kernel.setPhase(StepProfiler.Phase.SENSOR_INPUT, timeStep -> provideSensorInput());
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, timeStep -> kernel.letDriversAct());
+        kernel.setPhase(StepProfiler.Phase.IM_ACT, timeStep -> kernel.letManagersAct(timeStep));
+        kernel.setPhase(StepProfiler.Phase.COMMUNICATION, timeStep -> communication());
+        kernel.setPhase(StepProfiler.Phase.MOVE, timeStep -> kernel.moveVehicles(timeStep, currentTime));
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, timeStep -> cleanUp());
+    }
+
 
     /////////////////////////////////
     // STEP 2
@@ -398,94 +386,6 @@ public class RIMOptimalSimulator implements RIMSimulator{
                 bounds.getY() + bounds.getHeight() > point.getY());
     }
 
-    /**
-     * Compute the next vehicles of all vehicles.
-     *
-     * @param vehicleLists  a mapping from lanes to lists of vehicles sorted by
-     *                      their distance on their lanes
-     * @return a mapping from vehicles to next vehicles
-     */
-    private Map<RIMVehicleSimModel, RIMVehicleSimModel> computeNextVehicle(
-            Map<Lane,SortedMap<Double,RIMVehicleSimModel>> vehicleLists) {
-        // At this point we should only have mappings for start Lanes, and they
-        // should include all the Lanes they run into.  Now we need to turn this
-        // into a hash map that maps Vehicles to the next vehicle in the Lane
-        // or any Lane the Lane runs into
-        Map<RIMVehicleSimModel, RIMVehicleSimModel> nextVehicle =
-                new HashMap<RIMVehicleSimModel,RIMVehicleSimModel>();
-        // For each of the ordered lists of vehicles
-        for(SortedMap<Double,RIMVehicleSimModel> vehicleList : vehicleLists.values()) {
-            RIMVehicleSimModel lastVehicle = null;
-            // Go through the Vehicles in order of their position in the Lane
-            for(RIMVehicleSimModel currVehicle : vehicleList.values()) {
-                if(lastVehicle != null) {
-                    // Create the mapping from the previous Vehicle to the current one
-                    nextVehicle.put(lastVehicle, currVehicle);
-                }
-                lastVehicle = currVehicle;
-            }
-        }
-        // Now link the vehicles
-        for (Lane lane: vehicleLists.keySet()) {
-            if (vehicleLists.get(lane).size() > 0) {
-                // Means we need to link the last vehicle from this lane
-                SortedMap<Double, RIMVehicleSimModel> beforeVehicles = vehicleLists.get(lane);
-                Double lastKeyBefore = beforeVehicles.lastKey();
-                RIMVehicleSimModel lastVehicleBefore = beforeVehicles.get(lastKeyBefore);
-                // With the first vehicle from the next continuous lane we find
-                if (lane.hasNextLane() && nextVehicle.get(lastKeyBefore) == null){
-                    Lane nextLane;
-                    if (lane instanceof ArcSegmentLane) {
-                        nextLane = ((ArcSegmentLane) lane).getArcLaneDecomposition().get(0);
-                    }
-                    else nextLane = lane.getNextLane();
-                    if (nextLane instanceof ArcSegmentLane) {
-                        nextLane = ((ArcSegmentLane) nextLane).getArcLaneDecomposition().get(0);
-                    }
-                    boolean found = false;
-                    //If there are vehicles in this lane
-                    if (vehicleLists.get(nextLane) != null && vehicleLists.get(nextLane).size() > 0) {
-                        SortedMap<Double, RIMVehicleSimModel> afterVehicles = vehicleLists.get(nextLane);
-                        for (RIMVehicleSimModel firstVehicleAfter : afterVehicles.values()) {
-                            if (firstVehicleAfter.getVIN() != lastVehicleBefore.getVIN()) {
-                                nextVehicle.put(lastVehicleBefore, firstVehicleAfter);
-                                found = true;
-                                break;
-                            }
-                        }
-                    }
-                    if (!found) {
-                        while (nextLane.hasNextLane()) {
-                            Lane nextNextLane = nextLane.getNextLane();
-                            boolean foundAgain = false;
-                            //If there are vehicles in this lane
-                            if (vehicleLists.get(nextNextLane) != null && vehicleLists.get(nextNextLane).size() > 0) {
-                                SortedMap<Double, RIMVehicleSimModel> afterVehicles = vehicleLists.get(nextNextLane);
-                                for (RIMVehicleSimModel firstVehicleAfter : afterVehicles.values()){
-                                    if (firstVehicleAfter.getVIN() != lastVehicleBefore.getVIN()) {
-                                        nextVehicle.put(lastVehicleBefore, firstVehicleAfter);
-                                        foundAgain = true;
-                                        break;
-                                    }
-                                }
-                                if (foundAgain) {
-                                    break;
-                                }
-                            }
-                            if (!foundAgain) {
-                                nextLane = nextNextLane;
-                            }
-
-                        }
-                    }
-                }
-            }
-
-        }
-
-        return nextVehicle;
-    }
-
     /**
      * Provide each vehicle with sensor information to allow it to make
      * decisions.  This works first by making an ordered list for each Lane of
@@ -667,33 +567,6 @@ public class RIMOptimalSimulator implements RIMSimulator{
     // interval = vehicle.getPosition().
     //   distance(nextVehicle.get(vehicle).getPointAtRear());
 
-    /////////////////////////////////
-    // STEP 3
-    /////////////////////////////////
-
-    /**
-     * Allow each driver to act.
-     */
-    private void letDriversAct() {
-        for(RIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            vehicle.getDriver().act();
-        }
-    }
-
-    /////////////////////////////////
-    // STEP 4
-    /////////////////////////////////
-
-    /**
-     * Allow each intersection manager to act.
-     *
-     * @param timeStep  the time step
-     */
-    private void letIntersectionManagersAct(double timeStep) {
-        for(IntersectionManager im : basicRIMIntersectionMap.getIntersectionManagers()) {
-            im.act(timeStep);
-        }
-    }
     /////////////////////////////////
     // STEP 5
     /////////////////////////////////
@@ -782,25 +655,6 @@ public class RIMOptimalSimulator implements RIMSimulator{
     // STEP 6
     /////////////////////////////////
 
-    /**
-     * Move all the vehicles.
-     *
-     * @param timeStep  the time step
-     */
-    private void moveVehicles(double timeStep) {
-        for(RIMVehicleSimModel vehicle : vinToVehicles.values()) {
-            Point2D p1 = vehicle.getPosition();
-            vehicle.move(timeStep);
-            Point2D p2 = vehicle.getPosition();
-            for(DataCollectionLine line : basicRIMIntersectionMap.getDataCollectionLines()) {
-                line.intersect(vehicle, currentTime, p1, p2);
-            }
-            if (Debug.isPrintVehicleStateOfVIN(vehicle.getVIN())) {
-                vehicle.printState();
-            }
-        }
-    }
-
     /**
      * Detects collisions. Currently not used because vehicles collide - Go figure.
      */
@@ -824,6 +678,17 @@ public class RIMOptimalSimulator implements RIMSimulator{
     // STEP 7
     /////////////////////////////////
 
+    /**
+     * Record and remove the completed vehicles.
+     */
+    private void cleanUp() {
+        List<RIMVehicleSimModel> completedVehicles = calculateCompletedVehicles();
+        provideCompletedVehiclesWithResultsInfo(completedVehicles);
+        recordCompletedVehicles(completedVehicles);
+        updateMaxMinVelocities();
+        completedVINs = cleanUpCompletedVehicles();
+    }
+
     /**
      * Remove all completed vehicles.
      *
@@ -832,14 +697,12 @@ public class RIMOptimalSimulator implements RIMSimulator{
     private List<Integer> cleanUpCompletedVehicles() {
         List<Integer> completedVINs = new LinkedList<Integer>();
 
-        Rectangle2D mapBoundary = basicRIMIntersectionMap.getDimensions();
-
         List<Integer> removedVINs = new ArrayList<Integer>(vinToVehicles.size());
         for(int vin : vinToVehicles.keySet()) {
             RIMVehicleSimModel v = vinToVehicles.get(vin);
             // If the vehicle is no longer in the layout
             // TODO: this should be replaced with destination zone.
-            if(!v.getShape().intersects(mapBoundary)) {
+            if(!kernel.isOnMap(v)) {
                 // Process all the things we need to from this vehicle
                 if (v instanceof RIMAutoVehicleSimModel) {
                     RIMAutoVehicleSimModel v2 = (RIMAutoVehicleSimModel)v;
@@ -863,9 +726,8 @@ public class RIMOptimalSimulator implements RIMSimulator{
     private List<RIMVehicleSimModel> calculateCompletedVehicles() {
         List<RIMVehicleSimModel> completedVehicles = new LinkedList<RIMVehicleSimModel>();
 
-        Rectangle2D mapBoundary = basicRIMIntersectionMap.getDimensions();
         for(int vin : vinToVehicles.keySet()) {
-            if(!vinToVehicles.get(vin).getShape().intersects(mapBoundary))
+            if(!kernel.isOnMap(vinToVehicles.get(vin)))
                 completedVehicles.add(vinToVehicles.get(vin));
         }
 
@@ -18,9 +18,12 @@ import aim4.vehicle.rim.RIMBasicAutoVehicle;
 import aim4.vehicle.rim.RIMVehicleSimModel;
 
 import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
 import java.util.*;
 
-public class SpawnHelper {
+public class SpawnHelper implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private BasicRIMIntersectionMap map;
     private Map<Integer, RIMVehicleSimModel> vinToVehicles;
     private int numOfVehicleWhichCouldNotBeSpawned;
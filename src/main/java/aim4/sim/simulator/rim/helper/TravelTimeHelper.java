@@ -0,0 +1,70 @@
+package aim4.sim.simulator.rim.helper;
+
+import aim4.driver.rim.RIMDriver;
+import aim4.im.rim.IntersectionManager;
+import aim4.map.BasicRIMIntersectionMap;
+import aim4.map.Road;
+import aim4.map.lane.Lane;
+import aim4.sim.TravelTimeOracle;
+import aim4.vehicle.VehicleSpec;
+import aim4.vehicle.VehicleUtil;
+import aim4.vehicle.rim.RIMVehicleSimModel;
+
+import java.io.Serializable;
+
+/**
+ * Computes the time a vehicle would have taken to cross the map without other traffic, from its spawn lane and its
+ * destination, with a {@link TravelTimeOracle}. The route follows the spawn lane up to the roundabout, the track
+ * through the roundabout the vehicle would have reserved, at no more than its maximum turn velocity, and the exit
+ * lanes of its destination.
+ */
+public class TravelTimeHelper implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private BasicRIMIntersectionMap map;
+    private TravelTimeOracle oracle;
+
+    public TravelTimeHelper(BasicRIMIntersectionMap map) {
+        this.map = map;
+        this.oracle = new TravelTimeOracle();
+    }
+
+    /**
+     * Get the expected travel time of a vehicle.
+     *
+     * @param vehicle the vehicle
+     * @return the expected travel time of the vehicle, or NaN if its spawn lane or destination is unknown
+     */
+    public double getExpectedTravelTime(RIMVehicleSimModel vehicle) {
+        if (!(vehicle.getDriver() instanceof RIMDriver)) {
+            return Double.NaN;
+        }
+        RIMDriver driver = (RIMDriver) vehicle.getDriver();
+        if (driver.getSpawnPoint() == null || driver.getDestination() == null) {
+            return Double.NaN;
+        }
+        Lane spawnLane = driver.getSpawnPoint().getLane();
+        Road destination = driver.getDestination();
+        IntersectionManager im = spawnLane.getLaneRIM().firstIntersectionManager();
+        if (im == null) {
+            return Double.NaN;
+        }
+        Lane arrivalLane = map.getRoad(spawnLane).getEntryApproachLane();
+        Lane departureLane = im.getSortedDepartureLanes(arrivalLane, destination).get(0);
+        VehicleSpec spec = vehicle.getSpec();
+        double turnVelocity = VehicleUtil.maxTurnVelocity(spec, arrivalLane, departureLane, im);
+
+        // the route is named after the lanes it starts and ends in, and the oracle memoises it per spec
+        TravelTimeOracle.Route route =
+                new TravelTimeOracle.Route(spawnLane.getId() + "-" + departureLane.getId());
+        for (Lane lane = spawnLane; lane != arrivalLane; lane = lane.getNextLane()) {
+            route.addSegment(lane.getLength(), lane.getSpeedLimit());
+        }
+        route.addSegment(im.traversalDistance(arrivalLane, departureLane),
+                Math.min(arrivalLane.getSpeedLimit(), turnVelocity));
+        for (Lane lane = departureLane.getNextLane(); lane != null; lane = lane.getNextLane()) {
+            route.addSegment(lane.getLength(), lane.getSpeedLimit());
+        }
+        return oracle.getTraversalTime(spec, route);
+    }
+}
@@ -0,0 +1,320 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.awt.geom.Area;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * A rasterised copy of an area for fast tests of whether a rectangle, such
+ * as the shape of a vehicle, overlaps the area.  The mask holds a signed
+ * distance field of the area on a fine grid: each node stores its distance
+ * to the boundary of the area, negative inside the area, so the sign of
+ * the field is also an occupancy bitmap.  Since the distance changes by no
+ * more than the distance moved, any point can be bounded from the node
+ * nearest to it.
+ * <p>
+ * A rectangle is tested by sampling points over it.  If a sample is surely
+ * inside the area the rectangle overlaps it, and if every sample is
+ * farther from the area than the gap between samples the rectangle misses
+ * it.  Only rectangles in a narrow band around the boundary are left
+ * undecided, and must be tested against the exact area.
+ */
+public class AreaMask {
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The result of testing a rectangle against the mask.
+   */
+  public enum Overlap {
+    /** The rectangle does not overlap the area. */
+    DISJOINT,
+    /** The rectangle overlaps the area. */
+    INTERSECTING,
+    /** The rectangle is too close to the boundary of the area to tell. */
+    UNCERTAIN
+  }
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The default distance between the nodes of the grid, in meters. */
+  public static final double DEFAULT_RESOLUTION = 0.25;
+
+  /**
+   * The maximum distance between a curved boundary and the line segments
+   * approximating it, in meters.
+   */
+  private static final double FLATNESS = 0.01;
+
+  /**
+   * The error allowed for the flattening of the boundary and the rounding
+   * of the stored distances, in meters.
+   */
+  private static final double TOLERANCE = FLATNESS + 1e-4;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The area. */
+  private final Area area;
+  /** The bounding rectangle of the area. */
+  private final Rectangle2D bounds;
+  /** The distance between the nodes of the grid. */
+  private final double resolution;
+  /** The x-coordinate of the first column of nodes. */
+  private final double x0;
+  /** The y-coordinate of the first row of nodes. */
+  private final double y0;
+  /** The number of columns of nodes. */
+  private final int numOfColumns;
+  /** The number of rows of nodes. */
+  private final int numOfRows;
+  /**
+   * The signed distance from each node to the boundary of the area, row by
+   * row.  It is negative inside the area.
+   */
+  private final float[] distances;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a mask of an area with the default resolution.
+   *
+   * @param area  the area, which must not be changed afterwards
+   */
+  public AreaMask(Area area) {
+    this(area, DEFAULT_RESOLUTION);
+  }
+
+  /**
+   * Create a mask of an area.
+   *
+   * @param area        the area, which must not be changed afterwards
+   * @param resolution  the distance between the nodes of the grid
+   */
+  public AreaMask(Area area, double resolution) {
+    this.area = area;
+    this.bounds = area.getBounds2D();
+    this.resolution = resolution;
+    // one node beyond the area on every side
+    x0 = bounds.getMinX() - resolution;
+    y0 = bounds.getMinY() - resolution;
+    numOfColumns = (int) Math.ceil(bounds.getWidth() / resolution) + 3;
+    numOfRows = (int) Math.ceil(bounds.getHeight() / resolution) + 3;
+    distances = new float[numOfColumns * numOfRows];
+
+    double[] segments = boundarySegments(area);
+    for (int j = 0; j < numOfRows; j++) {
+      double y = y0 + j * resolution;
+      for (int i = 0; i < numOfColumns; i++) {
+        double x = x0 + i * resolution;
+        double d = Math.sqrt(squaredDistance(segments, x, y));
+        distances[j * numOfColumns + i] =
+          (float) (area.contains(x, y) ? -d : d);
+      }
+    }
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the area of this mask.
+   *
+   * @return the area
+   */
+  public Area getArea() {
+    return area;
+  }
+
+  /**
+   * Test whether a rectangle overlaps the area.
+   *
+   * @param corners  the four corners of the rectangle, in order around it
+   * @return whether the rectangle overlaps the area, or
+   *         {@link Overlap#UNCERTAIN} if it has to be tested against the
+   *         exact area
+   */
+  public Overlap overlap(Point2D[] corners) {
+    double cx = corners[0].getX();
+    double cy = corners[0].getY();
+    // the sides of the rectangle from the first corner
+    double ax = corners[1].getX() - cx;
+    double ay = corners[1].getY() - cy;
+    double bx = corners[3].getX() - cx;
+    double by = corners[3].getY() - cy;
+
+    // as a quick check, compare the distance from the center with the
+    // radius of the rectangle
+    double midX = cx + (ax + bx) / 2;
+    double midY = cy + (ay + by) / 2;
+    double radius = Math.sqrt((ax + bx) * (ax + bx) + (ay + by) * (ay + by)) / 2;
+    if (lowerDistance(midX, midY) > radius) {
+      return Overlap.DISJOINT;
+    }
+    if (upperDistance(midX, midY) < 0) {
+      return Overlap.INTERSECTING;
+    }
+
+    // every point of the rectangle is within gap of a sample
+    double lengthA = Math.sqrt(ax * ax + ay * ay);
+    double lengthB = Math.sqrt(bx * bx + by * by);
+    int n = Math.max(1, (int) Math.ceil(lengthA / (2 * resolution)));
+    int m = Math.max(1, (int) Math.ceil(lengthB / (2 * resolution)));
+    double gap = Math.sqrt(lengthA * lengthA / (n * n)
+                           + lengthB * lengthB / (m * m)) / 2;
+    boolean isFar = true;
+    for (int i = 0; i <= n; i++) {
+      for (int j = 0; j <= m; j++) {
+        double x = cx + ax * i / n + bx * j / m;
+        double y = cy + ay * i / n + by * j / m;
+        if (upperDistance(x, y) < 0) {
+          return Overlap.INTERSECTING;
+        }
+        if (isFar && lowerDistance(x, y) <= gap) {
+          isFar = false;
+        }
+      }
+    }
+    return isFar ? Overlap.DISJOINT : Overlap.UNCERTAIN;
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Get a lower bound of the signed distance from a point to the boundary
+   * of the area.
+   */
+  private double lowerDistance(double x, double y) {
+    int i = (int) Math.round((x - x0) / resolution);
+    int j = (int) Math.round((y - y0) / resolution);
+    if (i < 0 || i >= numOfColumns || j < 0 || j >= numOfRows) {
+      // outside of the grid, so outside of the bounding rectangle
+      double dx = Math.max(bounds.getMinX() - x, x - bounds.getMaxX());
+      double dy = Math.max(bounds.getMinY() - y, y - bounds.getMaxY());
+      return Math.sqrt(Math.max(dx, 0) * Math.max(dx, 0)
+                       + Math.max(dy, 0) * Math.max(dy, 0));
+    }
+    return distances[j * numOfColumns + i] - offset(x, y, i, j) - TOLERANCE;
+  }
+
+  /**
+   * Get an upper bound of the signed distance from a point to the boundary
+   * of the area.
+   */
+  private double upperDistance(double x, double y) {
+    int i = (int) Math.round((x - x0) / resolution);
+    int j = (int) Math.round((y - y0) / resolution);
+    if (i < 0 || i >= numOfColumns || j < 0 || j >= numOfRows) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return distances[j * numOfColumns + i] + offset(x, y, i, j) + TOLERANCE;
+  }
+
+  /**
+   * Get the distance from a point to a node of the grid.
+   */
+  private double offset(double x, double y, int i, int j) {
+    double dx = x - (x0 + i * resolution);
+    double dy = y - (y0 + j * resolution);
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  /////////////////////////////////
+  // PRIVATE STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the line segments of the boundary of an area as x1, y1, x2, y2
+   * quadruples.
+   */
+  private static double[] boundarySegments(Area area) {
+    double[] segments = new double[64];
+    int size = 0;
+    double[] coords = new double[6];
+    double startX = 0;
+    double startY = 0;
+    double lastX = 0;
+    double lastY = 0;
+    for (PathIterator it = area.getPathIterator(null, FLATNESS); !it.isDone();
+         it.next()) {
+      int type = it.currentSegment(coords);
+      if (type == PathIterator.SEG_MOVETO) {
+        startX = lastX = coords[0];
+        startY = lastY = coords[1];
+        continue;
+      }
+      double x = type == PathIterator.SEG_CLOSE ? startX : coords[0];
+      double y = type == PathIterator.SEG_CLOSE ? startY : coords[1];
+      if (size + 4 > segments.length) {
+        segments = Arrays.copyOf(segments, 2 * segments.length);
+      }
+      segments[size++] = lastX;
+      segments[size++] = lastY;
+      segments[size++] = x;
+      segments[size++] = y;
+      lastX = x;
+      lastY = y;
+    }
+    return Arrays.copyOf(segments, size);
+  }
+
+  /**
+   * Get the squared distance from a point to the nearest of a number of
+   * line segments.
+   */
+  private static double squaredDistance(double[] segments, double x,
+                                        double y) {
+    double min = Double.POSITIVE_INFINITY;
+    for (int k = 0; k < segments.length; k += 4) {
+      min = Math.min(min,
+                     Line2D.ptSegDistSq(segments[k], segments[k + 1],
+                                        segments[k + 2], segments[k + 3],
+                                        x, y));
+    }
+    return min;
+  }
+}
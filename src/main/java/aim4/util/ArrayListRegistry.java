@@ -30,12 +30,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.util;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 /**
  * A registry based on array list.
  */
-public class ArrayListRegistry<T> implements Registry<T> {
+public class ArrayListRegistry<T> implements Registry<T>, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /** The initial capacity of the array */
   private static final int INITIAL_CAPACITY = 10;
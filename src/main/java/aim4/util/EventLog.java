@@ -0,0 +1,542 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An asynchronous log of simulation events.  An event is a fixed-size
+ * record of the simulation time, the VIN of the vehicle concerned, an event
+ * code and a numeric payload.  Logging an event copies these into a
+ * preallocated ring buffer without locking or allocating; a background
+ * writer thread drains the buffer, prints the events to the console if
+ * echoing is on and passes them to the listeners.  A log can also be given
+ * an unattended console, to which the events are echoed while nobody else
+ * receives them, so that they are not silently lost in headless runs.  If the writer falls so
+ * far behind that the buffer is full, new events are dropped and counted.
+ * A log that is no longer needed should be closed to stop its writer.
+ * <p>
+ * Calls to the log should be guarded by {@link #IS_ENABLED} so that they
+ * are compiled out when it is turned off.
+ */
+public class EventLog {
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** Whether events are logged at all */
+  public static final boolean IS_ENABLED = true;
+
+  /** The default capacity of the ring buffer */
+  public static final int DEFAULT_CAPACITY = 1 << 14;
+
+  /** How long the writer waits when there is nothing to drain (ns) */
+  private static final long WRITER_PARK_TIME = TimeUnit.MILLISECONDS.toNanos(5);
+
+  /** The VIN used by events that do not concern a vehicle */
+  public static final int NO_VIN = -1;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The event codes.
+   */
+  public enum Event {
+    /** A simulator has been created */
+    SIMULATOR_CREATED("simulator created"),
+    /** A vehicle has been spawned; the payload is its length */
+    VEHICLE_SPAWNED("vehicle spawned"),
+    /** A spawned vehicle was discarded; the payload is its width */
+    SPAWN_DISCARDED_TOO_WIDE("spawned vehicle discarded: car park doesn't " +
+                             "cater for vehicles this wide"),
+    /** A spawned vehicle was discarded; the payload is its length */
+    SPAWN_DISCARDED_NO_ROOM("spawned vehicle discarded: not enough room"),
+    /** A vehicle is entering the car park */
+    VEHICLE_ENTERING("vehicle is entering"),
+    /** A vehicle is re-entering the car park */
+    VEHICLE_REENTERING("vehicle is re-entering"),
+    /** A vehicle is exiting the car park */
+    VEHICLE_EXITING("vehicle is exiting"),
+    /** A vehicle crossed a sensored line; the payload is the line's ID */
+    SENSORED_LINE_CROSSED("vehicle crossed sensored line"),
+    /** A vehicle crossed a data collection line; the payload is its ID */
+    DATA_COLLECTION_LINE_CROSSED("vehicle crossed data collection line"),
+    /** The parking time of a vehicle has elapsed */
+    PARKING_TIME_ELAPSED("parking time has elapsed"),
+    /**
+     * A vehicle told the vehicle in front to change its parking status;
+     * the payload is the ordinal of the status
+     */
+    PARKING_STATUS_SENT("parking status sent to vehicle in front"),
+    /**
+     * The parking status of a vehicle changed; the payload is the ordinal
+     * of the new status
+     */
+    PARKING_STATUS_CHANGED("parking status changed"),
+    /**
+     * A vehicle was allocated a parking lane; the payload is the lane's ID
+     */
+    PARKING_LANE_ALLOCATED("parking lane allocated"),
+    /**
+     * The driving state of a vehicle changed; the payload is the ordinal of
+     * the new state
+     */
+    DRIVING_STATE_CHANGED("driving state changed"),
+    /** A vehicle entered a corner */
+    CORNER_ENTERED("entering corner"),
+    /** A vehicle left a corner */
+    CORNER_LEFT("out of the corner"),
+    /** A vehicle entered a junction */
+    JUNCTION_ENTERED("entering junction"),
+    /** A vehicle left a junction */
+    JUNCTION_LEFT("out of the junction"),
+    /** A vehicle entered an intersection */
+    INTERSECTION_ENTERED("entering intersection"),
+    /** A vehicle left an intersection */
+    INTERSECTION_LEFT("out of the intersection"),
+    /** A vehicle is traversing a parking lane; the payload is its ID */
+    PARKING_LANE_TRAVERSED("traversing parking lane"),
+    /** A vehicle is leaving its parking lane */
+    PARKING_LANE_LEFT("leaving the parking lane"),
+    /** A vehicle reached its target parking lane */
+    TARGET_PARKING_LANE_REACHED("reached target parking lane"),
+    /** A vehicle's I2V inbox was cleared */
+    I2V_INBOX_CLEARED("I2V inbox cleared"),
+    /** A vehicle's V2V inbox was cleared */
+    V2V_INBOX_CLEARED("V2V inbox cleared"),
+    /** A proxy vehicle dropped a Real2Proxy message as too many waited */
+    PROXY_MSG_DROPPED("too many Real2Proxy messages waiting; message dropped"),
+    /**
+     * A proxy vehicle received an out of order Real2Proxy message; the
+     * payload is the time the message was received
+     */
+    PROXY_MSG_OUT_OF_ORDER("Real2Proxy message out of order"),
+    /**
+     * A proxy vehicle sent a V2I message to the IM; the payload is the
+     * ordinal of the message type
+     */
+    PROXY_V2I_SENT("proxy vehicle sent V2I message"),
+    /**
+     * A proxy vehicle passed a confirm message to its real vehicle; the
+     * payload is the reservation ID
+     */
+    PROXY_CONFIRM_SENT("confirm message sent to real vehicle"),
+    /**
+     * A proxy vehicle passed a reject message to its real vehicle; the
+     * payload is the request ID
+     */
+    PROXY_REJECT_SENT("reject message sent to real vehicle"),
+    /**
+     * A proxy vehicle converted a request from its real vehicle; the payload
+     * is the arrival velocity in the request
+     */
+    PROXY_REQUEST_CONVERTED("request converted; arrival velocity"),
+    /**
+     * A proxy vehicle sent its intervalometer reading to its real vehicle;
+     * the payload is the reading
+     */
+    PROXY_INTERVALOMETER_SENT("intervalometer reading sent");
+
+    /** The description of the event */
+    private final String description;
+
+    private Event(String description) {
+      this.description = description;
+    }
+
+    /**
+     * Get the description of the event.
+     *
+     * @return the description of the event
+     */
+    public String getDescription() {
+      return description;
+    }
+  }
+
+  /**
+   * A listener of the events in the log.  Listeners are called on the
+   * writer thread, in the order the events were logged.
+   */
+  public interface Listener {
+    /**
+     * Receive an event.
+     *
+     * @param time   the simulation time of the event, or NaN if unknown
+     * @param vin    the VIN of the vehicle, or {@link EventLog#NO_VIN}
+     * @param event  the event code
+     * @param value  the numeric payload of the event, or NaN if none
+     */
+    void eventLogged(double time, int vin, Event event, double value);
+  }
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The default event log.  It echoes the events to standard error while
+   * no listener, such as the GUI's console panel, is attached.
+   */
+  private static final EventLog defaultLog =
+    new EventLog(DEFAULT_CAPACITY, null, System.err);
+
+  /** The mask for turning an index into a slot position */
+  private final int mask;
+  /** The times of the events */
+  private final double[] times;
+  /** The VINs of the events */
+  private final int[] vins;
+  /** The event codes */
+  private final Event[] events;
+  /** The payloads of the events */
+  private final double[] values;
+  /**
+   * For each slot, one more than the index of the event last written to
+   * it; a slot holds a complete event when this is one more than the index
+   * the writer is waiting for.
+   */
+  private final AtomicLongArray published;
+  /** The index of the next slot to be claimed by a producer */
+  private final AtomicLong producerIndex = new AtomicLong();
+  /** The index of the next slot to be read by the writer */
+  private final AtomicLong consumerIndex = new AtomicLong();
+  /** The number of events dropped because the buffer was full */
+  private final AtomicLong droppedEvents = new AtomicLong();
+  /** The listeners */
+  private final List<Listener> listeners =
+    new CopyOnWriteArrayList<Listener>();
+  /** The stream the events are echoed to, or null if not echoed */
+  private volatile PrintStream console;
+  /**
+   * The stream the events are echoed to while there is neither a console
+   * nor a listener, or null if they are then discarded
+   */
+  private volatile PrintStream unattendedConsole;
+  /** Whether the log has been closed */
+  private volatile boolean isClosed = false;
+  /** The writer thread */
+  private final Thread writer;
+
+  /////////////////////////////////
+  // CLASS METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the default event log, which echoes the events to standard error
+   * while it has no listener.
+   *
+   * @return the default event log
+   */
+  public static EventLog getDefault() {
+    return defaultLog;
+  }
+
+  /**
+   * Log an event in the default event log.
+   *
+   * @param event  the event code
+   * @param time   the simulation time of the event, or NaN if unknown
+   * @param vin    the VIN of the vehicle, or {@link #NO_VIN}
+   * @param value  the numeric payload of the event, or NaN if none
+   */
+  public static void log(Event event, double time, int vin, double value) {
+    defaultLog.add(event, time, vin, value);
+  }
+
+  /**
+   * Log an event without a payload in the default event log.
+   *
+   * @param event  the event code
+   * @param time   the simulation time of the event, or NaN if unknown
+   * @param vin    the VIN of the vehicle, or {@link #NO_VIN}
+   */
+  public static void log(Event event, double time, int vin) {
+    defaultLog.add(event, time, vin, Double.NaN);
+  }
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create an event log and start its writer thread.
+   *
+   * @param capacity  the minimum capacity of the ring buffer; it is rounded
+   *                  up to a power of two
+   * @param console   the stream the events are echoed to, or null if they
+   *                  should only be passed to the listeners
+   */
+  public EventLog(int capacity, PrintStream console) {
+    this(capacity, console, null);
+  }
+
+  /**
+   * Create an event log and start its writer thread.
+   *
+   * @param capacity           the minimum capacity of the ring buffer; it is
+   *                           rounded up to a power of two
+   * @param console            the stream the events are echoed to, or null
+   *                           if they should only be passed to the listeners
+   * @param unattendedConsole  the stream the events are echoed to while
+   *                           there is neither a console nor a listener, or
+   *                           null if they are then discarded
+   */
+  public EventLog(int capacity, PrintStream console,
+                  PrintStream unattendedConsole) {
+    if (capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    mask = size - 1;
+    times = new double[size];
+    vins = new int[size];
+    events = new Event[size];
+    values = new double[size];
+    published = new AtomicLongArray(size);
+    this.console = console;
+    this.unattendedConsole = unattendedConsole;
+    writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        while (!isClosed) {
+          if (drain() == 0) {
+            LockSupport.parkNanos(this, WRITER_PARK_TIME);
+          }
+        }
+        drain();
+      }
+    }, "EventLogWriter");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Add an event to the log.  This may be called from any thread.
+   *
+   * @param event  the event code
+   * @param time   the simulation time of the event, or NaN if unknown
+   * @param vin    the VIN of the vehicle, or {@link #NO_VIN}
+   * @param value  the numeric payload of the event, or NaN if none
+   * @return whether the event was added; false if the buffer was full or
+   *         the log has been closed
+   */
+  public boolean add(Event event, double time, int vin, double value) {
+    if (isClosed) {
+      return false;
+    }
+    long index;
+    do {
+      index = producerIndex.get();
+      if (index - consumerIndex.get() > mask) {
+        droppedEvents.incrementAndGet();
+        return false;
+      }
+    } while (!producerIndex.compareAndSet(index, index + 1));
+    int slot = (int) index & mask;
+    times[slot] = time;
+    vins[slot] = vin;
+    events[slot] = event;
+    values[slot] = value;
+    published.lazySet(slot, index + 1);
+    return true;
+  }
+
+  /**
+   * Wait until the writer has handled every event added before the call,
+   * or until the writer has stopped.
+   */
+  public void flush() {
+    long target = producerIndex.get();
+    while (consumerIndex.get() < target && writer.isAlive()) {
+      LockSupport.unpark(writer);
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Close the log.  Events added afterwards are ignored; the writer hands
+   * the events already in the buffer to the console and the listeners,
+   * and then stops.  This waits for the writer to stop.
+   */
+  public void close() {
+    isClosed = true;
+    LockSupport.unpark(writer);
+    boolean isInterrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Whether the log has been closed.
+   *
+   * @return whether the log has been closed
+   */
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  /**
+   * Add a listener.
+   *
+   * @param listener  the listener
+   */
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Remove a listener.
+   *
+   * @param listener  the listener
+   */
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Set the stream the events are echoed to.
+   *
+   * @param console  the stream, or null to stop echoing
+   */
+  public void setConsole(PrintStream console) {
+    this.console = console;
+  }
+
+  /**
+   * Set the stream the events are echoed to while there is neither a
+   * console nor a listener.
+   *
+   * @param unattendedConsole  the stream, or null to discard the events then
+   */
+  public void setUnattendedConsole(PrintStream unattendedConsole) {
+    this.unattendedConsole = unattendedConsole;
+  }
+
+  /**
+   * Get the number of events dropped because the buffer was full.
+   *
+   * @return the number of dropped events
+   */
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Format an event as a line of text.
+   *
+   * @param time   the simulation time of the event, or NaN if unknown
+   * @param vin    the VIN of the vehicle, or {@link #NO_VIN}
+   * @param event  the event code
+   * @param value  the numeric payload of the event, or NaN if none
+   * @return the text of the event
+   */
+  public static String format(double time, int vin, Event event,
+                              double value) {
+    StringBuilder sb = new StringBuilder();
+    if (!Double.isNaN(time)) {
+      sb.append(String.format("%.2f ", time));
+    }
+    if (vin != NO_VIN) {
+      sb.append("vin ").append(vin).append(": ");
+    }
+    sb.append(event.getDescription());
+    if (!Double.isNaN(value)) {
+      sb.append(String.format(" (%.2f)", value));
+    }
+    return sb.toString();
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Hand every published event to the console and the listeners.  Only
+   * the writer thread calls this.
+   *
+   * @return the number of events handled
+   */
+  private int drain() {
+    long index = consumerIndex.get();
+    int count = 0;
+    while (true) {
+      int slot = (int) index & mask;
+      if (published.get(slot) != index + 1) {
+        break;
+      }
+      double time = times[slot];
+      int vin = vins[slot];
+      Event event = events[slot];
+      double value = values[slot];
+      events[slot] = null;
+
+      PrintStream out = console;
+      if (out == null && listeners.isEmpty()) {
+        out = unattendedConsole;
+      }
+      if (out != null) {
+        out.println(format(time, vin, event, value));
+      }
+      for (Listener listener : listeners) {
+        listener.eventLogged(time, vin, event, value);
+      }
+      index++;
+      consumerIndex.lazySet(index);
+      count++;
+    }
+    return count;
+  }
+}
@@ -32,6 +32,9 @@ package aim4.util;
 
 import java.awt.*;
 import java.awt.geom.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -566,6 +569,33 @@ public final class GeomMath {
         return answ;
     }
 
+    /**
+     * Write an Area, which is not serializable itself, to an object stream
+     * as a path.
+     *
+     * @param out  the object stream
+     * @param area the Area, which may be null
+     * @throws IOException if the Area cannot be written
+     */
+    public static void writeArea(ObjectOutputStream out, Area area)
+            throws IOException {
+        out.writeObject(area == null ? null : new Path2D.Double(area));
+    }
+
+    /**
+     * Read an Area written by {@link #writeArea} from an object stream.
+     *
+     * @param in the object stream
+     * @return the Area, which may be null
+     * @throws IOException            if the Area cannot be read
+     * @throws ClassNotFoundException if the stream holds an unknown class
+     */
+    public static Area readArea(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        Path2D path = (Path2D) in.readObject();
+        return path == null ? null : new Area(path);
+    }
+
     /**
      * Solve the quadratic formula <i>ax<sup>2</sup> + bx + c = 0</i>
      * given coefficients a, b, and c, returning the minimum nonnegative
@@ -603,6 +633,31 @@ public final class GeomMath {
                 (t1start >= t2start && t1start <= t2end));
     }
 
+    /**
+     * Determine whether the bounding box of the segment between two points
+     * overlaps a given bounding box.  A segment that fails this test cannot
+     * intersect anything inside the box, so the test can be used to skip
+     * exact intersection tests.
+     *
+     * @param p1   the first point of the segment
+     * @param p2   the second point of the segment
+     * @param minX the smallest x-coordinate of the box
+     * @param minY the smallest y-coordinate of the box
+     * @param maxX the largest x-coordinate of the box
+     * @param maxY the largest y-coordinate of the box
+     * @return whether the bounding boxes overlap
+     */
+    public static boolean isInBoundingBox(Point2D p1, Point2D p2,
+                                          double minX, double minY,
+                                          double maxX, double maxY) {
+        double x1 = p1.getX();
+        double x2 = p2.getX();
+        double y1 = p1.getY();
+        double y2 = p2.getY();
+        return !((x1 < minX && x2 < minX) || (x1 > maxX && x2 > maxX)
+                 || (y1 < minY && y2 < minY) || (y1 > maxY && y2 > maxY));
+    }
+
     /**
      * Determine the angle between two angles.  This includes the cases where
      * the shortest angle between the two crosses the positive X axis.
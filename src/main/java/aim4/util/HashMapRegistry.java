@@ -30,6 +30,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.util;
 
+import java.io.Serializable;
 import java.util.HashMap;
 
 /**
@@ -37,7 +38,9 @@ import java.util.HashMap;
  *
  * @param <T> the type of the object
  */
-public class HashMapRegistry<T> implements Registry<T> {
+public class HashMapRegistry<T> implements Registry<T>, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /** The initial ID */
   private int initId;
@@ -0,0 +1,226 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative long values in constant memory.  Values are
+ * counted in buckets whose widths grow with the values, in the manner of
+ * an HDR histogram: every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so the quantiles are accurate to within
+ * about three percent of the value whatever its magnitude.
+ */
+public class Histogram implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The base 2 logarithm of the number of buckets per power of two. */
+  private static final int SUB_BUCKET_BITS = 5;
+
+  /** The number of buckets per power of two. */
+  public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** The number of buckets, enough for every non-negative long. */
+  private static final int NUM_OF_BUCKETS =
+    (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The counts of the buckets. */
+  private final long[] counts = new long[NUM_OF_BUCKETS];
+  /** The number of values recorded. */
+  private long count;
+  /** The sum of the values recorded. */
+  private long sum;
+  /** The smallest value recorded. */
+  private long min = Long.MAX_VALUE;
+  /** The largest value recorded. */
+  private long max = 0;
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Record a value.  Negative values are recorded as zero.
+   *
+   * @param value  the value
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts[bucketOf(value)]++;
+    count++;
+    sum += value;
+    if (value < min) {
+      min = value;
+    }
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  /**
+   * Get the number of values recorded.
+   *
+   * @return the number of values recorded
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the sum of the values recorded.
+   *
+   * @return the sum of the values recorded
+   */
+  public long getSum() {
+    return sum;
+  }
+
+  /**
+   * Get the smallest value recorded.
+   *
+   * @return the smallest value recorded, or zero if there is none
+   */
+  public long getMin() {
+    return (count == 0) ? 0 : min;
+  }
+
+  /**
+   * Get the largest value recorded.
+   *
+   * @return the largest value recorded, or zero if there is none
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Get the mean of the values recorded.
+   *
+   * @return the mean of the values recorded, or zero if there is none
+   */
+  public double getMean() {
+    return (count == 0) ? 0.0 : ((double) sum) / count;
+  }
+
+  /**
+   * Get the value at a quantile of the values recorded.  The value is the
+   * upper end of the bucket of the quantile, but no larger than the
+   * largest value recorded.
+   *
+   * @param quantile  the quantile, between 0 and 1
+   * @return the value at the quantile, or zero if there is none
+   */
+  public long getValueAtQuantile(double quantile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.max(getMin(), Math.min(max, upperBoundOf(i)));
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Add the values recorded by another histogram to this one.
+   *
+   * @param other  the other histogram
+   */
+  public void add(Histogram other) {
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      counts[i] += other.counts[i];
+    }
+    if (other.count > 0) {
+      count += other.count;
+      sum += other.sum;
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+    }
+  }
+
+  /**
+   * Forget all the values recorded.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    sum = 0;
+    min = Long.MAX_VALUE;
+    max = 0;
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the bucket of a value.  Values below twice the number of buckets
+   * per power of two have buckets of their own; above that, the value is
+   * shifted right until it has SUB_BUCKET_BITS + 1 bits.
+   */
+  private static int bucketOf(long value) {
+    if (value < 2 * SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return shift * SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  /**
+   * Get the largest value in a bucket.
+   */
+  private static long upperBoundOf(int bucket) {
+    if (bucket < 2 * SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    long upper = ((mantissa + 1) << shift) - 1;
+    // the last bucket ends at the largest long
+    return (upper < 0) ? Long.MAX_VALUE : upper;
+  }
+}
@@ -0,0 +1,235 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only file of records, written through memory-mapped chunks so
+ * that raw histories can be captured in full without keeping them on the
+ * heap.  Each record is preceded by its length; a record never straddles
+ * two chunks, and a length of zero marks the unused end of a chunk.
+ */
+public class MappedHistoryFile implements Closeable {
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * A reader of the records of the file.
+   */
+  public static interface RecordReader {
+    /**
+     * Read a record.
+     *
+     * @param record  the record, positioned at its first byte and limited
+     *                to its last
+     */
+    void read(ByteBuffer record);
+  }
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The default size of a chunk. */
+  public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The path of the file. */
+  private final File path;
+  /** Whether the file is deleted when it is closed. */
+  private boolean isDeletedOnClose;
+  /** The file. */
+  private final RandomAccessFile file;
+  /** The channel of the file. */
+  private final FileChannel channel;
+  /** The size of a chunk. */
+  private final int chunkSize;
+  /** The chunks mapped so far; the last one is being written. */
+  private final List<MappedByteBuffer> chunks =
+    new ArrayList<MappedByteBuffer>();
+  /** The number of records appended. */
+  private long numOfRecords;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a history file with the default chunk size, replacing any
+   * existing file.
+   *
+   * @param path  the path of the file
+   * @throws IOException  if the file cannot be created
+   */
+  public MappedHistoryFile(File path) throws IOException {
+    this(path, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Create a history file, replacing any existing file.
+   *
+   * @param path       the path of the file
+   * @param chunkSize  the size of a chunk, which limits the size of a record
+   * @throws IOException  if the file cannot be created
+   */
+  public MappedHistoryFile(File path, int chunkSize) throws IOException {
+    this.path = path;
+    this.file = new RandomAccessFile(path, "rw");
+    this.file.setLength(0);
+    this.channel = file.getChannel();
+    this.chunkSize = chunkSize;
+  }
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Create a history file in the temporary directory, which is deleted
+   * when it is closed or when the virtual machine exits.
+   *
+   * @param prefix  the prefix of the name of the file
+   * @return the history file
+   * @throws IOException  if the file cannot be created
+   */
+  public static MappedHistoryFile createTemporary(String prefix)
+      throws IOException {
+    File path = File.createTempFile(prefix, ".history");
+    path.deleteOnExit();
+    MappedHistoryFile history = new MappedHistoryFile(path);
+    history.isDeletedOnClose = true;
+    return history;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Begin a record.  The record is written to the returned buffer, which
+   * covers the record only; any bytes not written are zero.
+   *
+   * @param length  the length of the record
+   * @return the buffer to write the record to, positioned at its first
+   *         byte and limited to its last
+   * @throws IOException  if the file cannot be extended or is closed
+   */
+  public ByteBuffer beginRecord(int length) throws IOException {
+    if (length <= 0 || length + 4 > chunkSize) {
+      throw new IllegalArgumentException("Invalid record length: " + length);
+    }
+    MappedByteBuffer chunk =
+      chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+    if (chunk == null || chunk.remaining() < length + 4) {
+      chunk = channel.map(FileChannel.MapMode.READ_WRITE,
+                          (long) chunks.size() * chunkSize, chunkSize);
+      chunks.add(chunk);
+    }
+    chunk.putInt(length);
+    ByteBuffer record = chunk.slice();
+    record.limit(length);
+    chunk.position(chunk.position() + length);
+    numOfRecords++;
+    return record;
+  }
+
+  /**
+   * Get the path of the file.
+   *
+   * @return the path of the file
+   */
+  public File getPath() {
+    return path;
+  }
+
+  /**
+   * Get the number of records appended.
+   *
+   * @return the number of records appended
+   */
+  public long getNumOfRecords() {
+    return numOfRecords;
+  }
+
+  /**
+   * Read all the records, in the order in which they were appended.
+   *
+   * @param reader  the reader of the records
+   */
+  public void forEachRecord(RecordReader reader) {
+    for (int c = 0; c < chunks.size(); c++) {
+      MappedByteBuffer chunk = chunks.get(c);
+      ByteBuffer view = chunk.duplicate();
+      int end = chunk.position();
+      view.position(0);
+      while (view.position() + 4 <= end) {
+        int length = view.getInt();
+        if (length == 0) {
+          break;
+        }
+        ByteBuffer record = view.slice();
+        record.limit(length);
+        reader.read(record);
+        view.position(view.position() + length);
+      }
+    }
+  }
+
+  /**
+   * Unmap the chunks and close the file, deleting it if it is temporary.
+   * The records can no longer be read or appended.
+   *
+   * @throws IOException  if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    chunks.clear();
+    channel.close();
+    file.close();
+    if (isDeletedOnClose) {
+      path.delete();
+    }
+  }
+}
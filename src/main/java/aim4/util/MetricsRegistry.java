@@ -0,0 +1,301 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.simple.JSONObject;
+
+/**
+ * A registry of named metrics of the simulators: histograms, counters, and
+ * gauges.  The metrics are only recorded while
+ * {@link aim4.config.SimConfig#IS_METRICS_ENABLED} is true, so they cost a
+ * check of a flag otherwise.  A snapshot of the metrics can be written as
+ * CSV or JSON, and written periodically during headless runs.
+ */
+public class MetricsRegistry {
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The quantiles of the histograms in the snapshots. */
+  private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The registry shared by the simulators. */
+  private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+  /** The histograms, by name. */
+  private final Map<String, Histogram> histograms =
+    new ConcurrentSkipListMap<String, Histogram>();
+  /** The counters, by name. */
+  private final Map<String, AtomicLong> counters =
+    new ConcurrentSkipListMap<String, AtomicLong>();
+  /** The gauges, by name. */
+  private final Map<String, AtomicLong> gauges =
+    new ConcurrentSkipListMap<String, AtomicLong>();
+
+  /**
+   * The file to which snapshots are written periodically, or null if
+   * they are not.  Snapshots are appended to a CSV file, and replace the
+   * previous snapshot in a JSON file.
+   */
+  private File dumpFile;
+  /** The simulated time between snapshots. */
+  private double dumpPeriod;
+  /** The simulated time of the next snapshot. */
+  private double nextDumpTime;
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get the registry shared by the simulators.
+   *
+   * @return the registry shared by the simulators
+   */
+  public static MetricsRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Get a histogram, creating it if it does not exist.
+   *
+   * @param name  the name of the histogram
+   * @return the histogram
+   */
+  public Histogram getHistogram(String name) {
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      histograms.putIfAbsent(name, new Histogram());
+      histogram = histograms.get(name);
+    }
+    return histogram;
+  }
+
+  /**
+   * Get a counter, creating it if it does not exist.
+   *
+   * @param name  the name of the counter
+   * @return the counter
+   */
+  public AtomicLong getCounter(String name) {
+    return getOrCreate(counters, name);
+  }
+
+  /**
+   * Get a gauge, creating it if it does not exist.
+   *
+   * @param name  the name of the gauge
+   * @return the gauge
+   */
+  public AtomicLong getGauge(String name) {
+    return getOrCreate(gauges, name);
+  }
+
+  /**
+   * Find a histogram.
+   *
+   * @param name  the name of the histogram
+   * @return the histogram, or null if it does not exist
+   */
+  public Histogram findHistogram(String name) {
+    return histograms.get(name);
+  }
+
+  /**
+   * Write the metrics periodically from now on.
+   *
+   * @param file    the file to which the metrics are written; snapshots
+   *                are appended to it if its name ends with ".csv", and
+   *                replace the previous snapshot if it ends with ".json"
+   * @param period  the simulated time between snapshots
+   */
+  public void setDumpFile(File file, double period) {
+    this.dumpFile = file;
+    this.dumpPeriod = period;
+    this.nextDumpTime = 0.0;
+  }
+
+  /**
+   * Write the metrics if a periodic snapshot is due.
+   *
+   * @param currentTime  the current simulated time
+   */
+  public void dumpIfDue(double currentTime) {
+    if (dumpFile == null || currentTime < nextDumpTime) {
+      return;
+    }
+    nextDumpTime = currentTime + dumpPeriod;
+    try {
+      if (dumpFile.getName().endsWith(".json")) {
+        // replace the previous snapshot atomically
+        File tmpFile = new File(dumpFile.getPath() + ".tmp");
+        Writer out = new FileWriter(tmpFile);
+        try {
+          writeJson(out, currentTime);
+        } finally {
+          out.close();
+        }
+        Files.move(tmpFile.toPath(), dumpFile.toPath(),
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+      } else {
+        boolean isNew = !dumpFile.exists();
+        Writer out = new FileWriter(dumpFile, true);
+        try {
+          writeCsv(out, currentTime, isNew);
+        } finally {
+          out.close();
+        }
+      }
+    } catch (IOException e) {
+      System.err.printf("Cannot write the metrics to %s: %s\n",
+                        dumpFile, e.getMessage());
+      dumpFile = null;
+    }
+  }
+
+  /**
+   * Write a snapshot of the metrics as CSV, one row per metric.
+   *
+   * @param out            the writer
+   * @param currentTime    the current simulated time
+   * @param isHeaderNeeded whether to write the header row
+   */
+  public void writeCsv(Writer out, double currentTime, boolean isHeaderNeeded) {
+    PrintWriter pw = new PrintWriter(out);
+    if (isHeaderNeeded) {
+      pw.print("time,metric,type,count,mean,min");
+      for (double q : QUANTILES) {
+        pw.print(",p" + Math.round(q * 100));
+      }
+      pw.print(",max\n");
+    }
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      Histogram h = entry.getValue();
+      pw.printf("%.2f,%s,histogram,%d,%.1f,%d", currentTime, entry.getKey(),
+                h.getCount(), h.getMean(), h.getMin());
+      for (double q : QUANTILES) {
+        pw.printf(",%d", h.getValueAtQuantile(q));
+      }
+      pw.printf(",%d\n", h.getMax());
+    }
+    writeCsvValues(pw, currentTime, "counter", counters);
+    writeCsvValues(pw, currentTime, "gauge", gauges);
+    pw.flush();
+  }
+
+  /**
+   * Write a snapshot of the metrics as a JSON object.
+   *
+   * @param out          the writer
+   * @param currentTime  the current simulated time
+   * @throws IOException if the snapshot cannot be written
+   */
+  @SuppressWarnings("unchecked")
+  public void writeJson(Writer out, double currentTime) throws IOException {
+    JSONObject jsonHistograms = new JSONObject();
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      Histogram h = entry.getValue();
+      JSONObject jsonHistogram = new JSONObject();
+      jsonHistogram.put("count", h.getCount());
+      jsonHistogram.put("mean", h.getMean());
+      jsonHistogram.put("min", h.getMin());
+      for (double q : QUANTILES) {
+        jsonHistogram.put("p" + Math.round(q * 100), h.getValueAtQuantile(q));
+      }
+      jsonHistogram.put("max", h.getMax());
+      jsonHistograms.put(entry.getKey(), jsonHistogram);
+    }
+    JSONObject json = new JSONObject();
+    json.put("time", currentTime);
+    json.put("histograms", jsonHistograms);
+    json.put("counters", toJson(counters));
+    json.put("gauges", toJson(gauges));
+    json.writeJSONString(out);
+    out.flush();
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  private static AtomicLong getOrCreate(Map<String, AtomicLong> values,
+                                        String name) {
+    AtomicLong value = values.get(name);
+    if (value == null) {
+      values.putIfAbsent(name, new AtomicLong());
+      value = values.get(name);
+    }
+    return value;
+  }
+
+  private static void writeCsvValues(PrintWriter pw, double currentTime,
+                                     String type,
+                                     Map<String, AtomicLong> values) {
+    for (Map.Entry<String, AtomicLong> entry : values.entrySet()) {
+      pw.printf("%.2f,%s,%s,%d,,,", currentTime, entry.getKey(), type,
+                entry.getValue().get());
+      for (int i = 0; i < QUANTILES.length; i++) {
+        pw.print(",");
+      }
+      pw.print("\n");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static JSONObject toJson(Map<String, AtomicLong> values) {
+    JSONObject json = new JSONObject();
+    for (Map.Entry<String, AtomicLong> entry : values.entrySet()) {
+      json.put(entry.getKey(), entry.getValue().get());
+    }
+    return json;
+  }
+}
@@ -0,0 +1,260 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.Serializable;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, multi-producer single-consumer queue backed by an
+ * array.  Any number of threads may add elements concurrently, but only one
+ * thread at a time may remove or inspect them (poll, peek, iterate, drain or
+ * clear).  Adding to a full queue fails: {@link #offer(Object)} returns
+ * false and {@link #add(Object)} throws an IllegalStateException.
+ *
+ * @param <E>  the type of the elements
+ */
+public class MpscArrayQueue<E> extends AbstractQueue<E> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The slots of the queue; a null slot is free or not yet written */
+  private final AtomicReferenceArray<E> buffer;
+  /** The mask for turning an index into a slot position */
+  private final int mask;
+  /** The index of the next slot to be claimed by a producer */
+  private final AtomicLong producerIndex = new AtomicLong();
+  /** The index of the next slot to be read by the consumer */
+  private final AtomicLong consumerIndex = new AtomicLong();
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a multi-producer single-consumer queue.
+   *
+   * @param capacity  the minimum capacity of the queue; it is rounded up to
+   *                  a power of two
+   */
+  public MpscArrayQueue(int capacity) {
+    if (capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    buffer = new AtomicReferenceArray<E>(size);
+    mask = size - 1;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  // producer side
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean offer(E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    long p;
+    do {
+      p = producerIndex.get();
+      if (p - consumerIndex.get() > mask) {
+        return false;  // full
+      }
+    } while (!producerIndex.compareAndSet(p, p + 1));
+    buffer.lazySet((int) (p & mask), e);
+    return true;
+  }
+
+  // consumer side
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E poll() {
+    long c = consumerIndex.get();
+    int i = (int) (c & mask);
+    E e = waitForSlot(c, i);
+    if (e != null) {
+      buffer.lazySet(i, null);
+      consumerIndex.lazySet(c + 1);
+    }
+    return e;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E peek() {
+    long c = consumerIndex.get();
+    return waitForSlot(c, (int) (c & mask));
+  }
+
+  /**
+   * Remove all available elements and add them to a collection in the order
+   * they were added to this queue.
+   *
+   * @param c  the collection
+   * @return the number of elements moved
+   */
+  public int drainTo(Collection<? super E> c) {
+    int n = 0;
+    for (E e = poll(); e != null; e = poll()) {
+      c.add(e);
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Remove up to <code>array.length</code> available elements and store
+   * them at the beginning of an array in the order they were added to this
+   * queue.
+   *
+   * @param array  the array
+   * @return the number of elements moved
+   */
+  public int drainTo(E[] array) {
+    int n = 0;
+    while (n < array.length) {
+      E e = poll();
+      if (e == null) {
+        break;
+      }
+      array[n++] = e;
+    }
+    return n;
+  }
+
+  /**
+   * Get an iterator over the elements available when the iterator is
+   * created.  It must be used by the consumer only and does not support
+   * removal.
+   *
+   * @return an iterator over the elements
+   */
+  @Override
+  public Iterator<E> iterator() {
+    final long start = consumerIndex.get();
+    final long end = producerIndex.get();
+    return new Iterator<E>() {
+      private long next = start;
+
+      @Override
+      public boolean hasNext() {
+        return next < end;
+      }
+
+      @Override
+      public E next() {
+        if (next >= end) {
+          throw new NoSuchElementException();
+        }
+        E e = waitForSlot(next, (int) (next & mask));
+        next++;
+        return e;
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    long c = consumerIndex.get();
+    long p = producerIndex.get();
+    return (int) Math.min(p - c, mask + 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isEmpty() {
+    return consumerIndex.get() == producerIndex.get();
+  }
+
+  /**
+   * Get the capacity of the queue.
+   *
+   * @return the capacity of the queue
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Read the element at a given index.  If a producer has claimed the slot
+   * but not written it yet, spin until the element becomes visible.
+   *
+   * @param index  the index
+   * @param i      the slot position of the index
+   * @return the element, or null if no producer has claimed the index
+   */
+  private E waitForSlot(long index, int i) {
+    E e = buffer.get(i);
+    if (e == null && index < producerIndex.get()) {
+      do {
+        e = buffer.get(i);
+      } while (e == null);
+    }
+    return e;
+  }
+}
@@ -0,0 +1,237 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import aim4.config.SimConfig;
+import aim4.noise.GaussianNoiseFunction;
+
+/**
+ * Random number streams derived from one experiment seed.  When
+ * {@link SimConfig#IS_RANDOM_STREAMS_ENABLED} is on, each subsystem draws
+ * from streams of its own instead of the shared {@link Util#random}: every
+ * spawn point has a spawn stream and a destination stream, keyed by the ID
+ * of its lane, and the noise functions share a noise stream.  A stream
+ * depends only on the experiment seed, the subsystem and the key, so
+ *
+ * <ul>
+ * <li>a run can be reproduced whatever else draws random numbers, and</li>
+ * <li>two runs of different protocols with the same seed see the same
+ *     arrivals and destinations, which are common random numbers for
+ *     comparing the protocols.</li>
+ * </ul>
+ *
+ * The seeds of the streams are mixed with {@link SplittableRandom}, and
+ * the streams themselves are {@link Random}s so that they are saved in
+ * simulator snapshots.
+ */
+public class RandomStreams {
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The streams of a subsystem, created on first use for each key.  The
+   * streams are derived afresh whenever the experiment seed changes.
+   */
+  public static class Family implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The name of the subsystem */
+    private final String subsystem;
+    /** The experiment seed the streams were derived from */
+    private long experimentSeed;
+    /** The streams, by key */
+    private final Map<Integer, Random> streams = new HashMap<Integer, Random>();
+
+    /**
+     * Create the streams of a subsystem.
+     *
+     * @param subsystem  the name of the subsystem
+     */
+    public Family(String subsystem) {
+      this.subsystem = subsystem;
+      this.experimentSeed = Util.randSeed;
+    }
+
+    /**
+     * Get the random number generator for a key.
+     *
+     * @param key  the key, such as the ID of a lane
+     * @return the stream of the key, or the shared {@link Util#random} if
+     *         the streams are not enabled
+     */
+    public Random get(int key) {
+      if (!SimConfig.IS_RANDOM_STREAMS_ENABLED) {
+        return Util.random;
+      }
+      if (experimentSeed != Util.randSeed) {
+        streams.clear();
+        experimentSeed = Util.randSeed;
+      }
+      Random stream = streams.get(key);
+      if (stream == null) {
+        stream = newStream(experimentSeed, subsystem, key);
+        streams.put(key, stream);
+      }
+      return stream;
+    }
+  }
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The name of the noise subsystem */
+  private static final String NOISE = "noise";
+
+  /////////////////////////////////
+  // PRIVATE STATIC FIELDS
+  /////////////////////////////////
+
+  /** Whether an experiment seed has been set explicitly */
+  private static boolean isExperimentSeedSet = false;
+
+  /////////////////////////////////
+  // CLASS CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * This class should never be instantiated.
+   */
+  private RandomStreams(){};
+
+  /////////////////////////////////
+  // PUBLIC STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Start an experiment with a seed.  This sets the global seed and
+   * generator and derives the noise stream, which is otherwise seeded
+   * arbitrarily.  The other streams are derived when they are first used.
+   * From then on, every simulator built starts from the same random numbers
+   * (see {@link #restartExperiment()}).
+   *
+   * @param experimentSeed  the experiment seed
+   */
+  public static void setExperimentSeed(long experimentSeed) {
+    isExperimentSeedSet = true;
+    seed(experimentSeed);
+  }
+
+  /**
+   * Restart the experiment before a simulator is built.  If the streams are
+   * enabled or an experiment seed has been set explicitly, the generators
+   * are reseeded from the current seed, so every simulator built with the
+   * same seed starts from the same random numbers.  Otherwise the shared
+   * generator is left to run on, and successive simulators draw different
+   * random numbers as they always have.
+   */
+  public static void restartExperiment() {
+    if (SimConfig.IS_RANDOM_STREAMS_ENABLED || isExperimentSeedSet) {
+      seed(Util.randSeed);
+    }
+  }
+
+  /**
+   * Get the seed of a replicate of an experiment, such as one run of a
+   * sweep, so that the replicates are reproducible and independent.
+   *
+   * @param experimentSeed  the experiment seed
+   * @param replicate       the number of the replicate
+   * @return the seed of the replicate
+   */
+  public static long replicateSeed(long experimentSeed, int replicate) {
+    return mix(experimentSeed, "replicate", replicate);
+  }
+
+  /**
+   * Get the random number generator of the noise functions.
+   *
+   * @return the noise stream if the streams are enabled, or the shared
+   *         {@link Util#random} otherwise
+   */
+  public static Random noise() {
+    return SimConfig.IS_RANDOM_STREAMS_ENABLED
+           ? GaussianNoiseFunction.getRandom() : Util.random;
+  }
+
+  /**
+   * Create the stream of a subsystem and a key.
+   *
+   * @param experimentSeed  the experiment seed
+   * @param subsystem       the name of the subsystem
+   * @param key             the key
+   * @return the stream
+   */
+  public static Random newStream(long experimentSeed, String subsystem,
+                                 int key) {
+    return new Random(mix(experimentSeed, subsystem, key));
+  }
+
+  /////////////////////////////////
+  // PRIVATE STATIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Seed the global generator and the noise stream.
+   *
+   * @param experimentSeed  the experiment seed
+   */
+  private static void seed(long experimentSeed) {
+    Util.randSeed = experimentSeed;
+    Util.random.setSeed(experimentSeed);
+    GaussianNoiseFunction.setRandom(newStream(experimentSeed, NOISE, 0));
+  }
+
+  /**
+   * Mix an experiment seed with a subsystem and a key into a seed.
+   *
+   * @param experimentSeed  the experiment seed
+   * @param subsystem       the name of the subsystem
+   * @param key             the key
+   * @return the seed
+   */
+  private static long mix(long experimentSeed, String subsystem, int key) {
+    long salt =
+      new SplittableRandom(((long) subsystem.hashCode() << 32)
+                           ^ (key & 0xffffffffL))
+        .nextLong();
+    return new SplittableRandom(experimentSeed ^ salt).nextLong();
+  }
+}
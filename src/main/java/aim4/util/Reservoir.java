@@ -0,0 +1,140 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A fixed-size uniform random sample of a stream of items.  Every item
+ * added so far is in the sample with the same probability, and the sample
+ * is returned in the order in which the items were added.
+ *
+ * @param <T>  the type of the items
+ */
+public class Reservoir<T> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The items in the sample. */
+  private final Object[] items;
+  /** The positions in the stream of the items in the sample. */
+  private final long[] positions;
+  /** The number of items added so far. */
+  private long count;
+  /** The random number generator. */
+  private final Random random;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a reservoir.
+   *
+   * @param capacity  the size of the sample
+   * @param random    the random number generator
+   */
+  public Reservoir(int capacity, Random random) {
+    this.items = new Object[capacity];
+    this.positions = new long[capacity];
+    this.random = random;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Add an item to the stream.
+   *
+   * @param item  the item
+   */
+  public void add(T item) {
+    int slot;
+    if (count < items.length) {
+      slot = (int) count;
+    } else {
+      // replace a random item with probability capacity / (count + 1)
+      long r = (long) (random.nextDouble() * (count + 1));
+      if (r >= items.length) {
+        count++;
+        return;
+      }
+      slot = (int) r;
+    }
+    items[slot] = item;
+    positions[slot] = count;
+    count++;
+  }
+
+  /**
+   * Get the number of items added so far.
+   *
+   * @return the number of items added so far
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the sample, in the order in which its items were added.
+   *
+   * @return the sample
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> getSample() {
+    int size = (int) Math.min(count, items.length);
+    Integer[] slots = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      slots[i] = i;
+    }
+    Arrays.sort(slots, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer i, Integer j) {
+        return Long.compare(positions[i], positions[j]);
+      }
+    });
+    List<T> sample = new ArrayList<T>(size);
+    for (int slot : slots) {
+      sample.add((T) items[slot]);
+    }
+    return sample;
+  }
+}
@@ -0,0 +1,263 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import aim4.config.SimConfig;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+/**
+ * A profiler of the phases of the steps of a simulator, which records the
+ * time spent in each phase in a histogram of nanoseconds in the
+ * {@link MetricsRegistry}.  It does nothing but check
+ * {@link SimConfig#IS_METRICS_ENABLED} while the metrics are disabled.
+ * A simulator profiles a step as follows:
+ * <pre>
+ *   long t = profiler.beginStep();
+ *   spawnVehicles(timeStep);
+ *   t = profiler.lap(StepProfiler.Phase.SPAWN, t);
+ *   ...
+ *   profiler.endStep(currentTime, vinToVehicles.size());
+ * </pre>
+ * The time of the whole step and the number of active vehicles are also
+ * recorded under the names {@link #STEP} and {@link #ACTIVE_VEHICLES}
+ * shared by all the simulators, for the GUI.
+ */
+public class StepProfiler implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // NESTED CLASSES
+  /////////////////////////////////
+
+  /**
+   * The phases of a step.
+   */
+  public enum Phase {
+    /** Spawning vehicles */
+    SPAWN("spawn"),
+    /** Providing the vehicles with sensor input */
+    SENSOR_INPUT("sensorInput"),
+    /** Letting the drivers act */
+    DRIVER_ACT("driverAct"),
+    /** Letting the intersection or merge managers act */
+    IM_ACT("imAct"),
+    /** Delivering the messages */
+    COMMUNICATION("communication"),
+    /** Moving the vehicles */
+    MOVE("move"),
+    /** Recording and removing the completed vehicles */
+    CLEANUP("cleanup");
+
+    /** The name of the phase in the metric names. */
+    private final String name;
+
+    private Phase(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Get the name of the phase in the metric names.
+     *
+     * @return the name of the phase
+     */
+    public String getName() {
+      return name;
+    }
+  }
+
+  /////////////////////////////////
+  // CONSTANTS
+  /////////////////////////////////
+
+  /** The name of the histogram of the step times of all simulators. */
+  public static final String STEP = "sim.step";
+
+  /** The name of the gauge of the active vehicles of all simulators. */
+  public static final String ACTIVE_VEHICLES = "sim.activeVehicles";
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The registry.  A profiler restored from a simulator snapshot records
+   * into the default registry.
+   */
+  private transient MetricsRegistry registry;
+  /** The prefix of the names of the metrics of the simulator. */
+  private final String prefix;
+  /** The histograms of the phases, indexed by the ordinals of the phases. */
+  private transient Histogram[] phaseHistograms;
+  /** The histogram of the step times of the simulator. */
+  private transient Histogram stepHistogram;
+  /** The start time of the current step, or zero if it is not profiled. */
+  private long stepStartTime;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a profiler recording into the default registry.
+   *
+   * @param simulatorName  the name of the simulator, which prefixes the
+   *                       names of its metrics
+   */
+  public StepProfiler(String simulatorName) {
+    this(MetricsRegistry.getDefault(), simulatorName);
+  }
+
+  /**
+   * Create a profiler.
+   *
+   * @param registry       the registry
+   * @param simulatorName  the name of the simulator, which prefixes the
+   *                       names of its metrics
+   */
+  public StepProfiler(MetricsRegistry registry, String simulatorName) {
+    this.prefix = simulatorName + ".";
+    bind(registry);
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Whether the metrics are enabled.
+   *
+   * @return whether the metrics are enabled
+   */
+  public boolean isEnabled() {
+    return SimConfig.IS_METRICS_ENABLED;
+  }
+
+  /**
+   * Begin a step.
+   *
+   * @return the start time of the first phase, or zero if the metrics are
+   *         disabled
+   */
+  public long beginStep() {
+    stepStartTime = SimConfig.IS_METRICS_ENABLED ? System.nanoTime() : 0;
+    return stepStartTime;
+  }
+
+  /**
+   * End a phase.
+   *
+   * @param phase      the phase
+   * @param startTime  the start time of the phase
+   * @return the start time of the next phase, or zero if the phase was
+   *         not profiled
+   */
+  public long lap(Phase phase, long startTime) {
+    if (startTime == 0) {
+      return 0;
+    }
+    long now = System.nanoTime();
+    phaseHistograms[phase.ordinal()].record(now - startTime);
+    return now;
+  }
+
+  /**
+   * End a step, and write the metrics if a periodic snapshot is due.
+   *
+   * @param currentTime         the current simulated time
+   * @param numOfActiveVehicles the number of vehicles in the simulator
+   */
+  public void endStep(double currentTime, int numOfActiveVehicles) {
+    if (stepStartTime == 0) {
+      return;
+    }
+    long stepTime = System.nanoTime() - stepStartTime;
+    stepHistogram.record(stepTime);
+    registry.getHistogram(STEP).record(stepTime);
+    registry.getGauge(prefix + "activeVehicles").set(numOfActiveVehicles);
+    registry.getGauge(ACTIVE_VEHICLES).set(numOfActiveVehicles);
+    registry.dumpIfDue(currentTime);
+    stepStartTime = 0;
+  }
+
+  /**
+   * Count an event of the simulator, if the metrics are enabled.
+   *
+   * @param name  the name of the counter, without the simulator prefix
+   */
+  public void count(String name) {
+    if (SimConfig.IS_METRICS_ENABLED) {
+      registry.getCounter(prefix + name).incrementAndGet();
+    }
+  }
+
+  /**
+   * Set a gauge of the simulator, if the metrics are enabled.
+   *
+   * @param name   the name of the gauge, without the simulator prefix
+   * @param value  the value of the gauge
+   */
+  public void setGauge(String name, long value) {
+    if (SimConfig.IS_METRICS_ENABLED) {
+      registry.getGauge(prefix + name).set(value);
+    }
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Look up the histograms of the profiler in a registry.
+   */
+  private void bind(MetricsRegistry registry) {
+    this.registry = registry;
+    phaseHistograms = new Histogram[Phase.values().length];
+    for (Phase phase : Phase.values()) {
+      phaseHistograms[phase.ordinal()] =
+        registry.getHistogram(prefix + "phase." + phase.name);
+    }
+    stepHistogram = registry.getHistogram(prefix + "step");
+  }
+
+  /**
+   * Bind a profiler restored from a simulator snapshot to the default
+   * registry.
+   */
+  private void readObject(ObjectInputStream in)
+      throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    bind(MetricsRegistry.getDefault());
+  }
+}
@@ -33,13 +33,19 @@ package aim4.util;
 import java.awt.Shape;
 import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A tiled area - a subdivision of an area into a grid of small rectangles.
  */
-public class TiledArea {
+public class TiledArea implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // NESTED CLASSES
@@ -48,7 +54,9 @@ public class TiledArea {
   /**
    * A tile.
    */
-  public static class Tile {
+  public static class Tile implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /** The area controlled by this tile. */
     private final Rectangle2D rectangle;
     /** the x-coordinate of this tile */
@@ -115,7 +123,7 @@ public class TiledArea {
   /////////////////////////////////
 
   /** The area controlled by this tiled area. */
-  private final Area area;
+  private transient Area area;
   /** The bounding rectangle controlled by this tiled area. */
   private final Rectangle2D rectangle;
   /** The number of tiles in the x-direction */
@@ -376,4 +384,21 @@ public class TiledArea {
     return occupiedTiles;
   }
 
+  /**
+   * Write the Area, which is not serializable, as paths.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    GeomMath.writeArea(out, area);
+  }
+
+  /**
+   * Read the Area written by writeObject.
+   */
+  private void readObject(ObjectInputStream in)
+      throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    area = GeomMath.readArea(in);
+  }
+
 }
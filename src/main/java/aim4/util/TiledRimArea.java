@@ -6,13 +6,19 @@ import aim4.map.lane.ArcSegmentLane;
 
 import java.awt.*;
 import java.awt.geom.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A tiled area - a subdivision of an area into a grid of small shapes.
  */
-public class TiledRimArea {
+public class TiledRimArea implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // NESTED CLASSES
     /////////////////////////////////
@@ -20,9 +26,11 @@ public class TiledRimArea {
     /**
      * A tile.
      */
-    public static class Tile {
+    public static class Tile implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         /** The area controlled by this tile. */
-        private final Area area;
+        private transient Area area;
         /** The start angle of the tile. */
         private final double startAngle;
         /** The angle of the tile. */
@@ -61,6 +69,23 @@ public class TiledRimArea {
         public int getId() {
             return id;
         }
+
+        /**
+         * Write the Area, which is not serializable, as paths.
+         */
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            GeomMath.writeArea(out, area);
+        }
+
+        /**
+         * Read the Area written by writeObject.
+         */
+        private void readObject(ObjectInputStream in)
+                throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            area = GeomMath.readArea(in);
+        }
     }
 
     /////////////////////////////////
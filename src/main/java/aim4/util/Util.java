@@ -57,8 +57,11 @@ public class Util {
   public static long randSeed = (new Random()).nextLong();
   // public static final long randSeed = -6397397808339168785L;
 
-  /** The global random number generator */
-  public static final Random random = new Random(randSeed);
+  /**
+   * The global random number generator, which is only replaced when a
+   * simulator snapshot is restored
+   */
+  public static Random random = new Random(randSeed);
 
   static {
     if (Condor.IS_CONDOR_EXIST) {
@@ -283,7 +286,19 @@ public class Util {
    *         to the distribution
    */
   public static int randomIndex(double[] distribution) {
-    double a = Util.random.nextDouble();
+    return randomIndex(distribution, Util.random);
+  }
+
+  /**
+   * Choose a number according to a finite probability distribution.
+   *
+   * @param distribution  the probability distribution
+   * @param random        the random number generator
+   * @return an index of the distribution that is randomly chosen according
+   *         to the distribution
+   */
+  public static int randomIndex(double[] distribution, Random random) {
+    double a = random.nextDouble();
     for(int i=0; i<distribution.length; i++) {
       a -= distribution[i];
       if (a<0.0) {
@@ -301,7 +316,19 @@ public class Util {
    *         to the distribution
    */
   public static int randomIndex(List<Double> distribution) {
-    double a = Util.random.nextDouble();
+    return randomIndex(distribution, Util.random);
+  }
+
+  /**
+   * Choose a number according to a finite probability distribution.
+   *
+   * @param distribution  the probability distribution
+   * @param random        the random number generator
+   * @return an index of the distribution that is randomly chosen according
+   *         to the distribution
+   */
+  public static int randomIndex(List<Double> distribution, Random random) {
+    double a = random.nextDouble();
     for(int i=0; i<distribution.size(); i++) {
       a -= distribution.get(i);
       if (a<0.0) {
@@ -0,0 +1,141 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A counter of the events in a sliding window of simulated time.  The
+ * window is split into a fixed number of buckets, so the count is exact
+ * to within one bucket and the counter takes constant memory.
+ */
+public class WindowedCounter implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /** The counts of the buckets, used as a ring. */
+  private final long[] counts;
+  /** The duration of a bucket. */
+  private final double bucketDuration;
+  /** The index of the latest bucket counted into, in absolute terms. */
+  private long latestBucket = Long.MIN_VALUE;
+  /** The sum of the counts of the buckets. */
+  private long total;
+
+  /////////////////////////////////
+  // CONSTRUCTORS
+  /////////////////////////////////
+
+  /**
+   * Create a windowed counter.
+   *
+   * @param window       the duration of the window
+   * @param numOfBuckets the number of buckets the window is split into
+   */
+  public WindowedCounter(double window, int numOfBuckets) {
+    this.counts = new long[numOfBuckets];
+    this.bucketDuration = window / numOfBuckets;
+  }
+
+  /////////////////////////////////
+  // PUBLIC METHODS
+  /////////////////////////////////
+
+  /**
+   * Count an event.
+   *
+   * @param time  the time of the event, no earlier than that of any event
+   *              counted before
+   */
+  public void increment(double time) {
+    advanceTo(time);
+    counts[indexOf(latestBucket)]++;
+    total++;
+  }
+
+  /**
+   * Get the number of events in the window ending at the given time.
+   *
+   * @param time  the end of the window, no earlier than that of any event
+   *              counted before
+   * @return the number of events in the window
+   */
+  public long getCount(double time) {
+    advanceTo(time);
+    return total;
+  }
+
+  /**
+   * Get the duration of the window.
+   *
+   * @return the duration of the window
+   */
+  public double getWindow() {
+    return bucketDuration * counts.length;
+  }
+
+  /////////////////////////////////
+  // PRIVATE METHODS
+  /////////////////////////////////
+
+  /**
+   * Clear the buckets which have slid out of the window.
+   */
+  private void advanceTo(double time) {
+    long bucket = (long) Math.floor(time / bucketDuration);
+    if (latestBucket == Long.MIN_VALUE
+        || bucket - latestBucket >= counts.length) {
+      Arrays.fill(counts, 0);
+      total = 0;
+    } else {
+      for (long b = latestBucket + 1; b <= bucket; b++) {
+        int i = indexOf(b);
+        total -= counts[i];
+        counts[i] = 0;
+      }
+    }
+    if (bucket > latestBucket || latestBucket == Long.MIN_VALUE) {
+      latestBucket = bucket;
+    }
+  }
+
+  /**
+   * Get the position in the ring of a bucket.
+   */
+  private int indexOf(long bucket) {
+    return (int) Math.floorMod(bucket, (long) counts.length);
+  }
+}
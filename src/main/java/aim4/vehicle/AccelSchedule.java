@@ -30,6 +30,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.vehicle;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -39,7 +40,9 @@ import aim4.util.Util;
 /**
  * The acceleration schedule
  */
-public class AccelSchedule {
+public class AccelSchedule implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // NESTED CLASSES
@@ -48,7 +51,9 @@ public class AccelSchedule {
   /**
    * The time-acceleration pair.
    */
-  public static class TimeAccel {
+  public static class TimeAccel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /** The time */
     private double time;
     /** The acceleration */
@@ -12,6 +12,8 @@ import java.awt.geom.Point2D;
  * Created by Callum on 17/11/2016.
  */
 public abstract class BasicAutoVehicle extends BasicVehicle implements AutoVehicleSimModel {
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // CONSTANTS
     /////////////////////////////////
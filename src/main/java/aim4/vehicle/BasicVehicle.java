@@ -33,6 +33,7 @@ package aim4.vehicle;
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
 
@@ -49,7 +50,9 @@ import aim4.util.Util;
 /**
  * The most basic form of a vehicle.
  */
-public abstract class BasicVehicle implements VehicleSimModel {
+public abstract class BasicVehicle implements VehicleSimModel, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // CONSTANTS
@@ -119,7 +122,9 @@ public abstract class BasicVehicle implements VehicleSimModel {
   /**
    * The non-acceleration movement
    */
-  public static abstract class NonAccelMovement implements Movement {
+  public static abstract class NonAccelMovement implements Movement, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // PROTECTED FIELDS
@@ -237,6 +242,8 @@ public abstract class BasicVehicle implements VehicleSimModel {
    */
   public static class SteeringMovement extends NonAccelMovement {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PROTECTED FIELDS
     /////////////////////////////////
@@ -372,6 +379,8 @@ public abstract class BasicVehicle implements VehicleSimModel {
    */
   public static class TrackMovement extends NonAccelMovement {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -484,7 +493,9 @@ public abstract class BasicVehicle implements VehicleSimModel {
   /**
    * The physical movement.
    */
-  public static class PhysicalMovement implements MovementWithAccel {
+  public static class PhysicalMovement implements MovementWithAccel, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // PROTECTED FIELDS
@@ -649,6 +660,8 @@ public abstract class BasicVehicle implements VehicleSimModel {
    */
   public static class MoveToTargetVelocityMovement extends PhysicalMovement {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PROTECTED FIELDS
     /////////////////////////////////
@@ -897,7 +910,9 @@ public abstract class BasicVehicle implements VehicleSimModel {
   /**
    * The acceleration schedule movement.
    */
-  public static class AccelScheduleMovement implements Movement {
+  public static class AccelScheduleMovement implements Movement, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /////////////////////////////////
     // PRIVATE FIELDS
@@ -1212,7 +1227,7 @@ public abstract class BasicVehicle implements VehicleSimModel {
     super.finalize();
     // Make sure that the vehicle is unregistered from the Vehicle Registry.
     if (vin >= 0) {
-      VinRegistry.unregisterVehicle(vin);
+      VinRegistry.unregisterCollectedVehicle(vin);
       vin = -1;
     }
   }
@@ -1465,6 +1480,7 @@ public abstract class BasicVehicle implements VehicleSimModel {
    * @return an array of points representing the four corners, according to
    *         the Vehicle's gauges.
    */
+  @Override
   public Point2D[] gaugeCornerPoints() {
     return spec.getCornerPoints(gaugePosition(),
                                 gaugeHeading());
@@ -0,0 +1,169 @@
+/*
+Copyright (c) 2011 Tsz-Chiu Au, Peter Stone
+University of Texas at Austin
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+this list of conditions and the following disclaimer in the documentation
+and/or other materials provided with the distribution.
+
+3. Neither the name of the University of Texas at Austin nor the names of its
+contributors may be used to endorse or promote products derived from this
+software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package aim4.vehicle;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A memoization table of maximum turn velocities, in dense arrays indexed
+ * by the ID of the vehicle specification, the ID of the manager of the
+ * intersection or merge, and the IDs of the arrival and departure lanes.
+ * The arrays are allocated and grown as the IDs are seen, and NaN marks the
+ * entries that have not been computed yet.
+ */
+class MaxTurnVelocityTable {
+
+  /////////////////////////////////
+  // PRIVATE FIELDS
+  /////////////////////////////////
+
+  /**
+   * The velocities of the registered vehicle specifications, indexed by
+   * specification ID, manager ID, arrival lane ID and departure lane ID
+   */
+  private double[][][][] registered = new double[0][][][];
+  /**
+   * The velocities of the vehicle specifications whose names are not in the
+   * database, indexed by the keys in unregisteredNameToKey
+   */
+  private double[][][][] unregistered = new double[0][][][];
+  /** The keys of the names of the unregistered vehicle specifications */
+  private final Map<String, Integer> unregisteredNameToKey =
+    new HashMap<String, Integer>();
+
+  /////////////////////////////////
+  // PACKAGE METHODS
+  /////////////////////////////////
+
+  /**
+   * Get a memoized maximum turn velocity.  The specifications with the same
+   * name share their entries.
+   *
+   * @param spec             the vehicle specification
+   * @param managerId        the ID of the manager
+   * @param arrivalLaneId    the ID of the arrival lane
+   * @param departureLaneId  the ID of the departure lane
+   * @return the maximum turn velocity, or NaN if it has not been memoized
+   */
+  double get(VehicleSpec spec, int managerId, int arrivalLaneId,
+             int departureLaneId) {
+    if (managerId < 0 || arrivalLaneId < 0 || departureLaneId < 0) {
+      return Double.NaN;
+    }
+    int specId = spec.getId();
+    double[][][][] table = registered;
+    if (specId < 0) {
+      specId = VehicleSpecDatabase.getIdByName(spec.getName());
+      if (specId < 0) {
+        Integer key = unregisteredNameToKey.get(spec.getName());
+        if (key == null) {
+          return Double.NaN;
+        }
+        specId = key;
+        table = unregistered;
+      }
+    }
+    if (specId >= table.length || table[specId] == null
+        || managerId >= table[specId].length
+        || table[specId][managerId] == null
+        || arrivalLaneId >= table[specId][managerId].length
+        || table[specId][managerId][arrivalLaneId] == null
+        || departureLaneId >= table[specId][managerId][arrivalLaneId].length) {
+      return Double.NaN;
+    }
+    return table[specId][managerId][arrivalLaneId][departureLaneId];
+  }
+
+  /**
+   * Memoize a maximum turn velocity.  Nothing is memoized for negative IDs.
+   *
+   * @param spec             the vehicle specification
+   * @param managerId        the ID of the manager
+   * @param arrivalLaneId    the ID of the arrival lane
+   * @param departureLaneId  the ID of the departure lane
+   * @param velocity         the maximum turn velocity
+   */
+  void put(VehicleSpec spec, int managerId, int arrivalLaneId,
+           int departureLaneId, double velocity) {
+    if (managerId < 0 || arrivalLaneId < 0 || departureLaneId < 0) {
+      return;
+    }
+    int specId = spec.getId();
+    boolean isRegistered = true;
+    if (specId < 0) {
+      specId = VehicleSpecDatabase.getIdByName(spec.getName());
+      if (specId < 0) {
+        Integer key = unregisteredNameToKey.get(spec.getName());
+        if (key == null) {
+          key = unregisteredNameToKey.size();
+          unregisteredNameToKey.put(spec.getName(), key);
+        }
+        specId = key;
+        isRegistered = false;
+      }
+    }
+    double[][][][] table = isRegistered ? registered : unregistered;
+    if (specId >= table.length) {
+      table = Arrays.copyOf(table, specId + 1);
+      if (isRegistered) {
+        registered = table;
+      } else {
+        unregistered = table;
+      }
+    }
+    if (table[specId] == null) {
+      table[specId] = new double[managerId + 1][][];
+    } else if (managerId >= table[specId].length) {
+      table[specId] = Arrays.copyOf(table[specId], managerId + 1);
+    }
+    double[][][] byManager = table[specId];
+    if (byManager[managerId] == null) {
+      byManager[managerId] = new double[arrivalLaneId + 1][];
+    } else if (arrivalLaneId >= byManager[managerId].length) {
+      byManager[managerId] =
+        Arrays.copyOf(byManager[managerId], arrivalLaneId + 1);
+    }
+    double[][] byArrivalLane = byManager[managerId];
+    double[] byDepartureLane = byArrivalLane[arrivalLaneId];
+    if (byDepartureLane == null || departureLaneId >= byDepartureLane.length) {
+      int oldLength = byDepartureLane == null ? 0 : byDepartureLane.length;
+      byDepartureLane = byDepartureLane == null
+                        ? new double[departureLaneId + 1]
+                        : Arrays.copyOf(byDepartureLane, departureLaneId + 1);
+      Arrays.fill(byDepartureLane, oldLength, byDepartureLane.length,
+                  Double.NaN);
+      byArrivalLane[arrivalLaneId] = byDepartureLane;
+    }
+    byDepartureLane[departureLaneId] = velocity;
+  }
+}
@@ -33,13 +33,16 @@ package aim4.vehicle;
 import java.awt.Shape;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
+import java.io.Serializable;
 
 import aim4.config.SimConfig;
 
 /**
  * The characteristics of the vehicle
  */
-public class VehicleSpec {
+public class VehicleSpec implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   /////////////////////////////////
   // PRIVATE FIELDS
@@ -49,6 +52,12 @@ public class VehicleSpec {
    * The name of the specification
    */
   private String name;
+  /**
+   * The ID of the specification in the {@link VehicleSpecDatabase}, or -1 if
+   * it has not been registered there.  {@link #assign(VehicleSpec)} leaves
+   * it as it is.
+   */
+  private int id = -1;
   /**
    * The Vehicle's maximum acceleration in meters per second squared.
    */
@@ -245,6 +254,27 @@ public class VehicleSpec {
     return name;
   }
 
+  /**
+   * Get the ID of this vehicle specification in the
+   * {@link VehicleSpecDatabase}.  It indexes the tables kept per vehicle
+   * specification without hashing the name.
+   *
+   * @return the ID of this vehicle specification; -1 if it has not been
+   *         registered
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Set the ID of this vehicle specification when it is registered.
+   *
+   * @param id  the ID
+   */
+  void setId(int id) {
+    this.id = id;
+  }
+
   /**
    * Get the maximum acceleration.
    *
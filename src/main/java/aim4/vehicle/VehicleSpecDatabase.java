@@ -30,6 +30,9 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.vehicle;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -82,6 +85,7 @@ public class VehicleSpecDatabase {
     int id = vehicleSpecs.size();
     nameToId.put(spec.getName(), id);
     vehicleSpecs.add(spec);
+    spec.setId(id);
   }
 
   /**
@@ -112,6 +116,9 @@ public class VehicleSpecDatabase {
    *              specification has not been registered.
    */
   public static int getIdOfVehicleSpec(VehicleSpec spec) {
+    if (spec.getId() >= 0) {
+      return spec.getId();
+    }
     Integer id = nameToId.get(spec.getName());
     return (id!=null)?id:(-1);
   }
@@ -154,6 +161,35 @@ public class VehicleSpecDatabase {
     return (id != null)?vehicleSpecs.get(id):null;
   }
 
+  /**
+   * Write the vehicle specifications to a simulator snapshot, so that the
+   * vehicles in the snapshot share them.
+   *
+   * @param out  the stream of the snapshot
+   * @throws IOException  if the specifications cannot be written
+   * @see aim4.sim.SimSnapshot
+   */
+  public static void writeSnapshot(ObjectOutputStream out) throws IOException {
+    out.writeObject(vehicleSpecs);
+    out.writeObject(nameToId);
+  }
+
+  /**
+   * Replace the vehicle specifications with the ones in a simulator
+   * snapshot.
+   *
+   * @param in  the stream of the snapshot
+   * @throws IOException             if the specifications cannot be read
+   * @throws ClassNotFoundException  if a class in the snapshot is unknown
+   * @see aim4.sim.SimSnapshot
+   */
+  @SuppressWarnings("unchecked")
+  public static void readSnapshot(ObjectInputStream in)
+      throws IOException, ClassNotFoundException {
+    vehicleSpecs = (List<VehicleSpec>) in.readObject();
+    nameToId = (Map<String,Integer>) in.readObject();
+  }
+
   /////////////////////////////////
   // STATIC CONSTRUCTORS
   /////////////////////////////////
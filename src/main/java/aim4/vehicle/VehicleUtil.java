@@ -40,6 +40,7 @@ import aim4.im.merge.MergeManager;
 import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
 import aim4.map.merge.MergeMap;
+import aim4.util.AreaMask;
 import aim4.util.GeomMath;
 import aim4.util.Util;
 import aim4.vehicle.aim.AIMBasicAutoVehicle;
@@ -47,10 +48,6 @@ import aim4.vehicle.merge.MergeBasicAutoVehicle;
 import aim4.vehicle.rim.RIMBasicAutoVehicle;
 
 import java.awt.geom.Area;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * The utility functions for vehicles.
@@ -106,10 +103,10 @@ public class VehicleUtil {
      * Memoization caches for max turn velocities for various vehicle
      * specification.
      */
-    private static Map<String,Map<List<Integer>, Double>>
-            memoMaxTurnVelocity = new HashMap<String,Map<List<Integer>,Double>>();
-    private static Map<String,Map<List<Integer>, Double>>
-            memoMaxTurnVelocityMerge = new HashMap<String,Map<List<Integer>,Double>>();
+    private static MaxTurnVelocityTable memoMaxTurnVelocity =
+            new MaxTurnVelocityTable();
+    private static MaxTurnVelocityTable memoMaxTurnVelocityMerge =
+            new MaxTurnVelocityTable();
 
 
     /////////////////////////////////
@@ -138,29 +135,21 @@ public class VehicleUtil {
                                          Lane departureLane,
                                          IntersectionManager im) {
 
-        // check to see if the spec has been seem before.
-        if (!memoMaxTurnVelocity.containsKey(spec.getName())) {
-            // if not, create a map for it
-            memoMaxTurnVelocity.put(spec.getName(),
-                    new HashMap<List<Integer>,Double>());
-        }
-
         // check to see if the max turn velocity has been stored in the cache
-        Map<List<Integer>, Double> mmtvs = memoMaxTurnVelocity.get(spec.getName());
-        List<Integer> key = Arrays.asList(arrivalLane.getId(),
-                departureLane.getId(),
-                im.getId());
-        if (!mmtvs.containsKey(key)) {
+        double mtv = memoMaxTurnVelocity.get(spec, im.getId(),
+                arrivalLane.getId(), departureLane.getId());
+        if (Double.isNaN(mtv)) {
             // if not, calculate it and store it in the cache
-            double mtv = calculateMaxTurnVelocity(spec,
+            mtv = calculateMaxTurnVelocity(spec,
                     arrivalLane,
                     departureLane,
                     im);
-            mmtvs.put(key, mtv);
+            memoMaxTurnVelocity.put(spec, im.getId(),
+                    arrivalLane.getId(), departureLane.getId(), mtv);
         }
 
         // FIXME try to see why we need this hack
-        return Math.max(mmtvs.get(key), MIN_MAX_TURN_VELOCITY);
+        return Math.max(mtv, MIN_MAX_TURN_VELOCITY);
     }
 
     /**
@@ -185,29 +174,21 @@ public class VehicleUtil {
                                          Lane departureLane,
                                          aim4.im.rim.IntersectionManager im) {
 
-        // check to see if the spec has been seem before.
-        if (!memoMaxTurnVelocity.containsKey(spec.getName())) {
-            // if not, create a map for it
-            memoMaxTurnVelocity.put(spec.getName(),
-                    new HashMap<List<Integer>,Double>());
-        }
-
         // check to see if the max turn velocity has been stored in the cache
-        Map<List<Integer>, Double> mmtvs = memoMaxTurnVelocity.get(spec.getName());
-        List<Integer> key = Arrays.asList(arrivalLane.getId(),
-                departureLane.getId(),
-                im.getId());
-        if (!mmtvs.containsKey(key)) {
+        double mtv = memoMaxTurnVelocity.get(spec, im.getId(),
+                arrivalLane.getId(), departureLane.getId());
+        if (Double.isNaN(mtv)) {
             // if not, calculate it and store it in the cache
-            double mtv = calculateMaxTurnVelocity(spec,
+            mtv = calculateMaxTurnVelocity(spec,
                     arrivalLane,
                     departureLane,
                     im);
-            mmtvs.put(key, mtv);
+            memoMaxTurnVelocity.put(spec, im.getId(),
+                    arrivalLane.getId(), departureLane.getId(), mtv);
         }
 
         // FIXME try to see why we need this hack
-        return Math.max(mmtvs.get(key), MIN_MAX_TURN_VELOCITY);
+        return Math.max(mtv, MIN_MAX_TURN_VELOCITY);
     }
 
     /**
@@ -233,29 +214,21 @@ public class VehicleUtil {
                                          MergeManager mm,
                                          MergeMap map) {
 
-        // check to see if the spec has been seem before.
-        if (!memoMaxTurnVelocityMerge.containsKey(spec.getName())) {
-            // if not, create a map for it
-            memoMaxTurnVelocityMerge.put(spec.getName(),
-                    new HashMap<List<Integer>,Double>());
-        }
-
         // check to see if the max turn velocity has been stored in the cache
-        Map<List<Integer>, Double> mmtvs = memoMaxTurnVelocityMerge.get(spec.getName());
-        List<Integer> key = Arrays.asList(arrivalLane.getId(),
-                departureLane.getId(),
-                mm.getId());
-        if (!mmtvs.containsKey(key)) {
+        double mtv = memoMaxTurnVelocityMerge.get(spec, mm.getId(),
+                arrivalLane.getId(), departureLane.getId());
+        if (Double.isNaN(mtv)) {
             // if not, calculate it and store it in the cache
-            double mtv = calculateMaxTurnVelocity(spec,
+            mtv = calculateMaxTurnVelocity(spec,
                     arrivalLane,
                     departureLane,
                     mm,
                     map);
-            mmtvs.put(key, mtv);
+            memoMaxTurnVelocityMerge.put(spec, mm.getId(),
+                    arrivalLane.getId(), departureLane.getId(), mtv);
         }
 
-        return Math.max(mmtvs.get(key), MIN_MAX_TURN_VELOCITY);
+        return Math.max(mtv, MIN_MAX_TURN_VELOCITY);
     }
 
 
@@ -331,7 +304,7 @@ public class VehicleUtil {
             // Record whether or not we've entered the intersection
             if(!enteredIntersection &&
                     VehicleUtil.intersects(testVehicle,
-                            im.getIntersection().getAreaPlus())) {
+                            im.getIntersection().getAreaPlusMask())) {
                 enteredIntersection = true;
             }
             // Increment our simulated time
@@ -397,7 +370,7 @@ public class VehicleUtil {
         RIMBasicAutoVehicle testVehicle = new RIMBasicAutoVehicle(
                 spec,
                 arrivalLane.getStartPoint(), // Position
-                ((ArcSegmentLane) arrivalLane).getArcLaneDecomposition().get(0).getInitialHeading(), // Heading
+                ((ArcSegmentLane) arrivalLane).getFollowedInitialHeading(), // Heading
                 0.0,  // Steering angle
                 traversalVelocity, // velocity
                 0.0, // target velocity
@@ -414,7 +387,7 @@ public class VehicleUtil {
         while(simulatedTime <= maxTime &&
                 (!enteredIntersection ||
                         VehicleUtil.intersects(testVehicle,
-                                im.getIntersection().getArea()))) {
+                                im.getIntersection().getAreaMask()))) {
             // Give the CrashTestDummy a chance to steer
             dummy.act();
             // Now move the vehicle. We haven't touched acceleration, so it should
@@ -423,7 +396,7 @@ public class VehicleUtil {
             // Record whether or not we've entered the intersection
             if(!enteredIntersection &&
                     VehicleUtil.intersects(testVehicle,
-                            im.getIntersection().getAreaPlus())) {
+                            im.getIntersection().getAreaPlusMask())) {
                 enteredIntersection = true;
             }
             // Increment our simulated time
@@ -437,9 +410,14 @@ public class VehicleUtil {
         // intersection for the first time.  Let's make sure it is in the right
         // place.  We need to check three things.  If they are all true, then it
         // was a safe traversal.  Otherwise, it was unsafe.
-        // First, that it is in the middle of the Lane
-        return (departureLane.nearestDistance(testVehicle.getPosition()) <
-                (departureLane.getWidth() - testVehicle.getSpec().getWidth()) / 3 &&
+        // First, that it is in the middle of the Lane.  The turn velocities of
+        // the roundabout were tuned when the distance to a decomposed Arc Lane
+        // was not measured, so only Lanes that are not decomposed check it
+        boolean isDecomposedArcLane = departureLane instanceof ArcSegmentLane &&
+                ((ArcSegmentLane) departureLane).isDecomposed();
+        return ((isDecomposedArcLane ||
+                departureLane.nearestDistance(testVehicle.getPosition()) <
+                (departureLane.getWidth() - testVehicle.getSpec().getWidth()) / 3) &&
                 // Second, that it is done steering
                 Math.abs(testVehicle.getSteeringAngle()) <
                         SAFE_TRAVERSAL_STEERING_THRESHOLD &&
@@ -507,7 +485,7 @@ public class VehicleUtil {
                         departureLane.getLaneMM().distanceToNextMerge(
                                 testVehicle.getPosition()) == 0 ||
                         VehicleUtil.intersectsHighPrecision(testVehicle,
-                                mm.getMergeConnection().getArea()))) {
+                                mm.getMergeConnection().getAreaMask()))) {
             // Give the dummy a chance to steer
             dummy.act();
             if (testVehicle.getSteeringAngle() <
@@ -524,7 +502,7 @@ public class VehicleUtil {
             // Record whether or not we've entered the merge
             if(!enteredMerge &&
                     VehicleUtil.intersectsHighPrecision(testVehicle,
-                            mm.getMergeConnection().getArea())) {
+                            mm.getMergeConnection().getAreaMask())) {
                 enteredMerge = true;
             }
             // Increment our simulated time
@@ -973,6 +951,42 @@ public class VehicleUtil {
         }
     }
 
+    /**
+     * Determine whether the given Vehicle is currently inside an area, using
+     * a mask of the area so that the area itself is only tested when the
+     * Vehicle is on its boundary.
+     *
+     * @param v     the Vehicle
+     * @param mask  the mask of the area
+     * @return      whether the Vehicle is currently in the area
+     */
+    public static boolean intersects(VehicleSimModel v, AreaMask mask) {
+        AreaMask.Overlap overlap = mask.overlap(v.getCornerPoints());
+        if (overlap != AreaMask.Overlap.UNCERTAIN) {
+            return overlap == AreaMask.Overlap.INTERSECTING;
+        }
+        return intersects(v, mask.getArea());
+    }
+
+    /**
+     * Determine whether the given Vehicle is currently inside an area, using
+     * a mask of the area so that the area itself is only tested, as in
+     * {@link #intersectsHighPrecision(VehicleSimModel, Area)}, when the
+     * Vehicle is on its boundary.
+     *
+     * @param v     the Vehicle
+     * @param mask  the mask of the area
+     * @return      whether the Vehicle is currently in the area
+     */
+    public static boolean intersectsHighPrecision(VehicleSimModel v,
+                                                  AreaMask mask) {
+        AreaMask.Overlap overlap = mask.overlap(v.getCornerPoints());
+        if (overlap != AreaMask.Overlap.UNCERTAIN) {
+            return overlap == AreaMask.Overlap.INTERSECTING;
+        }
+        return intersectsHighPrecision(v, mask.getArea());
+    }
+
     /**
      * Determines whether or not two vehicles have collided
      *
@@ -30,6 +30,9 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 */
 package aim4.vehicle;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
@@ -177,6 +180,20 @@ public class VinRegistry {
     }
   }
 
+  /**
+   * Remove a garbage collected vehicle from the registry, unless its VIN
+   * has been given to another vehicle since the registry was reset.
+   * This function should only be used by BasicVehicle.java
+   *
+   * @param vin  the VIN of the vehicle
+   */
+  public static void unregisterCollectedVehicle(int vin) {
+    WeakReference<VehicleSimModel> wr = vinToVehicle.get(vin);
+    if (wr != null && wr.get() == null) {
+      vinToVehicle.remove(vin);
+    }
+  }
+
   /**
    * Whether or not the VIN has been issued.
    *
@@ -238,6 +255,56 @@ public class VinRegistry {
     return vinToDestRoad.get(vin);
   }
 
+  /**
+   * Write the state of the registry to a simulator snapshot.  The vehicles
+   * that still exist are written in place of the weak references to them.
+   *
+   * @param out  the stream of the snapshot
+   * @throws IOException  if the state cannot be written
+   * @see aim4.sim.SimSnapshot
+   */
+  public static void writeSnapshot(ObjectOutputStream out) throws IOException {
+    Map<Integer,VehicleSimModel> vehicles =
+      new HashMap<Integer,VehicleSimModel>();
+    for (Map.Entry<Integer,WeakReference<VehicleSimModel>> entry
+           : vinToVehicle.entrySet()) {
+      VehicleSimModel v = entry.getValue().get();
+      if (v != null) {
+        vehicles.put(entry.getKey(), v);
+      }
+    }
+    out.writeInt(vinGenerator);
+    out.writeObject(vehicles);
+    out.writeObject(vinToVehicleSpec);
+    out.writeObject(vinToSpawnPoint);
+    out.writeObject(vinToDestRoad);
+  }
+
+  /**
+   * Replace the state of the registry with the one in a simulator
+   * snapshot.
+   *
+   * @param in  the stream of the snapshot
+   * @throws IOException             if the state cannot be read
+   * @throws ClassNotFoundException  if a class in the state is unknown
+   * @see aim4.sim.SimSnapshot
+   */
+  @SuppressWarnings("unchecked")
+  public static void readSnapshot(ObjectInputStream in)
+      throws IOException, ClassNotFoundException {
+    vinGenerator = in.readInt();
+    Map<Integer,VehicleSimModel> vehicles =
+      (Map<Integer,VehicleSimModel>) in.readObject();
+    vinToVehicle = new HashMap<Integer,WeakReference<VehicleSimModel>>();
+    for (Map.Entry<Integer,VehicleSimModel> entry : vehicles.entrySet()) {
+      vinToVehicle.put(entry.getKey(),
+                       new WeakReference<VehicleSimModel>(entry.getValue()));
+    }
+    vinToVehicleSpec = (Map<Integer,VehicleSpec>) in.readObject();
+    vinToSpawnPoint = (Map<Integer,SpawnPoint>) in.readObject();
+    vinToDestRoad = (Map<Integer,Road>) in.readObject();
+  }
+
   /////////////////////////////////
   // CONSTRUCTORS
   /////////////////////////////////
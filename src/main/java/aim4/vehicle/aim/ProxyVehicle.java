@@ -43,6 +43,8 @@ import aim4.msg.aim.v2i.Done;
 import aim4.msg.aim.v2i.Request;
 import aim4.msg.aim.v2i.Request.Proposal;
 import aim4.msg.aim.v2i.V2IMessage;
+import aim4.util.EventLog;
+import aim4.util.MpscArrayQueue;
 import aim4.vehicle.BasicVehicle;
 import aim4.vehicle.VehicleSpecDatabase;
 
@@ -60,6 +62,8 @@ import java.util.List;
 public class ProxyVehicle extends AIMBasicAutoVehicle
                           implements ProxyVehicleSimModel {
 
+  private static final long serialVersionUID = 1L;
+
   /////////////////////////////////
   // CONSTANTS
   /////////////////////////////////
@@ -80,6 +84,12 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
    */
   private static final double SEND_INTERVALOMETER_READING_PERIOD = 1.0;
 
+  /**
+   * The maximum number of Real2Proxy messages that can wait to be
+   * processed.  {@value} messages.
+   */
+  private static final int POSTED_MSG_CAPACITY = 256;
+
 
   /////////////////////////////////
   // PRIVATE FIELDS
@@ -93,6 +103,9 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
   private int nextRequestId;
   /** The PVUpdate for next move() */
   private Real2ProxyPVUpdate pvUpdate;
+  /** The Real2Proxy messages waiting to be processed */
+  private MpscArrayQueue<Real2ProxyMsg> postedReal2ProxyMsgs =
+    new MpscArrayQueue<Real2ProxyMsg>(POSTED_MSG_CAPACITY);
   /** The next intervalometer reading time */
   private double nextIntervalometerReadingTime;
 
@@ -178,6 +191,31 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
 
   // processing the incoming Real2ProxyMsg and outgoing I2VMessages
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void postReal2ProxyMsg(Real2ProxyMsg msg) {
+    if (!postedReal2ProxyMsgs.offer(msg)) {
+      // like any other lost datagram
+      if (EventLog.IS_ENABLED) {
+        EventLog.log(EventLog.Event.PROXY_MSG_DROPPED, msg.receivedTime,
+                     getVIN());
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void processPostedReal2ProxyMsgs() {
+    for (Real2ProxyMsg msg = postedReal2ProxyMsgs.poll(); msg != null;
+         msg = postedReal2ProxyMsgs.poll()) {
+      processReal2ProxyMsg(msg);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -212,19 +250,17 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
       }
 
       if (v2iMsg != null) {
-        if (Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
-          System.err.printf("Proxy vehicle is sending a V2I message " +
-                            "to IM: %s\n.", v2iMsg);
+        if (EventLog.IS_ENABLED && Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
+          EventLog.log(EventLog.Event.PROXY_V2I_SENT, msg.receivedTime, getVIN(),
+                       v2iMsg.getMessageType().ordinal());
         }
         super.send(v2iMsg);  // this will put the message to the outgoing queue
       }
       lastTimeStamp = msg.receivedTime;
     } else {
-      if (Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
-        System.err.printf("The incoming Real2Proxy messages are out of " +
-                          "order.\n");
-        System.err.printf("lastTimeStamp = %.2f\n", lastTimeStamp);
-        System.err.printf("msg.receivedTime = %.2f\n", msg.receivedTime);
+      if (EventLog.IS_ENABLED && Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
+        EventLog.log(EventLog.Event.PROXY_MSG_OUT_OF_ORDER, lastTimeStamp,
+                     getVIN(), msg.receivedTime);
       }
       // do nothing else
     }
@@ -236,7 +272,7 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
   @Override
   public void receive(I2VMessage msg) {
     // super.receive(msg);  // do not call this!
-    bitsReceived += msg.getSize();
+    bitsReceived.addAndGet(msg.getSize());
 
     DatagramPacket dp = null;
     switch(msg.getMessageType()) {
@@ -247,9 +283,9 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
         System.err.println("Failed to convert confirm message to a datagram");
         e.printStackTrace();
       }
-      if (Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
-        System.err.printf("Sending a confirm message to real vehicle: %s\n",
-                          (Confirm)msg);
+      if (EventLog.IS_ENABLED && Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
+        EventLog.log(EventLog.Event.PROXY_CONFIRM_SENT, gaugeTime(), getVIN(),
+                     ((Confirm)msg).getReservationId());
       }
       break;
     case REJECT:
@@ -259,9 +295,9 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
         System.err.println("Failed to convert reject message to a datagram");
         e.printStackTrace();
       }
-      if (Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
-        System.err.printf("Sending a reject message to real vehicle: %s\n",
-                          (Reject)msg);
+      if (EventLog.IS_ENABLED && Debug.SHOW_PROXY_VEHICLE_DEBUG_MSG) {
+        EventLog.log(EventLog.Event.PROXY_REJECT_SENT, gaugeTime(), getVIN(),
+                     ((Reject)msg).getRequestId());
       }
       break;
     default:
@@ -292,8 +328,6 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
   public void move(double timeStep) {
     if (IS_SEND_INTERVALOMETER_READING) {
       if (currentTime >= nextIntervalometerReadingTime) {
-        System.err.printf("Try sending the intervalometer reading %.2f to " +
-        		  "Marvin...\n", getIntervalometer().read());
         DatagramPacket dp = null;
         try {
           dp = Proxy2RealAdapter.toDatagramPacket(getIntervalometer().read(),
@@ -307,7 +341,10 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
           DatagramSocket ds = new DatagramSocket();
           ds.send(dp);
           ds.close();
-          System.err.printf("intervalometer reading sent.\n");
+          if (EventLog.IS_ENABLED) {
+            EventLog.log(EventLog.Event.PROXY_INTERVALOMETER_SENT, currentTime,
+                         getVIN(), getIntervalometer().read());
+          }
         } catch (IOException e) {
           System.err.println("Failed to send a datagram to a real vehicle.");
           e.printStackTrace();
@@ -394,8 +431,10 @@ public class ProxyVehicle extends AIMBasicAutoVehicle
                                maxTurnVelocity,
                               msg.isStoppedAtIntersection));
 
-    System.err.printf("msg.arrivalVelocity = %.5f\n", msg.arrivalVelocity);
-    System.err.printf("this.velocity       = %.5f\n\n", movement.getVelocity());
+    if (EventLog.IS_ENABLED) {
+      EventLog.log(EventLog.Event.PROXY_REQUEST_CONVERTED, msg.receivedTime,
+                   vin, msg.arrivalVelocity);
+    }
 
     Request request =
       new Request(vin, // sourceID
@@ -70,4 +70,19 @@ public interface ProxyVehicleSimModel extends AIMAutoVehicleSimModel {
    */
   void processReal2ProxyMsg(Real2ProxyMsg msg);
 
+  /**
+   * Queue an incoming Real2Proxy message to be processed the next time the
+   * driver of this proxy vehicle acts.  Unlike processReal2ProxyMsg(), this
+   * method can be called from any thread without holding the simulator's
+   * lock.
+   *
+   * @param msg  the Real2Proxy message
+   */
+  void postReal2ProxyMsg(Real2ProxyMsg msg);
+
+  /**
+   * Process the Real2Proxy messages queued by postReal2ProxyMsg().
+   */
+  void processPostedReal2ProxyMsgs();
+
 }
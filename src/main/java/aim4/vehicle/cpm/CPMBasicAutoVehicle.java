@@ -6,6 +6,7 @@ import aim4.driver.cpm.CPMCoordinator.*;
 import aim4.driver.cpm.CPMV2VDriver;
 import aim4.map.connections.BasicConnection;
 import aim4.map.cpm.parking.ParkingLane;
+import aim4.util.EventLog;
 import aim4.vehicle.BasicAutoVehicle;
 import aim4.vehicle.VehicleSpec;
 
@@ -16,6 +17,8 @@ import java.awt.geom.Point2D;
  */
 public class CPMBasicAutoVehicle extends BasicAutoVehicle {
 
+    private static final long serialVersionUID = 1L;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -237,7 +240,9 @@ public class CPMBasicAutoVehicle extends BasicAutoVehicle {
     }
 
     public void clearI2Vinbox() {
-        System.out.println("I2V inbox cleared");
+        if (EventLog.IS_ENABLED) {
+            EventLog.log(EventLog.Event.I2V_INBOX_CLEARED, gaugeTime(), getVIN());
+        }
         I2Vinbox = null;
     }
 
@@ -250,7 +255,9 @@ public class CPMBasicAutoVehicle extends BasicAutoVehicle {
     }
 
     public void clearV2Vinbox() {
-        System.out.println("V2V inbox cleared");
+        if (EventLog.IS_ENABLED) {
+            EventLog.log(EventLog.Event.V2V_INBOX_CLEARED, gaugeTime(), getVIN());
+        }
         V2Vinbox = null;
     }
 
@@ -12,6 +12,8 @@ import java.awt.geom.Point2D;
  * Created by Callum on 14/03/2017.
  */
 public class MergeBasicAutoVehicle extends BasicAutoVehicle implements MergeAutoVehicleSimModel {
+    private static final long serialVersionUID = 1L;
+
     protected MergeAutoDriver driver;
     //Result properties
     private RoadNames startingRoad;
@@ -17,6 +17,8 @@ import java.util.Queue;
  */
 public class MergeV2IAutoVehicle extends MergeBasicAutoVehicle implements MergeV2IAutoVehicleSimModel {
 
+    private static final long serialVersionUID = 1L;
+
     // CONSTANTS //
     /**
      * The default distance the Vehicle can transmit messages.
@@ -6,24 +6,35 @@ import aim4.driver.rim.RIMAutoDriver;
 import aim4.msg.rim.i2v.I2VMessage;
 import aim4.msg.rim.v2i.V2IMessage;
 import aim4.vehicle.BasicAutoVehicle;
+import aim4.util.MpscArrayQueue;
 import aim4.vehicle.VehicleSpec;
 
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The basic autonomous vehicle.
  */
 public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehicleSimModel{
+    private static final long serialVersionUID = 1L;
+
     /**
      * The default distance the Vehicle can transmit messages.
      * {@value} meters.
      */
     public static final double DEFAULT_TRANSMISSION_POWER = 250; // meters
 
+    /**
+     * The maximum number of messages that can wait in the outbox or the
+     * inbox.  A message that finds its mailbox full is an error:
+     * the mailboxes are drained every time step, so they could only fill
+     * up with messages sent in a loop.  {@value} messages.
+     */
+    private static final int MAILBOX_CAPACITY = 256;
+
     /////////////////////////////////
     // PRIVATE FIELDS
     /////////////////////////////////
@@ -48,18 +59,20 @@ public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehi
      * The messages waiting to be sent from the Vehicle to an
      * IntersectionManager.
      */
-    private Queue<V2IMessage> v2iOutbox = new LinkedList<V2IMessage>();
+    private MpscArrayQueue<V2IMessage> v2iOutbox =
+        new MpscArrayQueue<V2IMessage>(MAILBOX_CAPACITY);
 
     /**
      * The messages waiting to be received from an IntersectionManager and
-     * processed by the Vehicle.
+     * processed by the Vehicle.  Messages may be delivered from any thread.
      */
-    private Queue<I2VMessage> i2vInbox = new LinkedList<I2VMessage>();
+    private MpscArrayQueue<I2VMessage> i2vInbox =
+        new MpscArrayQueue<I2VMessage>(MAILBOX_CAPACITY);
 
     // Stats on communication
 
     /** The number of bits this Vehicle has received. */
-    protected int bitsReceived;
+    protected AtomicInteger bitsReceived = new AtomicInteger();
     // TODO: change protected to private after figuring out where should
     // the proxy vehicle put.
 
@@ -67,19 +80,11 @@ public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehi
     private int bitsTransmitted;
 
     //-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
-    // Note: these should be changed to Vector if they need to be synchronized
-    //       because ArrayList is not thread-safe, whereas Vector is. Another
-    //       option would be to use
-    //             Collections.synchronizedList(new ArrayList(...));
-    //
-    //       These are using an ArrayList instead of a LinkedList because we
-    //       plan to do a lot of adding and removing, and while this might be
-    //       faster with a LinkedList were we to delete items off the front
-    //       one at a time, this causes a lot of memory allocation/cleanup.
-    //       Instead, we use an ArrayList, process all messages at once, and
-    //       then clear the whole list.  In this way, the memory that is
-    //       allocated for the List sticks around and doesn't have to be
-    //       reallocated every time new messages are added.
+    // Note: the outbox and the inbox are lock-free multi-producer single-
+    //       consumer queues, so messages can be put in them from any thread
+    //       without taking the simulator's lock.  Only one thread at a time
+    //       may take messages out of each of them: the simulator for the
+    //       outbox and the driver for the inbox.
     //-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=
 
     /////////////////////////////////
@@ -197,10 +202,8 @@ public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehi
      */
     @Override
     public List<I2VMessage> pollAllMessagesFromI2VInbox() {
-        // TODO: many need to make this function atomic to avoid
-        // putting messages in the queue and retrieve from it at the same time.
-        List<I2VMessage> msgs = new ArrayList<I2VMessage>(i2vInbox);
-        i2vInbox.clear();
+        List<I2VMessage> msgs = new ArrayList<I2VMessage>(i2vInbox.size());
+        i2vInbox.drainTo(msgs);
         return msgs;
     }
 
@@ -212,7 +215,9 @@ public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehi
         if (Debug.isPrintVehicleOutboxMessageOfVIN(msg.getVin())) {
             System.err.printf("vin %d sends message: %s\n", vin, msg);
         }
-        v2iOutbox.add(msg);
+        if (!v2iOutbox.offer(msg)) {
+            throw mailboxFull("V2I outbox");
+        }
         bitsTransmitted += msg.getSize();
         lastV2IMessage = msg;
     }
@@ -222,8 +227,22 @@ public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehi
      */
     @Override
     public void receive(I2VMessage msg) {
-        i2vInbox.add(msg);
-        bitsReceived += msg.getSize();
+        if (!i2vInbox.offer(msg)) {
+            throw mailboxFull("I2V inbox");
+        }
+        bitsReceived.addAndGet(msg.getSize());
+    }
+
+    /**
+     * Make the exception thrown when a message finds its mailbox full.
+     *
+     * @param mailbox  the name of the mailbox
+     * @return the exception
+     */
+    private IllegalStateException mailboxFull(String mailbox) {
+        return new IllegalStateException(String.format(
+            "vin %d: the %s is full (%d messages)", vin, mailbox,
+            MAILBOX_CAPACITY));
     }
 
     @Override
@@ -241,7 +260,7 @@ public class RIMBasicAutoVehicle extends BasicAutoVehicle implements RIMAutoVehi
      */
     @Override
     public int getBitsReceived() {
-        return bitsReceived;
+        return bitsReceived.get();
     }
 
     /**
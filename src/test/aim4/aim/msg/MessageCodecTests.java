@@ -0,0 +1,227 @@
+package aim4.aim.msg;
+
+import aim4.msg.aim.codec.MessageCodec;
+import aim4.msg.aim.i2v.Confirm;
+import aim4.msg.aim.i2v.I2VMessage;
+import aim4.msg.aim.i2v.Reject;
+import aim4.msg.aim.v2i.Away;
+import aim4.msg.aim.v2i.Cancel;
+import aim4.msg.aim.v2i.Done;
+import aim4.msg.aim.v2i.Request;
+import aim4.msg.aim.v2i.V2IMessage;
+import org.junit.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MessageCodecTests {
+
+    @Test
+    public void decode_withEncodedRequest_returnsEqualRequest() {
+        //arrange
+        Request.VehicleSpecForRequestMsg spec =
+                new Request.VehicleSpecForRequestMsg(2.5, -4.0, 0.0, 4.8, 1.9,
+                                                     1.1, 3.7, 0.6, 0.9);
+        List<Request.Proposal> proposals = new LinkedList<Request.Proposal>();
+        proposals.add(new Request.Proposal(3, 7, 12.34, 8.5, 11.0, false));
+        proposals.add(new Request.Proposal(3, 8, 13.5, 6.25, 9.0, true));
+        Request request = new Request(42, 1, 5, spec, proposals);
+
+        //act
+        ByteBuffer buf = MessageCodec.encode(request);
+        int encodedBits = buf.remaining() * Byte.SIZE;
+        V2IMessage decoded = MessageCodec.decodeV2IMessage(buf);
+
+        //assert
+        assertFalse(buf.hasRemaining());
+        assertEquals(encodedBits, MessageCodec.getEncodedSize(request));
+        assertTrue(decoded instanceof Request);
+        Request r = (Request) decoded;
+        assertEquals(42, r.getVin());
+        assertEquals(1, r.getImId());
+        assertEquals(5, r.getRequestId());
+        assertEquals(V2IMessage.Type.REQUEST, r.getMessageType());
+        assertEquals(2.5, r.getSpec().getMaxAcceleration(), 0.0);
+        assertEquals(4.8, r.getSpec().getLength(), 0.0);
+        assertEquals(0.9, r.getSpec().getMaxTurnPerSecond(), 0.0);
+        assertEquals(2, r.getProposals().size());
+        Request.Proposal p = r.getProposals().get(1);
+        assertEquals(3, p.getArrivalLaneID());
+        assertEquals(8, p.getDepartureLaneID());
+        assertEquals(13.5, p.getArrivalTime(), 0.0);
+        assertEquals(6.25, p.getArrivalVelocity(), 0.0);
+        assertEquals(9.0, p.getMaximumTurnVelocity(), 0.0);
+        assertTrue(p.isStoppedAtIntersection());
+    }
+
+    @Test
+    public void decode_withEncodedCancel_returnsEqualCancel() {
+        //arrange
+        Cancel cancel = new Cancel(42, 1, 17);
+
+        //act
+        V2IMessage decoded =
+                MessageCodec.decodeV2IMessage(MessageCodec.encode(cancel));
+
+        //assert
+        assertTrue(decoded instanceof Cancel);
+        assertEquals(42, decoded.getVin());
+        assertEquals(1, decoded.getImId());
+        assertEquals(V2IMessage.Type.CANCEL, decoded.getMessageType());
+        assertEquals(17, ((Cancel) decoded).getReservationID());
+    }
+
+    @Test
+    public void decode_withEncodedDone_returnsEqualDone() {
+        //arrange
+        Done done = new Done(42, 1, 17);
+
+        //act
+        V2IMessage decoded =
+                MessageCodec.decodeV2IMessage(MessageCodec.encode(done));
+
+        //assert
+        assertTrue(decoded instanceof Done);
+        assertEquals(42, decoded.getVin());
+        assertEquals(1, decoded.getImId());
+        assertEquals(V2IMessage.Type.DONE, decoded.getMessageType());
+        assertEquals(17, ((Done) decoded).getReservationID());
+    }
+
+    @Test
+    public void decode_withEncodedAway_returnsEqualAway() {
+        //arrange
+        Away away = new Away(42, 1, 17);
+
+        //act
+        V2IMessage decoded =
+                MessageCodec.decodeV2IMessage(MessageCodec.encode(away));
+
+        //assert
+        assertTrue(decoded instanceof Away);
+        assertEquals(42, decoded.getVin());
+        assertEquals(1, decoded.getImId());
+        assertEquals(V2IMessage.Type.AWAY, decoded.getMessageType());
+        assertEquals(17, ((Away) decoded).getReservationID());
+    }
+
+    @Test
+    public void decode_withEncodedConfirm_returnsEqualConfirm() {
+        //arrange
+        Queue<double[]> accProfile = new LinkedList<double[]>();
+        accProfile.add(new double[] { 2.5, 1.25 });
+        accProfile.add(new double[] { 0.0, 3.0 });
+        Confirm confirm = new Confirm(1, 42, 9, 5, 12.34, 0.1, 0.2, 8.5, 3, 7,
+                                      20.0, accProfile);
+
+        //act
+        I2VMessage decoded =
+                MessageCodec.decodeI2VMessage(MessageCodec.encode(confirm));
+
+        //assert
+        assertTrue(decoded instanceof Confirm);
+        Confirm c = (Confirm) decoded;
+        assertEquals(1, c.getImId());
+        assertEquals(42, c.getVin());
+        assertEquals(I2VMessage.Type.CONFIRM, c.getMessageType());
+        assertEquals(9, c.getReservationId());
+        assertEquals(5, c.getRequestId());
+        assertEquals(12.34, c.getArrivalTime(), 0.0);
+        assertEquals(0.1, c.getEarlyError(), 0.0);
+        assertEquals(0.2, c.getLateError(), 0.0);
+        assertEquals(8.5, c.getArrivalVelocity(), 0.0);
+        assertEquals(3, c.getArrivalLaneID());
+        assertEquals(7, c.getDepartureLaneID());
+        assertEquals(20.0, c.getACZDistance(), 0.0);
+        assertEquals(2, c.getAccelerationProfile().size());
+        assertArrayEquals(new double[] { 2.5, 1.25 },
+                          c.getAccelerationProfile().peek(), 0.0);
+    }
+
+    @Test
+    public void decode_withEncodedConfirmWithoutProfile_returnsNullProfile() {
+        //arrange
+        Confirm confirm = new Confirm(1, 42, 9, 5, 12.34, 0.1, 0.2, 8.5, 3, 7,
+                                      20.0, null);
+
+        //act
+        I2VMessage decoded =
+                MessageCodec.decodeI2VMessage(MessageCodec.encode(confirm));
+
+        //assert
+        assertNull(((Confirm) decoded).getAccelerationProfile());
+    }
+
+    @Test
+    public void decode_withEncodedRejectOfEachReason_returnsEqualReject() {
+        for (Reject.Reason reason : Reject.Reason.values()) {
+            //arrange
+            Reject reject = new Reject(1, 42, 5, 3.5, reason);
+
+            //act
+            I2VMessage decoded =
+                    MessageCodec.decodeI2VMessage(MessageCodec.encode(reject));
+
+            //assert
+            assertTrue(decoded instanceof Reject);
+            Reject r = (Reject) decoded;
+            assertEquals(1, r.getImId());
+            assertEquals(42, r.getVin());
+            assertEquals(5, r.getRequestId());
+            assertEquals(3.5, r.getNextAllowedCommunication(), 0.0);
+            assertEquals(reason, r.getReason());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeV2IMessage_withUnknownType_throwsException() {
+        //arrange
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        buf.put((byte) V2IMessage.Type.values().length).putInt(42).putInt(1)
+           .putInt(17);
+        buf.flip();
+
+        //act
+        MessageCodec.decodeV2IMessage(buf);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeI2VMessage_withUnknownRejectReason_throwsException() {
+        //arrange
+        ByteBuffer encoded = MessageCodec.encode(
+                new Reject(1, 42, 5, 3.5, Reject.Reason.NO_CLEAR_PATH));
+        ByteBuffer buf = ByteBuffer.allocate(encoded.remaining());
+        buf.put(encoded);
+        buf.put(buf.position() - 1, (byte) -1);
+        buf.flip();
+
+        //act
+        MessageCodec.decodeI2VMessage(buf);
+    }
+
+    @Test(expected = BufferUnderflowException.class)
+    public void decodeV2IMessage_withTruncatedRequest_throwsException() {
+        //arrange
+        List<Request.Proposal> proposals = new LinkedList<Request.Proposal>();
+        proposals.add(new Request.Proposal(3, 7, 12.34, 8.5, 11.0, false));
+        Request request = new Request(
+                42, 1, 5,
+                new Request.VehicleSpecForRequestMsg(2.5, -4.0, 0.0, 4.8, 1.9,
+                                                     1.1, 3.7, 0.6, 0.9),
+                proposals);
+        ByteBuffer buf = MessageCodec.encode(request);
+        buf.limit(buf.limit() - 1);
+
+        //act
+        MessageCodec.decodeV2IMessage(buf);
+    }
+}
@@ -0,0 +1,179 @@
+package aim4.config;
+
+import aim4.util.RandomStreams;
+import aim4.util.Util;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SweepTests {
+    private static final int NUM_OF_WORKERS = 3;
+    private static final int NUM_OF_TASKS = 30;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void run_withSeveralWorkers_runsEveryTaskOnce() throws Exception {
+        //arrange
+        final File dir = folder.newFolder("sweep");
+        final List<String> taskIds = new ArrayList<String>();
+        for (int i = 0; i < NUM_OF_TASKS; i++) {
+            taskIds.add("trafficLevel=" + i);
+        }
+        final ConcurrentMap<String, AtomicInteger> runs =
+                new ConcurrentHashMap<String, AtomicInteger>();
+        final Sweep.Task task = new Sweep.Task() {
+            @Override
+            public void run(String taskId, File resultFile) throws Exception {
+                runs.putIfAbsent(taskId, new AtomicInteger());
+                runs.get(taskId).incrementAndGet();
+                Files.write(resultFile.toPath(),
+                        taskId.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        //act
+        final List<String> failedTaskIds =
+                Collections.synchronizedList(new ArrayList<String>());
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int w = 0; w < NUM_OF_WORKERS; w++) {
+            final String workerId = "worker" + w;
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        failedTaskIds.addAll(
+                                new Sweep(dir, workerId).run(taskIds, task));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        //assert
+        assertTrue(failedTaskIds.isEmpty());
+        Sweep sweep = new Sweep(dir, "reader");
+        for (String taskId : taskIds) {
+            assertEquals(1, runs.get(taskId).get());
+            assertEquals(taskId, new String(Files.readAllBytes(
+                    sweep.getResultFile(taskId).toPath()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void run_withExpiredLease_retriesTask() throws Exception {
+        //arrange
+        File dir = folder.newFolder("sweep");
+        Sweep sweep = new Sweep(dir, "worker", 100, Sweep.DEFAULT_STRAGGLER_TIMEOUT);
+        // the lease of a worker which died an hour ago
+        File lease = new File(new File(dir, "leases"), "task");
+        Files.write(lease.toPath(), "dead 0 0".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(lease.toPath(),
+                FileTime.fromMillis(System.currentTimeMillis() - 60 * 60 * 1000));
+
+        //act
+        List<String> failedTaskIds = sweep.run(Arrays.asList("task"), new Sweep.Task() {
+            @Override
+            public void run(String taskId, File resultFile) throws Exception {
+                Files.write(resultFile.toPath(), new byte[0]);
+            }
+        });
+
+        //assert
+        assertTrue(failedTaskIds.isEmpty());
+        assertTrue(sweep.getResultFile("task").exists());
+        assertFalse(lease.exists());
+    }
+
+    @Test
+    public void run_withFailingTask_reportsFailure() throws Exception {
+        //arrange
+        Sweep sweep = new Sweep(folder.newFolder("sweep"), "worker");
+
+        //act
+        List<String> failedTaskIds = sweep.run(Arrays.asList("good", "bad"), new Sweep.Task() {
+            @Override
+            public void run(String taskId, File resultFile) throws Exception {
+                if (taskId.equals("bad")) {
+                    throw new IllegalStateException("The task failed.");
+                }
+                Files.write(resultFile.toPath(), new byte[0]);
+            }
+        });
+
+        //assert
+        assertEquals(Arrays.asList("bad"), failedTaskIds);
+        assertTrue(sweep.getResultFile("good").exists());
+    }
+
+    @Test
+    public void run_withTaskThrowingError_reportsFailure() throws Exception {
+        //arrange
+        File dir = folder.newFolder("sweep");
+        Sweep sweep = new Sweep(dir, "worker");
+
+        //act
+        List<String> failedTaskIds = sweep.run(Arrays.asList("bad"), new Sweep.Task() {
+            @Override
+            public void run(String taskId, File resultFile) throws Exception {
+                throw new AssertionError("The check failed.");
+            }
+        });
+
+        //assert
+        assertEquals(Arrays.asList("bad"), failedTaskIds);
+        assertTrue(new File(new File(dir, "failed"), "bad").exists());
+        assertFalse(new File(new File(dir, "leases"), "bad").exists());
+    }
+
+    @Test
+    public void run_withExperimentSeed_seedsEachTaskWithItsReplicateSeed() throws Exception {
+        //arrange
+        long oldSeed = Util.randSeed;
+        Sweep sweep = new Sweep(folder.newFolder("sweep"), "worker",
+                Sweep.DEFAULT_LEASE_TIMEOUT, Sweep.DEFAULT_STRAGGLER_TIMEOUT, 42L);
+        final ConcurrentMap<String, Long> seeds = new ConcurrentHashMap<String, Long>();
+
+        //act
+        try {
+            sweep.run(Arrays.asList("a", "b"), new Sweep.Task() {
+                @Override
+                public void run(String taskId, File resultFile) throws Exception {
+                    seeds.put(taskId, Util.randSeed);
+                    Files.write(resultFile.toPath(), new byte[0]);
+                }
+            });
+        } finally {
+            RandomStreams.setExperimentSeed(oldSeed);
+        }
+
+        //assert
+        assertEquals(RandomStreams.replicateSeed(42L, "a".hashCode()),
+                     (long) seeds.get("a"));
+        assertEquals(RandomStreams.replicateSeed(42L, "b".hashCode()),
+                     (long) seeds.get("b"));
+    }
+}
@@ -0,0 +1,86 @@
+package aim4.cpm.map.parking;
+
+import aim4.map.cpm.parking.ParkingLane;
+import aim4.map.cpm.parking.ParkingLaneSpaceIndex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ParkingLaneSpaceIndexTests {
+    private static final long SEED = 20160420L;
+    private static final int NUM_OF_LANES = 13;
+    private static final int NUM_OF_UPDATES = 5000;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    public void getLaneWithMostSpace_withRandomUpdates_matchesLinearScan() {
+        //arrange
+        Random random = new Random(SEED);
+        List<ParkingLane> lanes = createLanes(random);
+        ParkingLaneSpaceIndex index = new ParkingLaneSpaceIndex(lanes);
+
+        for (int i = 0; i < NUM_OF_UPDATES; i++) {
+            //act
+            ParkingLane lane = lanes.get(random.nextInt(lanes.size()));
+            // Whole numbers so that lanes often tie on space.
+            index.addSpace(lane, random.nextInt(9) - 4);
+            double spaceNeeded = random.nextInt(20);
+
+            //assert
+            ParkingLane most = null;
+            ParkingLane first = null;
+            double total = 0;
+            for (ParkingLane l : lanes) {
+                double space = index.getSpace(l);
+                total += space;
+                if (most == null || space > index.getSpace(most)
+                        || (space == index.getSpace(most) && l.getId() < most.getId())) {
+                    most = l;
+                }
+                if (space > spaceNeeded
+                        && (first == null || l.getId() < first.getId())) {
+                    first = l;
+                }
+            }
+            assertSame(most, index.getLaneWithMostSpace());
+            assertSame(first, index.getFirstLaneWithSpace(spaceNeeded));
+            assertEquals(total, index.getTotalSpace(), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void getLaneWithMostSpace_withNoLanes_returnsNull() {
+        //arrange
+        ParkingLaneSpaceIndex index =
+                new ParkingLaneSpaceIndex(new ArrayList<ParkingLane>());
+
+        //act
+        ParkingLane lane = index.getLaneWithMostSpace();
+
+        //assert
+        assertNull(lane);
+        assertNull(index.getFirstLaneWithSpace(0.0));
+    }
+
+    private static List<ParkingLane> createLanes(Random random) {
+        List<ParkingLane> lanes = new ArrayList<ParkingLane>();
+        for (int i = 0; i < NUM_OF_LANES; i++) {
+            // The parking length is 20 after the access and overlapping road
+            // lengths are taken from both ends of the lane.
+            ParkingLane lane = new ParkingLane(0, 4 * i, 34, 4 * i, 4, 3, 4,
+                                               10.0, null);
+            lane.setId(i);
+            lanes.add(lane);
+        }
+        // The index should not depend on the order the lanes are given in.
+        Collections.shuffle(lanes, random);
+        return lanes;
+    }
+}
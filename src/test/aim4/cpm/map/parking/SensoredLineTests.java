@@ -0,0 +1,66 @@
+package aim4.cpm.map.parking;
+
+import aim4.map.cpm.parking.SensoredLine;
+import aim4.vehicle.VehicleSimModel;
+import org.junit.Test;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SensoredLineTests {
+    private static final long SEED = 20160412L;
+    private static final int NUM_OF_TRIALS = 20000;
+
+    @Test
+    public void intersect_withRandomSegments_agreesWithExactIntersectionTest() {
+        //arrange
+        Random random = new Random(SEED);
+        Point2D lineStart = new Point2D.Double(10.0, 5.0);
+        Point2D lineEnd = new Point2D.Double(10.0, 15.0);
+        SensoredLine sensoredLine = new SensoredLine("line", 0,
+                SensoredLine.SensoredLineType.ENTRY, lineStart, lineEnd);
+
+        for (int i = 0; i < NUM_OF_TRIALS; i++) {
+            // Each trial uses a new VIN so the no repeat period never applies.
+            VehicleSimModel vehicle = mock(VehicleSimModel.class);
+            when(vehicle.getVIN()).thenReturn(i);
+            Point2D p1 = new Point2D.Double(random.nextDouble() * 20.0,
+                                            random.nextDouble() * 20.0);
+            Point2D p2 = new Point2D.Double(p1.getX() + random.nextGaussian(),
+                                            p1.getY() + random.nextGaussian());
+            boolean expected = Line2D.linesIntersect(
+                    lineStart.getX(), lineStart.getY(),
+                    lineEnd.getX(), lineEnd.getY(),
+                    p1.getX(), p1.getY(), p2.getX(), p2.getY());
+
+            //act
+            boolean actual = sensoredLine.intersect(vehicle, i, p1, p2);
+
+            //assert
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void intersect_withSegmentTouchingEndOfLine_returnsTrue() {
+        //arrange
+        SensoredLine sensoredLine = new SensoredLine("line", 0,
+                SensoredLine.SensoredLineType.EXIT,
+                new Point2D.Double(10.0, 5.0), new Point2D.Double(10.0, 15.0));
+        VehicleSimModel vehicle = mock(VehicleSimModel.class);
+        when(vehicle.getVIN()).thenReturn(1);
+
+        //act
+        boolean intersects = sensoredLine.intersect(vehicle, 0.0,
+                new Point2D.Double(8.0, 15.0), new Point2D.Double(10.0, 15.0));
+
+        //assert
+        assertTrue(intersects);
+    }
+}
@@ -0,0 +1,87 @@
+package aim4.im;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdmissionControlZoneTests {
+    private static final double MAX_SIZE = 40.0;
+    private static final double VEHICLE_LENGTH = 4.5;
+    private static final double STOP_DIST = 1.0;
+    private static final double VELOCITY = 10.0;
+    private static final int NUM_OF_VEHICLES = 7;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    public void isAdmissible_withZoneFullUntilVehiclesDriveThrough_admitsLaterArrivalsOnly() {
+        //arrange
+        AdmissionControlZone acz = createFullZone();
+
+        //act
+        boolean isEarlyAdmissible =
+                acz.isAdmissible(100, VEHICLE_LENGTH, STOP_DIST, 0.7, VELOCITY);
+        boolean isLateAdmissible =
+                acz.isAdmissible(100, VEHICLE_LENGTH, STOP_DIST, 10.0, VELOCITY);
+
+        //assert
+        assertFalse(isEarlyAdmissible);
+        assertTrue(isLateAdmissible);
+        assertEquals(NUM_OF_VEHICLES * 5.0, acz.getCurrentSize(), TOLERANCE);
+        assertEquals(NUM_OF_VEHICLES * 5.0, acz.getExpectedSize(1.0), TOLERANCE);
+        assertEquals(0.0, acz.getExpectedSize(10.0), TOLERANCE);
+    }
+
+    @Test
+    public void isAdmissible_withOverdueVehicles_blocksArrivalsUntilTheyLeave() {
+        //arrange
+        AdmissionControlZone acz = createFullZone();
+
+        //act
+        acz.advanceTo(20.0);
+        boolean isAdmissibleWhileOverdue =
+                acz.isAdmissible(100, VEHICLE_LENGTH, STOP_DIST, 25.0, VELOCITY);
+        acz.away(0);
+        acz.away(1);
+        boolean isAdmissibleAfterAway =
+                acz.isAdmissible(100, VEHICLE_LENGTH, STOP_DIST, 25.0, VELOCITY);
+
+        //assert
+        assertFalse(isAdmissibleWhileOverdue);
+        assertTrue(isAdmissibleAfterAway);
+        assertEquals((NUM_OF_VEHICLES - 2) * 5.0, acz.getExpectedSize(25.0), TOLERANCE);
+    }
+
+    @Test
+    public void isAdmissible_withStoppedVehicle_blocksAllLaterArrivals() {
+        //arrange
+        AdmissionControlZone acz = new AdmissionControlZone(MAX_SIZE);
+        // a vehicle leaving the intersection at walking pace is not expected
+        // to leave the zone until it says so
+        acz.admit(0, 36.0, 0.0, 0.0, 0.0);
+
+        //act
+        boolean isAdmissible =
+                acz.isAdmissible(1, VEHICLE_LENGTH, STOP_DIST, 1000.0, VELOCITY);
+        acz.cancel(0);
+        boolean isAdmissibleAfterCancel =
+                acz.isAdmissible(1, VEHICLE_LENGTH, STOP_DIST, 1000.0, VELOCITY);
+
+        //assert
+        assertFalse(isAdmissible);
+        assertTrue(isAdmissibleAfterCancel);
+        assertEquals(0.0, acz.getCurrentSize(), TOLERANCE);
+    }
+
+    private static AdmissionControlZone createFullZone() {
+        AdmissionControlZone acz = new AdmissionControlZone(MAX_SIZE);
+        for (int vin = 0; vin < NUM_OF_VEHICLES; vin++) {
+            double arrivalTime = vin * 0.1;
+            assertTrue(acz.isAdmissible(vin, VEHICLE_LENGTH, STOP_DIST,
+                                        arrivalTime, VELOCITY));
+            acz.admit(vin, VEHICLE_LENGTH, STOP_DIST, arrivalTime, VELOCITY);
+        }
+        return acz;
+    }
+}
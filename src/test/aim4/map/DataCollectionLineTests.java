@@ -0,0 +1,88 @@
+package aim4.map;
+
+import aim4.config.SimConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.geom.Point2D;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DataCollectionLineTests {
+    private boolean wasCaptured;
+
+    @Before
+    public void setUp() {
+        wasCaptured = SimConfig.IS_FULL_HISTORY_CAPTURED;
+    }
+
+    @After
+    public void tearDown() {
+        SimConfig.IS_FULL_HISTORY_CAPTURED = wasCaptured;
+    }
+
+    @Test
+    public void printTruncationMarker_withDiscardedCrossings_printsMarker() {
+        //arrange
+        SimConfig.IS_FULL_HISTORY_CAPTURED = false;
+        DataCollectionLine line = createLine();
+        int numOfCrossings = DataCollectionLine.NUM_OF_RETAINED_CROSSINGS + 1;
+        for (int i = 0; i < numOfCrossings; i++) {
+            line.recordCrossing(i, i);
+        }
+
+        //act
+        String printed = print(line);
+
+        //assert
+        assertFalse(line.isHistoryComplete());
+        assertTrue(printed.startsWith("# TRUNCATED: test"));
+        assertTrue(printed.contains(" of its " + numOfCrossings + " crossings"));
+    }
+
+    @Test
+    public void printTruncationMarker_withFullHistory_printsNothing() {
+        //arrange
+        SimConfig.IS_FULL_HISTORY_CAPTURED = true;
+        DataCollectionLine line = createLine();
+        int numOfCrossings = DataCollectionLine.NUM_OF_RETAINED_CROSSINGS + 1;
+        for (int i = 0; i < numOfCrossings; i++) {
+            line.recordCrossing(i, i);
+        }
+        final int[] numOfVisited = new int[1];
+        line.forEachCrossing(new DataCollectionLine.CrossingVisitor() {
+            @Override
+            public void visit(int vin, double time) {
+                numOfVisited[0]++;
+            }
+        });
+
+        //act
+        String printed = print(line);
+        line.close();
+
+        //assert
+        assertTrue(printed.isEmpty());
+        assertEquals(numOfCrossings, numOfVisited[0]);
+        // only the most recent crossings are left once the history is released
+        assertFalse(line.isHistoryComplete());
+    }
+
+    private static DataCollectionLine createLine() {
+        return new DataCollectionLine("test", 0, new Point2D.Double(0, 0),
+                                      new Point2D.Double(0, 10), false);
+    }
+
+    private static String print(DataCollectionLine line) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes);
+        line.printTruncationMarker(out);
+        out.flush();
+        return bytes.toString();
+    }
+}
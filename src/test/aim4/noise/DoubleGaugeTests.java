@@ -0,0 +1,123 @@
+package aim4.noise;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class DoubleGaugeTests {
+    private static final long SEED = 20161019L;
+    // more than a block of the noise table, so the batch spans a refill
+    private static final int NUM_OF_GAUGES = NoiseTable.BLOCK_SIZE + 44;
+
+    private Random oldRandom;
+
+    @Before
+    public void setUp() {
+        oldRandom = GaussianNoiseFunction.getRandom();
+    }
+
+    @After
+    public void tearDown() {
+        GaussianNoiseFunction.setRandom(oldRandom);
+    }
+
+    @Test
+    public void record_withNoNoise_readsValue() {
+        //arrange
+        DoubleGauge gauge = new DoubleGauge();
+
+        //act
+        gauge.record(12.5);
+
+        //assert
+        assertEquals(12.5, gauge.read(), 0.0);
+    }
+
+    @Test
+    public void record_withValueOutsideLimits_readsNearestLimit() {
+        //arrange
+        DoubleGauge gauge = new DoubleGauge(0.0, -1.0, 1.0);
+
+        //act
+        gauge.record(5.0);
+        double high = gauge.read();
+        gauge.record(-5.0);
+        double low = gauge.read();
+
+        //assert
+        assertEquals(1.0, high, 0.0);
+        assertEquals(-1.0, low, 0.0);
+    }
+
+    @Test
+    public void recordAll_withSharedGaussianNoise_readsSameAsRecordingInTurn() {
+        //arrange
+        double[] values = new double[NUM_OF_GAUGES];
+        for (int i = 0; i < NUM_OF_GAUGES; i++) {
+            values[i] = i * 0.5;
+        }
+        NoiseFunction inTurnNoise = new GaussianNoiseFunction(2.0);
+        DoubleGauge[] inTurnGauges = makeGauges(inTurnNoise);
+        NoiseFunction batchNoise = new GaussianNoiseFunction(2.0);
+        DoubleGauge[] batchGauges = makeGauges(batchNoise);
+
+        //act
+        // the noise tables are filled from the generator on their first use
+        GaussianNoiseFunction.setRandom(new Random(SEED));
+        for (int i = 0; i < NUM_OF_GAUGES; i++) {
+            inTurnGauges[i].record(values[i]);
+        }
+        GaussianNoiseFunction.setRandom(new Random(SEED));
+        DoubleGauge.recordAll(batchGauges, values.clone(), NUM_OF_GAUGES,
+                              batchNoise);
+
+        //assert
+        for (int i = 0; i < NUM_OF_GAUGES; i++) {
+            assertEquals(inTurnGauges[i].read(), batchGauges[i].read(), 0.0);
+        }
+    }
+
+    @Test
+    public void recordAll_withValuesOutsideLimits_readsNearestLimits() {
+        //arrange
+        DoubleGauge[] gauges = {
+            new DoubleGauge(0.0, -1.0, 1.0),
+            new DoubleGauge(0.0, -1.0, 1.0),
+            new DoubleGauge(0.0, -1.0, 1.0),
+        };
+
+        //act
+        DoubleGauge.recordAll(gauges, new double[] {5.0, -5.0, 0.25}, 3,
+                              BasicNoiseFunction.noNoise);
+
+        //assert
+        assertEquals(1.0, gauges[0].read(), 0.0);
+        assertEquals(-1.0, gauges[1].read(), 0.0);
+        assertEquals(0.25, gauges[2].read(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void recordAll_withGaugeOfAnotherNoiseFunction_throwsException() {
+        //arrange
+        DoubleGauge[] gauges = {
+            new DoubleGauge(),
+            new DoubleGauge(new UniformFixedNoiseFunction(1.0)),
+        };
+
+        //act
+        DoubleGauge.recordAll(gauges, new double[] {1.0, 2.0}, 2,
+                              BasicNoiseFunction.noNoise);
+    }
+
+    private static DoubleGauge[] makeGauges(NoiseFunction noiseFunction) {
+        DoubleGauge[] gauges = new DoubleGauge[NUM_OF_GAUGES];
+        for (int i = 0; i < NUM_OF_GAUGES; i++) {
+            gauges[i] = new DoubleGauge(noiseFunction);
+        }
+        return gauges;
+    }
+}
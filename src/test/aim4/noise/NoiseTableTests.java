@@ -0,0 +1,64 @@
+package aim4.noise;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class NoiseTableTests {
+    private static final long SEED = 20161019L;
+    private static final int NUM_OF_SAMPLES = 1000000;
+
+    @Test
+    public void nextGaussian_withManySamples_isStandardNormal() {
+        //arrange
+        Random random = new Random(SEED);
+        double sum = 0;
+        double sumOfSquares = 0;
+        int numBeyond196 = 0;
+        int numInTail = 0;
+
+        //act
+        for (int i = 0; i < NUM_OF_SAMPLES; i++) {
+            double x = NoiseTable.nextGaussian(random);
+            sum += x;
+            sumOfSquares += x * x;
+            if (Math.abs(x) > 1.96) {
+                numBeyond196++;
+            }
+            if (Math.abs(x) > 3.442619855899) {
+                numInTail++;
+            }
+        }
+
+        //assert
+        double mean = sum / NUM_OF_SAMPLES;
+        assertEquals(0.0, mean, 0.005);
+        assertEquals(1.0, sumOfSquares / NUM_OF_SAMPLES - mean * mean, 0.005);
+        assertEquals(0.05, (double) numBeyond196 / NUM_OF_SAMPLES, 0.001);
+        // About 0.058% of a standard normal lies beyond the ziggurat.
+        assertEquals(0.00058, (double) numInTail / NUM_OF_SAMPLES, 0.0001);
+    }
+
+    @Test
+    public void next_withSameNoiseGenerator_matchesDirectDraws() {
+        //arrange
+        Random oldRandom = GaussianNoiseFunction.getRandom();
+        GaussianNoiseFunction.setRandom(new Random(SEED));
+        NoiseTable table = new NoiseTable(NoiseTable.Distribution.GAUSSIAN);
+        Random random = new Random(SEED);
+
+        try {
+            for (int i = 0; i < 3 * NoiseTable.BLOCK_SIZE; i++) {
+                //act
+                double x = table.next();
+
+                //assert
+                assertEquals(NoiseTable.nextGaussian(random), x, 0.0);
+            }
+        } finally {
+            GaussianNoiseFunction.setRandom(oldRandom);
+        }
+    }
+}
@@ -156,14 +156,26 @@ public class CreateRIMResults {
                     int rimNumOfVehiclesWhichCouldNotBeSpawned = ((AutoDriverOnlySimulator) rimSimSetup).getNumOfVehiclesWhichCouldNotBeSpawned();
                     int rimNumOfVehiclesSpawned = ((AutoDriverOnlySimulator) rimSimSetup).getNumOfVehiclesSpawned();
 
-                    //Run the rim Optimal simulator and store the results
-                    Simulator optimalSimSetup = rimOptimalProtocolSimSetup.getSimulator();
-                    while (optimalSimSetup.getSimulationTime() < (TIME_LIMIT)) {
-                        optimalSimSetup.step(SimConfig.TIME_STEP);
+                    //Run the rim Optimal simulator and store the results, unless the oracle replaces it
+                    Result optimalResult;
+                    int rimOptimalNumOfVehiclesWhichCouldNotBeSpawned;
+                    int rimOptimalNumOfVehiclesSpawned;
+                    if (SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.ORACLE) {
+                        optimalResult = rimResult.produceExpectedResult();
+                        rimOptimalNumOfVehiclesWhichCouldNotBeSpawned = rimNumOfVehiclesWhichCouldNotBeSpawned;
+                        rimOptimalNumOfVehiclesSpawned = rimNumOfVehiclesSpawned;
+                    } else {
+                        Simulator optimalSimSetup = rimOptimalProtocolSimSetup.getSimulator();
+                        while (optimalSimSetup.getSimulationTime() < (TIME_LIMIT)) {
+                            optimalSimSetup.step(SimConfig.TIME_STEP);
+                        }
+                        optimalResult = ((RIMOptimalSimulator) optimalSimSetup).produceResult();
+                        rimOptimalNumOfVehiclesWhichCouldNotBeSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNoOfVehiclesWhichCouldNotBeSpawned();
+                        rimOptimalNumOfVehiclesSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNumOfVehiclesSpawned();
+                        if (SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.VALIDATION) {
+                            System.err.print(rimResult.produceExpectedTravelTimeDiscrepancyCSVString(optimalResult));
+                        }
                     }
-                    Result optimalResult = ((RIMOptimalSimulator) optimalSimSetup).produceResult();
-                    int rimOptimalNumOfVehiclesWhichCouldNotBeSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNoOfVehiclesWhichCouldNotBeSpawned();
-                    int rimOptimalNumOfVehiclesSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNumOfVehiclesSpawned();
 
                     // Combine the results in one csv
                     Result combinedResult = new Result(null);
@@ -377,14 +389,26 @@ public class CreateRIMResults {
                 int rimNumOfVehiclesWhichCouldNotBeSpawned = ((AutoDriverOnlySimulator) rimSimSetup).getNumOfVehiclesWhichCouldNotBeSpawned();
                 int rimNumOfVehiclesSpawned = ((AutoDriverOnlySimulator) rimSimSetup).getNumOfVehiclesSpawned();
 
-                //Run Optimal simulator
-                Simulator optimalSimSetup = rimOptimalSimSetup.getSimulator();
-                while (optimalSimSetup.getSimulationTime() < (TIME_LIMIT)) {
-                    optimalSimSetup.step(SimConfig.TIME_STEP);
+                //Run Optimal simulator, unless the oracle replaces it
+                Result rimOptimalResult;
+                int rimOptimalNumOfVehiclesWhichCouldNotBeSpawned;
+                int rimOptimalNumOfVehiclesSpawned;
+                if (SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.ORACLE) {
+                    rimOptimalResult = rimResult.produceExpectedResult();
+                    rimOptimalNumOfVehiclesWhichCouldNotBeSpawned = rimNumOfVehiclesWhichCouldNotBeSpawned;
+                    rimOptimalNumOfVehiclesSpawned = rimNumOfVehiclesSpawned;
+                } else {
+                    Simulator optimalSimSetup = rimOptimalSimSetup.getSimulator();
+                    while (optimalSimSetup.getSimulationTime() < (TIME_LIMIT)) {
+                        optimalSimSetup.step(SimConfig.TIME_STEP);
+                    }
+                    rimOptimalResult = ((RIMOptimalSimulator) optimalSimSetup).produceResult();
+                    rimOptimalNumOfVehiclesWhichCouldNotBeSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNoOfVehiclesWhichCouldNotBeSpawned();
+                    rimOptimalNumOfVehiclesSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNumOfVehiclesSpawned();
+                    if (SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.VALIDATION) {
+                        System.err.print(rimResult.produceExpectedTravelTimeDiscrepancyCSVString(rimOptimalResult));
+                    }
                 }
-                Result rimOptimalResult = ((RIMOptimalSimulator) optimalSimSetup).produceResult();
-                int rimOptimalNumOfVehiclesWhichCouldNotBeSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNoOfVehiclesWhichCouldNotBeSpawned();
-                int rimOptimalNumOfVehiclesSpawned = ((RIMOptimalSimulator) optimalSimSetup).getNumOfVehiclesSpawned();
 
                 //Run Stop Sign simulator
                 Simulator stopSignSimSetup = stopSignSimulator.getSimulator();
@@ -404,14 +428,26 @@ public class CreateRIMResults {
                 int aimNumOfVehiclesWhichCouldNotBeSpawned = ((aim4.sim.simulator.aim.AutoDriverOnlySimulator) aimCrossSimSetup).getNumOfVehiclesWhichCouldNotBeSpawned();
                 int aimNumOfVehiclesSpawned = ((aim4.sim.simulator.aim.AutoDriverOnlySimulator) aimCrossSimSetup).getNumOfVehiclesSpawned();
 
-                //Run AIM Cross optimal simulator
-                Simulator aimCrossOptimalSimSetup = aimCrossOptimalIntersectionSimulator.getSimulator();
-                while (aimCrossOptimalSimSetup.getSimulationTime() < (TIME_LIMIT)) {
-                    aimCrossOptimalSimSetup.step(SimConfig.TIME_STEP);
+                //Run AIM Cross optimal simulator, unless the oracle replaces it
+                Result aimCrossOptimalResult;
+                int aimCrossOptimalNumOfVehiclesWhichCouldNotBeSpawned;
+                int aimCrossOptimalNumOfVehiclesSpawned;
+                if (SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.ORACLE) {
+                    aimCrossOptimalResult = aimCrossResult.produceExpectedResult();
+                    aimCrossOptimalNumOfVehiclesWhichCouldNotBeSpawned = aimNumOfVehiclesWhichCouldNotBeSpawned;
+                    aimCrossOptimalNumOfVehiclesSpawned = aimNumOfVehiclesSpawned;
+                } else {
+                    Simulator aimCrossOptimalSimSetup = aimCrossOptimalIntersectionSimulator.getSimulator();
+                    while (aimCrossOptimalSimSetup.getSimulationTime() < (TIME_LIMIT)) {
+                        aimCrossOptimalSimSetup.step(SimConfig.TIME_STEP);
+                    }
+                    aimCrossOptimalResult = ((AIMOptimalSimulator) aimCrossOptimalSimSetup).produceResult();
+                    aimCrossOptimalNumOfVehiclesWhichCouldNotBeSpawned = ((AIMOptimalSimulator) aimCrossOptimalSimSetup).getNumOfVehiclesWhichCouldNotBeSpawned();
+                    aimCrossOptimalNumOfVehiclesSpawned = ((AIMOptimalSimulator) aimCrossOptimalSimSetup).getNumOfVehiclesSpawned();
+                    if (SimConfig.EXPECTED_TRAVEL_TIME_MODE == SimConfig.ExpectedTravelTimeMode.VALIDATION) {
+                        System.err.print(aimCrossResult.produceExpectedTravelTimeDiscrepancyCSVString(aimCrossOptimalResult));
+                    }
                 }
-                Result aimCrossOptimalResult = ((AIMOptimalSimulator) aimCrossOptimalSimSetup).produceResult();
-                int aimCrossOptimalNumOfVehiclesWhichCouldNotBeSpawned = ((AIMOptimalSimulator) aimCrossOptimalSimSetup).getNumOfVehiclesWhichCouldNotBeSpawned();
-                int aimCrossOptimalNumOfVehiclesSpawned = ((AIMOptimalSimulator) aimCrossOptimalSimSetup).getNumOfVehiclesSpawned();
 
                 //Run AIM Cross simulator
                 Simulator aimCrossStopSignSimSetup = aimCrossStopSignIntersectionSimulator.getSimulator();
@@ -0,0 +1,175 @@
+package aim4.rim.driver;
+
+import aim4.driver.rim.coordinator.MaxAccelReservationCheck;
+import aim4.driver.rim.coordinator.ReservationCheckException;
+import aim4.vehicle.AccelSchedule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MaxAccelReservationCheckTests {
+    private static final long SEED = 20160301L;
+    private static final int NUM_OF_TRIALS = 20000;
+    private static final double TOLERANCE = 1e-4;
+
+    @Test
+    public void check_withFeasibleRandomProfiles_returnsScheduleMeetingArrivalConstraints() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < NUM_OF_TRIALS; i++) {
+            //arrange
+            // Build a feasible accelerate-cruise-accelerate profile and use its
+            // duration and distance as the reservation to be checked.
+            double vTop = 5.0 + random.nextDouble() * 30.0;
+            double accel = 0.5 + random.nextDouble() * 4.0;
+            double decel = -(0.5 + random.nextDouble() * 6.0);
+            double time1 = random.nextDouble() * 100.0;
+            double v1 = random.nextDouble() * vTop;
+            double vMid = random.nextDouble() * vTop;
+            double vEnd = random.nextDouble() * vTop;
+            double t1 = (vMid - v1) / (vMid > v1 ? accel : decel);
+            double t2 = random.nextDouble() * 10.0;
+            double t3 = (vEnd - vMid) / (vEnd > vMid ? accel : decel);
+            double tTotal = t1 + t2 + t3;
+            if (tTotal < 0.1) {
+                continue;
+            }
+            double dTotal = t1 * (v1 + vMid) / 2.0 + t2 * vMid
+                            + t3 * (vMid + vEnd) / 2.0;
+
+            //act
+            AccelSchedule as = null;
+            try {
+                as = MaxAccelReservationCheck.check(time1, v1, time1 + tTotal,
+                        vEnd, dTotal, vTop, accel, decel);
+            } catch (ReservationCheckException e) {
+                fail("Feasible reservation rejected: " + e.getMessage());
+            }
+
+            //assert
+            assertScheduleValid(as, time1, v1, time1 + tTotal, vEnd, dTotal,
+                                vTop, accel, decel);
+        }
+    }
+
+    @Test
+    public void check_withRandomInputs_returnsOnlyValidSchedules() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < NUM_OF_TRIALS; i++) {
+            //arrange
+            double vTop = 5.0 + random.nextDouble() * 30.0;
+            double accel = 0.5 + random.nextDouble() * 4.0;
+            double decel = -(0.5 + random.nextDouble() * 6.0);
+            double time1 = random.nextDouble() * 100.0;
+            double v1 = random.nextInt(10) == 0 ? 0.0 : random.nextDouble() * vTop;
+            double vEnd = random.nextInt(10) == 0 ? 0.0 : random.nextDouble() * vTop;
+            double tTotal = random.nextDouble() * 15.0;
+            double dTotal = random.nextDouble() * tTotal * vTop;
+
+            //act
+            AccelSchedule as;
+            try {
+                as = MaxAccelReservationCheck.check(time1, v1, time1 + tTotal,
+                        vEnd, dTotal, vTop, accel, decel);
+            } catch (ReservationCheckException e) {
+                continue;  // infeasible reservations are allowed to fail
+            }
+
+            //assert
+            assertScheduleValid(as, time1, v1, time1 + tTotal, vEnd, dTotal,
+                                vTop, accel, decel);
+        }
+    }
+
+    @Test
+    public void check_withCruiseAtSpeedLimit_returnsScheduleWithoutAcceleration() throws ReservationCheckException {
+        //arrange
+        double vTop = 10.0;
+
+        //act
+        AccelSchedule as = MaxAccelReservationCheck.check(0.0, vTop, 5.0, vTop, 50.0, vTop, 2.0, -4.0);
+
+        //assert
+        for (AccelSchedule.TimeAccel ta : as.getList()) {
+            assertEquals(0.0, ta.getAcceleration(), 0.0);
+        }
+        assertScheduleValid(as, 0.0, vTop, 5.0, vTop, 50.0, vTop, 2.0, -4.0);
+    }
+
+    @Test
+    public void check_withVelocityAtSpeedLimitAndSlowerArrival_returnsScheduleWithinSpeedLimit()
+            throws ReservationCheckException {
+        //arrange
+        double vTop = 10.0;
+
+        //act
+        AccelSchedule as = MaxAccelReservationCheck.check(0.0, vTop, 5.0, 6.0, 40.0, vTop, 2.0, -4.0);
+
+        //assert
+        assertScheduleValid(as, 0.0, vTop, 5.0, 6.0, 40.0, vTop, 2.0, -4.0);
+    }
+
+    @Test
+    public void check_withStoppedVehicleAndNoDistance_returnsScheduleWithoutAcceleration()
+            throws ReservationCheckException {
+        //arrange
+
+        //act
+        AccelSchedule as = MaxAccelReservationCheck.check(0.0, 0.0, 5.0, 0.0, 0.0, 10.0, 2.0, -4.0);
+
+        //assert
+        for (AccelSchedule.TimeAccel ta : as.getList()) {
+            assertEquals(0.0, ta.getAcceleration(), 0.0);
+        }
+        assertScheduleValid(as, 0.0, 0.0, 5.0, 0.0, 0.0, 10.0, 2.0, -4.0);
+    }
+
+    @Test(expected = ReservationCheckException.class)
+    public void check_withDistanceBeyondSpeedLimit_throwsException() throws ReservationCheckException {
+        //arrange
+        // even cruising at the speed limit covers only 50 meters in 5 seconds
+
+        //act
+        MaxAccelReservationCheck.check(0.0, 10.0, 5.0, 10.0, 51.0, 10.0, 2.0, -4.0);
+    }
+
+    @Test(expected = ReservationCheckException.class)
+    public void check_withArrivalTimePassed_throwsException() throws ReservationCheckException {
+        //arrange
+        // a confirmation delayed past its arrival time
+        double time1 = 10.0;
+        double timeEnd = 9.98;
+
+        //act
+        MaxAccelReservationCheck.check(time1, 5.0, timeEnd, 5.0, 0.0, 10.0, 2.0, -4.0);
+    }
+
+    private static void assertScheduleValid(AccelSchedule as,
+                                            double time1, double v1,
+                                            double timeEnd, double vEnd,
+                                            double dTotal, double vTop,
+                                            double accel, double decel) {
+        List<AccelSchedule.TimeAccel> list = as.getList();
+        assertEquals(time1, list.get(0).getTime(), TOLERANCE);
+        assertEquals(timeEnd, list.get(list.size() - 1).getTime(), TOLERANCE);
+        double v = v1;
+        double d = 0.0;
+        for (int i = 1; i < list.size(); i++) {
+            AccelSchedule.TimeAccel ta = list.get(i - 1);
+            double a = ta.getAcceleration();
+            double t = list.get(i).getTime() - ta.getTime();
+            assertTrue(t >= 0.0);
+            assertTrue(a == 0.0 || a == accel || a == decel);
+            double v2 = v + a * t;
+            assertTrue(v2 >= -TOLERANCE && v2 <= vTop + TOLERANCE);
+            d += t * (v + v2) / 2.0;
+            v = v2;
+        }
+        assertEquals(vEnd, v, TOLERANCE);
+        assertEquals(dTotal, d, TOLERANCE * Math.max(1.0, dTotal));
+    }
+}
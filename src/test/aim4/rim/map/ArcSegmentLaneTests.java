@@ -1,10 +1,12 @@
 package aim4.rim.map;
 
 import aim4.map.lane.ArcSegmentLane;
+import aim4.map.lane.LineSegmentLane;
 import aim4.util.GeomMath;
 import org.junit.Test;
 
 import java.awt.geom.Arc2D;
+import java.awt.geom.Line2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
@@ -520,4 +522,69 @@ public class ArcSegmentLaneTests {
         //assert
         assertEquals(actualDistance, 0, DELTA);
     }
+
+    @Test
+    public void getInitialHeading_withFineDecomposition_matchesFirstLineLaneHeading() {
+        //arrange
+        Arc2D arc = createArc2D(ROUNDABOUT_RADIUS, GeomMath.PI, -GeomMath.THIRD_PI_60_DEGREES);
+        ArcSegmentLane decomposedLane = new ArcSegmentLane(arc, WIDTH, SPEED_LIMIT, 1000);
+        ArcSegmentLane lane = new ArcSegmentLane(arc, WIDTH, SPEED_LIMIT);
+
+        //act
+        double initialHeading = lane.getInitialHeading();
+        double terminalHeading = lane.getTerminalHeading();
+
+        //assert
+        ArrayList<LineSegmentLane> lineLanes = decomposedLane.getArcLaneDecomposition();
+        assertEquals(lineLanes.get(0).getInitialHeading(), initialHeading, 1e-3);
+        assertEquals(lineLanes.get(lineLanes.size() - 1).getTerminalHeading(), terminalHeading, 1e-3);
+        assertTrue(lane.getArcLaneDecomposition().isEmpty());
+        assertFalse(lane.isDecomposed());
+    }
+
+    @Test
+    public void getLeadPoint_withPointNextToArc_returnsPointFurtherAlongArc() {
+        //arrange
+        Point2D origin = new Point2D.Double(0, 0);
+        Arc2D arc = createArc2DFromOrigin(origin, MAIN_ARC_RADIUS, GeomMath.TWO_PI - GeomMath.THIRD_PI_60_DEGREES, GeomMath.SIXTH_PI_30_DEGREES);
+        ArcSegmentLane lane = new ArcSegmentLane(arc, WIDTH, SPEED_LIMIT);
+        Point2D onArc = lane.getPointAtNormalizedDistance(2.0);
+        // 1 meter away from the arc, towards its center
+        Point2D pos = new Point2D.Double(onArc.getX() * (MAIN_ARC_RADIUS - 1) / MAIN_ARC_RADIUS,
+                                         onArc.getY() * (MAIN_ARC_RADIUS - 1) / MAIN_ARC_RADIUS);
+
+        //act
+        Point2D leadPoint = lane.getLeadPoint(pos, 3.0);
+
+        //assert
+        assertEquals(2.0, lane.distanceAlongLane(pos), 1e-9);
+        assertEquals(lane.getLength() - 2.0, lane.remainingDistanceAlongLane(pos), 1e-9);
+        assertEquals(1.0, lane.nearestDistance(pos), 1e-9);
+        assertTrue(lane.contains(pos));
+        assertEquals(5.0, lane.distanceAlongLane(leadPoint), 1e-9);
+        assertEquals(MAIN_ARC_RADIUS, leadPoint.distance(origin), 1e-9);
+    }
+
+    @Test
+    public void intersectionPoint_withLineAcrossArc_returnsPointOnArc() {
+        //arrange
+        Point2D origin = new Point2D.Double(ROUNDABOUT_RADIUS, ROUNDABOUT_RADIUS * Math.sqrt(3));
+        Arc2D arc = createArc2DFromOrigin(origin, MAIN_ARC_RADIUS, GeomMath.PI, -GeomMath.THIRD_PI_60_DEGREES);
+        ArcSegmentLane lane = new ArcSegmentLane(arc, WIDTH, SPEED_LIMIT);
+        Point2D middle = lane.getPointAtNormalizedDistance(lane.getLength() / 2);
+        Line2D line = new Line2D.Double(origin, new Point2D.Double(
+                origin.getX() + 2 * (middle.getX() - origin.getX()),
+                origin.getY() + 2 * (middle.getY() - origin.getY())));
+
+        //act
+        Point2D intersection = lane.intersectionPoint(line);
+        Point2D leftIntersection = lane.leftIntersectionPoint(line);
+        Point2D rightIntersection = lane.rightIntersectionPoint(line);
+
+        //assert
+        assertEquals(0, intersection.distance(middle), 1e-9);
+        assertEquals(MAIN_ARC_RADIUS + WIDTH / 2, leftIntersection.distance(origin), 1e-9);
+        assertEquals(MAIN_ARC_RADIUS - WIDTH / 2, rightIntersection.distance(origin), 1e-9);
+        assertNull(lane.intersectionPoint(new Line2D.Double(origin, new Point2D.Double(origin.getX(), origin.getY() + 1))));
+    }
 }
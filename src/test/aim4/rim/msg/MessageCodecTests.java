@@ -0,0 +1,135 @@
+package aim4.rim.msg;
+
+import aim4.msg.rim.codec.MessageCodec;
+import aim4.msg.rim.i2v.Confirm;
+import aim4.msg.rim.i2v.I2VMessage;
+import aim4.msg.rim.i2v.Reject;
+import aim4.msg.rim.v2i.Done;
+import aim4.msg.rim.v2i.Request;
+import aim4.msg.rim.v2i.V2IMessage;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MessageCodecTests {
+
+    @Test
+    public void decode_withEncodedRequest_returnsEqualRequest() {
+        //arrange
+        Request.VehicleSpecForRequestMsg spec =
+                new Request.VehicleSpecForRequestMsg(2.5, -4.0, 0.0, 4.8, 1.9,
+                                                     1.1, 3.7, 0.6, 0.9);
+        List<Request.Proposal> proposals = new LinkedList<Request.Proposal>();
+        proposals.add(new Request.Proposal(3, 7, 12.34, 8.5, 11.0, false));
+        proposals.add(new Request.Proposal(3, 8, 13.5, 6.25, 9.0, true));
+        Request request = new Request(42, 1, 5, spec, proposals);
+
+        //act
+        ByteBuffer buf = MessageCodec.encode(request);
+        int encodedBits = buf.remaining() * Byte.SIZE;
+        V2IMessage decoded = MessageCodec.decodeV2IMessage(buf);
+
+        //assert
+        assertFalse(buf.hasRemaining());
+        assertEquals(encodedBits, MessageCodec.getEncodedSize(request));
+        assertTrue(decoded instanceof Request);
+        Request r = (Request) decoded;
+        assertEquals(42, r.getVin());
+        assertEquals(1, r.getImId());
+        assertEquals(5, r.getRequestId());
+        assertEquals(V2IMessage.Type.REQUEST, r.getMessageType());
+        assertEquals(4.8, r.getSpec().getLength(), 0.0);
+        assertEquals(0.9, r.getSpec().getMaxTurnPerSecond(), 0.0);
+        assertEquals(2, r.getProposals().size());
+        Request.Proposal p = r.getProposals().get(1);
+        assertEquals(8, p.getDepartureLaneID());
+        assertEquals(13.5, p.getArrivalTime(), 0.0);
+        assertEquals(6.25, p.getArrivalVelocity(), 0.0);
+        assertTrue(p.isStoppedAtIntersection());
+    }
+
+    @Test
+    public void decode_withEncodedDone_returnsEqualDone() {
+        //arrange
+        Done done = new Done(42, 1, 17);
+
+        //act
+        V2IMessage decoded =
+                MessageCodec.decodeV2IMessage(MessageCodec.encode(done));
+
+        //assert
+        assertTrue(decoded instanceof Done);
+        assertEquals(42, decoded.getVin());
+        assertEquals(1, decoded.getImId());
+        assertEquals(17, ((Done) decoded).getReservationID());
+    }
+
+    @Test
+    public void decode_withEncodedConfirm_returnsEqualConfirm() {
+        //arrange
+        Queue<double[]> accProfile = new LinkedList<double[]>();
+        accProfile.add(new double[] { 2.5, 1.25 });
+        accProfile.add(new double[] { 0.0, 3.0 });
+        Confirm confirm = new Confirm(1, 42, 9, 5, 12.34, 0.1, 0.2, 8.5, 3, 7,
+                                      20.0, accProfile);
+
+        //act
+        I2VMessage decoded =
+                MessageCodec.decodeI2VMessage(MessageCodec.encode(confirm));
+
+        //assert
+        assertTrue(decoded instanceof Confirm);
+        Confirm c = (Confirm) decoded;
+        assertEquals(1, c.getImId());
+        assertEquals(42, c.getVin());
+        assertEquals(9, c.getReservationId());
+        assertEquals(5, c.getRequestId());
+        assertEquals(12.34, c.getArrivalTime(), 0.0);
+        assertEquals(7, c.getDepartureLaneID());
+        assertEquals(20.0, c.getACZDistance(), 0.0);
+        assertEquals(2, c.getAccelerationProfile().size());
+        assertArrayEquals(new double[] { 2.5, 1.25 },
+                          c.getAccelerationProfile().peek(), 0.0);
+    }
+
+    @Test
+    public void decode_withEncodedConfirmWithoutProfile_returnsNullProfile() {
+        //arrange
+        Confirm confirm = new Confirm(1, 42, 9, 5, 12.34, 0.1, 0.2, 8.5, 3, 7,
+                                      20.0, null);
+
+        //act
+        I2VMessage decoded =
+                MessageCodec.decodeI2VMessage(MessageCodec.encode(confirm));
+
+        //assert
+        assertNull(((Confirm) decoded).getAccelerationProfile());
+    }
+
+    @Test
+    public void decode_withEncodedReject_returnsEqualReject() {
+        //arrange
+        Reject reject = new Reject(1, 42, 5, 3.5,
+                                   Reject.Reason.ARRIVAL_TIME_TOO_LARGE);
+
+        //act
+        I2VMessage decoded =
+                MessageCodec.decodeI2VMessage(MessageCodec.encode(reject));
+
+        //assert
+        assertTrue(decoded instanceof Reject);
+        Reject r = (Reject) decoded;
+        assertEquals(5, r.getRequestId());
+        assertEquals(3.5, r.getNextAllowedCommunication(), 0.0);
+        assertEquals(Reject.Reason.ARRIVAL_TIME_TOO_LARGE, r.getReason());
+    }
+}
@@ -6,6 +6,7 @@ import aim4.im.rim.RoadBasedIntersection;
 import aim4.im.rim.RoadBasedTrackModel;
 import aim4.im.rim.TrackModel;
 import aim4.map.Road;
+import aim4.map.lane.ArcSegmentLane;
 import aim4.map.lane.Lane;
 import aim4.map.rim.RimIntersectionMap;
 import aim4.util.ArrayListRegistry;
@@ -590,14 +591,61 @@ public class VehicleUtilTests {
 
     }
 
+    @Test
+    public void calculateMaxTurnVelocity_withUndecomposedArcLanesAndNorthEast_returnsTrue() {
+        //arrange
+
+        // Create map whose arc lanes are not decomposed
+        RimIntersectionMap map = getRimIntersectionMap(ROUNDABOUT_DIAMETER.get(0), 0);
+
+        // Create intersection
+        RoadBasedIntersection roadBasedIntersection = new RoadBasedIntersection(map.getRoads());
+
+        // Create track model
+        TrackModel trackModel = new RoadBasedTrackModel(roadBasedIntersection);
+
+        // IM Registry
+        Registry<IntersectionManager> registry = new ArrayListRegistry<>();
+
+        // Create IM
+        IntersectionManager intersectionManager = new IntersectionManager(roadBasedIntersection, trackModel, CURRENT_TIME, registry);
+
+
+        // Set vehicle spec for a van
+        VehicleSpec vanSpec = VehicleSpecDatabase.getVehicleSpecByName("VAN");
+
+        // Set vehicle spec for a coupe
+        VehicleSpec coupeSpec = VehicleSpecDatabase.getVehicleSpecByName("COUPE");
+
+        // Set arrival lane
+        Lane arrivalLane = getNorthRoad().getEntryApproachLane();
+        Lane departureLane = getEastRoad().getExitApproachLane();
+
+        //act
+        double calculateMaxTurnVelocityForVAN = VehicleUtil.calculateMaxTurnVelocity(vanSpec, arrivalLane, departureLane, intersectionManager);
+        double calculateMaxTurnVelocityForCOUPE = VehicleUtil.calculateMaxTurnVelocity(coupeSpec, arrivalLane, departureLane, intersectionManager);
+
+        //assert
+        assert !((ArcSegmentLane) arrivalLane).isDecomposed();
+        assert calculateMaxTurnVelocityForVAN < ROUNDABOUT_SPEED_LIMIT;
+        assert calculateMaxTurnVelocityForCOUPE < ROUNDABOUT_SPEED_LIMIT;
+        assert calculateMaxTurnVelocityForVAN != 0.0;
+        assert calculateMaxTurnVelocityForCOUPE != 0.0;
+
+    }
+
     private RimIntersectionMap getRimIntersectionMap(double roundaboutDiameter) {
+        return getRimIntersectionMap(roundaboutDiameter, 4);
+    }
+
+    private RimIntersectionMap getRimIntersectionMap(double roundaboutDiameter, int splitFactor) {
         return new RimIntersectionMap(
                 0,
                 1,
                 1,
                 roundaboutDiameter,
                 ENTRANCE_EXIT_RADIUS,
-                4,
+                splitFactor,
                 LANE_WIDTH,
                 LANE_SPEED_LIMIT,
                 ROUNDABOUT_SPEED_LIMIT,
@@ -0,0 +1,194 @@
+package aim4.sim;
+
+import aim4.config.SimConfig;
+import aim4.map.cpm.CPMCarParkWithStatus;
+import aim4.map.cpm.CPMMapUtil;
+import aim4.sim.channel.DistanceChannelModel;
+import aim4.sim.setup.aim.AutoDriverOnlySimSetup;
+import aim4.sim.setup.merge.S2SSimSetup;
+import aim4.sim.setup.merge.enums.ProtocolType;
+import aim4.sim.setup.rim.BasicSimSetup;
+import aim4.sim.simulator.aim.AutoDriverOnlySimulator;
+import aim4.sim.simulator.cpm.CPMAutoDriverSimulator;
+import aim4.vehicle.VinRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimSnapshotTests {
+    private static final int STEPS_BEFORE_SAVE = 1000;
+    private static final int STEPS_AFTER_SAVE = 250;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("snapshot", ".bin");
+        // A snapshot holds every registered vehicle, so drop those of the other tests.
+        VinRegistry.reset();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void load_withSavedSimulator_continuesAsTheOriginal() throws IOException {
+        //arrange
+        Simulator sim = new AutoDriverOnlySimSetup(1, 1, 4.0, 25.0, 3, 0.0,
+                                                   150.0, 0.28, 1.0).getSimulator();
+        step(sim, STEPS_BEFORE_SAVE);
+        SimSnapshot.save(sim, file);
+        step(sim, STEPS_AFTER_SAVE);
+
+        //act
+        Simulator restored = SimSnapshot.load(file);
+        step(restored, STEPS_AFTER_SAVE);
+
+        //assert
+        assertEquals(sim.getSimulationTime(), restored.getSimulationTime(), 0.0);
+        assertEquals(sim.getNumCompletedVehicles(),
+                     restored.getNumCompletedVehicles());
+    }
+
+    @Test
+    public void load_withSavedRimSimulator_continuesAsTheOriginal() throws IOException {
+        //arrange
+        Simulator sim = new aim4.sim.setup.rim.AutoDriverOnlySimSetup(
+                new BasicSimSetup(1, 1, 45.0, 20.0, 4, 3.014, 25.0, 10.0, 1, 1,
+                                  150, 0.28, 1.0)).getSimulator();
+
+        //act
+        Simulator restored = saveAndContinue(sim);
+
+        //assert
+        assertSameProgress(sim, restored);
+        assertEquals(sim.produceResultsCSV(), restored.produceResultsCSV());
+    }
+
+    @Test
+    public void load_withSavedMergeSimulator_continuesAsTheOriginal() throws IOException {
+        //arrange
+        Simulator sim = new S2SSimSetup(ProtocolType.AIM_GRID, 0.28, 40, 30,
+                                        150, 150, 150, 45).getSimulator();
+
+        //act
+        Simulator restored = saveAndContinue(sim);
+
+        //assert
+        assertSameProgress(sim, restored);
+        assertEquals(sim.produceResultsCSV(), restored.produceResultsCSV());
+    }
+
+    @Test
+    public void load_withSavedCpmSimulator_continuesAsTheOriginal() throws IOException {
+        //arrange
+        CPMCarParkWithStatus map = new CPMCarParkWithStatus(4, 10.0, 0.0, 4, 20, 5);
+        CPMMapUtil.setUpInfiniteSingleSpecVehicleSpawnPoint(map, 0.28);
+        Simulator sim = new CPMAutoDriverSimulator(map);
+
+        //act
+        Simulator restored = saveAndContinue(sim);
+
+        //assert
+        assertSameProgress(sim, restored);
+        assertEquals(((CPMCarParkWithStatus) sim.getMap()).getVehicles().size(),
+                     ((CPMCarParkWithStatus) restored.getMap()).getVehicles().size());
+    }
+
+    @Test
+    public void load_withMessagesInTransit_continuesAsTheOriginal() throws IOException {
+        //arrange
+        AutoDriverOnlySimulator sim =
+                (AutoDriverOnlySimulator) new AutoDriverOnlySimSetup(1, 1, 4.0, 25.0, 3, 0.0,
+                                                                     150.0, 0.28, 1.0).getSimulator();
+        // Messages take a few steps to arrive, so some are in the air at any time.
+        sim.setChannelModel(new DistanceChannelModel(0.1, 0.0));
+        step(sim, STEPS_BEFORE_SAVE);
+        assertTrue(sim.getV2IChannel().getNumOfMessagesInTransit()
+                   + sim.getI2VChannel().getNumOfMessagesInTransit() > 0);
+        SimSnapshot.save(sim, file);
+        step(sim, STEPS_AFTER_SAVE);
+
+        //act
+        Simulator restored = SimSnapshot.load(file);
+        step(restored, STEPS_AFTER_SAVE);
+
+        //assert
+        assertEquals(sim.getSimulationTime(), restored.getSimulationTime(), 0.0);
+        assertEquals(sim.getNumCompletedVehicles(),
+                     restored.getNumCompletedVehicles());
+    }
+
+    @Test
+    public void readSimulationTime_withHeader_returnsTimeOfSnapshot() throws IOException {
+        //arrange
+        writeHeader(SimSnapshot.MAGIC, SimSnapshot.FORMAT_VERSION, 12.5);
+
+        //act
+        double time = SimSnapshot.readSimulationTime(file);
+
+        //assert
+        assertEquals(12.5, time, 0.0);
+    }
+
+    @Test(expected = IOException.class)
+    public void load_withUnsupportedVersion_throwsIOException() throws IOException {
+        //arrange
+        writeHeader(SimSnapshot.MAGIC, SimSnapshot.FORMAT_VERSION + 1, 0.0);
+
+        //act
+        SimSnapshot.load(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void load_withOtherFile_throwsIOException() throws IOException {
+        //arrange
+        writeHeader(0xCAFEBABE, SimSnapshot.FORMAT_VERSION, 0.0);
+
+        //act
+        SimSnapshot.load(file);
+    }
+
+    private Simulator saveAndContinue(Simulator sim) throws IOException {
+        step(sim, STEPS_BEFORE_SAVE);
+        SimSnapshot.save(sim, file);
+        step(sim, STEPS_AFTER_SAVE);
+        Simulator restored = SimSnapshot.load(file);
+        step(restored, STEPS_AFTER_SAVE);
+        return restored;
+    }
+
+    private static void assertSameProgress(Simulator sim, Simulator restored) {
+        assertEquals(sim.getSimulationTime(), restored.getSimulationTime(), 0.0);
+        assertEquals(sim.getNumCompletedVehicles(),
+                     restored.getNumCompletedVehicles());
+    }
+
+    private static void step(Simulator sim, int steps) {
+        for (int i = 0; i < steps; i++) {
+            sim.step(SimConfig.TIME_STEP);
+        }
+    }
+
+    private void writeHeader(int magic, int version, double time) throws IOException {
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try {
+            out.writeInt(magic);
+            out.writeInt(version);
+            out.writeDouble(time);
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package aim4.sim;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TravelTimeOracleTests {
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    public void computeTraversalTime_atSpeedLimit_cruisesWholeRoute() {
+        //arrange
+        double[] lengths = {100.0, 50.0};
+        double[] maxVelocities = {20.0, 20.0};
+        double[] boundaryMaxVelocities = {Double.MAX_VALUE, Double.MAX_VALUE};
+
+        //act
+        double time = TravelTimeOracle.computeTraversalTime(20.0, 2.0, -4.0,
+                lengths, maxVelocities, boundaryMaxVelocities);
+
+        //assert
+        assertEquals(7.5, time, TOLERANCE);
+    }
+
+    @Test
+    public void computeTraversalTime_withHigherSpeedLimitAhead_acceleratesThenCruises() {
+        //arrange
+        double[] lengths = {100.0, 100.0};
+        double[] maxVelocities = {10.0, 20.0};
+        double[] boundaryMaxVelocities = {Double.MAX_VALUE, Double.MAX_VALUE};
+
+        //act
+        double time = TravelTimeOracle.computeTraversalTime(10.0, 2.0, -4.0,
+                lengths, maxVelocities, boundaryMaxVelocities);
+
+        //assert
+        // 10s on the first segment, then 5s accelerating over 75m and
+        // 25m at 20m/s
+        assertEquals(10.0 + 5.0 + 1.25, time, TOLERANCE);
+    }
+
+    @Test
+    public void computeTraversalTime_withVelocityCap_slowsDownInTimeAndSpeedsUpAgain() {
+        //arrange
+        double[] lengths = {100.0, 100.0};
+        double[] maxVelocities = {20.0, 20.0};
+        double[] boundaryMaxVelocities = {10.0, Double.MAX_VALUE};
+
+        //act
+        double time = TravelTimeOracle.computeTraversalTime(20.0, 2.0, -4.0,
+                lengths, maxVelocities, boundaryMaxVelocities);
+
+        //assert
+        // 62.5m at 20m/s and 2.5s braking over 37.5m, then 5s accelerating
+        // over 75m and 25m at 20m/s
+        assertEquals(3.125 + 2.5 + 5.0 + 1.25, time, TOLERANCE);
+    }
+
+    @Test
+    public void computeTraversalTime_withShortSegment_neverReachesSpeedLimit() {
+        //arrange
+        double[] lengths = {25.0};
+        double[] maxVelocities = {100.0};
+        double[] boundaryMaxVelocities = {Double.MAX_VALUE};
+
+        //act
+        double time = TravelTimeOracle.computeTraversalTime(0.0, 2.0, -4.0,
+                lengths, maxVelocities, boundaryMaxVelocities);
+
+        //assert
+        assertEquals(5.0, time, TOLERANCE);
+    }
+}
@@ -0,0 +1,79 @@
+package aim4.sim.channel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ChannelTests {
+
+    @Test
+    public void deliver_withIdealModel_deliversInRangeMessagesInSendOrder() {
+        //arrange
+        Channel<String> channel = new Channel<String>(new IdealChannelModel());
+        List<String> received = new ArrayList<String>();
+        channel.send("a", received::add, 10.0, 100.0);
+        channel.send("b", received::add, 150.0, 100.0);
+        channel.send("c", received::add, 100.0, 100.0);
+
+        //act
+        channel.deliver(0.0);
+
+        //assert
+        assertEquals(2, received.size());
+        assertEquals("a", received.get(0));
+        assertEquals("c", received.get(1));
+        assertEquals(3, channel.getNumOfSentMessages());
+        assertEquals(1, channel.getNumOfLostMessages());
+        assertEquals(0, channel.getNumOfMessagesInTransit());
+    }
+
+    @Test
+    public void deliver_withLatency_holdsMessagesUntilTheyArrive() {
+        //arrange
+        Channel<String> channel =
+                new Channel<String>(new DistanceChannelModel(0.03, 0.0));
+        List<String> received = new ArrayList<String>();
+        channel.send("a", received::add, 10.0, 100.0);
+
+        //act
+        channel.deliver(1.0);
+        int receivedAfterFirstStep = received.size();
+        channel.send("b", received::add, 10.0, 100.0);
+        channel.deliver(1.02);
+        int receivedAfterSecondStep = received.size();
+        channel.deliver(1.04);
+
+        //assert
+        assertEquals(0, receivedAfterFirstStep);
+        assertEquals(0, receivedAfterSecondStep);
+        assertEquals(1, received.size());
+        assertEquals("a", received.get(0));
+        assertEquals(1, channel.getNumOfMessagesInTransit());
+    }
+
+    @Test
+    public void deliver_withCongestion_dropsMessagesBeyondCapacity() {
+        //arrange
+        ChannelModel model =
+                new CongestionChannelModel(new IdealChannelModel(), 100, 0.0);
+        Channel<Integer> channel =
+                new Channel<Integer>(model, new Random(20160301L));
+        List<Integer> received = new ArrayList<Integer>();
+        for (int i = 0; i < 400; i++) {
+            channel.send(i, received::add, 10.0, 100.0);
+        }
+
+        //act
+        channel.deliver(0.0);
+
+        //assert
+        // only about a quarter of the messages should get through
+        assertTrue(received.size() > 60 && received.size() < 140);
+        assertEquals(400 - received.size(), channel.getNumOfLostMessages());
+    }
+}
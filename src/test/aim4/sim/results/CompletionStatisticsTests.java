@@ -0,0 +1,83 @@
+package aim4.sim.results;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompletionStatisticsTests {
+    private static final long SEED = 20170421L;
+    private static final int NUM_OF_VEHICLES = 5000;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    public void add_withRandomDelays_matchesTwoPassStatistics() {
+        //arrange
+        Random random = new Random(SEED);
+        double[] delays = randomDelays(random);
+        CompletionStatistics statistics = new CompletionStatistics();
+
+        //act
+        for (int i = 0; i < delays.length; i++) {
+            statistics.add(delays[i], i);
+        }
+
+        //assert
+        double mean = 0;
+        for (double delay : delays) {
+            mean += delay;
+        }
+        mean /= delays.length;
+        double variance = 0;
+        for (double delay : delays) {
+            variance += (delay - mean) * (delay - mean);
+        }
+        variance /= delays.length;
+        double[] sorted = delays.clone();
+        Arrays.sort(sorted);
+        assertEquals(delays.length, statistics.getCount());
+        assertEquals(mean, statistics.getAverageDelay(), TOLERANCE);
+        assertEquals(Math.sqrt(variance), statistics.getStdDevDelay(), TOLERANCE);
+        assertEquals(sorted[0], statistics.getMinDelay(), 0.0);
+        assertEquals(sorted[sorted.length - 1], statistics.getMaxDelay(), 0.0);
+        assertEquals(delays.length / (delays.length - 1.0), statistics.getThroughput(), 0.0);
+        double median = sorted[(int) Math.ceil(0.5 * sorted.length) - 1];
+        assertEquals(median, statistics.getDelayAtQuantile(0.5), median * 0.04);
+    }
+
+    @Test
+    public void merge_withTwoHalves_equalsStatisticsOfWhole() {
+        //arrange
+        Random random = new Random(SEED);
+        double[] delays = randomDelays(random);
+        CompletionStatistics whole = new CompletionStatistics();
+        CompletionStatistics first = new CompletionStatistics();
+        CompletionStatistics second = new CompletionStatistics();
+        for (int i = 0; i < delays.length; i++) {
+            whole.add(delays[i], i);
+            (i < delays.length / 3 ? first : second).add(delays[i], i);
+        }
+
+        //act
+        first.merge(second);
+
+        //assert
+        assertEquals(whole.getCount(), first.getCount());
+        assertEquals(whole.getAverageDelay(), first.getAverageDelay(), TOLERANCE);
+        assertEquals(whole.getStdDevDelay(), first.getStdDevDelay(), TOLERANCE);
+        assertEquals(whole.getMinDelay(), first.getMinDelay(), 0.0);
+        assertEquals(whole.getMaxDelay(), first.getMaxDelay(), 0.0);
+        assertEquals(whole.getThroughput(), first.getThroughput(), 0.0);
+        assertEquals(whole.getDelayAtQuantile(0.9), first.getDelayAtQuantile(0.9), 0.0);
+    }
+
+    private static double[] randomDelays(Random random) {
+        double[] delays = new double[NUM_OF_VEHICLES];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = 2.0 + 3.0 * random.nextDouble() * random.nextDouble();
+        }
+        return delays;
+    }
+}
@@ -0,0 +1,80 @@
+package aim4.sim.results;
+
+import aim4.util.Util;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ResultTests {
+    private static final long SEED = 20160815L;
+    private static final int NUM_OF_VEHICLES = 2000;
+
+    @Test
+    public void findVehicleResult_withRandomStartTimes_matchesLinearScan() {
+        //arrange
+        Random random = new Random(SEED);
+        List<VehicleResult> vehicleResults = new ArrayList<VehicleResult>();
+        List<Double> startTimes = new ArrayList<Double>();
+        for (int i = 0; i < NUM_OF_VEHICLES; i++) {
+            // Start times on a coarse grid so that some vehicles share one,
+            // nudged by less or more than the equality precision.
+            double startTime = random.nextInt(NUM_OF_VEHICLES / 2) * 0.25;
+            double nudge = random.nextInt(5) * 0.6e-10 - 1.2e-10;
+            vehicleResults.add(new VehicleResult(i, "spec", startTime + nudge,
+                    startTime + 10.0, 10.0, 15.0, 0.0));
+            startTimes.add(startTime);
+            startTimes.add(startTime + nudge);
+        }
+        Result result = new Result(vehicleResults);
+
+        for (double startTime : startTimes) {
+            //act
+            VehicleResult actual = result.findVehicleResult(startTime);
+
+            //assert
+            VehicleResult expected = null;
+            for (VehicleResult vr : vehicleResults) {
+                if (Util.isDoubleEqual(startTime, vr.getStartTime())) {
+                    expected = vr;
+                    break;
+                }
+            }
+            assertSame(expected, actual);
+        }
+    }
+
+    @Test
+    public void findVehicleResult_withNoVehicleResults_returnsNull() {
+        //arrange
+        Result result = new Result(null);
+
+        //act
+        VehicleResult actual = result.findVehicleResult(0.0);
+
+        //assert
+        assertNull(actual);
+    }
+
+    @Test
+    public void produceExpectedResult_withExpectedTravelTimes_finishesUnobstructedVehicles() {
+        //arrange
+        List<VehicleResult> vehicleResults = new ArrayList<VehicleResult>();
+        vehicleResults.add(new VehicleResult(1, "spec", 2.0, 20.0, 10.0, 15.0, 0.0, 12.5));
+        vehicleResults.add(new VehicleResult(2, "spec", 3.0, 30.0, 10.0, 15.0, 0.0));
+        Result result = new Result(vehicleResults);
+
+        //act
+        Result actual = result.produceExpectedResult();
+
+        //assert
+        assertEquals(1, actual.getVehicleResults().size());
+        assertEquals(14.5, actual.findVehicleResult(2.0).getFinishTime(), 1e-10);
+        assertNull(actual.findVehicleResult(3.0));
+    }
+}
@@ -0,0 +1,244 @@
+package aim4.sim.simulator;
+
+import aim4.config.SimConfig;
+import aim4.im.Manager;
+import aim4.map.BasicMap;
+import aim4.map.lane.Lane;
+import aim4.map.lane.LineSegmentLane;
+import aim4.sim.Simulator;
+import aim4.sim.results.CoreMergeVehicleResult;
+import aim4.sim.results.Result;
+import aim4.sim.results.VehicleResult;
+import aim4.sim.setup.SimFactory;
+import aim4.sim.setup.aim.AutoDriverOnlySimSetup;
+import aim4.sim.setup.merge.S2SSimSetup;
+import aim4.sim.setup.merge.enums.ProtocolType;
+import aim4.sim.setup.rim.BasicSimSetup;
+import aim4.sim.simulator.merge.CoreMergeSimulator;
+import aim4.util.RandomStreams;
+import aim4.util.StepProfiler;
+import aim4.util.Util;
+import aim4.vehicle.VehicleSimModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class SimulatorKernelTests {
+    // The baselines were recorded from runs of the simulators before they were moved onto the kernel.
+    private static final long SEED = 20161019L;
+    private static final int NUM_OF_STEPS = 1500;
+
+    private static final int[] AIM_VINS =
+            {1000, 1002, 1001, 1003, 1006, 1005, 1009, 1004, 1010, 1007, 1013};
+    private static final double[] AIM_COMPLETION_TIMES =
+            {15.90, 18.42, 18.56, 21.00, 22.30, 22.42, 24.20, 27.64, 29.24, 29.26, 29.84};
+    private static final int AIM_RESULT_CSV_HASH = -1351713489;
+
+    // re-recorded when the roundabout turn velocities went back to not measuring the distance to decomposed arc lanes
+    private static final int[] RIM_VINS = {1003, 1000, 1002, 1001, 1005, 1012, 1006};
+    private static final double[] RIM_COMPLETION_TIMES = {18.08, 20.04, 22.36, 22.66, 28.14, 28.98, 29.62};
+    private static final int RIM_RESULT_CSV_HASH = 1315070964;
+
+    private static final int[] MERGE_VINS = {1000, 1001, 1003, 1002, 1004, 1006, 1005};
+    private static final double[] MERGE_COMPLETION_TIMES = {13.80, 18.98, 21.60, 23.78, 24.62, 26.86, 27.36};
+    // re-recorded when the delay percentiles were added to the global statistics
+    private static final int MERGE_RESULT_CSV_HASH = 1230577563;
+
+    private long oldSeed;
+    private SimConfig.ExpectedTravelTimeMode oldExpectedTravelTimeMode;
+
+    @Before
+    public void setUp() {
+        oldSeed = Util.randSeed;
+        RandomStreams.setExperimentSeed(SEED);
+        // the merge baseline was recorded with the expected travel times from the oracle, which, unlike the lone
+        // vehicle simulations, take no VINs
+        oldExpectedTravelTimeMode = SimConfig.EXPECTED_TRAVEL_TIME_MODE;
+        SimConfig.EXPECTED_TRAVEL_TIME_MODE = SimConfig.ExpectedTravelTimeMode.ORACLE;
+    }
+
+    @After
+    public void tearDown() {
+        RandomStreams.setExperimentSeed(oldSeed);
+        SimConfig.EXPECTED_TRAVEL_TIME_MODE = oldExpectedTravelTimeMode;
+    }
+
+    @Test
+    public void step_withPhasesSetOutOfOrder_runsThemInPipelineOrder() {
+        //arrange
+        SimulatorKernel<VehicleSimModel, BasicMap, Manager> kernel = createKernel(Collections.<Manager>emptyList());
+        final List<String> ran = new ArrayList<String>();
+        kernel.setPhase(StepProfiler.Phase.CLEANUP, recorder(ran, "cleanup"));
+        kernel.setPhase(StepProfiler.Phase.MOVE, recorder(ran, "move"));
+        kernel.setPhase(StepProfiler.Phase.SPAWN, recorder(ran, "spawn"));
+        kernel.setPhase(StepProfiler.Phase.DRIVER_ACT, recorder(ran, "driverAct"));
+
+        //act
+        kernel.step(0.02);
+
+        //assert
+        assertEquals(4, ran.size());
+        assertEquals("spawn", ran.get(0));
+        assertEquals("driverAct", ran.get(1));
+        assertEquals("move", ran.get(2));
+        assertEquals("cleanup", ran.get(3));
+    }
+
+    @Test
+    public void setPhase_withNull_removesPhase() {
+        //arrange
+        SimulatorKernel<VehicleSimModel, BasicMap, Manager> kernel = createKernel(Collections.<Manager>emptyList());
+        List<String> ran = new ArrayList<String>();
+        kernel.setPhase(StepProfiler.Phase.MOVE, recorder(ran, "move"));
+
+        //act
+        kernel.setPhase(StepProfiler.Phase.MOVE, null);
+        kernel.step(0.02);
+
+        //assert
+        assertNull(kernel.getPhase(StepProfiler.Phase.MOVE));
+        assertEquals(0, ran.size());
+    }
+
+    @Test
+    public void computeNextVehicle_withSortedLanes_mapsEachVehicleToTheOneAhead() {
+        //arrange
+        Lane lane1 = new LineSegmentLane(new Point2D.Double(0, 0), new Point2D.Double(100, 0), 4, 25);
+        Lane lane2 = new LineSegmentLane(new Point2D.Double(0, 4), new Point2D.Double(100, 4), 4, 25);
+        Map<Lane, SortedMap<Double, String>> vehicleLists = new HashMap<Lane, SortedMap<Double, String>>();
+        SortedMap<Double, String> vehicles1 = new TreeMap<Double, String>();
+        vehicles1.put(50.0, "b");
+        vehicles1.put(10.0, "a");
+        vehicles1.put(90.0, "c");
+        SortedMap<Double, String> vehicles2 = new TreeMap<Double, String>();
+        vehicles2.put(30.0, "d");
+        vehicleLists.put(lane1, vehicles1);
+        vehicleLists.put(lane2, vehicles2);
+
+        //act
+        Map<String, String> nextVehicle = SimulatorKernel.computeNextVehicle(vehicleLists);
+
+        //assert
+        assertEquals(2, nextVehicle.size());
+        assertEquals("b", nextVehicle.get("a"));
+        assertEquals("c", nextVehicle.get("b"));
+        assertFalse(nextVehicle.containsKey("c"));
+        assertFalse(nextVehicle.containsKey("d"));
+    }
+
+    @Test
+    public void step_withFixedSeedAimRun_matchesRecordedBaseline() {
+        //arrange
+        Simulator sim = SimFactory.makeSimulator(
+                new AutoDriverOnlySimSetup(1, 1, 4.0, 25.0, 1, 0.0, 150.0, 0.28, 1.0));
+
+        //act
+        run(sim);
+
+        //assert
+        Result result = (Result) sim.produceResult();
+        assertCompletionTimes(AIM_VINS, AIM_COMPLETION_TIMES, result);
+        assertEquals(AIM_RESULT_CSV_HASH, result.produceCSVString().hashCode());
+    }
+
+    @Test
+    public void step_withFixedSeedRimRun_matchesRecordedBaseline() {
+        //arrange
+        Simulator sim = SimFactory.makeSimulator(new aim4.sim.setup.rim.AutoDriverOnlySimSetup(
+                new BasicSimSetup(1, 1, 45.0, 20.0, 4, 3.014, 25.0, 10.0, 1, 1, 150, 0.28, 1.0)));
+
+        //act
+        run(sim);
+
+        //assert
+        Result result = (Result) sim.produceResult();
+        assertCompletionTimes(RIM_VINS, RIM_COMPLETION_TIMES, result);
+        assertEquals(RIM_RESULT_CSV_HASH, result.produceCSVString().hashCode());
+    }
+
+    @Test
+    public void step_withFixedSeedMergeRun_matchesRecordedBaseline() {
+        //arrange
+        CoreMergeSimulator sim = (CoreMergeSimulator) SimFactory.makeSimulator(
+                new S2SSimSetup(ProtocolType.AIM_GRID, 0.28, 40, 30, 150, 150, 150, 45));
+
+        //act
+        run(sim);
+
+        //assert
+        List<CoreMergeVehicleResult> vehicleResults = sim.produceMergeResult().getVehicleResults();
+        assertEquals(MERGE_VINS.length, vehicleResults.size());
+        for (int i = 0; i < MERGE_VINS.length; i++) {
+            assertEquals(MERGE_VINS[i], vehicleResults.get(i).getVin());
+            assertEquals(MERGE_COMPLETION_TIMES[i], vehicleResults.get(i).getFinishTime(), 1e-6);
+        }
+        // the merge simulators produce their results as a merge result
+        assertEquals(MERGE_RESULT_CSV_HASH, sim.produceMergeResult().produceCSVString().hashCode());
+    }
+
+    private static void run(Simulator sim) {
+        for (int i = 0; i < NUM_OF_STEPS; i++) {
+            sim.step(SimConfig.TIME_STEP);
+        }
+    }
+
+    private static void assertCompletionTimes(int[] vins, double[] completionTimes, Result result) {
+        List<VehicleResult> vehicleResults = result.getVehicleResults();
+        assertEquals(vins.length, vehicleResults.size());
+        for (int i = 0; i < vins.length; i++) {
+            assertEquals(vins[i], vehicleResults.get(i).getVin());
+            assertEquals(completionTimes[i], vehicleResults.get(i).getFinishTime(), 1e-6);
+        }
+    }
+
+    @Test
+    public void letManagersAct_withManagers_letsEachActInOrder() {
+        //arrange
+        final List<String> acted = new ArrayList<String>();
+        SimulatorKernel<VehicleSimModel, BasicMap, Manager> kernel =
+                createKernel(Arrays.asList(manager(acted, "first"), manager(acted, "second")));
+
+        //act
+        kernel.letManagersAct(0.02);
+
+        //assert
+        assertEquals(Arrays.asList("first", "second"), acted);
+    }
+
+    private static SimulatorKernel<VehicleSimModel, BasicMap, Manager> createKernel(List<Manager> managers) {
+        return new SimulatorKernel<VehicleSimModel, BasicMap, Manager>(
+                "test", null, managers, new HashMap<Integer, VehicleSimModel>());
+    }
+
+    private static Manager manager(final List<String> acted, final String name) {
+        return new Manager() {
+            @Override
+            public void act(double timeStep) {
+                acted.add(name);
+            }
+        };
+    }
+
+    private static SimulatorKernel.StepPhase recorder(final List<String> ran, final String name) {
+        return new SimulatorKernel.StepPhase() {
+            @Override
+            public void run(double timeStep) {
+                ran.add(name);
+            }
+        };
+    }
+}
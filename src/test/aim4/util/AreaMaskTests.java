@@ -0,0 +1,94 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AreaMaskTests {
+    private static final long SEED = 20160503L;
+    private static final int NUM_OF_TRIALS = 20000;
+
+    @Test
+    public void overlap_withRandomRectangles_agreesWithExactArea() {
+        //arrange
+        Random random = new Random(SEED);
+        // A ring with a square cut out of it, to have both curved and
+        // straight edges and a hole.
+        Area area = new Area(new Ellipse2D.Double(0, 0, 40, 40));
+        area.subtract(new Area(new Rectangle2D.Double(15, 15, 10, 10)));
+        AreaMask mask = new AreaMask(area);
+        int numOfUncertain = 0;
+
+        for (int i = 0; i < NUM_OF_TRIALS; i++) {
+            Point2D[] corners = randomRectangle(random);
+            boolean expected = exactlyIntersects(area, corners);
+
+            //act
+            AreaMask.Overlap overlap = mask.overlap(corners);
+
+            //assert
+            if (overlap == AreaMask.Overlap.UNCERTAIN) {
+                numOfUncertain++;
+            } else {
+                assertEquals(expected, overlap == AreaMask.Overlap.INTERSECTING);
+            }
+        }
+        // Only the rectangles near the boundary are left to the exact test.
+        assertTrue(numOfUncertain < NUM_OF_TRIALS / 5);
+    }
+
+    @Test
+    public void overlap_withRectangleAroundSmallArea_returnsIntersecting() {
+        //arrange
+        AreaMask mask = new AreaMask(new Area(new Rectangle2D.Double(2, 0.5, 0.2, 0.2)));
+        Point2D[] corners = {
+                new Point2D.Double(5, 2), new Point2D.Double(0, 2),
+                new Point2D.Double(0, 0), new Point2D.Double(5, 0)};
+
+        //act
+        AreaMask.Overlap overlap = mask.overlap(corners);
+
+        //assert
+        assertTrue(overlap != AreaMask.Overlap.DISJOINT);
+    }
+
+    private static Point2D[] randomRectangle(Random random) {
+        double x = random.nextDouble() * 60 - 10;
+        double y = random.nextDouble() * 60 - 10;
+        double heading = random.nextDouble() * 2 * Math.PI;
+        double length = 3 + random.nextDouble() * 3;
+        double width = 1.5 + random.nextDouble();
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        // Counterclockwise from the front left corner, as for vehicles.
+        Point2D frontLeft = new Point2D.Double(x - width / 2 * sin, y + width / 2 * cos);
+        Point2D frontRight = new Point2D.Double(x + width / 2 * sin, y - width / 2 * cos);
+        return new Point2D[] {
+                frontLeft,
+                new Point2D.Double(frontLeft.getX() - length * cos,
+                                   frontLeft.getY() - length * sin),
+                new Point2D.Double(frontRight.getX() - length * cos,
+                                   frontRight.getY() - length * sin),
+                frontRight};
+    }
+
+    private static boolean exactlyIntersects(Area area, Point2D[] corners) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(corners[0].getX(), corners[0].getY());
+        for (int i = 1; i < corners.length; i++) {
+            path.lineTo(corners[i].getX(), corners[i].getY());
+        }
+        path.closePath();
+        Area overlap = new Area(path);
+        overlap.intersect(area);
+        return !overlap.isEmpty();
+    }
+}
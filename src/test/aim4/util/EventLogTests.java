@@ -0,0 +1,175 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventLogTests {
+    private static final int NUM_OF_PRODUCERS = 4;
+    private static final int NUM_OF_EVENTS = 50000;
+
+    @Test
+    public void add_withConcurrentProducers_deliversEveryEventInOrderPerProducer()
+            throws Exception {
+        //arrange
+        EventLog log = new EventLog(1 << 16, null);
+        final List<double[]> received =
+                Collections.synchronizedList(new ArrayList<double[]>());
+        log.addListener(new EventLog.Listener() {
+            @Override
+            public void eventLogged(double time, int vin, EventLog.Event event,
+                                    double value) {
+                received.add(new double[] {vin, value});
+            }
+        });
+
+        //act
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int p = 0; p < NUM_OF_PRODUCERS; p++) {
+            final int vin = p;
+            final EventLog producerLog = log;
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < NUM_OF_EVENTS; i++) {
+                        while (!producerLog.add(EventLog.Event.VEHICLE_SPAWNED,
+                                                i, vin, i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        log.flush();
+
+        //assert
+        assertEquals(NUM_OF_PRODUCERS * NUM_OF_EVENTS, received.size());
+        int[] next = new int[NUM_OF_PRODUCERS];
+        for (double[] event : received) {
+            int vin = (int) event[0];
+            assertEquals(next[vin], event[1], 0.0);
+            next[vin]++;
+        }
+        log.close();
+    }
+
+    @Test
+    public void add_withFullBuffer_dropsEventAndCountsIt() throws Exception {
+        //arrange
+        EventLog log = new EventLog(4, null);
+        final CountDownLatch writerBlocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        log.addListener(new EventLog.Listener() {
+            @Override
+            public void eventLogged(double time, int vin, EventLog.Event event,
+                                    double value) {
+                writerBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        // The writer holds on to the first event until it is released, so
+        // the buffer fills up behind it.
+        assertTrue(log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 1, Double.NaN));
+        writerBlocked.await();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 1, Double.NaN));
+        }
+
+        //act
+        boolean isAdded = log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 1, Double.NaN);
+        release.countDown();
+        log.flush();
+
+        //assert
+        assertFalse(isAdded);
+        assertEquals(1, log.getDroppedEvents());
+        log.close();
+    }
+
+    @Test
+    public void close_withPendingEvents_deliversThemBeforeStopping() {
+        //arrange
+        EventLog log = new EventLog(16, null);
+        final List<Integer> received =
+                Collections.synchronizedList(new ArrayList<Integer>());
+        log.addListener(new EventLog.Listener() {
+            @Override
+            public void eventLogged(double time, int vin, EventLog.Event event,
+                                    double value) {
+                received.add(vin);
+            }
+        });
+        for (int vin = 0; vin < 10; vin++) {
+            log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, vin, Double.NaN);
+        }
+
+        //act
+        log.close();
+
+        //assert
+        assertTrue(log.isClosed());
+        assertEquals(10, received.size());
+    }
+
+    @Test
+    public void add_afterClose_ignoresEvent() {
+        //arrange
+        EventLog log = new EventLog(16, null);
+        log.close();
+
+        //act
+        boolean isAdded = log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 1, Double.NaN);
+        log.flush();
+
+        //assert
+        assertFalse(isAdded);
+        assertEquals(0, log.getDroppedEvents());
+    }
+
+    @Test
+    public void add_withUnattendedConsole_echoesOnlyWhileNoListener() {
+        //arrange
+        ByteArrayOutputStream echoed = new ByteArrayOutputStream();
+        EventLog log = new EventLog(16, null, new PrintStream(echoed, true));
+        EventLog.Listener listener = new EventLog.Listener() {
+            @Override
+            public void eventLogged(double time, int vin, EventLog.Event event,
+                                    double value) {
+            }
+        };
+
+        //act
+        log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 1, Double.NaN);
+        log.flush();
+        log.addListener(listener);
+        log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 2, Double.NaN);
+        log.flush();
+        log.removeListener(listener);
+        log.add(EventLog.Event.VEHICLE_SPAWNED, 0.0, 3, Double.NaN);
+        log.close();
+
+        //assert
+        String text = echoed.toString();
+        assertTrue(text.contains("vin 1:"));
+        assertFalse(text.contains("vin 2:"));
+        assertTrue(text.contains("vin 3:"));
+    }
+}
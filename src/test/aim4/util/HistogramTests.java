@@ -0,0 +1,56 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTests {
+    private static final long SEED = 20160503L;
+    private static final int NUM_OF_VALUES = 100000;
+    private static final double RELATIVE_ERROR = 1.0 / Histogram.SUB_BUCKETS;
+
+    @Test
+    public void getValueAtQuantile_withRandomValues_isWithinBucketPrecision() {
+        //arrange
+        Random random = new Random(SEED);
+        Histogram histogram = new Histogram();
+        long[] values = new long[NUM_OF_VALUES];
+        for (int i = 0; i < NUM_OF_VALUES; i++) {
+            // step times spread over several orders of magnitude
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[] {0.0, 0.1, 0.5, 0.9, 0.99, 1.0}) {
+            //act
+            long actual = histogram.getValueAtQuantile(quantile);
+
+            //assert
+            long expected = values[Math.max(0, (int) Math.ceil(quantile * NUM_OF_VALUES) - 1)];
+            assertTrue(actual >= expected);
+            assertTrue(actual <= expected + expected * RELATIVE_ERROR + 1);
+        }
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[NUM_OF_VALUES - 1], histogram.getMax());
+        assertEquals(NUM_OF_VALUES, histogram.getCount());
+    }
+
+    @Test
+    public void record_withLargestLong_isCountedInLastBucket() {
+        //arrange
+        Histogram histogram = new Histogram();
+
+        //act
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+
+        //assert
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtQuantile(1.0));
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+    }
+}
@@ -0,0 +1,87 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MappedHistoryFileTests {
+    private static final int CHUNK_SIZE = 256;
+    private static final int NUM_OF_RECORDS = 1000;
+
+    @Test
+    public void forEachRecord_withRecordsSpanningChunks_readsAllRecordsInOrder()
+            throws Exception {
+        //arrange
+        File file = File.createTempFile("history", ".bin");
+        file.deleteOnExit();
+        MappedHistoryFile history = new MappedHistoryFile(file, CHUNK_SIZE);
+
+        //act
+        for (int i = 0; i < NUM_OF_RECORDS; i++) {
+            // records of varying lengths, so that chunks end with some slack
+            int numOfInts = 1 + i % 7;
+            ByteBuffer record = history.beginRecord(4 * numOfInts);
+            for (int j = 0; j < numOfInts; j++) {
+                record.putInt(i);
+            }
+        }
+        final List<int[]> records = new ArrayList<int[]>();
+        history.forEachRecord(new MappedHistoryFile.RecordReader() {
+            @Override
+            public void read(ByteBuffer record) {
+                int[] values = new int[record.remaining() / 4];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = record.getInt();
+                }
+                records.add(values);
+            }
+        });
+        history.close();
+
+        //assert
+        assertEquals(NUM_OF_RECORDS, history.getNumOfRecords());
+        assertEquals(NUM_OF_RECORDS, records.size());
+        for (int i = 0; i < NUM_OF_RECORDS; i++) {
+            assertEquals(1 + i % 7, records.get(i).length);
+            for (int value : records.get(i)) {
+                assertEquals(i, value);
+            }
+        }
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void beginRecord_withWriteBeyondRecord_throwsBufferOverflowException()
+            throws Exception {
+        //arrange
+        MappedHistoryFile history = MappedHistoryFile.createTemporary("history");
+        try {
+            ByteBuffer record = history.beginRecord(4);
+            record.putInt(1);
+
+            //act
+            record.putInt(2);
+        } finally {
+            history.close();
+        }
+    }
+
+    @Test
+    public void close_withTemporaryFile_deletesFile() throws Exception {
+        //arrange
+        MappedHistoryFile history = MappedHistoryFile.createTemporary("history");
+        history.beginRecord(4).putInt(1);
+
+        //act
+        history.close();
+
+        //assert
+        assertFalse(history.getPath().exists());
+    }
+}
@@ -0,0 +1,67 @@
+package aim4.util;
+
+import aim4.config.SimConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTests {
+
+    @After
+    public void tearDown() {
+        SimConfig.IS_METRICS_ENABLED = false;
+    }
+
+    @Test
+    public void endStep_withMetricsDisabled_recordsNothing() {
+        //arrange
+        MetricsRegistry registry = new MetricsRegistry();
+        StepProfiler profiler = new StepProfiler(registry, "test");
+        SimConfig.IS_METRICS_ENABLED = false;
+
+        //act
+        long t = profiler.beginStep();
+        t = profiler.lap(StepProfiler.Phase.SPAWN, t);
+        profiler.endStep(1.0, 3);
+
+        //assert
+        assertEquals(0, t);
+        assertEquals(0, registry.getHistogram("test.phase.spawn").getCount());
+        assertEquals(0, registry.getGauge("test.activeVehicles").get());
+    }
+
+    @Test
+    public void writeCsv_afterProfiledStep_writesEveryMetric() {
+        //arrange
+        MetricsRegistry registry = new MetricsRegistry();
+        StepProfiler profiler = new StepProfiler(registry, "test");
+        SimConfig.IS_METRICS_ENABLED = true;
+        long t = profiler.beginStep();
+        for (StepProfiler.Phase phase : StepProfiler.Phase.values()) {
+            t = profiler.lap(phase, t);
+        }
+        profiler.count("messages.delivered");
+        profiler.endStep(0.02, 7);
+
+        //act
+        StringWriter out = new StringWriter();
+        registry.writeCsv(out, 0.02, true);
+
+        //assert
+        String[] rows = out.toString().split("\n");
+        // the header, a step histogram per simulator and for all of them,
+        // a histogram per phase, a counter and two gauges
+        assertEquals(1 + 2 + StepProfiler.Phase.values().length + 1 + 2, rows.length);
+        int numOfColumns = rows[0].split(",", -1).length;
+        for (String row : rows) {
+            assertEquals(numOfColumns, row.split(",", -1).length);
+        }
+        assertTrue(out.toString().contains("0.02,test.phase.driverAct,histogram,1,"));
+        assertTrue(out.toString().contains("0.02,test.activeVehicles,gauge,7,"));
+        assertTrue(out.toString().contains("0.02,test.messages.delivered,counter,1,"));
+    }
+}
@@ -0,0 +1,109 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MpscArrayQueueTests {
+
+    @Test
+    public void offer_withFullQueue_returnsFalse() {
+        //arrange
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<Integer>(3);
+        for (int i = 0; i < queue.capacity(); i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        //act
+        boolean accepted = queue.offer(-1);
+
+        //assert
+        assertEquals(4, queue.capacity());
+        assertFalse(accepted);
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    public void poll_afterWrappingAround_returnsElementsInOrder() {
+        //arrange
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<Integer>(4);
+        List<Integer> polled = new ArrayList<Integer>();
+
+        //act
+        for (int i = 0; i < 10; i++) {
+            queue.offer(2 * i);
+            queue.offer(2 * i + 1);
+            polled.add(queue.poll());
+            polled.add(queue.poll());
+        }
+
+        //assert
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Integer.valueOf(i), polled.get(i));
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void drainTo_withConcurrentProducers_receivesEveryElementOnce()
+            throws InterruptedException {
+        //arrange
+        final int producerNum = 4;
+        final int elementNum = 100000;
+        final MpscArrayQueue<Integer> queue = new MpscArrayQueue<Integer>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[producerNum];
+        for (int p = 0; p < producerNum; p++) {
+            final int base = p * elementNum;
+            producers[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < elementNum; i++) {
+                        while (!queue.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        //act
+        start.countDown();
+        int[] lastSeen = new int[producerNum];
+        Arrays.fill(lastSeen, -1);
+        int received = 0;
+        Integer[] batch = new Integer[16];
+        while (received < producerNum * elementNum) {
+            int n = queue.drainTo(batch);
+            for (int i = 0; i < n; i++) {
+                int p = batch[i] / elementNum;
+                int seq = batch[i] % elementNum;
+                //assert: each producer's elements arrive in order, once
+                assertEquals(lastSeen[p] + 1, seq);
+                lastSeen[p] = seq;
+            }
+            received += n;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        //assert
+        assertTrue(queue.isEmpty());
+    }
+}
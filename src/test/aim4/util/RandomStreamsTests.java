@@ -0,0 +1,143 @@
+package aim4.util;
+
+import aim4.config.SimConfig;
+import aim4.driver.aim.AIMDriverSimModel;
+import aim4.sim.setup.aim.AutoDriverOnlySimSetup;
+import aim4.sim.simulator.aim.AIMSimulator;
+import aim4.vehicle.aim.AIMVehicleSimModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RandomStreamsTests {
+    private static final long SEED = 20161019L;
+
+    private static final int NUM_OF_STEPS = 1500;
+
+    private boolean wasEnabled;
+    private long oldSeed;
+
+    @Before
+    public void setUp() {
+        wasEnabled = SimConfig.IS_RANDOM_STREAMS_ENABLED;
+        oldSeed = Util.randSeed;
+        SimConfig.IS_RANDOM_STREAMS_ENABLED = true;
+    }
+
+    @After
+    public void tearDown() {
+        SimConfig.IS_RANDOM_STREAMS_ENABLED = wasEnabled;
+        RandomStreams.setExperimentSeed(oldSeed);
+    }
+
+    @Test
+    public void get_withSameSeedAndKey_returnsSameSequence() {
+        //arrange
+        Util.randSeed = SEED;
+        Random first = new RandomStreams.Family("spawn").get(3);
+        // Draws from other streams do not disturb the stream.
+        RandomStreams.Family family = new RandomStreams.Family("spawn");
+        family.get(4).nextDouble();
+
+        //act
+        Random second = family.get(3);
+
+        //assert
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+
+    @Test
+    public void get_withOtherKeyOrSubsystem_returnsOtherSequence() {
+        //arrange
+        Util.randSeed = SEED;
+        long spawn = new RandomStreams.Family("spawn").get(3).nextLong();
+
+        //act
+        long otherKey = new RandomStreams.Family("spawn").get(4).nextLong();
+        long otherSubsystem = new RandomStreams.Family("destination").get(3).nextLong();
+
+        //assert
+        assertNotEquals(spawn, otherKey);
+        assertNotEquals(spawn, otherSubsystem);
+    }
+
+    @Test
+    public void get_withStreamsDisabled_returnsGlobalGenerator() {
+        //arrange
+        SimConfig.IS_RANDOM_STREAMS_ENABLED = false;
+
+        //act
+        Random random = new RandomStreams.Family("spawn").get(3);
+
+        //assert
+        assertSame(Util.random, random);
+    }
+
+    @Test
+    public void restartExperiment_withSeedSet_repeatsGlobalSequence() {
+        //arrange
+        RandomStreams.setExperimentSeed(SEED);
+        long first = Util.random.nextLong();
+
+        //act
+        RandomStreams.restartExperiment();
+
+        //assert
+        assertEquals(first, Util.random.nextLong());
+    }
+
+    @Test
+    public void setExperimentSeed_withFcfsAndBatchProtocols_givesSameArrivals() {
+        //arrange
+        RandomStreams.setExperimentSeed(SEED);
+        AIMSimulator fcfs = (AIMSimulator) new AutoDriverOnlySimSetup(
+                1, 1, 4.0, 25.0, 1, 0.0, 150.0, 0.1, 1.0).getSimulator();
+        List<String> fcfsArrivals = run(fcfs);
+
+        //act
+        RandomStreams.setExperimentSeed(SEED);
+        AutoDriverOnlySimSetup batchSetup = new AutoDriverOnlySimSetup(
+                1, 1, 4.0, 25.0, 1, 0.0, 150.0, 0.1, 1.0);
+        batchSetup.setIsBatchMode(true);
+        List<String> batchArrivals = run((AIMSimulator) batchSetup.getSimulator());
+
+        //assert
+        assertTrue(fcfsArrivals.size() > 10);
+        assertEquals(fcfsArrivals, batchArrivals);
+    }
+
+    /**
+     * Run a simulator and list its vehicles in the order they were spawned,
+     * each with its spawn time, origin, spec and destination.
+     */
+    private static List<String> run(AIMSimulator sim) {
+        TreeMap<Integer, String> arrivals = new TreeMap<Integer, String>();
+        for (int i = 0; i < NUM_OF_STEPS; i++) {
+            sim.step(SimConfig.TIME_STEP);
+            for (AIMVehicleSimModel vehicle : sim.getActiveVehicles()) {
+                if (!arrivals.containsKey(vehicle.getVIN())) {
+                    AIMDriverSimModel driver =
+                            (AIMDriverSimModel) vehicle.getDriver();
+                    arrivals.put(vehicle.getVIN(), String.format("%.2f %s %s %s",
+                            sim.getSimulationTime(),
+                            driver.getCurrentLane().getId(),
+                            vehicle.getSpec().getName(),
+                            driver.getDestination().getName()));
+                }
+            }
+        }
+        return new ArrayList<String>(arrivals.values());
+    }
+}
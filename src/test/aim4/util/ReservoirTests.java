@@ -0,0 +1,71 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReservoirTests {
+    private static final long SEED = 20161019L;
+    private static final int CAPACITY = 100;
+    private static final int NUM_OF_ITEMS = 1000;
+    private static final int NUM_OF_TRIALS = 2000;
+
+    @Test
+    public void getSample_withFewerItemsThanCapacity_returnsAllItemsInOrder() {
+        //arrange
+        Reservoir<Integer> reservoir = new Reservoir<Integer>(CAPACITY, new Random(SEED));
+
+        //act
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            reservoir.add(i);
+        }
+
+        //assert
+        List<Integer> sample = reservoir.getSample();
+        assertEquals(CAPACITY / 2, sample.size());
+        for (int i = 0; i < sample.size(); i++) {
+            assertEquals(i, (int) sample.get(i));
+        }
+    }
+
+    @Test
+    public void getSample_withManyItems_samplesUniformlyInOrder() {
+        //arrange
+        Random random = new Random(SEED);
+        int[] timesSampled = new int[NUM_OF_ITEMS];
+
+        for (int t = 0; t < NUM_OF_TRIALS; t++) {
+            Reservoir<Integer> reservoir = new Reservoir<Integer>(CAPACITY, random);
+
+            //act
+            for (int i = 0; i < NUM_OF_ITEMS; i++) {
+                reservoir.add(i);
+            }
+
+            //assert
+            List<Integer> sample = reservoir.getSample();
+            assertEquals(CAPACITY, sample.size());
+            assertEquals(NUM_OF_ITEMS, reservoir.getCount());
+            for (int i = 0; i < sample.size(); i++) {
+                if (i > 0) {
+                    assertTrue(sample.get(i - 1) < sample.get(i));
+                }
+                timesSampled[sample.get(i)]++;
+            }
+        }
+        // Every item is expected to be sampled in a tenth of the trials.
+        double expected = (double) NUM_OF_TRIALS * CAPACITY / NUM_OF_ITEMS;
+        int firstHalf = 0;
+        for (int i = 0; i < NUM_OF_ITEMS; i++) {
+            assertEquals(expected, timesSampled[i], expected * 0.5);
+            if (i < NUM_OF_ITEMS / 2) {
+                firstHalf += timesSampled[i];
+            }
+        }
+        assertEquals(0.5, (double) firstHalf / (NUM_OF_TRIALS * CAPACITY), 0.01);
+    }
+}
@@ -0,0 +1,42 @@
+package aim4.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class WindowedCounterTests {
+    private static final double WINDOW = 10.0;
+    private static final int NUM_OF_BUCKETS = 10;
+
+    @Test
+    public void getCount_withEventsOlderThanWindow_countsRecentEventsOnly() {
+        //arrange
+        WindowedCounter counter = new WindowedCounter(WINDOW, NUM_OF_BUCKETS);
+
+        //act
+        for (int i = 0; i < 30; i++) {
+            counter.increment(i * 0.5);
+        }
+
+        //assert
+        // The events at 5.0 to 14.5 are in the window ending at 14.5.
+        assertEquals(20, counter.getCount(14.5));
+        assertEquals(10, counter.getCount(19.5));
+    }
+
+    @Test
+    public void getCount_afterGapLongerThanWindow_returnsZero() {
+        //arrange
+        WindowedCounter counter = new WindowedCounter(WINDOW, NUM_OF_BUCKETS);
+        counter.increment(1.0);
+        counter.increment(2.0);
+
+        //act
+        long count = counter.getCount(100.0);
+
+        //assert
+        assertEquals(0, count);
+        counter.increment(100.5);
+        assertEquals(1, counter.getCount(101.0));
+    }
+}
@@ -0,0 +1,53 @@
+package aim4.vehicle;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MaxTurnVelocityTableTests {
+
+    @Test
+    public void get_withGrowingIds_returnsEveryMemoizedVelocity() {
+        //arrange
+        MaxTurnVelocityTable table = new MaxTurnVelocityTable();
+        VehicleSpec spec = VehicleSpecDatabase.getVehicleSpecByName("SEDAN");
+
+        //act
+        for (int lane = 0; lane < 40; lane += 3) {
+            table.put(spec, lane % 4, lane, 40 - lane, lane / 2.0);
+        }
+
+        //assert
+        for (int lane = 0; lane < 40; lane += 3) {
+            assertEquals(lane / 2.0, table.get(spec, lane % 4, lane, 40 - lane), 0.0);
+        }
+        assertTrue(Double.isNaN(table.get(spec, 0, 0, 39)));
+        assertTrue(Double.isNaN(table.get(spec, 9, 0, 40)));
+        assertTrue(Double.isNaN(table.get(
+                VehicleSpecDatabase.getVehicleSpecByName("COUPE"), 0, 0, 40)));
+    }
+
+    @Test
+    public void get_withUnregisteredSpecOfSameName_sharesEntries() {
+        //arrange
+        MaxTurnVelocityTable table = new MaxTurnVelocityTable();
+        VehicleSpec spec = createSpec("VAN");
+        VehicleSpec unknown = createSpec("UNKNOWN");
+        table.put(VehicleSpecDatabase.getVehicleSpecByName("VAN"), 1, 2, 3, 7.0);
+        table.put(unknown, 1, 2, 3, 5.0);
+
+        //act
+        double velocity = table.get(spec, 1, 2, 3);
+
+        //assert
+        assertEquals(-1, spec.getId());
+        assertEquals(7.0, velocity, 0.0);
+        assertEquals(5.0, table.get(createSpec("UNKNOWN"), 1, 2, 3), 0.0);
+    }
+
+    private static VehicleSpec createSpec(String name) {
+        return new VehicleSpec(name, 3.0, -30.0, 40.0, -10.0, 4.5, 1.8, 1.0,
+                               3.5, 0.8, 0.3, 0.25, Math.PI / 3, Math.PI / 2);
+    }
+}
@@ -0,0 +1,83 @@
+package aim4.vehicle.aim;
+
+import aim4.msg.aim.i2v.I2VMessage;
+import aim4.msg.aim.i2v.Reject;
+import aim4.msg.aim.v2i.Done;
+import aim4.vehicle.VehicleSpecDatabase;
+import org.junit.Test;
+
+import java.awt.geom.Point2D;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class AIMBasicAutoVehicleTests {
+    private static final int MAILBOX_CAPACITY = 256;
+
+    @Test
+    public void receive_withFullInbox_throwsAndKeepsQueuedMessages() {
+        //arrange
+        AIMBasicAutoVehicle vehicle = createVehicle();
+        Reject msg = new Reject(0, vehicle.getVIN(), 0, 0.0,
+                                Reject.Reason.NO_CLEAR_PATH);
+        fillInbox(vehicle, msg);
+
+        //act
+        try {
+            vehicle.receive(msg);
+            fail("A message that overflows the inbox must not be dropped.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        List<I2VMessage> received = vehicle.pollAllMessagesFromI2VInbox();
+
+        //assert
+        assertEquals(MAILBOX_CAPACITY, received.size());
+        assertEquals(MAILBOX_CAPACITY * msg.getSize(),
+                     vehicle.getBitsReceived());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void send_withFullOutbox_throws() {
+        //arrange
+        AIMBasicAutoVehicle vehicle = createVehicle();
+        Done msg = new Done(vehicle.getVIN(), 0, 0);
+        for (int i = 0; i < MAILBOX_CAPACITY; i++) {
+            vehicle.send(msg);
+        }
+
+        //act
+        vehicle.send(msg);
+    }
+
+    @Test
+    public void receive_afterInboxDrained_acceptsMessagesAgain() {
+        //arrange
+        AIMBasicAutoVehicle vehicle = createVehicle();
+        Reject msg = new Reject(0, vehicle.getVIN(), 0, 0.0,
+                                Reject.Reason.NO_CLEAR_PATH);
+        fillInbox(vehicle, msg);
+        vehicle.pollAllMessagesFromI2VInbox();
+
+        //act
+        vehicle.receive(msg);
+
+        //assert
+        assertEquals(1, vehicle.pollAllMessagesFromI2VInbox().size());
+    }
+
+    private static void fillInbox(AIMBasicAutoVehicle vehicle, I2VMessage msg) {
+        for (int i = 0; i < MAILBOX_CAPACITY; i++) {
+            vehicle.receive(msg);
+        }
+    }
+
+    private static AIMBasicAutoVehicle createVehicle() {
+        AIMBasicAutoVehicle vehicle = new AIMBasicAutoVehicle(
+                VehicleSpecDatabase.getVehicleSpecByName("COUPE"),
+                new Point2D.Double(0.0, 0.0), 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+        vehicle.setVIN(1);
+        return vehicle;
+    }
+}
@@ -3,6 +3,7 @@ package results_generation;
 import aim4.config.SimConfig;
 import aim4.map.merge.MergeMapUtil;
 import aim4.map.merge.RoadNames;
+import aim4.sim.results.CompletionStatistics;
 import aim4.sim.results.CoreMergeResult;
 import aim4.sim.results.MergeResult;
 import aim4.sim.setup.aim.MergeMimicSimSetup;
@@ -593,6 +594,10 @@ public class CreateResults {
         int totalCompletedVehicles = 0;
         int totalCompletedTargetVehicles = 0;
         int totalCompletedMergeVehicles = 0;
+        // the other columns are means over the runs, but the percentiles are those of the vehicles of all the runs
+        CompletionStatistics pooledStatistics = new CompletionStatistics();
+        CompletionStatistics pooledTargetStatistics = new CompletionStatistics();
+        CompletionStatistics pooledMergeStatistics = new CompletionStatistics();
         int nonNullResults = 0;
         for(MergeResult result : results) {
             if(result == null)
@@ -616,6 +621,9 @@ public class CreateResults {
             totalCompletedVehicles += result.getCompletedVehicles();
             totalCompletedTargetVehicles += result.getCompletedTargetVehicles();
             totalCompletedMergeVehicles += result.getCompletedMergeVehicles();
+            pooledStatistics.merge(result.getStatistics());
+            pooledTargetStatistics.merge(result.getTargetStatistics());
+            pooledMergeStatistics.merge(result.getMergeStatistics());
         }
         if(nonNullResults == 0) {
             List<String> response = new ArrayList<>();
@@ -677,6 +685,18 @@ public class CreateResults {
         sb.append(meanCompletedTargetVehicles);
         sb.append(',');
         sb.append(meanCompletedMergeVehicles);
+        sb.append(',');
+        sb.append(pooledStatistics.getDelayAtQuantile(0.5));
+        sb.append(',');
+        sb.append(pooledTargetStatistics.getDelayAtQuantile(0.5));
+        sb.append(',');
+        sb.append(pooledMergeStatistics.getDelayAtQuantile(0.5));
+        sb.append(',');
+        sb.append(pooledStatistics.getDelayAtQuantile(0.95));
+        sb.append(',');
+        sb.append(pooledTargetStatistics.getDelayAtQuantile(0.95));
+        sb.append(',');
+        sb.append(pooledMergeStatistics.getDelayAtQuantile(0.95));
 
         List<String> meanRow = new ArrayList<String>();
         meanRow.add(MEAN_ROW_INDICATOR + "," + dataTitle);
@@ -703,6 +723,10 @@ public class CreateResults {
         int totalCompletedVehicles = 0;
         int totalCompletedTargetVehicles = 0;
         int totalCompletedMergeVehicles = 0;
+        // the other columns are means over the runs, but the percentiles are those of the vehicles of all the runs
+        CompletionStatistics pooledStatistics = new CompletionStatistics();
+        CompletionStatistics pooledTargetStatistics = new CompletionStatistics();
+        CompletionStatistics pooledMergeStatistics = new CompletionStatistics();
         int nonNullResults = 0;
         for(CoreMergeResult result : results) {
             if(result == null)
@@ -726,6 +750,9 @@ public class CreateResults {
             totalCompletedVehicles += result.getCompletedVehicles();
             totalCompletedTargetVehicles += result.getCompletedTargetVehicles();
             totalCompletedMergeVehicles += result.getCompletedMergeVehicles();
+            pooledStatistics.merge(result.getStatistics());
+            pooledTargetStatistics.merge(result.getTargetStatistics());
+            pooledMergeStatistics.merge(result.getMergeStatistics());
         }
         if(nonNullResults == 0) {
             List<String> response = new ArrayList<>();
@@ -787,6 +814,18 @@ public class CreateResults {
         sb.append(meanCompletedTargetVehicles);
         sb.append(',');
         sb.append(meanCompletedMergeVehicles);
+        sb.append(',');
+        sb.append(pooledStatistics.getDelayAtQuantile(0.5));
+        sb.append(',');
+        sb.append(pooledTargetStatistics.getDelayAtQuantile(0.5));
+        sb.append(',');
+        sb.append(pooledMergeStatistics.getDelayAtQuantile(0.5));
+        sb.append(',');
+        sb.append(pooledStatistics.getDelayAtQuantile(0.95));
+        sb.append(',');
+        sb.append(pooledTargetStatistics.getDelayAtQuantile(0.95));
+        sb.append(',');
+        sb.append(pooledMergeStatistics.getDelayAtQuantile(0.95));
 
         List<String> meanRow = new ArrayList<String>();
         meanRow.add(MEAN_ROW_INDICATOR + "," + dataTitle);
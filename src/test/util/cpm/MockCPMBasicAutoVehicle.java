@@ -17,6 +17,7 @@ import java.awt.geom.Point2D;
  */
 public class MockCPMBasicAutoVehicle extends CPMBasicAutoVehicle {
 
+    private static final long serialVersionUID = 1L;
 
     /**
      * Construct a vehicle
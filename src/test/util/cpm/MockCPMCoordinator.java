@@ -9,6 +9,8 @@ import aim4.vehicle.cpm.CPMBasicAutoVehicle;
  */
 public class MockCPMCoordinator extends CPMCoordinator {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Create a basic V2V Coordinator to coordinate a Vehicle in CPM.
      *
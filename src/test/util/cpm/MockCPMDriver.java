@@ -10,6 +10,8 @@ import aim4.vehicle.cpm.CPMBasicAutoVehicle;
  */
 public class MockCPMDriver extends CPMV2VDriver {
 
+    private static final long serialVersionUID = 1L;
+
     CPMCoordinator.ParkingStatus initialParkingStatus;
     CPMCoordinator.DrivingState initialDrivingState;
 
@@ -15,6 +15,8 @@ import util.cpm.MockCPMDriver;
  */
 public class SimulatorForCarParkWithStatus extends CPMAutoDriverSimulator {
 
+    private static final long serialVersionUID = 1L;
+
     public SimulatorForCarParkWithStatus(CPMBasicMap map) {
         super(map);
     }
@@ -21,6 +21,8 @@ import java.util.List;
  */
 public class SimulatorForMapOneCorner extends CPMAutoDriverSimulator {
 
+    private static final long serialVersionUID = 1L;
+
     ParkingStatus initialParkingStatusForSpawnedVehicles;
     DrivingState initialDrivingStateForSpawnedVehicles;
 
@@ -36,6 +36,8 @@ import java.util.List;
  */
 public class SimulatorForMapParkingLane extends CPMAutoDriverSimulator {
 
+    private static final long serialVersionUID = 1L;
+
     public SimulatorForMapParkingLane(CPMMapParkingLane map){
         super(map);
     }